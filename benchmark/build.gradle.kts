@@ -34,18 +34,27 @@ tasks.register<JavaExec>("runBenchmark") {
 
     mainClass.set("kala.benchmark.Main")
 
-    systemProperties = mapOf(
-            "file.encoding" to "UTF-8"
-    )
-
     val logDir = project.layout.buildDirectory.asFile.get().toPath().resolve("logs").also {
         if (Files.notExists(it)) {
             Files.createDirectories(it)
         }
     }
 
+    val resultDir = project.layout.buildDirectory.asFile.get().toPath().resolve("results").also {
+        if (Files.notExists(it)) {
+            Files.createDirectories(it)
+        }
+    }
+
     val dateFormat = SimpleDateFormat("yyyy-MM-dd_HHmmss")
-    val fo = Files.newOutputStream(logDir.resolve("${dateFormat.format(Date())}.log"))
+    val date = dateFormat.format(Date())
+    val fo = Files.newOutputStream(logDir.resolve("$date.log"))
+
+    systemProperties = mapOf(
+            "file.encoding" to "UTF-8",
+            "kala.benchmark.result" to resultDir.resolve("$date.json").toString()
+    )
+
     standardOutput = org.apache.tools.ant.util.TeeOutputStream(System.out, fo)
     errorOutput = org.apache.tools.ant.util.TeeOutputStream(System.err, fo)
 
@@ -54,6 +63,23 @@ tasks.register<JavaExec>("runBenchmark") {
     doLast { fo.close() }
 }
 
+// ./gradlew :benchmark:compareBenchmark [--baseline=<file>] [--current=<file>] [--threshold=<percent>] [--ignore-within-error]
+tasks.register<CompareBenchmarkTask>("compareBenchmark") {
+    group = "verification"
+    resultsDirectory = layout.buildDirectory.dir("results")
+}
+
+tasks.register<JavaExec>("runFootprint") {
+    classpath = sourceSets.main.get().runtimeClasspath
+
+    mainClass.set("kala.benchmark.FootprintReport")
+    jvmArgs("-Djdk.attach.allowAttachSelf=true")
+
+    systemProperties = mapOf(
+            "file.encoding" to "UTF-8"
+    )
+}
+
 repositories {
     mavenCentral()
 }
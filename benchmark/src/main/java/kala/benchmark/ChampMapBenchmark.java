@@ -0,0 +1,88 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kala.benchmark;
+
+import kala.collection.immutable.ImmutableChampMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/// Compares applying a batch of updates to an [ImmutableChampMap] one by one and through [ImmutableChampMap#edit()].
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Benchmark)
+public class ChampMapBenchmark {
+
+    @Param({"1000", "100000"})
+    private int length;
+
+    @Param({"10", "1000"})
+    private int batchSize;
+
+    private ImmutableChampMap<Integer, Integer> map;
+    private ImmutableChampMap<Integer, Integer> batch;
+    private Integer[] keys;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+        var editor = ImmutableChampMap.<Integer, Integer>empty().edit();
+        for (int i = 0; i < length; i++) {
+            editor.set(random.nextInt(), i);
+        }
+        map = editor.done();
+
+        keys = new Integer[batchSize];
+        var batchEditor = ImmutableChampMap.<Integer, Integer>empty().edit();
+        for (int i = 0; i < batchSize; i++) {
+            keys[i] = random.nextInt();
+            batchEditor.set(keys[i], i);
+        }
+        batch = batchEditor.done();
+    }
+
+    @Benchmark
+    public ImmutableChampMap<Integer, Integer> updatedOneByOne() {
+        ImmutableChampMap<Integer, Integer> res = map;
+        for (Integer key : keys) {
+            res = res.updated(key, key);
+        }
+        return res;
+    }
+
+    @Benchmark
+    public ImmutableChampMap<Integer, Integer> updatedWithEditor() {
+        ImmutableChampMap.Editor<Integer, Integer> editor = map.edit();
+        for (Integer key : keys) {
+            editor.set(key, key);
+        }
+        return editor.done();
+    }
+
+    @Benchmark
+    public ImmutableChampMap<Integer, Integer> updatedAll() {
+        return map.updatedAll(batch);
+    }
+
+    @Benchmark
+    public ImmutableChampMap<Integer, Integer> removedAll() {
+        return map.updatedAll(batch).removedAll(batch.keysView());
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kala.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
+
+/// Reports the retained bytes per element of the collections compared by
+/// {@link MutableSeqBenchmark}, {@link ImmutableSeqBenchmark} and {@link MapBenchmark}.
+///
+/// The element objects themselves are excluded, so the numbers only reflect the overhead of the collection.
+/// The sizes and implementations are taken from the `@Param` annotations of the benchmarks.
+public final class FootprintReport {
+
+    private static String[] params(Class<?> benchmark, String field) throws ReflectiveOperationException {
+        return benchmark.getDeclaredField(field).getAnnotation(Param.class).value();
+    }
+
+    private static void report(
+            Class<?> benchmark,
+            BiFunction<String, Integer[], Object> factory
+    ) throws ReflectiveOperationException {
+        String[] lengths = params(benchmark, "length");
+        String[] implementations = params(benchmark, "implementation");
+
+        System.out.println("# " + benchmark.getSimpleName());
+        System.out.printf("%-28s %10s %16s %14s%n", "Implementation", "Length", "Retained bytes", "Bytes/element");
+
+        for (String implementation : implementations) {
+            for (String lengthParam : lengths) {
+                int length = Integer.parseInt(lengthParam);
+
+                Random random = new Random(0);
+                Integer[] values = new Integer[length];
+                for (int i = 0; i < length; i++) {
+                    values[i] = random.nextInt();
+                }
+
+                Object collection = factory.apply(implementation, values);
+                long retained = GraphLayout.parseInstance(collection)
+                        .subtract(GraphLayout.parseInstance((Object[]) values))
+                        .totalSize();
+
+                System.out.printf("%-28s %10d %16d %14.2f%n",
+                        implementation, length, retained, length == 0 ? 0.0 : (double) retained / length);
+            }
+        }
+        System.out.println();
+    }
+
+    public static void main(String[] args) throws ReflectiveOperationException {
+        report(MutableSeqBenchmark.class, (implementation, values) -> {
+            var kalaList = MutableSeqBenchmark.newKalaList(implementation);
+            if (kalaList != null) {
+                kalaList.appendAll(values);
+                return kalaList;
+            }
+            var javaList = MutableSeqBenchmark.newJavaList(implementation);
+            javaList.addAll(List.of(values));
+            return javaList;
+        });
+        report(ImmutableSeqBenchmark.class, ImmutableSeqBenchmark::newSeq);
+        report(MapBenchmark.class, MapBenchmark::newMap);
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kala.benchmark;
+
+import kala.collection.mutable.MutableHashMap;
+import kala.collection.mutable.MutableHashSet;
+import kala.collection.mutable.MutableLinkedHashMap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/// Measures lookups in hash collections whose keys all have the same hash code.
+///
+/// The keys are strings composed of `"Aa"` and `"BB"`, which is the classic way to flood a hash table.
+/// With tree bins, the cost of a lookup should grow logarithmically rather than linearly with `length`.
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+public class HashCollisionBenchmark {
+
+    @Param({"8", "64", "512", "4096"})
+    private int length;
+
+    @Param({
+            "MutableHashMap",
+            "MutableHashSet",
+            "MutableLinkedHashMap",
+            "java.util.HashMap"
+    })
+    private String implementation;
+
+    private String[] keys;
+    private String absent;
+
+    private MutableHashMap<String, String> mutableHashMap;
+    private MutableHashSet<String> mutableHashSet;
+    private MutableLinkedHashMap<String, String> mutableLinkedHashMap;
+    private HashMap<String, String> javaMap;
+
+    static String[] collidingStrings(int n) {
+        int bits = 32 - Integer.numberOfLeadingZeros(n);
+        String[] res = new String[n];
+        for (int i = 0; i < n; i++) {
+            StringBuilder builder = new StringBuilder(bits * 2);
+            for (int j = 0; j < bits; j++) {
+                builder.append(((i >>> j) & 1) == 0 ? "Aa" : "BB");
+            }
+            res[i] = builder.toString();
+        }
+        return res;
+    }
+
+    @Setup
+    public void setup() {
+        String[] all = collidingStrings(length + 1);
+        keys = java.util.Arrays.copyOf(all, length);
+        absent = all[length];
+
+        switch (implementation) {
+            case "MutableHashMap" -> {
+                mutableHashMap = new MutableHashMap<>();
+                for (String key : keys) {
+                    mutableHashMap.set(key, key);
+                }
+            }
+            case "MutableHashSet" -> {
+                mutableHashSet = new MutableHashSet<>();
+                for (String key : keys) {
+                    mutableHashSet.add(key);
+                }
+            }
+            case "MutableLinkedHashMap" -> {
+                mutableLinkedHashMap = new MutableLinkedHashMap<>();
+                for (String key : keys) {
+                    mutableLinkedHashMap.set(key, key);
+                }
+            }
+            case "java.util.HashMap" -> {
+                javaMap = new HashMap<>();
+                for (String key : keys) {
+                    javaMap.put(key, key);
+                }
+            }
+            default -> throw new IllegalArgumentException(implementation);
+        }
+    }
+
+    /// Looks up every key once.
+    @Benchmark
+    public void get(Blackhole bh) {
+        final String[] keys = this.keys;
+        if (mutableHashMap != null) {
+            for (String key : keys) {
+                bh.consume(mutableHashMap.getOrNull(key));
+            }
+        } else if (mutableHashSet != null) {
+            for (String key : keys) {
+                bh.consume(mutableHashSet.contains(key));
+            }
+        } else if (mutableLinkedHashMap != null) {
+            for (String key : keys) {
+                bh.consume(mutableLinkedHashMap.getOrNull(key));
+            }
+        } else {
+            for (String key : keys) {
+                bh.consume(javaMap.get(key));
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean containsAbsent() {
+        if (mutableHashMap != null) {
+            return mutableHashMap.containsKey(absent);
+        } else if (mutableHashSet != null) {
+            return mutableHashSet.contains(absent);
+        } else if (mutableLinkedHashMap != null) {
+            return mutableLinkedHashMap.containsKey(absent);
+        } else {
+            return javaMap.containsKey(absent);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kala.benchmark;
+
+import kala.collection.immutable.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/// Compares the persistent operations of the immutable sequences of kala.
+///
+/// `ImmutableArray` is included as the copy-on-write baseline,
+/// which is also what an unmodifiable `java.util.List` would have to do.
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Benchmark)
+public class ImmutableSeqBenchmark {
+
+    private static final int GET_SAMPLES = 1024;
+
+    @Param({"1", "10", "100", "1000", "10000", "100000", "1000000"})
+    private int length;
+
+    @Param({"ImmutableVector", "ImmutableTreeSeq", "ImmutableLinkedSeq", "ImmutableArray"})
+    private String implementation;
+
+    private ImmutableSeq<Integer> seq;
+    private ImmutableSeq<Integer> small;
+    private Integer[] values;
+    private int[] indices;
+    private Integer absent;
+
+    static ImmutableSeq<Integer> newSeq(String implementation, Integer[] values) {
+        return switch (implementation) {
+            case "ImmutableVector" -> ImmutableVector.from(values);
+            case "ImmutableTreeSeq" -> ImmutableTreeSeq.from(values);
+            case "ImmutableLinkedSeq" -> ImmutableLinkedSeq.from(values);
+            case "ImmutableArray" -> ImmutableArray.from(values);
+            default -> throw new IllegalArgumentException(implementation);
+        };
+    }
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+        values = new Integer[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = random.nextInt();
+        }
+        absent = random.nextInt();
+        indices = new int[GET_SAMPLES];
+        for (int i = 0; i < GET_SAMPLES; i++) {
+            indices[i] = random.nextInt(length);
+        }
+        seq = newSeq(implementation, values);
+        small = newSeq(implementation, new Integer[]{1, 2, 3, 4, 5});
+    }
+
+    @Benchmark
+    public Object build() {
+        return newSeq(implementation, values);
+    }
+
+    /// Reads [#GET_SAMPLES] elements at random indices per invocation,
+    /// so that `ImmutableLinkedSeq` stays linear in `length` instead of quadratic.
+    @Benchmark
+    @OperationsPerInvocation(GET_SAMPLES)
+    public void get(Blackhole bh) {
+        final ImmutableSeq<Integer> seq = this.seq;
+        for (int index : indices) {
+            bh.consume(seq.get(index));
+        }
+    }
+
+    @Benchmark
+    public void iterate(Blackhole bh) {
+        for (Integer value : seq) {
+            bh.consume(value);
+        }
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return seq.contains(absent);
+    }
+
+    @Benchmark
+    public Object appended() {
+        return seq.appended(absent);
+    }
+
+    @Benchmark
+    public Object prepended() {
+        return seq.prepended(absent);
+    }
+
+    @Benchmark
+    public Object inserted() {
+        return seq.inserted(length / 2, absent);
+    }
+
+    @Benchmark
+    public Object removedAt() {
+        return seq.removedAt(length / 2);
+    }
+
+    @Benchmark
+    public Object updated() {
+        return seq.updated(length / 2, absent);
+    }
+
+    @Benchmark
+    public Object concat() {
+        return seq.concat(seq);
+    }
+
+    @Benchmark
+    public Object prependedAllSmall() {
+        return seq.prependedAll(small);
+    }
+
+    @Benchmark
+    public Object appendedAllToSmall() {
+        return small.appendedAll(seq);
+    }
+
+    @Benchmark
+    public Object collectParallel() {
+        return seq.collectParallel(ImmutableVector.factory());
+    }
+
+    @Benchmark
+    public Object slice() {
+        final int from = length / 4;
+        return seq.slice(from, length - from);
+    }
+}
@@ -15,6 +15,7 @@
  */
 package kala.benchmark;
 
+import org.openjdk.jmh.results.format.ResultFormatType;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
@@ -26,6 +27,11 @@ public class Main {
         for (String arg : args) {
             builder.include(arg);
         }
+
+        String result = System.getProperty("kala.benchmark.result");
+        if (result != null) {
+            builder.resultFormat(ResultFormatType.JSON).result(result);
+        }
         var runner = new Runner(builder.build());
         runner.run();
     }
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kala.benchmark;
+
+import kala.collection.immutable.ImmutableChampMap;
+import kala.collection.immutable.ImmutableHashMap;
+import kala.collection.immutable.ImmutableMap;
+import kala.collection.mutable.MutableFlatHashMap;
+import kala.collection.mutable.MutableHashMap;
+import kala.collection.mutable.MutableMap;
+import kala.collection.mutable.MutableTreeMap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/// Compares the maps of kala with the maps of `java.util`.
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Benchmark)
+public class MapBenchmark {
+
+    @Param({"1", "10", "100", "1000", "10000", "100000", "1000000"})
+    private int length;
+
+    @Param({
+            "MutableHashMap",
+            "MutableFlatHashMap",
+            "MutableTreeMap",
+            "ImmutableChampMap",
+            "ImmutableHashMap",
+            "java.util.HashMap",
+            "java.util.TreeMap"
+    })
+    private String implementation;
+
+    private MutableMap<Integer, Integer> mutableMap;
+    private ImmutableMap<Integer, Integer> immutableMap;
+    private Map<Integer, Integer> javaMap;
+
+    private Integer[] keys;
+    private Integer absent;
+
+    static Object newMap(String implementation, Integer[] keys) {
+        switch (implementation) {
+            case "MutableHashMap", "MutableFlatHashMap", "MutableTreeMap" -> {
+                MutableMap<Integer, Integer> map = switch (implementation) {
+                    case "MutableHashMap" -> new MutableHashMap<>();
+                    case "MutableFlatHashMap" -> new MutableFlatHashMap<>();
+                    default -> new MutableTreeMap<>();
+                };
+                for (Integer key : keys) {
+                    map.set(key, key);
+                }
+                return map;
+            }
+            case "ImmutableChampMap", "ImmutableHashMap" -> {
+                ImmutableMap<Integer, Integer> map = implementation.equals("ImmutableChampMap")
+                        ? ImmutableChampMap.empty()
+                        : ImmutableHashMap.empty();
+                for (Integer key : keys) {
+                    map = map.updated(key, key);
+                }
+                return map;
+            }
+            case "java.util.HashMap", "java.util.TreeMap" -> {
+                Map<Integer, Integer> map = implementation.equals("java.util.HashMap")
+                        ? new HashMap<>()
+                        : new TreeMap<>();
+                for (Integer key : keys) {
+                    map.put(key, key);
+                }
+                return map;
+            }
+            default -> throw new IllegalArgumentException(implementation);
+        }
+    }
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        Random random = new Random(0);
+        keys = new Integer[length];
+        for (int i = 0; i < length; i++) {
+            keys[i] = random.nextInt();
+        }
+        absent = random.nextInt();
+
+        Object map = newMap(implementation, keys);
+        if (map instanceof MutableMap<?, ?>) {
+            mutableMap = (MutableMap<Integer, Integer>) map;
+        } else if (map instanceof ImmutableMap<?, ?>) {
+            immutableMap = (ImmutableMap<Integer, Integer>) map;
+        } else {
+            javaMap = (Map<Integer, Integer>) map;
+        }
+    }
+
+    /// Builds a map of `length` entries by inserting the entries one by one.
+    @Benchmark
+    public Object build() {
+        return newMap(implementation, keys);
+    }
+
+    @Benchmark
+    public void get(Blackhole bh) {
+        final Integer[] keys = this.keys;
+        if (mutableMap != null) {
+            for (Integer key : keys) {
+                bh.consume(mutableMap.getOrNull(key));
+            }
+        } else if (immutableMap != null) {
+            for (Integer key : keys) {
+                bh.consume(immutableMap.getOrNull(key));
+            }
+        } else {
+            for (Integer key : keys) {
+                bh.consume(javaMap.get(key));
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean containsAbsent() {
+        if (mutableMap != null) {
+            return mutableMap.containsKey(absent);
+        } else if (immutableMap != null) {
+            return immutableMap.containsKey(absent);
+        } else {
+            return javaMap.containsKey(absent);
+        }
+    }
+
+    @Benchmark
+    public void iterate(Blackhole bh) {
+        if (mutableMap != null) {
+            mutableMap.forEach((k, v) -> bh.consume(v));
+        } else if (immutableMap != null) {
+            immutableMap.forEach((k, v) -> bh.consume(v));
+        } else {
+            javaMap.forEach((k, v) -> bh.consume(v));
+        }
+    }
+
+    /// Adds and removes an absent key, which keeps the size of the mutable maps stable.
+    @Benchmark
+    public Object putAndRemove() {
+        if (mutableMap != null) {
+            mutableMap.set(absent, absent);
+            return mutableMap.remove(absent);
+        } else if (immutableMap != null) {
+            return immutableMap.updated(absent, absent).removed(absent);
+        } else {
+            javaMap.put(absent, absent);
+            return javaMap.remove(absent);
+        }
+    }
+}
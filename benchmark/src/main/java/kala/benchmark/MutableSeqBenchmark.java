@@ -0,0 +1,207 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kala.benchmark;
+
+import kala.collection.mutable.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/// Compares the mutable sequences of kala with the lists of `java.util`.
+///
+/// Operations that change the size of the sequence are paired with the inverse operation,
+/// so the size stays at `length` for every invocation.
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Benchmark)
+public class MutableSeqBenchmark {
+
+    private static final int GET_SAMPLES = 1024;
+
+    @Param({"1", "10", "100", "1000", "10000", "100000", "1000000"})
+    private int length;
+
+    @Param({
+            "MutableArrayList",
+            "MutableSmartArrayList",
+            "MutableArrayDeque",
+            "MutableLinkedList",
+            "java.util.ArrayList",
+            "java.util.LinkedList"
+    })
+    private String implementation;
+
+    private MutableList<Integer> kalaList;
+    private List<Integer> javaList;
+
+    private Integer[] values;
+    private int[] indices;
+    private Integer absent;
+
+    static MutableList<Integer> newKalaList(String implementation) {
+        return switch (implementation) {
+            case "MutableArrayList" -> new MutableArrayList<>();
+            case "MutableSmartArrayList" -> new MutableSmartArrayList<>();
+            case "MutableArrayDeque" -> new MutableArrayDeque<>();
+            case "MutableLinkedList" -> new MutableLinkedList<>();
+            default -> null;
+        };
+    }
+
+    static List<Integer> newJavaList(String implementation) {
+        return switch (implementation) {
+            case "java.util.ArrayList" -> new ArrayList<>();
+            case "java.util.LinkedList" -> new LinkedList<>();
+            default -> throw new IllegalArgumentException(implementation);
+        };
+    }
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+        values = new Integer[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = random.nextInt();
+        }
+        absent = random.nextInt();
+        indices = new int[GET_SAMPLES];
+        for (int i = 0; i < GET_SAMPLES; i++) {
+            indices[i] = random.nextInt(length);
+        }
+
+        kalaList = newKalaList(implementation);
+        if (kalaList != null) {
+            kalaList.appendAll(values);
+        } else {
+            javaList = newJavaList(implementation);
+            javaList.addAll(List.of(values));
+        }
+    }
+
+    @Benchmark
+    public Object build() {
+        final Integer[] values = this.values;
+        MutableList<Integer> kalaList = newKalaList(implementation);
+        if (kalaList != null) {
+            for (Integer value : values) {
+                kalaList.append(value);
+            }
+            return kalaList;
+        } else {
+            List<Integer> javaList = newJavaList(implementation);
+            for (Integer value : values) {
+                javaList.add(value);
+            }
+            return javaList;
+        }
+    }
+
+    /// Reads [#GET_SAMPLES] elements at random indices per invocation,
+    /// so that linked lists stay linear in `length` instead of quadratic.
+    @Benchmark
+    @OperationsPerInvocation(GET_SAMPLES)
+    public void get(Blackhole bh) {
+        final int[] indices = this.indices;
+        if (kalaList != null) {
+            for (int index : indices) {
+                bh.consume(kalaList.get(index));
+            }
+        } else {
+            for (int index : indices) {
+                bh.consume(javaList.get(index));
+            }
+        }
+    }
+
+    @Benchmark
+    public void iterate(Blackhole bh) {
+        if (kalaList != null) {
+            for (Integer value : kalaList) {
+                bh.consume(value);
+            }
+        } else {
+            for (Integer value : javaList) {
+                bh.consume(value);
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return kalaList != null ? kalaList.contains(absent) : javaList.contains(absent);
+    }
+
+    @Benchmark
+    public Object appendAndRemoveLast() {
+        if (kalaList != null) {
+            kalaList.append(absent);
+            return kalaList.removeLast();
+        } else {
+            javaList.add(absent);
+            return javaList.removeLast();
+        }
+    }
+
+    @Benchmark
+    public Object prependAndRemoveFirst() {
+        if (kalaList != null) {
+            kalaList.prepend(absent);
+            return kalaList.removeFirst();
+        } else {
+            javaList.addFirst(absent);
+            return javaList.removeFirst();
+        }
+    }
+
+    @Benchmark
+    public Object insertAndRemoveAt() {
+        final int index = length / 2;
+        if (kalaList != null) {
+            kalaList.insert(index, absent);
+            return kalaList.removeAt(index);
+        } else {
+            javaList.add(index, absent);
+            return javaList.remove(index);
+        }
+    }
+
+    @Benchmark
+    public Object slice() {
+        final int from = length / 4;
+        final int to = length - from;
+        return kalaList != null ? kalaList.slice(from, to) : new ArrayList<>(javaList.subList(from, to));
+    }
+
+    @Benchmark
+    public Object concat() {
+        if (kalaList != null) {
+            return kalaList.concat(kalaList);
+        } else {
+            List<Integer> res = new ArrayList<>(length * 2);
+            res.addAll(javaList);
+            res.addAll(javaList);
+            return res;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kala.benchmark;
+
+import kala.collection.immutable.ImmutableArray;
+import kala.collection.immutable.ImmutableLinkedSeq;
+import kala.collection.immutable.ImmutableSeq;
+import kala.collection.immutable.ImmutableVector;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Benchmark)
+public class SeqViewBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    private int length;
+
+    @Param({"ImmutableArray", "ImmutableVector", "ImmutableLinkedSeq"})
+    private String type;
+
+    private ImmutableSeq<Integer> seq;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+        ImmutableArray<Integer> array = ImmutableArray.fill(length, i -> random.nextInt());
+        seq = switch (type) {
+            case "ImmutableArray" -> array;
+            case "ImmutableVector" -> array.collect(ImmutableVector.factory());
+            case "ImmutableLinkedSeq" -> array.collect(ImmutableLinkedSeq.factory());
+            default -> throw new AssertionError(type);
+        };
+    }
+
+    @Benchmark
+    public ImmutableSeq<Integer> toSeq() {
+        return seq.view().drop(1).filter(x -> (x & 1) == 0).map(x -> x * 3).take(length / 4).map(x -> x + 1).toSeq();
+    }
+
+    @Benchmark
+    public int foldLeft() {
+        return seq.view().drop(1).filter(x -> (x & 1) == 0).map(x -> x * 3).take(length / 4).foldLeft(0, Integer::sum);
+    }
+
+    @Benchmark
+    public int count() {
+        return seq.view().map(x -> x >>> 1).filter(x -> (x & 1) == 0).drop(length / 10).count(x -> x > 0);
+    }
+
+    @Benchmark
+    public void forEach(Blackhole bh) {
+        seq.view().filter(x -> (x & 1) == 0).map(x -> x * 3).take(length / 2).forEach(bh::consume);
+    }
+}
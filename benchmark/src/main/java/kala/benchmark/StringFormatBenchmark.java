@@ -16,7 +16,9 @@
 package kala.benchmark;
 
 import kala.text.StringFormat;
+import kala.text.StringFormatFactory;
 import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
 
 import java.text.MessageFormat;
 import java.util.concurrent.TimeUnit;
@@ -25,6 +27,7 @@ import java.util.concurrent.TimeUnit;
 @Measurement(iterations = 5, time = 3)
 @Fork(value = 1)
 @OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
 public class StringFormatBenchmark {
 
     @Benchmark
@@ -53,4 +56,59 @@ public class StringFormatBenchmark {
     public String stringFormat2() {
         return StringFormat.format("{0} is {1} years old", "Glavo", "5");
     }
+
+    private static final StringFormat compiledStringFormat = StringFormatFactory.getDefault().parse("{0} is {1} years old");
+
+    @Benchmark
+    public String compiledStringFormat() {
+        return compiledStringFormat.format(new Object[]{"Glavo", "5"});
+    }
+
+    private final StringBuilder builder = new StringBuilder();
+
+    /// Appends into a reused builder, which is how a logger would use a compiled format.
+    @Benchmark
+    public int compiledStringFormatAppend() {
+        builder.setLength(0);
+        return compiledStringFormat.format(builder, "Glavo", "5").length();
+    }
+
+    private static final String[] TEMPLATES = new String[100];
+
+    static {
+        for (int i = 0; i < TEMPLATES.length; i++) {
+            TEMPLATES[i] = "[template " + i + "] {} is {:upper} years old, {0} says";
+        }
+    }
+
+    private static final StringFormatFactory UNCACHED = StringFormatFactory.builder(StringFormatFactory.getDefault())
+            .cacheSize(0)
+            .build();
+
+    /// Formats a hundred distinct templates through the cache of the default factory.
+    @Benchmark
+    public void stringFormatHundredTemplates(Blackhole bh) {
+        final StringBuilder builder = this.builder;
+        for (String template : TEMPLATES) {
+            builder.setLength(0);
+            bh.consume(StringFormatFactory.getDefault().format(builder, template, "Glavo", "five"));
+        }
+    }
+
+    /// Same as [#stringFormatHundredTemplates], but every call parses the template again.
+    @Benchmark
+    public void stringFormatHundredTemplatesUncached(Blackhole bh) {
+        final StringBuilder builder = this.builder;
+        for (String template : TEMPLATES) {
+            builder.setLength(0);
+            bh.consume(UNCACHED.format(builder, template, "Glavo", "five"));
+        }
+    }
+
+    @Benchmark
+    public void messageFormatHundredTemplates(Blackhole bh) {
+        for (String template : TEMPLATES) {
+            bh.consume(MessageFormat.format(template.replace("{}", "{0}").replace("{:upper}", "{1}"), "Glavo", "five"));
+        }
+    }
 }
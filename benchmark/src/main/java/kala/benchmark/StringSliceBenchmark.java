@@ -0,0 +1,208 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kala.benchmark;
+
+import kala.text.StringSlice;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/// Compares the search methods of [StringSlice] with plain char-at-a-time loops on log-line-sized inputs.
+///
+/// Each slice is a line in the middle of a larger log buffer, as produced by splitting the buffer into lines,
+/// so that methods which accidentally scan past the end of the slice show up.
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
+public class StringSliceBenchmark {
+
+    /// Whether the log contains non-Latin-1 characters, which makes the source string UTF-16.
+    @Param({"false", "true"})
+    private boolean utf16;
+
+    @Param({"128", "1024"})
+    private int lineLength;
+
+    private StringSlice line;
+    private StringSlice lineCopy;
+    private StringSlice log;
+    private String needle;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+        StringBuilder builder = new StringBuilder();
+        int lineStart = 0;
+        int lineEnd = 0;
+        for (int i = 0; i < 64; i++) {
+            if (i == 32) {
+                lineStart = builder.length();
+            }
+            builder.append("2025-01-01T00:00:00.000 INFO  [worker-").append(i).append("] ");
+            int start = builder.length();
+            while (builder.length() - start < lineLength) {
+                int r = random.nextInt(20);
+                builder.append(r == 0 ? ' ' : r == 1 && utf16 ? '中' : (char) ('a' + r));
+            }
+            if (i == 32) {
+                lineEnd = builder.length();
+            }
+            builder.append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+        builder.append("needle=value\n");
+
+        String source = builder.toString();
+        line = StringSlice.of(source, lineStart, lineEnd);
+        lineCopy = StringSlice.of(new String(line.getChars()));
+        log = StringSlice.of(source);
+        needle = "needle=value";
+    }
+
+    //region indexOf
+
+    @Benchmark
+    public int indexOfScalar() {
+        final StringSlice line = this.line;
+        final int length = line.length();
+        for (int i = 0; i < length; i++) {
+            if (line.charAt(i) == '=') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Benchmark
+    public int indexOf() {
+        return line.indexOf('=');
+    }
+
+    //endregion
+
+    //region contains
+
+    @Benchmark
+    public boolean containsScalar() {
+        final StringSlice line = this.line;
+        final String needle = this.needle;
+        final int last = line.length() - needle.length();
+        outer:
+        for (int i = 0; i <= last; i++) {
+            for (int j = 0; j < needle.length(); j++) {
+                if (line.charAt(i + j) != needle.charAt(j)) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return line.contains(needle);
+    }
+
+    //endregion
+
+    //region contentEquals
+
+    @Benchmark
+    public boolean contentEqualsScalar() {
+        final StringSlice line = this.line;
+        final StringSlice other = this.lineCopy;
+        if (line.length() != other.length()) {
+            return false;
+        }
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) != other.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Benchmark
+    public boolean contentEquals() {
+        return line.contentEquals(lineCopy);
+    }
+
+    //endregion
+
+    //region split
+
+    @Benchmark
+    public int splitScalar() {
+        final StringSlice line = this.line;
+        final int length = line.length();
+        int count = 1;
+        for (int i = 0; i < length; i++) {
+            if (line.charAt(i) == ' ') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int split() {
+        return line.split(' ').count(it -> true);
+    }
+
+    //endregion
+
+    //region lines
+
+    @Benchmark
+    public int linesScalar() {
+        final StringSlice log = this.log;
+        final int length = log.length();
+        int count = 0;
+        int i = 0;
+        while (i < length) {
+            while (i < length && log.charAt(i) != '\n' && log.charAt(i) != '\r') {
+                i++;
+            }
+            count++;
+            if (i < length && log.charAt(i) == '\r' && i + 1 < length && log.charAt(i + 1) == '\n') {
+                i++;
+            }
+            i++;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public void lines(Blackhole bh) {
+        log.lines().forEach(bh::consume);
+    }
+
+    //endregion
+
+    //region trim
+
+    @Benchmark
+    public StringSlice trim() {
+        return line.trim();
+    }
+
+    //endregion
+}
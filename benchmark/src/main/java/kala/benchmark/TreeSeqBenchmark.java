@@ -18,6 +18,7 @@ package kala.benchmark;
 import kala.collection.immutable.ImmutableArray;
 import kala.collection.immutable.ImmutableTreeSeq;
 import kala.collection.immutable.ImmutableVector;
+import kala.collection.mutable.MutableArrayList;
 import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.infra.Blackhole;
 
@@ -38,6 +39,7 @@ public class TreeSeqBenchmark {
     private ImmutableTreeSeq<Integer> treeSeq;
     private ImmutableVector<Integer> vector;
     private ImmutableArray<Integer> array;
+    private MutableArrayList<Integer> list;
 
     @Setup
     public void setup() {
@@ -45,6 +47,7 @@ public class TreeSeqBenchmark {
         array = ImmutableArray.fill(length, i -> random.nextInt());
         vector = array.collect(ImmutableVector.factory());
         treeSeq = array.collect(ImmutableTreeSeq.factory());
+        list = MutableArrayList.from(array);
     }
 
     @Benchmark
@@ -67,4 +70,34 @@ public class TreeSeqBenchmark {
             bh.consume(array.get(i));
         }
     }
+
+    @Benchmark
+    public ImmutableTreeSeq<Integer> treeFromArray() {
+        return ImmutableTreeSeq.from(array);
+    }
+
+    @Benchmark
+    public ImmutableTreeSeq<Integer> treeFromIterator() {
+        return ImmutableTreeSeq.from(list.iterator());
+    }
+
+    @Benchmark
+    public ImmutableTreeSeq<Integer> treeCollectParallel() {
+        return list.asJava().parallelStream().collect(ImmutableTreeSeq.factory());
+    }
+
+    @Benchmark
+    public ImmutableTreeSeq<Integer> treeAppendedAll() {
+        return treeSeq.appendedAll(treeSeq);
+    }
+
+    @Benchmark
+    public ImmutableTreeSeq<Integer> treeAppendedAllArray() {
+        return treeSeq.appendedAll(array);
+    }
+
+    @Benchmark
+    public ImmutableVector<Integer> vectorAppendedAll() {
+        return vector.appendedAll(vector);
+    }
 }
@@ -150,6 +150,25 @@ tasks.compileTestJava {
 tasks.test {
     useJUnitPlatform()
     testLogging.showStandardStreams = true
+    filter.excludeTestsMatching("kala.collection.mutable.CollectionMetricsTest")
+}
+
+// CollectionMetrics is enabled when its class is initialized, so it needs its own JVM
+val collectionMetricsTest = tasks.register<Test>("collectionMetricsTest") {
+    description = "Runs CollectionMetricsTest with collection metrics enabled."
+    group = LifecycleBasePlugin.VERIFICATION_GROUP
+
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+
+    useJUnitPlatform()
+    testLogging.showStandardStreams = true
+    filter.includeTestsMatching("kala.collection.mutable.CollectionMetricsTest")
+    systemProperty("kala.collection.metrics", "true")
+}
+
+tasks.check {
+    dependsOn(collectionMetricsTest)
 }
 
 tasks.shadowJar {
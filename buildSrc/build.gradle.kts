@@ -8,5 +8,13 @@ repositories {
 
 dependencies {
     implementation(gradleApi())
+    implementation(localGroovy())
     implementation("org.freemarker:freemarker:2.3.33")
-}
\ No newline at end of file
+
+    testImplementation("org.junit.jupiter:junit-jupiter:5.11.4")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+tasks.test {
+    useJUnitPlatform()
+}
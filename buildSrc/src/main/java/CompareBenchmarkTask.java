@@ -0,0 +1,213 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import groovy.json.JsonSlurper;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.Directory;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.ProjectLayout;
+import org.gradle.api.file.RegularFile;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.api.tasks.options.Option;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/// Compares two JMH result files in JSON format and fails if any benchmark regressed past the threshold.
+///
+/// Results are matched by benchmark name, mode and parameters.
+/// Every change past the threshold is a regression,
+/// unless `--ignore-within-error` is given and the error intervals reported by JMH for the two scores overlap.
+/// If the files are not specified, the two most recent files in the results directory are compared.
+public abstract class CompareBenchmarkTask extends DefaultTask {
+
+    public CompareBenchmarkTask() {
+        this.getOutputs().upToDateWhen(task -> false);
+
+        getThreshold().convention(5.0);
+        getIgnoreWithinError().convention(false);
+        getCurrentFile().convention(getResultsDirectory().map(dir -> latestResult(dir, null, "current")));
+        getBaselineFile().convention(getResultsDirectory().zip(getCurrentFile(), (dir, current) ->
+                latestResult(dir, current.getAsFile(), "baseline")));
+    }
+
+    @Inject
+    protected abstract ProjectLayout getProjectLayout();
+
+    @Option(option = "baseline", description = "JMH JSON result file of the baseline")
+    public void setBaseline(String baseline) {
+        getBaselineFile().set(getProjectLayout().getProjectDirectory().file(baseline));
+    }
+
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract RegularFileProperty getBaselineFile();
+
+    @Option(option = "current", description = "JMH JSON result file to compare against the baseline")
+    public void setCurrent(String current) {
+        getCurrentFile().set(getProjectLayout().getProjectDirectory().file(current));
+    }
+
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract RegularFileProperty getCurrentFile();
+
+    @Option(option = "threshold", description = "Maximum allowed regression in percent (default: 5)")
+    public void setThresholdOption(String threshold) {
+        getThreshold().set(Double.parseDouble(threshold));
+    }
+
+    @Input
+    public abstract Property<Double> getThreshold();
+
+    /// Whether to ignore changes past the threshold when the error intervals of the two scores overlap.
+    ///
+    /// This is off by default, because noisy benchmarks with wide error intervals would never be reported.
+    @Option(option = "ignore-within-error",
+            description = "Do not report regressions whose JMH error intervals overlap (default: false)")
+    @Input
+    public abstract Property<Boolean> getIgnoreWithinError();
+
+    /// The directory searched for result files that are not specified explicitly.
+    @Internal
+    public abstract DirectoryProperty getResultsDirectory();
+
+    record Result(String key, String mode, double score, double error, String unit) {
+        boolean higherIsBetter() {
+            return mode.equals("thrpt");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static Map<String, Result> load(Path file) {
+        Object json = new JsonSlurper().parse(file.toFile());
+        if (!(json instanceof List<?> list)) {
+            throw new GradleException(file + " is not a JMH JSON result file");
+        }
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (Object item : list) {
+            Map<String, Object> benchmark = (Map<String, Object>) item;
+            Map<String, Object> params = (Map<String, Object>) benchmark.get("params");
+            Map<String, Object> metric = (Map<String, Object>) benchmark.get("primaryMetric");
+
+            String mode = (String) benchmark.get("mode");
+            StringBuilder key = new StringBuilder((String) benchmark.get("benchmark"));
+            key.append(" [").append(mode).append(']');
+            if (params != null && !params.isEmpty()) {
+                key.append(new TreeMap<>(params));
+            }
+
+            results.put(key.toString(), new Result(
+                    key.toString(),
+                    mode,
+                    toDouble(metric.get("score")),
+                    toDouble(metric.get("scoreError")),
+                    (String) metric.get("scoreUnit")));
+        }
+        return results;
+    }
+
+    /// JMH writes non-finite values such as the error of a single measurement as strings, e.g. `"NaN"`.
+    private static double toDouble(Object value) {
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        if (value instanceof String str) {
+            return Double.parseDouble(str);
+        }
+        return Double.NaN;
+    }
+
+    /// Returns the most recent result file in `dir` other than `exclude`.
+    private static RegularFile latestResult(Directory dir, File exclude, String name) {
+        File[] files = dir.getAsFile().listFiles((d, fileName) -> fileName.endsWith(".json"));
+        File latest = null;
+        if (files != null) {
+            for (File file : files) {
+                if (!file.equals(exclude) && (latest == null || file.getName().compareTo(latest.getName()) > 0)) {
+                    latest = file;
+                }
+            }
+        }
+        if (latest == null) {
+            throw new GradleException("No " + name + " found in " + dir + "; please specify --" + name);
+        }
+        return dir.file(latest.getName());
+    }
+
+    @TaskAction
+    public void run() {
+        Path baselineFile = getBaselineFile().get().getAsFile().toPath();
+        Path currentFile = getCurrentFile().get().getAsFile().toPath();
+        double threshold = getThreshold().get();
+        boolean ignoreWithinError = getIgnoreWithinError().get();
+
+        getLogger().lifecycle("Baseline: {}", baselineFile);
+        getLogger().lifecycle("Current:  {}", currentFile);
+
+        Map<String, Result> baselineResults = load(baselineFile);
+        Map<String, Result> currentResults = load(currentFile);
+
+        List<String> regressions = new ArrayList<>();
+        for (Result base : baselineResults.values()) {
+            Result cur = currentResults.get(base.key());
+            if (cur == null) {
+                getLogger().lifecycle("{}: missing in current results", base.key());
+                continue;
+            }
+
+            double change = base.score() == 0
+                    ? 0
+                    : (cur.score() - base.score()) / base.score() * 100.0;
+            double regression = base.higherIsBetter() ? -change : change;
+
+            // Without an error estimate, the intervals are treated as disjoint
+            boolean withinError = !Double.isNaN(base.error()) && !Double.isNaN(cur.error())
+                    && Math.abs(cur.score() - base.score()) <= base.error() + cur.error();
+
+            String line = String.format(Locale.ROOT, "%s: %.3f \u00b1 %.3f -> %.3f \u00b1 %.3f %s (%+.2f%%%s)",
+                    base.key(), base.score(), base.error(), cur.score(), cur.error(), cur.unit(), change,
+                    withinError ? ", within error" : "");
+            if (regression > threshold && !(ignoreWithinError && withinError)) {
+                regressions.add(line);
+                getLogger().error("REGRESSION {}", line);
+            } else {
+                getLogger().lifecycle(line);
+            }
+        }
+
+        if (!regressions.isEmpty()) {
+            throw new GradleException(String.format(Locale.ROOT,
+                    "%d benchmark(s) regressed by more than %.2f%%:%n%s",
+                    regressions.size(), threshold, String.join(System.lineSeparator(), regressions)));
+        }
+    }
+}
@@ -52,6 +52,7 @@ enum class Primitives(internal val properties: MutableMap<String, Any?> = mutabl
                     properties["IsSpecialized"] = type == "Int" || type == "Long" || type == "Double"
                     properties["IsIntegral"] = type == "Byte" || type == "Short" || type == "Int" || type == "Long"
                     properties["IsFloating"] = type == "Double" || type == "Float"
+                    properties["IsObject"] = false
 
                     properties["Values"] = mapOf(
                         "Zero" to when (type) {
@@ -116,5 +117,48 @@ enum class Primitives(internal val properties: MutableMap<String, Any?> = mutabl
                 }
             }
         }
+
+        private fun objectModel(typeParameter: String): Map<String, Any?> = mapOf(
+            "Type" to "Object",
+            "PrimitiveType" to typeParameter,
+            "WrapperType" to typeParameter,
+            "ArrayType" to "Object",
+            "IsSpecialized" to false,
+            "IsIntegral" to false,
+            "IsFloating" to false,
+            "IsObject" to true,
+            "Values" to mapOf("Default" to "null"),
+        )
+
+        private fun Map<String, Any?>.withPrefix(prefix: String): Map<String, Any?> = mapKeys { "$prefix${it.key}" }
+
+        /**
+         * Models of all key/value pairs of the primitive maps.
+         *
+         * Boolean keys are excluded, and the `Object`/`Object` pair is covered by the generic maps.
+         */
+        val mapPairs: List<Map<String, Any?>> = run {
+            val keys = allWithoutBoolean.map { it.properties + ("ArrayType" to it["PrimitiveType"]) } + objectModel("K")
+            val values = all.map { it.properties + ("ArrayType" to it["PrimitiveType"]) } + objectModel("V")
+
+            keys.flatMap { key ->
+                values.mapNotNull { value ->
+                    val keyIsObject = key["IsObject"] as kotlin.Boolean
+                    val valueIsObject = value["IsObject"] as kotlin.Boolean
+                    if (keyIsObject && valueIsObject) return@mapNotNull null
+
+                    val typeParameters = when {
+                        keyIsObject -> "<K>"
+                        valueIsObject -> "<V>"
+                        else -> ""
+                    }
+
+                    key.withPrefix("Key") + value.withPrefix("Value") + mapOf(
+                        "Name" to "${key["Type"]}${value["Type"]}",
+                        "TypeParameters" to typeParameters,
+                    )
+                }
+            }
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import org.gradle.api.GradleException;
+import org.gradle.api.Project;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class CompareBenchmarkTaskTest {
+    private static final String KEY = "kala.benchmark.ListBenchmark.get [thrpt]{length=10}";
+
+    private static Path result(Path dir, String name, String score, String scoreError) throws IOException {
+        Path file = dir.resolve(name);
+        Files.writeString(file, """
+                [{
+                    "benchmark": "kala.benchmark.ListBenchmark.get",
+                    "mode": "thrpt",
+                    "params": {"length": "10"},
+                    "primaryMetric": {"score": %s, "scoreError": %s, "scoreUnit": "ops/s"}
+                }]
+                """.formatted(score, scoreError));
+        return file;
+    }
+
+    private static CompareBenchmarkTask task(Path dir, Path baseline, Path current) {
+        Project project = ProjectBuilder.builder().withProjectDir(dir.toFile()).build();
+        CompareBenchmarkTask task = project.getTasks().register("compareBenchmark", CompareBenchmarkTask.class).get();
+        task.setBaseline(baseline.toString());
+        task.setCurrent(current.toString());
+        return task;
+    }
+
+    @Test
+    void loadTest(@TempDir Path dir) throws IOException {
+        Map<String, CompareBenchmarkTask.Result> results = CompareBenchmarkTask.load(result(dir, "a.json", "100.0", "2.5"));
+        CompareBenchmarkTask.Result result = results.get(KEY);
+        assertNotNull(result);
+        assertEquals(100.0, result.score());
+        assertEquals(2.5, result.error());
+        assertEquals("ops/s", result.unit());
+    }
+
+    @Test
+    void nanErrorTest(@TempDir Path dir) throws IOException {
+        Path baseline = result(dir, "baseline.json", "100.0", "\"NaN\"");
+
+        CompareBenchmarkTask.Result result = CompareBenchmarkTask.load(baseline).get(KEY);
+        assertEquals(100.0, result.score());
+        assertTrue(Double.isNaN(result.error()));
+
+        task(dir, baseline, result(dir, "same.json", "99.0", "\"NaN\"")).run();
+        assertThrows(GradleException.class, () -> task(dir, baseline, result(dir, "worse.json", "80.0", "\"NaN\"")).run());
+    }
+
+    @Test
+    void wideErrorTest(@TempDir Path dir) throws IOException {
+        Path baseline = result(dir, "baseline.json", "100.0", "30.0");
+        Path current = result(dir, "current.json", "80.0", "30.0");
+
+        // A regression past the threshold is reported even if the error intervals overlap
+        assertThrows(GradleException.class, () -> task(dir, baseline, current).run());
+
+        CompareBenchmarkTask task = task(dir, baseline, current);
+        task.getIgnoreWithinError().set(true);
+        task.run();
+
+        task = task(dir, result(dir, "precise-baseline.json", "100.0", "1.0"), result(dir, "precise.json", "80.0", "1.0"));
+        task.getIgnoreWithinError().set(true);
+        assertThrows(GradleException.class, task::run);
+    }
+}
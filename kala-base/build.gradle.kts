@@ -43,6 +43,10 @@ tasks.getByName<GenerateTask>("generateSources") {
             generate("${type}Growable", newModel, "PrimitiveGrowable")
             generate("Abstract${type}Iterator", newModel, "AbstractPrimitiveIterator")
         }
+
+        for (model in Primitives.mapPairs) {
+            generate("${model["Name"]}MapIterator", model, "PrimitiveKeyValueMapIterator")
+        }
     }
 
     withPackage("kala.collection.factory.primitive") {
@@ -21,13 +21,12 @@ import kala.collection.base.primitive.*;
 import kala.collection.factory.primitive.*;
 import kala.concurrent.Granularity;
 import kala.concurrent.ConcurrentScope;
-import kala.concurrent.LateInitCountDownLatch;
+import kala.internal.ParallelUtils;
 import kala.control.Option;
 import kala.collection.factory.CollectionFactory;
 import kala.function.*;
 import kala.tuple.Tuple;
 import kala.tuple.Tuple2;
-import kala.value.primitive.IntVar;
 import org.intellij.lang.annotations.Flow;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Contract;
@@ -1102,7 +1101,11 @@ public interface Traversable<@Covariant T> extends Iterable<T>, AnyTraversable<T
             @NotNull Consumer<? super T> action, @NotNull Executor executor, @NotNull Granularity granularity) {
         try {
             forEachAsync(action, executor, granularity).get();
-        } catch (InterruptedException | ExecutionException ignored) {
+        } catch (ExecutionException e) {
+            throw ParallelUtils.rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
         }
     }
 
@@ -1118,27 +1121,165 @@ public interface Traversable<@Covariant T> extends Iterable<T>, AnyTraversable<T
         return forEachAsync(action, ConcurrentScope.currentExecutor(), granularity);
     }
 
+    /// Performs `action` for each element on `executor`.
+    ///
+    /// On a [ForkJoinPool] the elements are processed through [#parallelStream()].
+    /// On any other executor the elements are dispatched in pieces of [Granularity#pieceSize(Executor, int)]
+    /// elements, one task per piece.
+    ///
+    /// If `action` fails, the returned future completes exceptionally with the first failure,
+    /// and the other failures are added to it as suppressed exceptions.
     default @NotNull Future<Void> forEachAsync(
             @NotNull Consumer<? super T> action, @NotNull Executor executor, @NotNull Granularity granularity) {
+        Objects.requireNonNull(action);
+        Objects.requireNonNull(executor);
+        Objects.requireNonNull(granularity);
+
         if (granularity != Granularity.ATOM && executor instanceof ForkJoinPool) {
             return ((ForkJoinPool) executor).submit(() -> parallelStream().forEach(action), null);
-        } else {
-            LateInitCountDownLatch latch = new LateInitCountDownLatch();
-            IntVar count = new IntVar();
-            forEach(value -> {
-                count.increment();
-                executor.execute(() -> {
-                    try {
-                        action.accept(value);
-                    } catch (Throwable ignored) {
-                    } finally {
-                        latch.countDown();
-                    }
-                });
-            });
-            latch.init(count.value);
-            return latch.awaitFuture();
         }
+
+        final int knownSize = knownSize();
+        if (knownSize >= 0) {
+            return ParallelUtils.forEachAsync(executor, iterator(), granularity.pieceSize(executor, knownSize), action);
+        }
+
+        final Object[] values = toArray();
+        return ParallelUtils.runAsync(executor, values.length, granularity.pieceSize(executor, values.length), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                @SuppressWarnings("unchecked")
+                T value = (T) values[i];
+                action.accept(value);
+            }
+        });
+    }
+
+    default <R, Builder> R collectParallel(@NotNull CollectionFactory<? super T, Builder, ? extends R> factory) {
+        return collectParallel(factory, ConcurrentScope.currentExecutor(), Granularity.DEFAULT);
+    }
+
+    /// Collects the elements into a new collection in parallel.
+    ///
+    /// The elements are split into pieces of [Granularity#pieceSize(Executor, int)] elements,
+    /// each piece is accumulated into its own builder on `executor`,
+    /// and the builders are merged in encounter order with [CollectionFactory#mergeBuilder].
+    ///
+    /// If the accumulation fails, the exception is rethrown in the calling thread.
+    default <R, Builder> R collectParallel(
+            @NotNull CollectionFactory<? super T, Builder, ? extends R> factory,
+            @NotNull Executor executor, @NotNull Granularity granularity) {
+        Objects.requireNonNull(factory);
+        Objects.requireNonNull(executor);
+        Objects.requireNonNull(granularity);
+        return ParallelUtils.<T, Builder, R>collect(executor, granularity, toArray(), factory, factory::addToBuilder);
+    }
+
+    default <U, R> R mapParallel(@NotNull CollectionFactory<U, ?, R> factory, @NotNull Function<? super T, ? extends U> mapper) {
+        return mapParallel(factory, mapper, ConcurrentScope.currentExecutor(), Granularity.DEFAULT);
+    }
+
+    /// Applies `mapper` to the elements in parallel and collects the results in encounter order.
+    ///
+    /// @see #collectParallel(CollectionFactory, Executor, Granularity)
+    default <U, R> R mapParallel(
+            @NotNull CollectionFactory<U, ?, R> factory, @NotNull Function<? super T, ? extends U> mapper,
+            @NotNull Executor executor, @NotNull Granularity granularity) {
+        Objects.requireNonNull(mapper);
+        return mapParallel0(factory, mapper, executor, granularity);
+    }
+
+    private <U, Builder, R> R mapParallel0(
+            @NotNull CollectionFactory<U, Builder, R> factory, @NotNull Function<? super T, ? extends U> mapper,
+            @NotNull Executor executor, @NotNull Granularity granularity) {
+        Objects.requireNonNull(factory);
+        Objects.requireNonNull(executor);
+        Objects.requireNonNull(granularity);
+        return ParallelUtils.<T, Builder, R>collect(executor, granularity, toArray(), factory,
+                (builder, value) -> factory.addToBuilder(builder, mapper.apply(value)));
+    }
+
+    default <R> R filterParallel(@NotNull CollectionFactory<T, ?, R> factory, @NotNull Predicate<? super T> predicate) {
+        return filterParallel(factory, predicate, ConcurrentScope.currentExecutor(), Granularity.DEFAULT);
+    }
+
+    /// Selects the elements matching `predicate` in parallel and collects them in encounter order.
+    ///
+    /// @see #collectParallel(CollectionFactory, Executor, Granularity)
+    default <R> R filterParallel(
+            @NotNull CollectionFactory<T, ?, R> factory, @NotNull Predicate<? super T> predicate,
+            @NotNull Executor executor, @NotNull Granularity granularity) {
+        Objects.requireNonNull(predicate);
+        return filterParallel0(factory, predicate, executor, granularity);
+    }
+
+    private <Builder, R> R filterParallel0(
+            @NotNull CollectionFactory<T, Builder, R> factory, @NotNull Predicate<? super T> predicate,
+            @NotNull Executor executor, @NotNull Granularity granularity) {
+        Objects.requireNonNull(factory);
+        Objects.requireNonNull(executor);
+        Objects.requireNonNull(granularity);
+        return ParallelUtils.<T, Builder, R>collect(executor, granularity, toArray(), factory, (builder, value) -> {
+            if (predicate.test(value)) {
+                factory.addToBuilder(builder, value);
+            }
+        });
+    }
+
+    default T reduceParallel(@NotNull BiFunction<? super T, ? super T, ? extends T> op) {
+        return reduceParallel(op, ConcurrentScope.currentExecutor(), Granularity.DEFAULT);
+    }
+
+    /// Reduces the elements by applying `op` in parallel.
+    ///
+    /// `op` must be associative; the pieces are reduced independently and then combined in encounter order.
+    ///
+    /// @throws NoSuchElementException if this `Traversable` is empty
+    @SuppressWarnings("unchecked")
+    default T reduceParallel(
+            @NotNull BiFunction<? super T, ? super T, ? extends T> op,
+            @NotNull Executor executor, @NotNull Granularity granularity) {
+        Objects.requireNonNull(op);
+        Objects.requireNonNull(executor);
+        Objects.requireNonNull(granularity);
+
+        final Object[] values = toArray();
+        if (values.length == 0) {
+            throw new NoSuchElementException();
+        }
+
+        return ParallelUtils.<T>invoke(executor, values.length, granularity.pieceSize(executor, values.length), (from, to) -> {
+            T res = (T) values[from];
+            for (int i = from + 1; i < to; i++) {
+                res = op.apply(res, (T) values[i]);
+            }
+            return res;
+        }, op::apply);
+    }
+
+    default T foldParallel(T zero, @NotNull BiFunction<? super T, ? super T, ? extends T> op) {
+        return foldParallel(zero, op, ConcurrentScope.currentExecutor(), Granularity.DEFAULT);
+    }
+
+    /// Folds the elements by applying `op` in parallel, starting with `zero`.
+    ///
+    /// `op` must be associative and `zero` must be an identity for it,
+    /// since every piece is folded starting from `zero`.
+    @SuppressWarnings("unchecked")
+    default T foldParallel(
+            T zero, @NotNull BiFunction<? super T, ? super T, ? extends T> op,
+            @NotNull Executor executor, @NotNull Granularity granularity) {
+        Objects.requireNonNull(op);
+        Objects.requireNonNull(executor);
+        Objects.requireNonNull(granularity);
+
+        final Object[] values = toArray();
+        return ParallelUtils.<T>invoke(executor, values.length, granularity.pieceSize(executor, values.length), (from, to) -> {
+            T res = zero;
+            for (int i = from; i < to; i++) {
+                res = op.apply(res, (T) values[i]);
+            }
+            return res;
+        }, op::apply);
     }
 
     default <U> void forEachWith(@NotNull Iterable<? extends U> other, @NotNull BiConsumer<? super T, ? super U> action) {
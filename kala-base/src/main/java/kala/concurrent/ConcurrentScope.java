@@ -16,30 +16,73 @@
 package kala.concurrent;
 
 import kala.function.CheckedRunnable;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 
 public final class ConcurrentScope implements AutoCloseable {
+    /// The scopes opened on the current thread.
     private static final ThreadLocal<ConcurrentScope> current = new ThreadLocal<>();
 
+    /// The virtual thread scope whose task is running on the current thread.
+    private static final ScopedValue<ConcurrentScope> taskScope = ScopedValue.newInstance();
+
     public static Executor currentExecutor() {
-        ConcurrentScope currentScope = current.get();
+        ConcurrentScope currentScope = current();
         return currentScope == null ? ForkJoinPool.commonPool() : currentScope.executor;
     }
 
+    /// Returns the innermost scope of the current thread, or `null` if there is none.
+    ///
+    /// Tasks run by a scope created with [#withVirtualThreads()] see that scope as their current scope.
+    public static @Nullable ConcurrentScope current() {
+        ConcurrentScope scope = current.get();
+        if (scope == null && taskScope.isBound()) {
+            scope = taskScope.get();
+        }
+        return scope;
+    }
+
     private final ConcurrentScope parent;
     private final Executor executor;
     private final boolean shutdownOnExit;
 
+    /// The executor that runs the tasks of a virtual thread scope, or `null` for other scopes.
+    private final ExecutorService virtualThreadExecutor;
+    private final Thread deadlineWatcher;
+    private final AtomicReference<Throwable> cancellation = new AtomicReference<>();
+
     private ConcurrentScope(ConcurrentScope parent, Executor executor, boolean shutdownOnExit) {
         this.parent = parent;
         this.executor = executor;
         this.shutdownOnExit = shutdownOnExit;
+        this.virtualThreadExecutor = null;
+        this.deadlineWatcher = null;
+    }
+
+    private ConcurrentScope(ConcurrentScope parent, @Nullable Duration timeout) {
+        this.parent = parent;
+        this.executor = this::executeInScope;
+        this.shutdownOnExit = true;
+        this.virtualThreadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        this.deadlineWatcher = timeout == null ? null : Thread.ofVirtual().start(() -> {
+            try {
+                Thread.sleep(timeout);
+            } catch (InterruptedException e) {
+                return;
+            }
+            cancel0(new TimeoutException("Scope deadline of " + timeout + " exceeded"));
+        });
     }
 
     public static ConcurrentScope withExecutor(@Nullable Executor executor) {
@@ -57,6 +100,29 @@ public final class ConcurrentScope implements AutoCloseable {
         return scope;
     }
 
+    /// Opens a scope that runs every task in a new virtual thread.
+    ///
+    /// Tasks submitted through the scope run with the scope as their current scope,
+    /// so nested parallel operations inside them reuse it instead of falling back to the common pool.
+    ///
+    /// The first task that fails cancels the scope: tasks that have not started yet are skipped,
+    /// running tasks are interrupted, and new tasks are rejected with a [CancellationException].
+    /// The failure is reported once, as the cause of the exception thrown by [#checkCancelled()].
+    ///
+    /// Closing the scope waits for all of its tasks to finish.
+    public static ConcurrentScope withVirtualThreads() {
+        return withVirtualThreads((Duration) null);
+    }
+
+    /// Opens a scope that runs every task in a new virtual thread, and cancels itself after `timeout`.
+    ///
+    /// @see #withVirtualThreads()
+    public static ConcurrentScope withVirtualThreads(@Nullable Duration timeout) {
+        ConcurrentScope scope = new ConcurrentScope(current.get(), timeout);
+        current.set(scope);
+        return scope;
+    }
+
     public static <Ex extends Throwable> void withExecutor(
             @Nullable Executor executor, @NotNull CheckedRunnable<Ex> action) throws Ex {
         withExecutor(executor, false, action);
@@ -69,7 +135,22 @@ public final class ConcurrentScope implements AutoCloseable {
 
     private static <Ex extends Throwable> void withExecutor(
             @Nullable Executor executor, boolean shutdownOnExit, @NotNull CheckedRunnable<Ex> action) throws Ex {
-        try (ConcurrentScope scope = withExecutor(executor, shutdownOnExit)) {
+        try (ConcurrentScope _ = withExecutor(executor, shutdownOnExit)) {
+            action.runChecked();
+        } catch (Throwable ex) {
+            @SuppressWarnings("unchecked")
+            Ex e = (Ex) ex;
+            throw e;
+        }
+    }
+
+    public static <Ex extends Throwable> void withVirtualThreads(@NotNull CheckedRunnable<Ex> action) throws Ex {
+        withVirtualThreads(null, action);
+    }
+
+    public static <Ex extends Throwable> void withVirtualThreads(
+            @Nullable Duration timeout, @NotNull CheckedRunnable<Ex> action) throws Ex {
+        try (ConcurrentScope _ = withVirtualThreads(timeout)) {
             action.runChecked();
         } catch (Throwable ex) {
             @SuppressWarnings("unchecked")
@@ -78,14 +159,78 @@ public final class ConcurrentScope implements AutoCloseable {
         }
     }
 
+    private void executeInScope(Runnable task) {
+        checkCancelled();
+        virtualThreadExecutor.execute(() -> {
+            try {
+                ScopedValue.where(taskScope, this).run(task);
+            } catch (Throwable e) {
+                // Report the failure through the scope instead of the uncaught exception handler
+                failed(e);
+            }
+        });
+    }
+
+    public boolean isCancelled() {
+        return cancellation.get() != null;
+    }
+
+    /// Throws a [CancellationException] if this scope has been cancelled.
+    ///
+    /// The cause of the exception is the failure or timeout that cancelled the scope, if any.
+    public void checkCancelled() throws CancellationException {
+        Throwable cause = cancellation.get();
+        if (cause != null) {
+            CancellationException ex = new CancellationException("Scope has been cancelled");
+            if (!(cause instanceof CancellationException)) {
+                ex.initCause(cause);
+            }
+            throw ex;
+        }
+    }
+
+    /// Cancels this scope.
+    ///
+    /// For a scope created with [#withVirtualThreads()], running tasks are interrupted.
+    /// For other scopes, only pieces of parallel operations that have not started yet are skipped.
+    public void cancel() {
+        cancel0(new CancellationException());
+    }
+
+    /// Reports that a task of this scope failed.
+    ///
+    /// A scope created with [#withVirtualThreads()] is cancelled by its first failure.
+    @ApiStatus.Internal
+    public void failed(@NotNull Throwable failure) {
+        if (virtualThreadExecutor != null) {
+            cancel0(failure);
+        }
+    }
+
+    private void cancel0(Throwable cause) {
+        if (cancellation.compareAndSet(null, cause) && virtualThreadExecutor != null) {
+            virtualThreadExecutor.shutdownNow();
+        }
+    }
+
     @Override
     public void close() {
         if (current.get() != this) {
             throw new IllegalStateException();
         }
 
-        current.set(parent);
-        if (shutdownOnExit) {
+        if (parent == null) {
+            current.remove();
+        } else {
+            current.set(parent);
+        }
+
+        if (virtualThreadExecutor != null) {
+            if (deadlineWatcher != null) {
+                deadlineWatcher.interrupt();
+            }
+            virtualThreadExecutor.close();
+        } else if (shutdownOnExit) {
             ((ExecutorService) executor).shutdown();
         }
     }
@@ -42,6 +42,7 @@ public enum Granularity {
         switch (this) {
             case VERY_FINE:
                 pieceCount <<= 6;
+                // fall through
             case FINE:
                 pieceCount <<= 4;
                 break;
@@ -53,7 +54,7 @@ public enum Granularity {
                 break;
         }
 
-        return Integer.max(1, sizeEstimate / pieceCount);
+        return Integer.max(1, sizeEstimate / Integer.max(1, pieceCount));
     }
 
     public int pieceSize(Executor executor, int sizeEstimate) {
@@ -72,6 +73,7 @@ public enum Granularity {
         switch (this) {
             case VERY_FINE:
                 pieceCount <<= 6;
+                // fall through
             case FINE:
                 pieceCount <<= 4;
                 break;
@@ -83,7 +85,7 @@ public enum Granularity {
                 break;
         }
 
-        return Integer.max(1, sizeEstimate / pieceCount);
+        return Integer.max(1, sizeEstimate / Integer.max(1, pieceCount));
     }
 }
 
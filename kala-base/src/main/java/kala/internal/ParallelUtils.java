@@ -0,0 +1,278 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kala.internal;
+
+import kala.annotations.StaticClass;
+import kala.collection.factory.CollectionFactory;
+import kala.concurrent.ConcurrentScope;
+import kala.concurrent.Granularity;
+import kala.function.IntIntBiFunction;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Serial;
+import java.util.Iterator;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+
+/// Helpers for splitting an index range into pieces, evaluating them on an [Executor]
+/// and combining the partial results in encounter order.
+@StaticClass
+public final class ParallelUtils {
+    private ParallelUtils() {
+    }
+
+    @FunctionalInterface
+    public interface RangeAction {
+        void run(int from, int to);
+    }
+
+    /// Evaluates `leaf` over `[0, size)` split into pieces of at most `pieceSize` elements,
+    /// and combines the partial results from left to right with `combiner`.
+    ///
+    /// If any piece fails, the first failure is rethrown after all pieces have finished,
+    /// and the other failures are added to it as suppressed exceptions.
+    public static <A> A invoke(
+            @NotNull Executor executor, int size, int pieceSize,
+            @NotNull IntIntBiFunction<? extends A> leaf,
+            @NotNull BinaryOperator<A> combiner) {
+        if (size <= pieceSize) {
+            return leaf.apply(0, size);
+        }
+
+        if (executor instanceof ForkJoinPool pool) {
+            return pool.invoke(new RangeTask<>(0, size, pieceSize, leaf, combiner));
+        }
+
+        final int pieceCount = pieceCount(size, pieceSize);
+        final Object[] results = new Object[pieceCount];
+        final ChunkedJob job = new ChunkedJob();
+        for (int i = 0; i < pieceCount; i++) {
+            final int index = i;
+            final int from = i * pieceSize;
+            final int to = Integer.min(size, from + pieceSize);
+            job.submit(executor, () -> results[index] = leaf.apply(from, to));
+        }
+        job.release();
+
+        try {
+            job.join();
+        } catch (CompletionException e) {
+            throw rethrow(e.getCause());
+        }
+
+        @SuppressWarnings("unchecked")
+        A res = (A) results[0];
+        for (int i = 1; i < pieceCount; i++) {
+            @SuppressWarnings("unchecked")
+            A r = (A) results[i];
+            res = combiner.apply(res, r);
+        }
+        return res;
+    }
+
+    /// Runs `action` over `[0, size)` split into pieces of at most `pieceSize` elements,
+    /// submitting one task per piece to `executor`.
+    ///
+    /// The returned future completes when all pieces have finished.
+    /// If any piece fails, it completes exceptionally with the first failure,
+    /// and the other failures are added to it as suppressed exceptions.
+    public static @NotNull Future<Void> runAsync(
+            @NotNull Executor executor, int size, int pieceSize, @NotNull RangeAction action) {
+        final ChunkedJob job = new ChunkedJob();
+        for (int from = 0; from < size; from += pieceSize) {
+            final int start = from;
+            final int end = (int) Long.min(size, (long) from + pieceSize);
+            job.submit(executor, () -> action.run(start, end));
+        }
+        job.release();
+        return job;
+    }
+
+    /// Runs `action` on the elements of `iterator`, submitting one task per `pieceSize` elements to `executor`.
+    ///
+    /// The pieces are submitted as soon as they are filled, so the executor can start working
+    /// before the iteration is finished.
+    ///
+    /// @see #runAsync(Executor, int, int, RangeAction)
+    public static <T> @NotNull Future<Void> forEachAsync(
+            @NotNull Executor executor, @NotNull Iterator<? extends T> iterator, int pieceSize,
+            @NotNull Consumer<? super T> action) {
+        final ChunkedJob job = new ChunkedJob();
+        try {
+            while (iterator.hasNext()) {
+                final Object[] piece = new Object[pieceSize];
+                int n = 0;
+                do {
+                    piece[n++] = iterator.next();
+                } while (n < pieceSize && iterator.hasNext());
+
+                final int pieceLength = n;
+                job.submit(executor, () -> {
+                    for (int i = 0; i < pieceLength; i++) {
+                        @SuppressWarnings("unchecked")
+                        T value = (T) piece[i];
+                        action.accept(value);
+                    }
+                });
+            }
+        } finally {
+            job.release();
+        }
+        return job;
+    }
+
+    /// Builds a collection from `values` in parallel.
+    ///
+    /// Each piece is accumulated into its own builder, and the builders are merged in encounter order
+    /// with [CollectionFactory#mergeBuilder].
+    public static <T, Builder, R> R collect(
+            @NotNull Executor executor, @NotNull Granularity granularity,
+            Object @NotNull [] values,
+            @NotNull CollectionFactory<?, Builder, ? extends R> factory,
+            @NotNull BiConsumer<? super Builder, ? super T> accumulator) {
+        Builder builder = invoke(executor, values.length, granularity.pieceSize(executor, values.length), (from, to) -> {
+            Builder b = factory.newBuilder(to - from);
+            for (int i = from; i < to; i++) {
+                @SuppressWarnings("unchecked")
+                T value = (T) values[i];
+                accumulator.accept(b, value);
+            }
+            return b;
+        }, factory::mergeBuilder);
+        return factory.build(builder);
+    }
+
+    /// Rethrows `e` if it is unchecked, otherwise wraps it in a [CompletionException].
+    public static RuntimeException rethrow(Throwable e) {
+        if (e instanceof RuntimeException re) {
+            throw re;
+        }
+        if (e instanceof Error err) {
+            throw err;
+        }
+        throw new CompletionException(e);
+    }
+
+    private static int pieceCount(int size, int pieceSize) {
+        return (int) (((long) size + pieceSize - 1) / pieceSize);
+    }
+
+    /// A future that completes once every submitted piece has finished.
+    ///
+    /// The submitter holds one extra pending count until [#release()] is called,
+    /// so the job cannot complete while pieces are still being submitted.
+    ///
+    /// Pieces are skipped once the [ConcurrentScope] that was current when the job was created is cancelled,
+    /// and failures are reported to that scope.
+    private static final class ChunkedJob extends CompletableFuture<Void> {
+        private final AtomicInteger pending = new AtomicInteger(1);
+        private final ConcurrentScope scope = ConcurrentScope.current();
+        private Throwable failure;
+
+        void submit(Executor executor, Runnable piece) {
+            pending.incrementAndGet();
+            try {
+                if (scope != null) {
+                    scope.checkCancelled();
+                }
+                executor.execute(() -> {
+                    try {
+                        if (scope != null) {
+                            scope.checkCancelled();
+                        }
+                        piece.run();
+                    } catch (Throwable e) {
+                        fail(e);
+                    } finally {
+                        release();
+                    }
+                });
+            } catch (Throwable e) {
+                // The executor rejected the piece, or the scope has been cancelled
+                fail(e);
+                release();
+            }
+        }
+
+        void fail(Throwable e) {
+            synchronized (this) {
+                if (failure == null) {
+                    failure = e;
+                } else if (failure != e && !(e instanceof CancellationException)) {
+                    failure.addSuppressed(e);
+                }
+            }
+            if (scope != null) {
+                scope.failed(e);
+            }
+        }
+
+        void release() {
+            if (pending.decrementAndGet() == 0) {
+                Throwable ex;
+                synchronized (this) {
+                    ex = failure;
+                }
+                if (ex == null) {
+                    complete(null);
+                } else {
+                    completeExceptionally(ex);
+                }
+            }
+        }
+    }
+
+    private static final class RangeTask<A> extends RecursiveTask<A> {
+        @Serial
+        private static final long serialVersionUID = 0L;
+
+        private final int from;
+        private final int to;
+        private final int pieceSize;
+        private final IntIntBiFunction<? extends A> leaf;
+        private final BinaryOperator<A> combiner;
+
+        RangeTask(int from, int to, int pieceSize, IntIntBiFunction<? extends A> leaf, BinaryOperator<A> combiner) {
+            this.from = from;
+            this.to = to;
+            this.pieceSize = pieceSize;
+            this.leaf = leaf;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected A compute() {
+            if (to - from <= pieceSize) {
+                return leaf.apply(from, to);
+            }
+
+            final int mid = (from + to) >>> 1;
+            RangeTask<A> right = new RangeTask<>(mid, to, pieceSize, leaf, combiner);
+            right.fork();
+            A leftResult = new RangeTask<>(from, mid, pieceSize, leaf, combiner).compute();
+            return combiner.apply(leftResult, right.join());
+        }
+    }
+}
@@ -0,0 +1,607 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kala.io;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * A buffered printer for writing large amounts of text, such as big arrays of numbers.
+ * <p>
+ * Primitives and primitive arrays are formatted directly into a byte buffer,
+ * which is written to the underlying channel in large chunks when it is full or when {@link #flush()} is called.
+ * Strings are encoded in UTF-8, and the output of each method matches the corresponding method of {@link StdOut}.
+ * <p>
+ * Instances of this class are not thread-safe; threads that share a printer must synchronize on it.
+ * I/O errors are reported as {@link UncheckedIOException}.
+ *
+ * @see StdOut#buffered()
+ */
+public final class BufferedPrinter implements Closeable, Flushable {
+    /**
+     * The default size of the buffer in bytes.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private static final int MIN_BUFFER_SIZE = 64;
+
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+
+    private final WritableByteChannel channel;
+    private final byte[] buffer;
+    private int count = 0;
+
+    private StringBuilder floatingBuilder;
+
+    /**
+     * Creates a printer that writes to the given channel.
+     */
+    public BufferedPrinter(@NotNull WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a printer that writes to the given channel with a buffer of the given size in bytes.
+     */
+    public BufferedPrinter(@NotNull WritableByteChannel channel, int bufferSize) {
+        Objects.requireNonNull(channel);
+        if (bufferSize < MIN_BUFFER_SIZE) {
+            throw new IllegalArgumentException("bufferSize: " + bufferSize);
+        }
+        this.channel = channel;
+        this.buffer = new byte[bufferSize];
+    }
+
+    /**
+     * Creates a printer that writes to the given output stream.
+     * <p>
+     * If the stream is a {@link FileOutputStream}, its channel is used directly.
+     */
+    public BufferedPrinter(@NotNull OutputStream output) {
+        this(output instanceof FileOutputStream fileOutput ? fileOutput.getChannel() : Channels.newChannel(output));
+    }
+
+    /**
+     * Creates a printer that writes to the given file descriptor, such as {@link FileDescriptor#out}.
+     */
+    public BufferedPrinter(@NotNull FileDescriptor fd) {
+        this(new FileOutputStream(fd).getChannel());
+    }
+
+    //region Buffer
+
+    private void writeBuffer() {
+        if (count == 0) {
+            return;
+        }
+
+        ByteBuffer buf = ByteBuffer.wrap(buffer, 0, count);
+        try {
+            while (buf.hasRemaining()) {
+                channel.write(buf);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            count = 0;
+        }
+    }
+
+    private void ensureAvailable(int n) {
+        if (buffer.length - count < n) {
+            writeBuffer();
+        }
+    }
+
+    private void writeBytes(byte[] bytes) {
+        ensureAvailable(bytes.length);
+        System.arraycopy(bytes, 0, buffer, count, bytes.length);
+        count += bytes.length;
+    }
+
+    private void writeAscii(byte ch) {
+        if (count == buffer.length) {
+            writeBuffer();
+        }
+        buffer[count++] = ch;
+    }
+
+    private void writeChar(char ch) {
+        ensureAvailable(3);
+        final byte[] buffer = this.buffer;
+        if (ch < 0x80) {
+            buffer[count++] = (byte) ch;
+        } else if (ch < 0x800) {
+            buffer[count++] = (byte) (0xc0 | (ch >> 6));
+            buffer[count++] = (byte) (0x80 | (ch & 0x3f));
+        } else if (Character.isSurrogate(ch)) {
+            buffer[count++] = '?';
+        } else {
+            buffer[count++] = (byte) (0xe0 | (ch >> 12));
+            buffer[count++] = (byte) (0x80 | ((ch >> 6) & 0x3f));
+            buffer[count++] = (byte) (0x80 | (ch & 0x3f));
+        }
+    }
+
+    private void writeChars(CharSequence chars) {
+        final int length = chars.length();
+        for (int i = 0; i < length; i++) {
+            char ch = chars.charAt(i);
+            if (ch < 0x80) {
+                writeAscii((byte) ch);
+            } else if (Character.isHighSurrogate(ch) && i + 1 < length && Character.isLowSurrogate(chars.charAt(i + 1))) {
+                int cp = Character.toCodePoint(ch, chars.charAt(++i));
+                ensureAvailable(4);
+                final byte[] buffer = this.buffer;
+                buffer[count++] = (byte) (0xf0 | (cp >> 18));
+                buffer[count++] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+                buffer[count++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+                buffer[count++] = (byte) (0x80 | (cp & 0x3f));
+            } else {
+                writeChar(ch);
+            }
+        }
+    }
+
+    private void writeLong(long x) {
+        ensureAvailable(20);
+
+        final byte[] buffer = this.buffer;
+        // Format negatively, since the magnitude of Long.MIN_VALUE is larger than Long.MAX_VALUE
+        long value = x;
+        if (value < 0) {
+            buffer[count++] = '-';
+        } else {
+            value = -value;
+        }
+
+        int digits = 1;
+        for (long p = -10; digits < 19 && value <= p; p *= 10) {
+            digits++;
+        }
+
+        int end = count + digits;
+        int pos = end;
+        while (value <= -10) {
+            long q = value / 10;
+            buffer[--pos] = (byte) ('0' + (q * 10 - value));
+            value = q;
+        }
+        buffer[--pos] = (byte) ('0' - value);
+        count = end;
+    }
+
+    private void writeInt(int x) {
+        ensureAvailable(11);
+
+        final byte[] buffer = this.buffer;
+        int value = x;
+        if (value < 0) {
+            buffer[count++] = '-';
+        } else {
+            value = -value;
+        }
+
+        int digits = 1;
+        for (int p = -10; digits < 10 && value <= p; p *= 10) {
+            digits++;
+        }
+
+        int end = count + digits;
+        int pos = end;
+        while (value <= -10) {
+            int q = value / 10;
+            buffer[--pos] = (byte) ('0' + (q * 10 - value));
+            value = q;
+        }
+        buffer[--pos] = (byte) ('0' - value);
+        count = end;
+    }
+
+    private StringBuilder floatingBuilder() {
+        StringBuilder builder = floatingBuilder;
+        if (builder == null) {
+            floatingBuilder = builder = new StringBuilder(32);
+        } else {
+            builder.setLength(0);
+        }
+        return builder;
+    }
+
+    private void writeDouble(double x) {
+        // StringBuilder formats floating-point numbers in place without creating a String
+        StringBuilder builder = floatingBuilder().append(x);
+        writeChars(builder);
+    }
+
+    private void writeFloat(float x) {
+        StringBuilder builder = floatingBuilder().append(x);
+        writeChars(builder);
+    }
+
+    private void writeObject(Object x) {
+        if (x == null) {
+            writeBytes(NULL);
+        } else if (x.getClass().isArray()) {
+            switch (x) {
+                case Object[] objects -> print(objects);
+                case char[] chars -> print(chars);
+                case boolean[] booleans -> print(booleans);
+                case byte[] bytes -> print(bytes);
+                case short[] shorts -> print(shorts);
+                case int[] ints -> print(ints);
+                case long[] longs -> print(longs);
+                case float[] floats -> print(floats);
+                case double[] doubles -> print(doubles);
+                default -> throw new AssertionError("Unknown array type: " + x.getClass());
+            }
+        } else {
+            writeChars(String.valueOf(x));
+        }
+    }
+
+    private void writeSeparator() {
+        ensureAvailable(2);
+        buffer[count++] = ',';
+        buffer[count++] = ' ';
+    }
+
+    //endregion
+
+    //region print
+
+    public @NotNull BufferedPrinter print(Object x) {
+        writeObject(x);
+        return this;
+    }
+
+    public @NotNull BufferedPrinter print(String x) {
+        if (x == null) {
+            writeBytes(NULL);
+        } else {
+            writeChars(x);
+        }
+        return this;
+    }
+
+    public @NotNull BufferedPrinter print(CharSequence x) {
+        if (x == null) {
+            writeBytes(NULL);
+        } else {
+            writeChars(x);
+        }
+        return this;
+    }
+
+    public @NotNull BufferedPrinter print(char x) {
+        writeChar(x);
+        return this;
+    }
+
+    public @NotNull BufferedPrinter print(boolean x) {
+        writeBytes(x ? TRUE : FALSE);
+        return this;
+    }
+
+    public @NotNull BufferedPrinter print(byte x) {
+        writeInt(x);
+        return this;
+    }
+
+    public @NotNull BufferedPrinter print(short x) {
+        writeInt(x);
+        return this;
+    }
+
+    public @NotNull BufferedPrinter print(int x) {
+        writeInt(x);
+        return this;
+    }
+
+    public @NotNull BufferedPrinter print(long x) {
+        writeLong(x);
+        return this;
+    }
+
+    public @NotNull BufferedPrinter print(float x) {
+        writeFloat(x);
+        return this;
+    }
+
+    public @NotNull BufferedPrinter print(double x) {
+        writeDouble(x);
+        return this;
+    }
+
+    public @NotNull BufferedPrinter print(Object[] array) {
+        if (array == null) {
+            writeBytes(NULL);
+            return this;
+        }
+
+        writeAscii((byte) '[');
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                writeSeparator();
+            }
+            writeObject(array[i]);
+        }
+        writeAscii((byte) ']');
+        return this;
+    }
+
+    public @NotNull BufferedPrinter print(char[] array) {
+        if (array == null) {
+            writeBytes(NULL);
+            return this;
+        }
+
+        writeAscii((byte) '[');
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                writeSeparator();
+            }
+            writeChar(array[i]);
+        }
+        writeAscii((byte) ']');
+        return this;
+    }
+
+    public @NotNull BufferedPrinter print(boolean[] array) {
+        if (array == null) {
+            writeBytes(NULL);
+            return this;
+        }
+
+        writeAscii((byte) '[');
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                writeSeparator();
+            }
+            writeBytes(array[i] ? TRUE : FALSE);
+        }
+        writeAscii((byte) ']');
+        return this;
+    }
+
+    public @NotNull BufferedPrinter print(byte[] array) {
+        if (array == null) {
+            writeBytes(NULL);
+            return this;
+        }
+
+        writeAscii((byte) '[');
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                writeSeparator();
+            }
+            writeInt(array[i]);
+        }
+        writeAscii((byte) ']');
+        return this;
+    }
+
+    public @NotNull BufferedPrinter print(short[] array) {
+        if (array == null) {
+            writeBytes(NULL);
+            return this;
+        }
+
+        writeAscii((byte) '[');
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                writeSeparator();
+            }
+            writeInt(array[i]);
+        }
+        writeAscii((byte) ']');
+        return this;
+    }
+
+    public @NotNull BufferedPrinter print(int[] array) {
+        if (array == null) {
+            writeBytes(NULL);
+            return this;
+        }
+
+        writeAscii((byte) '[');
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                writeSeparator();
+            }
+            writeInt(array[i]);
+        }
+        writeAscii((byte) ']');
+        return this;
+    }
+
+    public @NotNull BufferedPrinter print(long[] array) {
+        if (array == null) {
+            writeBytes(NULL);
+            return this;
+        }
+
+        writeAscii((byte) '[');
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                writeSeparator();
+            }
+            writeLong(array[i]);
+        }
+        writeAscii((byte) ']');
+        return this;
+    }
+
+    public @NotNull BufferedPrinter print(float[] array) {
+        if (array == null) {
+            writeBytes(NULL);
+            return this;
+        }
+
+        writeAscii((byte) '[');
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                writeSeparator();
+            }
+            writeFloat(array[i]);
+        }
+        writeAscii((byte) ']');
+        return this;
+    }
+
+    public @NotNull BufferedPrinter print(double[] array) {
+        if (array == null) {
+            writeBytes(NULL);
+            return this;
+        }
+
+        writeAscii((byte) '[');
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                writeSeparator();
+            }
+            writeDouble(array[i]);
+        }
+        writeAscii((byte) ']');
+        return this;
+    }
+
+    //endregion
+
+    //region println
+
+    public @NotNull BufferedPrinter println() {
+        writeBytes(LINE_SEPARATOR);
+        return this;
+    }
+
+    public @NotNull BufferedPrinter println(Object x) {
+        return print(x).println();
+    }
+
+    public @NotNull BufferedPrinter println(String x) {
+        return print(x).println();
+    }
+
+    public @NotNull BufferedPrinter println(CharSequence x) {
+        return print(x).println();
+    }
+
+    public @NotNull BufferedPrinter println(char x) {
+        return print(x).println();
+    }
+
+    public @NotNull BufferedPrinter println(boolean x) {
+        return print(x).println();
+    }
+
+    public @NotNull BufferedPrinter println(byte x) {
+        return print(x).println();
+    }
+
+    public @NotNull BufferedPrinter println(short x) {
+        return print(x).println();
+    }
+
+    public @NotNull BufferedPrinter println(int x) {
+        return print(x).println();
+    }
+
+    public @NotNull BufferedPrinter println(long x) {
+        return print(x).println();
+    }
+
+    public @NotNull BufferedPrinter println(float x) {
+        return print(x).println();
+    }
+
+    public @NotNull BufferedPrinter println(double x) {
+        return print(x).println();
+    }
+
+    public @NotNull BufferedPrinter println(Object[] array) {
+        return print(array).println();
+    }
+
+    public @NotNull BufferedPrinter println(char[] array) {
+        return print(array).println();
+    }
+
+    public @NotNull BufferedPrinter println(boolean[] array) {
+        return print(array).println();
+    }
+
+    public @NotNull BufferedPrinter println(byte[] array) {
+        return print(array).println();
+    }
+
+    public @NotNull BufferedPrinter println(short[] array) {
+        return print(array).println();
+    }
+
+    public @NotNull BufferedPrinter println(int[] array) {
+        return print(array).println();
+    }
+
+    public @NotNull BufferedPrinter println(long[] array) {
+        return print(array).println();
+    }
+
+    public @NotNull BufferedPrinter println(float[] array) {
+        return print(array).println();
+    }
+
+    public @NotNull BufferedPrinter println(double[] array) {
+        return print(array).println();
+    }
+
+    //endregion
+
+    /**
+     * Writes the buffered bytes to the underlying channel.
+     */
+    @Override
+    public void flush() {
+        writeBuffer();
+    }
+
+    /**
+     * Flushes this printer and closes the underlying channel.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -48,6 +48,19 @@ public final class StdIn {
     }
 
 
+    /**
+     * Returns a token reader over {@link FileDescriptor#in} for fast bulk reading of numbers.
+     * <p>
+     * The token reader has its own buffer, so it should not be mixed with the other methods of this class.
+     */
+    public static @NotNull TokenReader tokens() {
+        return TokensHolder.TOKENS;
+    }
+
+    private static final class TokensHolder {
+        static final TokenReader TOKENS = new TokenReader(FileDescriptor.in);
+    }
+
     public static @NotNull String readLine() throws IOException {
         return Objects.requireNonNull(reader, "System.in is null").readLine();
     }
@@ -18,6 +18,7 @@ package kala.io;
 import kala.annotations.StaticClass;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.FileDescriptor;
 import java.io.PrintStream;
 import java.util.Locale;
 
@@ -26,6 +27,38 @@ import java.util.Locale;
  */
 @StaticClass
 public final class StdOut {
+    /**
+     * Returns a buffered printer over {@link FileDescriptor#out}.
+     * <p>
+     * Unlike the other methods of this class, the printer does not go through {@link System#out}.
+     * Its output only becomes visible when it is flushed; it is also flushed when the JVM shuts down normally.
+     * <p>
+     * The same printer is returned to every thread, and like every {@link BufferedPrinter} it is not thread-safe.
+     * Threads that share it must hold its monitor while using it, for example:
+     * <pre>{@code
+     * BufferedPrinter out = StdOut.buffered();
+     * synchronized (out) {
+     *     out.println(array);
+     * }
+     * }</pre>
+     * The shutdown hook also holds the monitor while flushing, so it never interleaves with such a block.
+     */
+    public static @NotNull BufferedPrinter buffered() {
+        return BufferedHolder.PRINTER;
+    }
+
+    private static final class BufferedHolder {
+        static final BufferedPrinter PRINTER = new BufferedPrinter(FileDescriptor.out);
+
+        static {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                synchronized (PRINTER) {
+                    PRINTER.flush();
+                }
+            }, "kala-stdout-flush"));
+        }
+    }
+
     public static void print(Object x) {
         if (x == null) {
             System.out.print("null");
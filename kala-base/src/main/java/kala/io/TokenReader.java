@@ -0,0 +1,539 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kala.io;
+
+import kala.collection.base.primitive.IntGrowable;
+import kala.collection.base.primitive.LongGrowable;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A byte-level tokenizer for reading large amounts of whitespace-separated numbers.
+ * <p>
+ * Input is read from a {@link ReadableByteChannel} into a direct buffer,
+ * and numbers are parsed directly from the buffered bytes without creating intermediate strings.
+ * Tokens are separated by ASCII whitespace and control characters, and must be ASCII.
+ * <p>
+ * Instances of this class are not thread-safe.
+ *
+ * @see StdIn#tokens()
+ */
+public final class TokenReader implements Closeable {
+    /**
+     * The default size of the buffer in bytes.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private static final int MAX_EXACT_DIGITS = 15;
+    private static final int MAX_EXACT_EXPONENT = 22;
+    private static final int MAX_SIGNIFICANT_DIGITS = 18;
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20,
+            1e21, 1e22
+    };
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+
+    private int position = 0;
+    private int limit = 0;
+    private boolean eof = false;
+
+    private byte[] token = new byte[32];
+
+    /**
+     * Creates a token reader that reads from the given channel.
+     * <p>
+     * The channel should be in blocking mode.
+     */
+    public TokenReader(@NotNull ReadableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a token reader that reads from the given channel with a buffer of the given size in bytes.
+     * <p>
+     * The channel should be in blocking mode.
+     */
+    public TokenReader(@NotNull ReadableByteChannel channel, int bufferSize) {
+        Objects.requireNonNull(channel);
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize: " + bufferSize);
+        }
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * Creates a token reader that reads from the given input stream.
+     * <p>
+     * If the stream is a {@link FileInputStream}, its channel is used directly.
+     */
+    public TokenReader(@NotNull InputStream input) {
+        this(input instanceof FileInputStream fileInput ? fileInput.getChannel() : Channels.newChannel(input));
+    }
+
+    /**
+     * Creates a token reader that reads from the given file descriptor, such as {@link FileDescriptor#in}.
+     */
+    public TokenReader(@NotNull FileDescriptor fd) {
+        this(new FileInputStream(fd).getChannel());
+    }
+
+    //region Buffer
+
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+
+        buffer.clear();
+        int n;
+        do {
+            n = channel.read(buffer);
+        } while (n == 0);
+
+        if (n < 0) {
+            eof = true;
+            position = limit = 0;
+            return false;
+        }
+
+        position = 0;
+        limit = n;
+        return true;
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer.get(position++) & 0xff;
+    }
+
+    private static boolean isWhitespace(int ch) {
+        return ch <= ' ' && ch >= 0;
+    }
+
+    private static boolean isDigit(int ch) {
+        return ch >= '0' && ch <= '9';
+    }
+
+    private static boolean isEndOfToken(int ch) {
+        return ch <= ' ';
+    }
+
+    private int skipWhitespace() throws IOException {
+        int ch;
+        do {
+            ch = read();
+        } while (isWhitespace(ch));
+        return ch;
+    }
+
+    private int firstOfToken() throws IOException {
+        int ch = skipWhitespace();
+        if (ch < 0) {
+            throw new NoSuchElementException();
+        }
+        return ch;
+    }
+
+    /**
+     * Copies the token starting with {@code first} into {@link #token} and returns its length.
+     */
+    private int readToken(int first) throws IOException {
+        byte[] token = this.token;
+        int length = 0;
+        int ch = first;
+        do {
+            if (length == token.length) {
+                this.token = token = Arrays.copyOf(token, length * 2);
+            }
+            token[length++] = (byte) ch;
+            ch = read();
+        } while (!isEndOfToken(ch));
+        return length;
+    }
+
+    private void skipToken() throws IOException {
+        int ch;
+        do {
+            ch = read();
+        } while (!isEndOfToken(ch));
+    }
+
+    private InputMismatchException mismatch(String prefix, int ch) throws IOException {
+        StringBuilder builder = new StringBuilder(prefix);
+        while (!isEndOfToken(ch)) {
+            builder.append((char) ch);
+            ch = read();
+        }
+        return new InputMismatchException("For input string: \"" + builder + '"');
+    }
+
+    //endregion
+
+    /**
+     * Returns whether there is another token in the input.
+     */
+    public boolean hasNext() throws IOException {
+        int ch = skipWhitespace();
+        if (ch < 0) {
+            return false;
+        }
+        position--;
+        return true;
+    }
+
+    /**
+     * Reads the next token as a string.
+     *
+     * @throws NoSuchElementException if the input is exhausted.
+     */
+    public @NotNull String next() throws IOException {
+        int length = readToken(firstOfToken());
+        return new String(token, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Reads the next token as a decimal {@code int}.
+     *
+     * @throws NoSuchElementException if the input is exhausted.
+     * @throws InputMismatchException if the token is not a valid {@code int}.
+     */
+    public int nextInt() throws IOException {
+        long value = nextLong(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        return (int) value;
+    }
+
+    /**
+     * Reads the next token as a decimal {@code long}.
+     *
+     * @throws NoSuchElementException if the input is exhausted.
+     * @throws InputMismatchException if the token is not a valid {@code long}.
+     */
+    public long nextLong() throws IOException {
+        return nextLong(Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    private long nextLong(long min, long max) throws IOException {
+        int ch = firstOfToken();
+
+        boolean negative = false;
+        if (ch == '-' || ch == '+') {
+            negative = ch == '-';
+            ch = read();
+        }
+
+        if (!isDigit(ch)) {
+            throw mismatch(negative ? "-" : "", ch);
+        }
+
+        // Accumulate negatively, since the magnitude of the minimum value is larger than the maximum value
+        final long limit = negative ? min : -max;
+        final long multiplyMin = limit / 10;
+        long result = 0;
+        do {
+            int digit = ch - '0';
+            if (result < multiplyMin || result * 10 < limit + digit) {
+                skipToken();
+                throw new InputMismatchException("Value out of range");
+            }
+            result = result * 10 - digit;
+            ch = read();
+        } while (isDigit(ch));
+
+        if (!isEndOfToken(ch)) {
+            throw mismatch(negative ? Long.toString(result) : Long.toString(-result), ch);
+        }
+
+        return negative ? result : -result;
+    }
+
+    /**
+     * Reads the next token as a {@code double}.
+     * <p>
+     * Tokens in the simple decimal form with at most 15 significant digits and a small exponent
+     * are converted without allocation. Other tokens accepted by {@link Double#parseDouble(String)} are also supported.
+     *
+     * @throws NoSuchElementException if the input is exhausted.
+     * @throws InputMismatchException if the token is not a valid {@code double}.
+     */
+    public double nextDouble() throws IOException {
+        final int length = readToken(firstOfToken());
+        final byte[] token = this.token;
+
+        int i = 0;
+        boolean negative = false;
+        if (token[0] == '-' || token[0] == '+') {
+            negative = token[0] == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        boolean hasDigits = false;
+        boolean exact = true;
+
+        for (; i < length && isDigit(token[i]); i++) {
+            hasDigits = true;
+            if (significantDigits < MAX_SIGNIFICANT_DIGITS) {
+                mantissa = mantissa * 10 + (token[i] - '0');
+                if (mantissa != 0) {
+                    significantDigits++;
+                }
+            } else {
+                exponent++;
+                exact &= token[i] == '0';
+            }
+        }
+
+        if (i < length && token[i] == '.') {
+            i++;
+            for (; i < length && isDigit(token[i]); i++) {
+                hasDigits = true;
+                if (significantDigits < MAX_SIGNIFICANT_DIGITS) {
+                    mantissa = mantissa * 10 + (token[i] - '0');
+                    if (mantissa != 0) {
+                        significantDigits++;
+                    }
+                    exponent--;
+                } else {
+                    exact &= token[i] == '0';
+                }
+            }
+        }
+
+        if (hasDigits && i < length && (token[i] == 'e' || token[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < length && (token[i] == '-' || token[i] == '+')) {
+                negativeExponent = token[i] == '-';
+                i++;
+            }
+
+            if (i == length) {
+                hasDigits = false;
+            } else {
+                int e = 0;
+                for (; i < length && isDigit(token[i]); i++) {
+                    if (e < 100_000) {
+                        e = e * 10 + (token[i] - '0');
+                    }
+                }
+                exponent += negativeExponent ? -e : e;
+            }
+        }
+
+        if (hasDigits && i == length && exact) {
+            if (mantissa == 0) {
+                return negative ? -0.0 : 0.0;
+            }
+
+            if (significantDigits <= MAX_EXACT_DIGITS && exponent >= -MAX_EXACT_EXPONENT && exponent <= MAX_EXACT_EXPONENT) {
+                // Both the mantissa and the power of ten are exactly representable,
+                // so a single multiplication or division is correctly rounded
+                double value = (double) mantissa;
+                value = exponent >= 0 ? value * POWERS_OF_TEN[exponent] : value / POWERS_OF_TEN[-exponent];
+                return negative ? -value : value;
+            }
+        }
+
+        String str = new String(token, 0, length, StandardCharsets.ISO_8859_1);
+        try {
+            return Double.parseDouble(str);
+        } catch (NumberFormatException e) {
+            throw new InputMismatchException("For input string: \"" + str + '"');
+        }
+    }
+
+    //region Bulk operations
+
+    /**
+     * Reads {@code array.length} ints into the given array.
+     *
+     * @throws NoSuchElementException if the input is exhausted before the array is filled.
+     * @throws InputMismatchException if a token is not a valid {@code int}.
+     */
+    public void readInts(int @NotNull [] array) throws IOException {
+        readInts(array, 0, array.length);
+    }
+
+    /**
+     * Reads ints into the given array from index {@code fromIndex} (inclusive) to {@code toIndex} (exclusive).
+     *
+     * @throws NoSuchElementException if the input is exhausted before the range is filled.
+     * @throws InputMismatchException if a token is not a valid {@code int}.
+     */
+    public void readInts(int @NotNull [] array, int fromIndex, int toIndex) throws IOException {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        for (int i = fromIndex; i < toIndex; i++) {
+            array[i] = nextInt();
+        }
+    }
+
+    /**
+     * Reads {@code count} ints and returns them as a new array.
+     *
+     * @throws NoSuchElementException if the input is exhausted before {@code count} ints are read.
+     * @throws InputMismatchException if a token is not a valid {@code int}.
+     */
+    public int @NotNull [] readInts(int count) throws IOException {
+        if (count < 0) {
+            throw new IllegalArgumentException("count: " + count);
+        }
+        int[] res = new int[count];
+        readInts(res, 0, count);
+        return res;
+    }
+
+    /**
+     * Reads {@code count} ints and appends them to the given growable, such as a {@code MutableIntArrayList}.
+     *
+     * @throws NoSuchElementException if the input is exhausted before {@code count} ints are read.
+     * @throws InputMismatchException if a token is not a valid {@code int}.
+     */
+    public void readInts(@NotNull IntGrowable growable, int count) throws IOException {
+        if (count < 0) {
+            throw new IllegalArgumentException("count: " + count);
+        }
+        for (int i = 0; i < count; i++) {
+            growable.plusAssign(nextInt());
+        }
+    }
+
+    /**
+     * Reads all remaining tokens as ints and appends them to the given growable.
+     *
+     * @return the number of ints read.
+     * @throws InputMismatchException if a token is not a valid {@code int}.
+     */
+    public long readAllInts(@NotNull IntGrowable growable) throws IOException {
+        long count = 0;
+        while (hasNext()) {
+            growable.plusAssign(nextInt());
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Reads {@code array.length} longs into the given array.
+     *
+     * @throws NoSuchElementException if the input is exhausted before the array is filled.
+     * @throws InputMismatchException if a token is not a valid {@code long}.
+     */
+    public void readLongs(long @NotNull [] array) throws IOException {
+        readLongs(array, 0, array.length);
+    }
+
+    /**
+     * Reads longs into the given array from index {@code fromIndex} (inclusive) to {@code toIndex} (exclusive).
+     *
+     * @throws NoSuchElementException if the input is exhausted before the range is filled.
+     * @throws InputMismatchException if a token is not a valid {@code long}.
+     */
+    public void readLongs(long @NotNull [] array, int fromIndex, int toIndex) throws IOException {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        for (int i = fromIndex; i < toIndex; i++) {
+            array[i] = nextLong();
+        }
+    }
+
+    /**
+     * Reads {@code count} longs and returns them as a new array.
+     *
+     * @throws NoSuchElementException if the input is exhausted before {@code count} longs are read.
+     * @throws InputMismatchException if a token is not a valid {@code long}.
+     */
+    public long @NotNull [] readLongs(int count) throws IOException {
+        if (count < 0) {
+            throw new IllegalArgumentException("count: " + count);
+        }
+        long[] res = new long[count];
+        readLongs(res, 0, count);
+        return res;
+    }
+
+    /**
+     * Reads {@code count} longs and appends them to the given growable, such as a {@code MutableLongArrayList}.
+     *
+     * @throws NoSuchElementException if the input is exhausted before {@code count} longs are read.
+     * @throws InputMismatchException if a token is not a valid {@code long}.
+     */
+    public void readLongs(@NotNull LongGrowable growable, int count) throws IOException {
+        if (count < 0) {
+            throw new IllegalArgumentException("count: " + count);
+        }
+        for (int i = 0; i < count; i++) {
+            growable.plusAssign(nextLong());
+        }
+    }
+
+    /**
+     * Reads all remaining tokens as longs and appends them to the given growable.
+     *
+     * @return the number of longs read.
+     * @throws InputMismatchException if a token is not a valid {@code long}.
+     */
+    public long readAllLongs(@NotNull LongGrowable growable) throws IOException {
+        long count = 0;
+        while (hasNext()) {
+            growable.plusAssign(nextLong());
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Reads {@code array.length} doubles into the given array.
+     *
+     * @throws NoSuchElementException if the input is exhausted before the array is filled.
+     * @throws InputMismatchException if a token is not a valid {@code double}.
+     */
+    public void readDoubles(double @NotNull [] array) throws IOException {
+        for (int i = 0; i < array.length; i++) {
+            array[i] = nextDouble();
+        }
+    }
+
+    //endregion
+
+    /**
+     * Closes the underlying channel.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -18,6 +18,10 @@ package kala.text;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.Formatter;
 import java.util.Locale;
 import java.util.Objects;
@@ -27,52 +31,165 @@ public class StringAppender extends Writer implements Externalizable {
     @Serial
     private static final long serialVersionUID = 0L;
 
+    /// The default number of chars in each chunk of a [chunked][#chunked()] appender.
+    ///
+    /// A chunk of this size stays well below the humongous object threshold of G1 with its default region sizes.
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    private static final int MIN_CHUNK_SIZE = 16;
+
+    /// The size of the pieces in which the content of a non-chunked appender is encoded by `writeTo`.
+    private static final int ENCODE_PIECE_SIZE = 8192;
+
+    /// Returns a new appender that stores its content in chunks of [#DEFAULT_CHUNK_SIZE] chars.
+    ///
+    /// @see #chunked(int)
+    public static @NotNull StringAppender chunked() {
+        return chunked(DEFAULT_CHUNK_SIZE);
+    }
+
+    /// Returns a new appender that stores its content in chunks of about `chunkSize` chars.
+    ///
+    /// When the current chunk is full, its content is sealed into a string and the builder is reused for the next chunk,
+    /// so appending never copies the whole content again and never allocates one huge contiguous array.
+    /// Use `writeTo` or [#appendTo(Appendable)] to output the content without creating one string for all of it.
+    public static @NotNull StringAppender chunked(int chunkSize) {
+        if (chunkSize < MIN_CHUNK_SIZE) {
+            throw new IllegalArgumentException("chunkSize: " + chunkSize);
+        }
+        return new StringAppender(new StringBuilder(chunkSize), chunkSize);
+    }
+
     private final StringBuilder builder;
 
+    /// The maximum number of chars in the builder before it is sealed, or [Integer#MAX_VALUE] if this is not chunked.
+    private int chunkSize;
+
+    /// The sealed chunks, or `null` if no chunk has been sealed yet.
+    private ArrayList<String> chunks;
+    private long sealedLength;
+
+    private StringAppender(StringBuilder builder, int chunkSize) {
+        this.builder = builder;
+        this.chunkSize = chunkSize;
+    }
+
     public StringAppender() {
         this.builder = new StringBuilder();
+        this.chunkSize = Integer.MAX_VALUE;
     }
 
     public StringAppender(int capacity) {
         this.builder = new StringBuilder(capacity);
+        this.chunkSize = Integer.MAX_VALUE;
     }
 
     public StringAppender(@NotNull String value) {
         this.builder = new StringBuilder(value);
+        this.chunkSize = Integer.MAX_VALUE;
     }
 
     public StringAppender(@NotNull CharSequence value) {
         this.builder = new StringBuilder(value);
+        this.chunkSize = Integer.MAX_VALUE;
     }
 
     public StringAppender(@NotNull StringBuilder builder) {
         this.builder = Objects.requireNonNull(builder);
+        this.chunkSize = Integer.MAX_VALUE;
     }
 
+    /// Returns the underlying builder.
+    ///
+    /// If this appender is [chunked][#chunked(int)], the builder only holds the content of the last chunk.
     public @NotNull StringBuilder getBuilder() {
         return builder;
     }
 
+    /// Returns whether this appender stores its content in chunks.
+    public boolean isChunked() {
+        return chunkSize != Integer.MAX_VALUE;
+    }
+
+    /// Returns the number of chars appended so far.
+    public long length() {
+        return sealedLength + builder.length();
+    }
+
+    /// Seals the current chunk if it is full. This is called after every append.
+    void afterAppend() {
+        if (builder.length() >= chunkSize) {
+            sealChunk();
+        }
+    }
+
+    private void sealChunk() {
+        final int length = builder.length();
+        // Never separate a surrogate pair, so that every chunk can be encoded on its own
+        if (length == 0 || Character.isHighSurrogate(builder.charAt(length - 1))) {
+            return;
+        }
+
+        if (chunks == null) {
+            chunks = new ArrayList<>();
+        }
+        chunks.add(builder.toString());
+        sealedLength += length;
+        builder.setLength(0);
+    }
+
+    private void appendChars(CharSequence str, int beginIndex, int endIndex) {
+        if (chunkSize == Integer.MAX_VALUE) {
+            builder.append(str, beginIndex, endIndex);
+            return;
+        }
+
+        while (beginIndex < endIndex) {
+            int n = Math.min(endIndex - beginIndex, Math.max(chunkSize - builder.length(), 1));
+            builder.append(str, beginIndex, beginIndex + n);
+            beginIndex += n;
+            afterAppend();
+        }
+    }
+
+    private void appendChars(char[] str, int offset, int len) {
+        if (chunkSize == Integer.MAX_VALUE) {
+            builder.append(str, offset, len);
+            return;
+        }
+
+        Objects.checkFromIndexSize(offset, len, str.length);
+        final int end = offset + len;
+        while (offset < end) {
+            int n = Math.min(end - offset, Math.max(chunkSize - builder.length(), 1));
+            builder.append(str, offset, n);
+            offset += n;
+            afterAppend();
+        }
+    }
+
     //region Writer
 
     @Override
     public void write(int c) {
         builder.append((char) c);
+        afterAppend();
     }
 
     @Override
     public void write(@NotNull String str) {
-        builder.append(str);
+        appendChars(str, 0, str.length());
     }
 
     @Override
     public void write(@NotNull String str, int off, int len) {
-        builder.append(str, off, off + len);
+        Objects.checkFromIndexSize(off, len, str.length());
+        appendChars(str, off, off + len);
     }
 
     @Override
     public void write(char @NotNull [] str, int offset, int len) {
-        builder.append(str, offset, len);
+        appendChars(str, offset, len);
     }
 
     @Override
@@ -86,55 +203,120 @@ public class StringAppender extends Writer implements Externalizable {
     //endregion
 
     public void appendTo(Appendable appendable) throws IOException {
+        if (chunks != null) {
+            for (String chunk : chunks) {
+                appendable.append(chunk);
+            }
+        }
         appendable.append(builder);
     }
 
+    /// Writes the content of this appender to `writer` chunk by chunk.
+    public void writeTo(@NotNull Writer writer) throws IOException {
+        if (chunks != null) {
+            for (String chunk : chunks) {
+                writer.write(chunk);
+            }
+        }
+        writeBuilderPieces(writer::write);
+    }
+
+    /// Encodes the content of this appender with `charset` and writes it to `out` chunk by chunk.
+    public void writeTo(@NotNull OutputStream out, @NotNull Charset charset) throws IOException {
+        if (chunks != null) {
+            for (String chunk : chunks) {
+                out.write(chunk.getBytes(charset));
+            }
+        }
+        writeBuilderPieces(piece -> out.write(piece.getBytes(charset)));
+    }
+
+    /// Encodes the content of this appender with `charset` and writes it to `channel` chunk by chunk.
+    public void writeTo(@NotNull WritableByteChannel channel, @NotNull Charset charset) throws IOException {
+        if (chunks != null) {
+            for (String chunk : chunks) {
+                writeFully(channel, chunk.getBytes(charset));
+            }
+        }
+        writeBuilderPieces(piece -> writeFully(channel, piece.getBytes(charset)));
+    }
+
+    private static void writeFully(WritableByteChannel channel, byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private interface PieceWriter {
+        void write(String piece) throws IOException;
+    }
+
+    private void writeBuilderPieces(PieceWriter writer) throws IOException {
+        final int length = builder.length();
+        int begin = 0;
+        while (begin < length) {
+            int end = Math.min(length, begin + ENCODE_PIECE_SIZE);
+            if (end < length && Character.isHighSurrogate(builder.charAt(end - 1))) {
+                end++;
+            }
+            writer.write(builder.substring(begin, end));
+            begin = end;
+        }
+    }
+
     public StringAppender append(char[] str) {
-        builder.append(str);
+        appendChars(str, 0, str.length);
         return this;
     }
 
     public StringAppender append(char[] str, int offset, int len) {
-        builder.append(str, offset, len);
+        appendChars(str, offset, len);
         return this;
     }
 
     public StringAppender append(boolean b) {
         builder.append(b);
+        afterAppend();
         return this;
     }
 
     @Override
     public StringAppender append(char c) {
         builder.append(c);
+        afterAppend();
         return this;
     }
 
     public StringAppender append(int i) {
         builder.append(i);
+        afterAppend();
         return this;
     }
 
     public StringAppender append(long lng) {
         builder.append(lng);
+        afterAppend();
         return this;
     }
 
     public StringAppender append(float f) {
         builder.append(f);
+        afterAppend();
         return this;
     }
 
     public StringAppender append(double d) {
         builder.append(d);
+        afterAppend();
         return this;
     }
 
     public StringAppender append(Object obj) {
         if (obj == null) {
-            builder.append((String) null);
+            return appendNull();
         } else if (obj.getClass().isArray()) {
-            switch (obj) {
+            return switch (obj) {
                 case Object[] objects -> appendArray(objects);
                 case char[] chars -> appendArray(chars);
                 case boolean[] booleans -> appendArray(booleans);
@@ -145,16 +327,17 @@ public class StringAppender extends Writer implements Externalizable {
                 case float[] floats -> appendArray(floats);
                 case double[] doubles -> appendArray(doubles);
                 default -> throw new AssertionError("Unknown array type: " + obj.getClass());
-            }
-        } else {
-            builder.append(obj);
+            };
         }
 
+        builder.append(obj);
+        afterAppend();
         return this;
     }
 
     public StringAppender appendNull() {
         builder.append((String) null);
+        afterAppend();
         return this;
     }
 
@@ -166,6 +349,7 @@ public class StringAppender extends Writer implements Externalizable {
 
         if (array.length == 0) {
             builder.append("[]");
+            afterAppend();
             return this;
         }
 
@@ -178,6 +362,7 @@ public class StringAppender extends Writer implements Externalizable {
         }
 
         builder.append(']');
+        afterAppend();
         return this;
     }
 
@@ -189,18 +374,20 @@ public class StringAppender extends Writer implements Externalizable {
 
         if (array.length == 0) {
             builder.append("[]");
+            afterAppend();
             return this;
         }
 
-        builder.append('[');
-        append(array[0]);
+        builder.append('[').append(array[0]);
+        afterAppend();
 
         for (int i = 1; i < array.length; i++) {
-            builder.append(", ");
-            append(array[i]);
+            builder.append(", ").append(array[i]);
+            afterAppend();
         }
 
         builder.append(']');
+        afterAppend();
         return this;
     }
 
@@ -212,18 +399,20 @@ public class StringAppender extends Writer implements Externalizable {
 
         if (array.length == 0) {
             builder.append("[]");
+            afterAppend();
             return this;
         }
 
-        builder.append('[');
-        append(array[0]);
+        builder.append('[').append(array[0]);
+        afterAppend();
 
         for (int i = 1; i < array.length; i++) {
-            builder.append(", ");
-            append(array[i]);
+            builder.append(", ").append(array[i]);
+            afterAppend();
         }
 
         builder.append(']');
+        afterAppend();
         return this;
     }
 
@@ -235,18 +424,20 @@ public class StringAppender extends Writer implements Externalizable {
 
         if (array.length == 0) {
             builder.append("[]");
+            afterAppend();
             return this;
         }
 
-        builder.append('[');
-        append(array[0]);
+        builder.append('[').append(array[0]);
+        afterAppend();
 
         for (int i = 1; i < array.length; i++) {
-            builder.append(", ");
-            append(array[i]);
+            builder.append(", ").append(array[i]);
+            afterAppend();
         }
 
         builder.append(']');
+        afterAppend();
         return this;
     }
 
@@ -258,18 +449,20 @@ public class StringAppender extends Writer implements Externalizable {
 
         if (array.length == 0) {
             builder.append("[]");
+            afterAppend();
             return this;
         }
 
-        builder.append('[');
-        append(array[0]);
+        builder.append('[').append(array[0]);
+        afterAppend();
 
         for (int i = 1; i < array.length; i++) {
-            builder.append(", ");
-            append(array[i]);
+            builder.append(", ").append(array[i]);
+            afterAppend();
         }
 
         builder.append(']');
+        afterAppend();
         return this;
     }
 
@@ -281,18 +474,20 @@ public class StringAppender extends Writer implements Externalizable {
 
         if (array.length == 0) {
             builder.append("[]");
+            afterAppend();
             return this;
         }
 
-        builder.append('[');
-        append(array[0]);
+        builder.append('[').append(array[0]);
+        afterAppend();
 
         for (int i = 1; i < array.length; i++) {
-            builder.append(", ");
-            append(array[i]);
+            builder.append(", ").append(array[i]);
+            afterAppend();
         }
 
         builder.append(']');
+        afterAppend();
         return this;
     }
 
@@ -304,18 +499,20 @@ public class StringAppender extends Writer implements Externalizable {
 
         if (array.length == 0) {
             builder.append("[]");
+            afterAppend();
             return this;
         }
 
-        builder.append('[');
-        append(array[0]);
+        builder.append('[').append(array[0]);
+        afterAppend();
 
         for (int i = 1; i < array.length; i++) {
-            builder.append(", ");
-            append(array[i]);
+            builder.append(", ").append(array[i]);
+            afterAppend();
         }
 
         builder.append(']');
+        afterAppend();
         return this;
     }
 
@@ -327,18 +524,20 @@ public class StringAppender extends Writer implements Externalizable {
 
         if (array.length == 0) {
             builder.append("[]");
+            afterAppend();
             return this;
         }
 
-        builder.append('[');
-        append(array[0]);
+        builder.append('[').append(array[0]);
+        afterAppend();
 
         for (int i = 1; i < array.length; i++) {
-            builder.append(", ");
-            append(array[i]);
+            builder.append(", ").append(array[i]);
+            afterAppend();
         }
 
         builder.append(']');
+        afterAppend();
         return this;
     }
 
@@ -350,33 +549,40 @@ public class StringAppender extends Writer implements Externalizable {
 
         if (array.length == 0) {
             builder.append("[]");
+            afterAppend();
             return this;
         }
 
-        builder.append('[');
-        append(array[0]);
+        builder.append('[').append(array[0]);
+        afterAppend();
 
         for (int i = 1; i < array.length; i++) {
-            builder.append(", ");
-            append(array[i]);
+            builder.append(", ").append(array[i]);
+            afterAppend();
         }
 
         builder.append(']');
+        afterAppend();
         return this;
     }
 
     public StringAppender appendCodePoint(int codePoint) {
         builder.appendCodePoint(codePoint);
+        afterAppend();
         return this;
     }
 
     public StringAppender append(String str) {
-        builder.append(str);
+        if (str == null) {
+            return appendNull();
+        }
+        appendChars(str, 0, str.length());
         return this;
     }
 
     public StringAppender append(StringBuffer buffer) {
         builder.append(buffer);
+        afterAppend();
         return this;
     }
 
@@ -384,8 +590,7 @@ public class StringAppender extends Writer implements Externalizable {
         if (view == null)
             appendNull();
         else
-            view.appendTo(builder);
-
+            appendChars(view.source(), view.sourceOffset(), view.sourceOffset() + view.length());
         return this;
     }
 
@@ -393,31 +598,36 @@ public class StringAppender extends Writer implements Externalizable {
         if (view == null)
             appendNull();
         else
-            view.slice(beginIndex, endIndex).appendTo(builder);
-
+            append(view.slice(beginIndex, endIndex));
         return this;
     }
 
     @Override
     public StringAppender append(CharSequence s) {
-        if (s instanceof StringSlice slice)
-            slice.appendTo(builder);
+        if (s == null)
+            appendNull();
+        else if (s instanceof StringSlice slice)
+            appendChars(slice.source(), slice.sourceOffset(), slice.sourceOffset() + slice.length());
         else
-            builder.append(s);
+            appendChars(s, 0, s.length());
         return this;
     }
 
     @Override
     public StringAppender append(CharSequence s, int beginIndex, int endIndex) {
+        if (s == null)
+            s = "null";
+        Objects.checkFromToIndex(beginIndex, endIndex, s.length());
         if (s instanceof StringSlice slice)
-            slice.slice(beginIndex, endIndex).appendTo(builder);
+            appendChars(slice.source(), slice.sourceOffset() + beginIndex, slice.sourceOffset() + endIndex);
         else
-            builder.append(s);
+            appendChars(s, beginIndex, endIndex);
         return this;
     }
 
     public StringAppender appendFormatted(String format, Object... args) {
         new Formatter(this).format(format, args);
+        afterAppend();
         return this;
     }
 
@@ -428,6 +638,7 @@ public class StringAppender extends Writer implements Externalizable {
         }
 
         builder.append(str.toString().toLowerCase(Locale.ROOT));
+        afterAppend();
         return this;
     }
 
@@ -438,26 +649,70 @@ public class StringAppender extends Writer implements Externalizable {
         }
 
         builder.append(str.toString().toUpperCase(Locale.ROOT));
+        afterAppend();
         return this;
     }
 
     private void beforeAppend(int n) {
-        builder.ensureCapacity(builder.length() + n);
+        if (chunkSize == Integer.MAX_VALUE) {
+            builder.ensureCapacity(builder.length() + n);
+        }
     }
 
     @Override
     public void writeExternal(ObjectOutput out) throws IOException {
-        out.writeObject(builder.toString());
+        if (chunkSize == Integer.MAX_VALUE) {
+            out.writeObject(builder.toString());
+        } else {
+            // Chunked appenders are written chunk by chunk, so the whole content never has to fit in one string
+            int sealedCount = chunks != null ? chunks.size() : 0;
+            String[] res = new String[sealedCount + 1];
+            for (int i = 0; i < sealedCount; i++) {
+                res[i] = chunks.get(i);
+            }
+            res[sealedCount] = builder.toString();
+            out.writeObject(res);
+            out.writeInt(chunkSize);
+        }
     }
 
     @Override
     public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
         this.builder.setLength(0);
-        this.builder.append((String) in.readObject());
+        this.chunks = null;
+        this.sealedLength = 0;
+
+        Object value = in.readObject();
+        if (value instanceof String[] values) {
+            this.chunkSize = in.readInt();
+            for (String chunk : values) {
+                appendChars(chunk, 0, chunk.length());
+            }
+        } else {
+            this.chunkSize = Integer.MAX_VALUE;
+            this.builder.append((String) value);
+        }
     }
 
+    /// Returns the content of this appender as one string.
+    ///
+    /// @throws OutOfMemoryError if the content of a chunked appender is too long to fit in a string
     @Override
     public String toString() {
-        return builder.toString();
+        if (chunks == null) {
+            return builder.toString();
+        }
+
+        long length = length();
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new OutOfMemoryError("Content is too long to fit in a string: " + length);
+        }
+
+        StringBuilder res = new StringBuilder((int) length);
+        for (String chunk : chunks) {
+            res.append(chunk);
+        }
+        res.append(builder);
+        return res.toString();
     }
 }
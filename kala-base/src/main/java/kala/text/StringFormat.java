@@ -16,9 +16,16 @@
 package kala.text;
 
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
 
 /**
  * Flexible and high-performance string interpolator.
+ * <p>
+ * A {@code StringFormat} is a compiled template: the format string is split into literal segments and placeholders
+ * once, and the format processors of the placeholders are resolved when it is created,
+ * so formatting only appends the segments and the processed arguments.
+ *
+ * @see StringFormatFactory#parse(String)
  */
 @ApiStatus.Experimental
 public final class StringFormat {
@@ -26,9 +33,30 @@ public final class StringFormat {
     private final StringFormatFactory factory;
     private final String format;
 
-    StringFormat(StringFormatFactory factory, String format) {
+    /**
+     * {@code literals[i]} precedes the {@code i}-th placeholder, and the last literal follows the last placeholder.
+     */
+    private final String[] literals;
+    private final int[] argIndexes;
+    private final StringFormatProcessor[] processors;
+    private final String[] styles;
+
+    private final int estimatedLength;
+
+    StringFormat(StringFormatFactory factory, String format,
+                 String[] literals, int[] argIndexes, StringFormatProcessor[] processors, String[] styles) {
         this.factory = factory;
         this.format = format;
+        this.literals = literals;
+        this.argIndexes = argIndexes;
+        this.processors = processors;
+        this.styles = styles;
+
+        int literalsLength = 0;
+        for (String literal : literals) {
+            literalsLength += literal.length();
+        }
+        this.estimatedLength = literalsLength + argIndexes.length * 16;
     }
 
     public static String format(String format, Object... arguments) {
@@ -40,10 +68,50 @@ public final class StringFormat {
     }
 
     public String format(Object... arguments) {
-        return format(new StringBuilder(), arguments).toString();
+        return format(new StringBuilder(estimatedLength), arguments).toString();
+    }
+
+    public StringBuilder format(@NotNull StringBuilder out, Object... arguments) {
+        final String[] literals = this.literals;
+        final int[] argIndexes = this.argIndexes;
+        final StringFormatProcessor[] processors = this.processors;
+        final String[] styles = this.styles;
+        final int argsCount = arguments.length; // implicit null check of arguments
+
+        for (int i = 0; i < argIndexes.length; i++) {
+            final String literal = literals[i];
+            if (!literal.isEmpty()) {
+                out.append(literal);
+            }
+
+            final int argIndex = argIndexes[i];
+            if (argIndex >= argsCount) {
+                throw new StringFormatException("Invalid argument index: " + argIndex);
+            }
+
+            final StringFormatProcessor processor = processors[i];
+            if (processor == null) {
+                out.append(arguments[argIndex]);
+            } else {
+                factory.processArg(out, processor, arguments[argIndex], styles[i]);
+            }
+        }
+
+        final String last = literals[argIndexes.length];
+        if (!last.isEmpty()) {
+            out.append(last);
+        }
+        return out;
+    }
+
+    public StringAppender format(@NotNull StringAppender out, Object... arguments) {
+        format(out.getBuilder(), arguments);
+        out.afterAppend();
+        return out;
     }
 
-    public StringBuilder format(StringBuilder out, Object... arguments) {
-        return factory.format(out, format, arguments); // TODO: opt
+    @Override
+    public String toString() {
+        return "StringFormat[" + format + "]";
     }
 }
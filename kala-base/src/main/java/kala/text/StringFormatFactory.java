@@ -19,18 +19,29 @@ import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @see StringFormat
  */
 @ApiStatus.Experimental
 public final class StringFormatFactory {
+    /**
+     * The default maximum number of compiled formats cached by a factory.
+     */
+    public static final int DEFAULT_CACHE_SIZE = 512;
+
     private final Map<String, StringFormatProcessor> formatProcessors;
     private final Locale locale;
 
-    private StringFormatFactory(Map<String, StringFormatProcessor> formatProcessors, Locale locale) {
+    private final int cacheSize;
+    private final ConcurrentHashMap<String, StringFormat> cache;
+
+    private StringFormatFactory(Map<String, StringFormatProcessor> formatProcessors, Locale locale, int cacheSize) {
         this.formatProcessors = formatProcessors;
         this.locale = locale;
+        this.cacheSize = cacheSize;
+        this.cache = cacheSize > 0 ? new ConcurrentHashMap<>() : null;
     }
 
     private static final StringFormatFactory DEFAULT = builder()
@@ -54,6 +65,7 @@ public final class StringFormatFactory {
         Builder builder = new Builder();
         builder.formatTypes.putAll(base.formatProcessors);
         builder.locale = base.locale;
+        builder.cacheSize = base.cacheSize;
         return builder;
     }
 
@@ -61,40 +73,80 @@ public final class StringFormatFactory {
         return locale;
     }
 
+    /**
+     * Returns the compiled form of the format string.
+     * <p>
+     * Compiled formats are cached by the factory, so parsing the same format string again is cheap.
+     * The cache is bounded by {@link Builder#cacheSize(int)}.
+     *
+     * @throws StringFormatException if the format string is malformed or uses an unknown format processor.
+     */
     public StringFormat parse(String format) {
-        return new StringFormat(this, format); // TODO: opt
+        final ConcurrentHashMap<String, StringFormat> cache = this.cache;
+        if (cache == null) {
+            return compile(format);
+        }
+
+        StringFormat res = cache.get(format); // implicit null check of format
+        if (res == null) {
+            res = compile(format);
+            if (cache.size() >= cacheSize) {
+                // Start over rather than tracking recency, the hot formats will be cached again soon
+                cache.clear();
+            }
+            cache.put(format, res);
+        }
+        return res;
     }
 
     public String format(String format, Object... arguments) {
-        return format(new StringBuilder(), format, arguments).toString();
+        return parse(format).format(arguments);
     }
 
     public StringBuilder format(StringBuilder out, String format, Object... arguments) {
+        return parse(format).format(out, arguments);
+    }
+
+    public StringAppender format(StringAppender out, String format, Object... arguments) {
+        return parse(format).format(out, arguments);
+    }
+
+    private StringFormat compile(String format) {
         final int formatLength = format.length();   // implicit null check of format
-        final int argsCount = arguments.length;     // implicit null check of arguments
-        int argIndex = 0;
 
+        final ArrayList<String> literals = new ArrayList<>();
+        final ArrayList<StringFormatProcessor> processors = new ArrayList<>();
+        final ArrayList<String> styles = new ArrayList<>();
+        int[] argIndexes = new int[4];
+        int placeholders = 0;
+
+        final StringBuilder literal = new StringBuilder();
+        int argIndex = 0;
         int lastOffset = 0;
 
         mainLoop:
         while (lastOffset < formatLength) {
             final int offset = format.indexOf('{', lastOffset);
             if (offset < 0) {
-                out.append(format, lastOffset, formatLength);
-                return out;
+                literal.append(format, lastOffset, formatLength);
+                break;
             }
 
             if (offset == formatLength - 1) {
                 throw invalidFormatString(format);
             }
 
-            out.append(format, lastOffset, offset);
+            literal.append(format, lastOffset, offset);
 
             final int nextOffset = offset + 1;
             final char nextChar = format.charAt(nextOffset);
 
+            final int idx;
+            StringFormatProcessor processor = null;
+            String style = "";
+
             if (nextChar == '}') {
-                processArg(out, arguments, argIndex++);
+                idx = argIndex++;
                 lastOffset = nextOffset + 1;
             } else if (nextChar == '\'') {
                 int endOffset = nextOffset + 1;
@@ -105,7 +157,7 @@ public final class StringFormatFactory {
                     }
 
                     if (format.charAt(endOffset - 1) == '\'' && endOffset > nextOffset + 1) {
-                        out.append(format, nextOffset + 1, endOffset - 1);
+                        literal.append(format, nextOffset + 1, endOffset - 1);
                         lastOffset = endOffset + 1;
                         continue mainLoop;
                     }
@@ -122,88 +174,71 @@ public final class StringFormatFactory {
 
                 int firstColonOffset = findColon(format, nextOffset, endOffset);
                 if (firstColonOffset < 0) {
-                    // fastpath
-                    int idx = parseInt(format, nextOffset, endOffset);
-                    if (idx == -1) {
-                        throw invalidFormatString(format);
+                    idx = parseInt(format, nextOffset, endOffset);
+                } else {
+                    idx = firstColonOffset == nextOffset ? argIndex++ : parseInt(format, nextOffset, firstColonOffset);
+
+                    final int beginIndex = firstColonOffset + 1;
+                    final String processorName;
+                    int secondColonOffset = findColon(format, beginIndex, endOffset);
+                    if (secondColonOffset < 0) {
+                        processorName = format.substring(beginIndex, endOffset);
+                    } else {
+                        processorName = format.substring(beginIndex, secondColonOffset);
+                        style = format.substring(secondColonOffset + 1, endOffset);
                     }
 
-                    processArg(out, arguments, idx);
-                } else {
-                    int idx = firstColonOffset == nextOffset ? argIndex++ : parseInt(format, nextOffset, firstColonOffset);
-                    if (idx == -1) {
-                        throw invalidFormatString(format);
+                    if (processorName.isEmpty()) {
+                        if (!style.isEmpty()) {
+                            throw new StringFormatException("Unknown style: " + style);
+                        }
+                    } else {
+                        processor = this.formatProcessors.get(processorName);
+                        if (processor == null) {
+                            throw new StringFormatException("Unknown format processor: " + processorName);
+                        }
                     }
+                }
 
-                    processArgImpl(out, format, firstColonOffset + 1, endOffset, arguments, idx);
+                if (idx == -1) {
+                    throw invalidFormatString(format);
                 }
 
                 lastOffset = endOffset + 1;
             }
-        }
 
-        return out;
-    }
-
-    private void processArgImpl(StringBuilder out, String format, int beginIndex, int endIndex, Object[] args, int argIndex) {
-        String processorName;
-        String style;
-
-        int secondColonOffset = findColon(format, beginIndex, endIndex);
-        if (secondColonOffset < 0) {
-            processorName = format.substring(beginIndex, endIndex);
-            style = "";
-        } else {
-            processorName = format.substring(beginIndex, secondColonOffset);
-            style = format.substring(secondColonOffset + 1, endIndex);
+            literals.add(literal.toString());
+            literal.setLength(0);
+            processors.add(processor);
+            styles.add(style);
+            if (placeholders == argIndexes.length) {
+                argIndexes = Arrays.copyOf(argIndexes, placeholders * 2);
+            }
+            argIndexes[placeholders++] = idx;
         }
+        literals.add(literal.toString());
 
-        processArg(out, processorName, args, argIndex, style);
-    }
-
-    private static void checkArgIndex(int index, int length) {
-        if (index < 0 || index >= length) {
-            throw new StringFormatException("Invalid argument index: " + index);
-        }
+        return new StringFormat(this, format,
+                literals.toArray(new String[0]),
+                Arrays.copyOf(argIndexes, placeholders),
+                processors.toArray(new StringFormatProcessor[0]),
+                styles.toArray(new String[0]));
     }
 
     private static StringFormatException invalidFormatString(String format) {
         return new StringFormatException("Invalid format string: " + format);
     }
 
-    private void processArg(StringBuilder out, Object[] args, int index) {
-        checkArgIndex(index, args.length);
-        out.append(args[index]);
-    }
-
-    private void processArg(StringBuilder out, String processorName, Object[] args, int argIndex, String style) {
-        checkArgIndex(argIndex, args.length);
-
-        Object arg = args[argIndex];
-
-        if (processorName.isEmpty()) {
-            if (!style.isEmpty()) {
-                throw new StringFormatException("Unknown style: " + style);
-            }
-            out.append(arg);
+    void processArg(StringBuilder out, StringFormatProcessor processor, Object arg, String style) {
+        if (arg == null && !processor.processNull()) {
+            out.append((String) null);
         } else {
-            @SuppressWarnings("unchecked")
-            StringFormatProcessor processor = this.formatProcessors.get(processorName);
-
-            if (processor == null) {
-                throw new StringFormatException("Unknown format processor: " + processorName);
-            }
-
-            if (arg == null && !processor.processNull()) {
-                out.append((String) null);
-            } else {
-                try {
-                    processor.accept(this, out, arg, style);
-                } catch (StringFormatException e) {
-                    throw e;
-                } catch (Throwable e) {
-                    throw new StringFormatException(e);
-                }
+            try {
+                processor.accept(this, out, arg, style);
+            } catch (StringFormatException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new StringFormatException(e);
             }
         }
     }
@@ -240,6 +275,7 @@ public final class StringFormatFactory {
     public static final class Builder {
         private final Map<String, StringFormatProcessor> formatTypes = new LinkedHashMap<>();
         private Locale locale = Locale.ROOT;
+        private int cacheSize = DEFAULT_CACHE_SIZE;
 
         private boolean built = false;
 
@@ -263,9 +299,21 @@ public final class StringFormatFactory {
             return this;
         }
 
+        /**
+         * Sets the maximum number of compiled formats cached by {@link StringFormatFactory#parse(String)}.
+         * A size of {@code 0} disables the cache.
+         */
+        public Builder cacheSize(int cacheSize) {
+            if (cacheSize < 0) {
+                throw new IllegalArgumentException("Illegal cache size: " + cacheSize);
+            }
+            this.cacheSize = cacheSize;
+            return this;
+        }
+
         public StringFormatFactory build() {
             this.built = true;
-            return new StringFormatFactory(Collections.unmodifiableMap(formatTypes), locale);
+            return new StringFormatFactory(Collections.unmodifiableMap(formatTypes), locale, cacheSize);
         }
     }
 }
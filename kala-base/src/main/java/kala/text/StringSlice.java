@@ -38,11 +38,14 @@ import java.nio.charset.*;
 import java.text.BreakIterator;
 import java.text.CharacterIterator;
 import java.text.StringCharacterIterator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.IntConsumer;
 
 public final class StringSlice implements Comparable<StringSlice>, CharSequence, Serializable {
@@ -386,8 +389,12 @@ public final class StringSlice implements Comparable<StringSlice>, CharSequence,
 
     // ---
 
+    /// Splits this slice into lines separated by `"\n"`, `"\r"` or `"\r\n"`.
+    ///
+    /// The lines are created lazily. The spliterator of the result splits at a line separator near the middle,
+    /// so `lines().parallelStream()` processes a large text in parallel without first collecting the lines.
     public @NotNull Traversable<StringSlice> lines() {
-        return Traversable.ofSupplier(() -> new LinesIterator(this));
+        return new Segments(this, null, 0, LinesIterator::new);
     }
 
     public @NotNull Traversable<StringSlice> split(char delimiter) {
@@ -402,8 +409,12 @@ public final class StringSlice implements Comparable<StringSlice>, CharSequence,
         return split(delimiter, 0);
     }
 
+    /// Splits this slice around the given code point.
+    ///
+    /// The parts are created lazily. Unless `limit` is positive, the spliterator of the result splits
+    /// at a delimiter near the middle, so the parts can be processed by parallel streams.
     public @NotNull Traversable<StringSlice> split(int delimiter, int limit) {
-        return Traversable.ofSupplier(() -> new CharDelimiterIterator(this, delimiter, limit));
+        return new Segments(this, Character.toString(delimiter), limit, slice -> new CharDelimiterIterator(slice, delimiter, limit));
     }
 
     public @NotNull Traversable<StringSlice> split(String delimiter) {
@@ -416,7 +427,7 @@ public final class StringSlice implements Comparable<StringSlice>, CharSequence,
                     ? Traversable.wrap(List.of(EMPTY))
                     : Traversable.ofSupplier(() -> new ZeroLengthStringDelimiterIterator(this, limit));
             case 1 -> split(delimiter.charAt(0), limit);
-            default -> Traversable.ofSupplier(() -> new StringDelimiterIterator(this, delimiter, limit));
+            default -> new Segments(this, delimiter, limit, slice -> new StringDelimiterIterator(slice, delimiter, limit));
         };
     }
 
@@ -529,8 +540,7 @@ public final class StringSlice implements Comparable<StringSlice>, CharSequence,
     }
 
     public boolean contains(@NotNull String other) {
-        int idx = value.indexOf(other, offset);
-        return idx >= 0 && idx <= offset + length - other.length();
+        return value.indexOf(other, offset, offset + length) >= 0;
     }
 
     public boolean contains(@NotNull StringSlice other) {
@@ -907,6 +917,175 @@ public final class StringSlice implements Comparable<StringSlice>, CharSequence,
         return this.length - other.length;
     }
 
+    /// The result of [#lines()] and [#split(String, int)].
+    private static final class Segments implements Traversable<StringSlice> {
+        private final StringSlice slice;
+
+        /// The delimiter, or `null` if the segments are lines.
+        private final @Nullable String delimiter;
+        private final int limit;
+        private final Function<StringSlice, Iterator<StringSlice>> iteratorFactory;
+
+        Segments(StringSlice slice, @Nullable String delimiter, int limit,
+                 Function<StringSlice, Iterator<StringSlice>> iteratorFactory) {
+            this.slice = slice;
+            this.delimiter = delimiter;
+            this.limit = limit;
+            this.iteratorFactory = iteratorFactory;
+        }
+
+        /// Returns whether a proper prefix of `delimiter` is also a suffix of it.
+        ///
+        /// The occurrences of such a delimiter can overlap,
+        /// so an occurrence found in the middle of the text is not necessarily one the iterator would split at.
+        private static boolean isSelfOverlapping(String delimiter) {
+            final int length = delimiter.length();
+            for (int k = 1; k < length; k++) {
+                if (delimiter.regionMatches(0, delimiter, length - k, k)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public @NotNull Iterator<StringSlice> iterator() {
+            return iteratorFactory.apply(slice);
+        }
+
+        @Override
+        public Spliterator<StringSlice> spliterator() {
+            if (limit > 0 || delimiter != null && isSelfOverlapping(delimiter)) {
+                return Traversable.super.spliterator();
+            }
+            return new SegmentSpliterator(slice.value, slice.offset, slice.offset + slice.length, delimiter, iteratorFactory);
+        }
+
+        @Override
+        public String toString() {
+            return joinToString(", ", "Traversable[", "]");
+        }
+    }
+
+    /// A spliterator over the segments of `value[begin, end)`.
+    ///
+    /// Splitting the text at a delimiter, or right after a line separator, splits the segments in the same place,
+    /// so no segment has to be created before the spliterator is split.
+    private static final class SegmentSpliterator implements Spliterator<StringSlice> {
+        private static final int MIN_SPLIT_LENGTH = 1024;
+
+        private final String value;
+        private int begin;
+        private final int end;
+        private final @Nullable String delimiter;
+        private final Function<StringSlice, Iterator<StringSlice>> iteratorFactory;
+
+        private Iterator<StringSlice> iterator;
+
+        SegmentSpliterator(String value, int begin, int end, @Nullable String delimiter,
+                           Function<StringSlice, Iterator<StringSlice>> iteratorFactory) {
+            this.value = value;
+            this.begin = begin;
+            this.end = end;
+            this.delimiter = delimiter;
+            this.iteratorFactory = iteratorFactory;
+        }
+
+        private Iterator<StringSlice> iterator() {
+            if (iterator == null) {
+                iterator = iteratorFactory.apply(StringSlice.ofChecked(value, begin, end));
+            }
+            return iterator;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super StringSlice> action) {
+            Iterator<StringSlice> it = iterator();
+            if (it.hasNext()) {
+                action.accept(it.next());
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super StringSlice> action) {
+            iterator().forEachRemaining(action);
+        }
+
+        /// Returns the index at which the second half starts, or `-1` if there is no suitable split point.
+        private int findDelimiterSplit(int mid) {
+            final String delimiter = this.delimiter;
+            assert delimiter != null;
+
+            int idx = value.indexOf(delimiter, mid, end);
+            if (idx < 0) {
+                idx = value.lastIndexOf(delimiter, mid - 1);
+                if (idx < begin || idx + delimiter.length() > end) {
+                    return -1;
+                }
+            }
+            return idx;
+        }
+
+        private int findLineSplit(int mid) {
+            int lf = value.indexOf('\n', mid, end);
+            int cr = value.indexOf('\r', mid, lf >= 0 ? lf : end);
+            int idx = cr >= 0 ? cr : lf;
+            if (idx < 0) {
+                idx = Math.max(value.lastIndexOf('\n', mid - 1), value.lastIndexOf('\r', mid - 1));
+                if (idx < begin) {
+                    return -1;
+                }
+            }
+
+            int next = idx + 1;
+            if (value.charAt(idx) == '\r' && next < end && value.charAt(next) == '\n') {
+                next++;
+            }
+            return next;
+        }
+
+        @Override
+        public Spliterator<StringSlice> trySplit() {
+            if (iterator != null || end - begin < MIN_SPLIT_LENGTH) {
+                return null;
+            }
+
+            final int mid = begin + (end - begin) / 2;
+            final int prefixEnd;
+            final int suffixBegin;
+            if (delimiter == null) {
+                // The prefix keeps its trailing line separator, so it does not produce an extra empty line
+                suffixBegin = findLineSplit(mid);
+                if (suffixBegin < 0 || suffixBegin == end) {
+                    return null;
+                }
+                prefixEnd = suffixBegin;
+            } else {
+                prefixEnd = findDelimiterSplit(mid);
+                if (prefixEnd < 0) {
+                    return null;
+                }
+                suffixBegin = prefixEnd + delimiter.length();
+            }
+
+            SegmentSpliterator prefix = new SegmentSpliterator(value, begin, prefixEnd, delimiter, iteratorFactory);
+            this.begin = suffixBegin;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - begin;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL | IMMUTABLE;
+        }
+    }
+
     private static final class CharDelimiterIterator extends AbstractIterator<StringSlice> {
         private final String value;
         private final int end;
@@ -1063,6 +1242,9 @@ public final class StringSlice implements Comparable<StringSlice>, CharSequence,
         private int index;
         private final int endIndex;
 
+        /// The index of the next `'\n'` at or after [#index], or [#endIndex] if there is none.
+        private int nextLineFeed = -1;
+
         private LinesIterator(StringSlice slice) {
             this.value = slice.value;
             this.index = slice.offset;
@@ -1070,13 +1252,15 @@ public final class StringSlice implements Comparable<StringSlice>, CharSequence,
         }
 
         private int indexOfLineSeparator(int beginIndex) {
-            for (int i = beginIndex; i < endIndex; i++) {
-                char ch = value.charAt(i);
-                if (ch == '\n' || ch == '\r') {
-                    return i;
-                }
+            // Both searches go through the String.indexOf intrinsic.
+            // The position of the next '\n' is cached, so text that only uses '\r' is not rescanned for every line.
+            if (nextLineFeed < beginIndex) {
+                int idx = value.indexOf('\n', beginIndex, endIndex);
+                nextLineFeed = idx >= 0 ? idx : endIndex;
             }
-            return endIndex;
+
+            int carriageReturn = value.indexOf('\r', beginIndex, nextLineFeed);
+            return carriageReturn >= 0 ? carriageReturn : nextLineFeed;
         }
 
         private int skipLineSeparator(int beginIndex) {
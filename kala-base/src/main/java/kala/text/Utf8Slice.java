@@ -0,0 +1,680 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kala.text;
+
+import kala.collection.base.AbstractIterator;
+import kala.collection.base.Traversable;
+import kala.index.Index;
+import kala.index.Indexes;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A zero-copy view of a range of UTF-8 (or ASCII) encoded bytes in a {@code byte[]}, a {@link ByteBuffer}
+ * or a {@link MemorySegment}.
+ * <p>
+ * Unlike {@link StringSlice}, all indices and lengths are measured in bytes, and searching, splitting, trimming and
+ * comparing never decode the bytes.
+ * The content is only decoded when {@link #toString()} is called, and the result is cached.
+ * This makes it suitable for tokenizing large memory-mapped files or network buffers with little allocation.
+ * <p>
+ * A slice can be at any offset of a memory segment, so files larger than 2 GiB can be mapped as a single segment,
+ * but each slice is at most {@link Integer#MAX_VALUE} bytes long.
+ * Use {@link #lines(MemorySegment)} or {@link #split(MemorySegment, byte)} to tokenize a segment of any size.
+ * <p>
+ * A {@code Utf8Slice} does not copy the underlying bytes, so it observes any later modification of them.
+ * Slices of a memory segment can only be used while the segment is alive and by the threads it is accessible from.
+ */
+public final class Utf8Slice implements Comparable<Utf8Slice> {
+    private static final int ZERO_HASH_REPLACE = 914090028;
+
+    private static final Utf8Slice EMPTY = new Utf8Slice(MemorySegment.ofArray(new byte[0]), null, 0, 0);
+
+    private final MemorySegment segment;
+
+    // The array backing the segment if it is a heap segment over a byte array, in which case offset is also an array index
+    private final byte[] array;
+    private final long offset;
+    private final int length;
+
+    // Cache
+    private String toString;
+    private int hash;
+
+    private Utf8Slice(MemorySegment segment, byte[] array, long offset, int length) {
+        this.segment = segment;
+        this.array = array;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    public static @NotNull Utf8Slice empty() {
+        return EMPTY;
+    }
+
+    public static @NotNull Utf8Slice of(byte @NotNull [] bytes) {
+        return new Utf8Slice(MemorySegment.ofArray(bytes), bytes, 0, bytes.length);
+    }
+
+    public static @NotNull Utf8Slice of(byte @NotNull [] bytes, @Index int beginIndex, @Index int endIndex) {
+        beginIndex = Indexes.checkBeginIndex(beginIndex, bytes.length);
+        endIndex = Indexes.checkEndIndex(beginIndex, endIndex, bytes.length);
+        return new Utf8Slice(MemorySegment.ofArray(bytes), bytes, beginIndex, endIndex - beginIndex);
+    }
+
+    /**
+     * Returns a slice of the bytes between the position and the limit of the buffer.
+     * <p>
+     * The position and limit of the buffer are not modified, and later changes to them do not affect the slice.
+     */
+    public static @NotNull Utf8Slice of(@NotNull ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            byte[] array = buffer.array();
+            return new Utf8Slice(MemorySegment.ofArray(array), array, buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        }
+        return new Utf8Slice(MemorySegment.ofBuffer(buffer), null, 0, buffer.remaining());
+    }
+
+    /**
+     * Returns a slice of all bytes of the segment.
+     *
+     * @throws IllegalArgumentException if the segment is larger than {@link Integer#MAX_VALUE} bytes.
+     */
+    public static @NotNull Utf8Slice of(@NotNull MemorySegment segment) {
+        return of(segment, 0, segment.byteSize());
+    }
+
+    /**
+     * Returns a slice of the bytes of the segment from {@code beginOffset} (inclusive) to {@code endOffset} (exclusive).
+     *
+     * @throws IndexOutOfBoundsException if the offsets are out of the bounds of the segment.
+     * @throws IllegalArgumentException  if the slice is longer than {@link Integer#MAX_VALUE} bytes.
+     */
+    public static @NotNull Utf8Slice of(@NotNull MemorySegment segment, long beginOffset, long endOffset) {
+        Objects.checkFromToIndex(beginOffset, endOffset, segment.byteSize());
+        return slice(segment, null, beginOffset, endOffset);
+    }
+
+    /**
+     * Splits all bytes of the segment into lines separated by {@code "\n"}, {@code "\r"} or {@code "\r\n"}.
+     * <p>
+     * The segment is scanned lazily and may be larger than {@link Integer#MAX_VALUE} bytes.
+     * An {@link IllegalArgumentException} is thrown during iteration if a single line is longer than that.
+     */
+    public static @NotNull Traversable<Utf8Slice> lines(@NotNull MemorySegment segment) {
+        Objects.requireNonNull(segment);
+        return Traversable.ofSupplier(() -> new LinesIterator(segment, null, 0, segment.byteSize()));
+    }
+
+    /**
+     * Splits all bytes of the segment around the delimiter.
+     * <p>
+     * The segment is scanned lazily and may be larger than {@link Integer#MAX_VALUE} bytes.
+     * An {@link IllegalArgumentException} is thrown during iteration if a single part is longer than that.
+     */
+    public static @NotNull Traversable<Utf8Slice> split(@NotNull MemorySegment segment, byte delimiter) {
+        Objects.requireNonNull(segment);
+        return Traversable.ofSupplier(() -> new DelimiterIterator(segment, null, 0, segment.byteSize(), of(new byte[]{delimiter})));
+    }
+
+    /**
+     * Splits all bytes of the segment around the delimiter.
+     *
+     * @see #split(MemorySegment, byte)
+     */
+    public static @NotNull Traversable<Utf8Slice> split(@NotNull MemorySegment segment, @NotNull Utf8Slice delimiter) {
+        Objects.requireNonNull(segment);
+        if (delimiter.isEmpty()) {
+            throw new IllegalArgumentException("delimiter is empty");
+        }
+        Utf8Slice copy = of(delimiter.getBytes());
+        return Traversable.ofSupplier(() -> new DelimiterIterator(segment, null, 0, segment.byteSize(), copy));
+    }
+
+    /**
+     * Returns a slice of the UTF-8 encoding of the string.
+     */
+    public static @NotNull Utf8Slice of(@NotNull String str) {
+        if (str.isEmpty()) {
+            return EMPTY;
+        }
+        Utf8Slice res = of(str.getBytes(StandardCharsets.UTF_8));
+        res.toString = str;
+        return res;
+    }
+
+    private Utf8Slice sliceChecked(int beginIndex, int endIndex) {
+        if (beginIndex == 0 && endIndex == length) {
+            return this;
+        }
+        return beginIndex == endIndex ? EMPTY : new Utf8Slice(segment, array, offset + beginIndex, endIndex - beginIndex);
+    }
+
+    private static Utf8Slice slice(MemorySegment segment, byte[] array, long beginOffset, long endOffset) {
+        long length = endOffset - beginOffset;
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Slice too large: " + length + " bytes");
+        }
+        return length == 0 ? EMPTY : new Utf8Slice(segment, array, beginOffset, (int) length);
+    }
+
+    private byte get(int index) {
+        return segment.get(ValueLayout.JAVA_BYTE, offset + index);
+    }
+
+    /**
+     * Returns the number of bytes in this slice.
+     */
+    public int length() {
+        return length;
+    }
+
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    public boolean isNotEmpty() {
+        return length != 0;
+    }
+
+    public byte byteAt(@Index int index) {
+        return get(Indexes.checkIndex(index, length));
+    }
+
+    /**
+     * Returns whether all bytes in this slice are ASCII characters.
+     */
+    public boolean isAscii() {
+        for (int i = 0; i < length; i++) {
+            if (get(i) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ---
+
+    public @NotNull Utf8Slice slice(@Index int beginIndex) {
+        beginIndex = Indexes.checkPositionIndex(beginIndex, length);
+        return sliceChecked(beginIndex, length);
+    }
+
+    public @NotNull Utf8Slice slice(@Index int beginIndex, @Index int endIndex) {
+        beginIndex = Indexes.checkBeginIndex(beginIndex, length);
+        endIndex = Indexes.checkEndIndex(beginIndex, endIndex, length);
+        return sliceChecked(beginIndex, endIndex);
+    }
+
+    /**
+     * Returns a slice with all leading and trailing bytes less than or equal to {@code ' '} removed.
+     */
+    public @NotNull Utf8Slice trim() {
+        int begin = 0;
+        int end = length;
+        while (begin < end && isWhitespace(get(begin))) {
+            begin++;
+        }
+        while (begin < end && isWhitespace(get(end - 1))) {
+            end--;
+        }
+        return sliceChecked(begin, end);
+    }
+
+    public boolean isBlank() {
+        for (int i = 0; i < length; i++) {
+            if (!isWhitespace(get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isNotBlank() {
+        return !isBlank();
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b <= ' ' && b >= 0;
+    }
+
+    public @NotNull Utf8Slice removePrefix(@NotNull Utf8Slice prefix) {
+        return startsWith(prefix) ? sliceChecked(prefix.length, length) : this;
+    }
+
+    public @NotNull Utf8Slice removeSuffix(@NotNull Utf8Slice suffix) {
+        return endsWith(suffix) ? sliceChecked(0, length - suffix.length) : this;
+    }
+
+    // ---
+
+    /**
+     * Splits this slice into lines separated by {@code "\n"}, {@code "\r"} or {@code "\r\n"}.
+     */
+    public @NotNull Traversable<Utf8Slice> lines() {
+        return Traversable.ofSupplier(() -> new LinesIterator(segment, array, offset, offset + length));
+    }
+
+    public @NotNull Traversable<Utf8Slice> split(char delimiter) {
+        if (delimiter < 0x80) {
+            return split((byte) delimiter);
+        }
+        return split(String.valueOf(delimiter));
+    }
+
+    public @NotNull Traversable<Utf8Slice> split(byte delimiter) {
+        Utf8Slice delimiterSlice = of(new byte[]{delimiter});
+        return Traversable.ofSupplier(() -> new DelimiterIterator(segment, array, offset, offset + length, delimiterSlice));
+    }
+
+    public @NotNull Traversable<Utf8Slice> split(@NotNull String delimiter) {
+        return split(of(delimiter));
+    }
+
+    public @NotNull Traversable<Utf8Slice> split(@NotNull Utf8Slice delimiter) {
+        if (delimiter.isEmpty()) {
+            throw new IllegalArgumentException("delimiter is empty");
+        }
+        Utf8Slice copy = of(delimiter.getBytes());
+        return Traversable.ofSupplier(() -> new DelimiterIterator(segment, array, offset, offset + length, copy));
+    }
+
+    // ---
+
+    public boolean startsWith(@NotNull Utf8Slice prefix) {
+        return prefix.length <= this.length && regionMatches(0, prefix, 0, prefix.length);
+    }
+
+    public boolean startsWith(@NotNull String prefix) {
+        return startsWith(of(prefix));
+    }
+
+    public boolean endsWith(@NotNull Utf8Slice suffix) {
+        return suffix.length <= this.length && regionMatches(this.length - suffix.length, suffix, 0, suffix.length);
+    }
+
+    public boolean endsWith(@NotNull String suffix) {
+        return endsWith(of(suffix));
+    }
+
+    public int indexOf(byte b) {
+        return indexOf(b, 0, length);
+    }
+
+    public int indexOf(byte b, @Index int beginIndex) {
+        beginIndex = Indexes.checkPositionIndex(beginIndex, length);
+        return indexOf(b, beginIndex, length);
+    }
+
+    private int indexOf(byte b, int beginIndex, int endIndex) {
+        long i = indexOf(segment, array, b, offset + beginIndex, offset + endIndex);
+        return i < 0 ? -1 : (int) (i - offset);
+    }
+
+    // Returns the offset of the first occurrence of the byte in [fromOffset, toOffset), or -1
+    private static long indexOf(MemorySegment segment, byte[] array, byte b, long fromOffset, long toOffset) {
+        if (array != null) {
+            for (int i = (int) fromOffset, end = (int) toOffset; i < end; i++) {
+                if (array[i] == b) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        for (long i = fromOffset; i < toOffset; i++) {
+            if (segment.get(ValueLayout.JAVA_BYTE, i) == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Returns the offset of the first occurrence of the non-empty str in [fromOffset, toOffset), or -1
+    private static long indexOf(MemorySegment segment, byte[] array, Utf8Slice str, long fromOffset, long toOffset) {
+        final byte first = str.get(0);
+        final long last = toOffset - str.length;
+        for (long i = fromOffset; i <= last; i++) {
+            i = indexOf(segment, array, first, i, last + 1);
+            if (i < 0) {
+                return -1;
+            }
+            if (MemorySegment.mismatch(segment, i + 1, i + str.length, str.segment, str.offset + 1, str.offset + str.length) == -1) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the byte index of the first occurrence of the UTF-8 encoding of {@code ch}, or {@code -1}.
+     */
+    public int indexOf(char ch) {
+        return ch < 0x80 ? indexOf((byte) ch) : indexOf(String.valueOf(ch));
+    }
+
+    public int indexOf(@NotNull Utf8Slice str) {
+        return indexOf(str, 0);
+    }
+
+    public int indexOf(@NotNull Utf8Slice str, @Index int beginIndex) {
+        beginIndex = Indexes.checkPositionIndex(beginIndex, length);
+        if (str.length == 0) {
+            return beginIndex;
+        }
+
+        long i = indexOf(segment, array, str, offset + beginIndex, offset + length);
+        return i < 0 ? -1 : (int) (i - offset);
+    }
+
+    public int indexOf(@NotNull String str) {
+        return indexOf(of(str));
+    }
+
+    public int indexOf(@NotNull String str, @Index int beginIndex) {
+        return indexOf(of(str), beginIndex);
+    }
+
+    public boolean contains(byte b) {
+        return indexOf(b) >= 0;
+    }
+
+    public boolean contains(char ch) {
+        return indexOf(ch) >= 0;
+    }
+
+    public boolean contains(@NotNull Utf8Slice other) {
+        return indexOf(other) >= 0;
+    }
+
+    public boolean contains(@NotNull String other) {
+        return indexOf(other) >= 0;
+    }
+
+    private boolean regionMatches(int thisOffset, Utf8Slice other, int otherOffset, int len) {
+        final long from1 = this.offset + thisOffset;
+        final long from2 = other.offset + otherOffset;
+        return MemorySegment.mismatch(this.segment, from1, from1 + len, other.segment, from2, from2 + len) == -1;
+    }
+
+    public boolean contentEquals(@NotNull Utf8Slice other) {
+        return this == other || this.length == other.length && regionMatches(0, other, 0, length);
+    }
+
+    /**
+     * Returns whether the content of this slice is the UTF-8 encoding of {@code other}.
+     * <p>
+     * If {@code other} only contains ASCII characters, no bytes are encoded or decoded.
+     */
+    public boolean contentEquals(@NotNull CharSequence other) {
+        final int otherLength = other.length();
+        if (otherLength > this.length) {
+            return false;
+        }
+
+        int i = 0;
+        for (; i < otherLength; i++) {
+            char ch = other.charAt(i);
+            if (ch >= 0x80) {
+                break;
+            }
+            if (get(i) != ch) {
+                return false;
+            }
+        }
+
+        if (i == otherLength) {
+            return otherLength == this.length;
+        }
+
+        return slice(i).contentEquals(of(other.subSequence(i, otherLength).toString()));
+    }
+
+    // ---
+
+    public int toInt() throws NumberFormatException {
+        long value = toLong(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        return (int) value;
+    }
+
+    public long toLong() throws NumberFormatException {
+        return toLong(Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    private long toLong(long min, long max) {
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (get(0) == '-' || get(0) == '+')) {
+            negative = get(0) == '-';
+            i++;
+        }
+        if (i == length) {
+            throw new NumberFormatException("For input string: \"" + this + '"');
+        }
+
+        // Accumulate negatively, since the magnitude of the minimum value is larger than the maximum value
+        final long limit = negative ? min : -max;
+        final long multiplyMin = limit / 10;
+        long result = 0;
+        for (; i < length; i++) {
+            int digit = get(i) - '0';
+            if (digit < 0 || digit > 9 || result < multiplyMin || result * 10 < limit + digit) {
+                throw new NumberFormatException("For input string: \"" + this + '"');
+            }
+            result = result * 10 - digit;
+        }
+        return negative ? result : -result;
+    }
+
+    public double toDouble() throws NumberFormatException {
+        return Double.parseDouble(toString());
+    }
+
+    // ---
+
+    /**
+     * Returns a copy of the bytes of this slice.
+     */
+    public byte @NotNull [] getBytes() {
+        byte[] res = new byte[length];
+        MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, offset, res, 0, length);
+        return res;
+    }
+
+    /**
+     * Returns a read-only buffer over the bytes of this slice.
+     */
+    public @NotNull ByteBuffer asByteBuffer() {
+        return array != null
+                ? ByteBuffer.wrap(array, (int) offset, length).slice().asReadOnlyBuffer()
+                : segment.asSlice(offset, length).asByteBuffer().asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns a read-only memory segment over the bytes of this slice.
+     */
+    public @NotNull MemorySegment asMemorySegment() {
+        return segment.asSlice(offset, length).asReadOnly();
+    }
+
+    public @NotNull StringSlice toStringSlice() {
+        return StringSlice.of(toString());
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h != 0) return h;
+
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + get(i);
+        }
+
+        return hash = (h == 0 ? ZERO_HASH_REPLACE : h);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return this == obj || obj instanceof Utf8Slice other && contentEquals(other);
+    }
+
+    /**
+     * Decodes the bytes of this slice as UTF-8.
+     * <p>
+     * Malformed input is replaced with {@code '�'}. The result is cached.
+     */
+    @Override
+    public @NotNull String toString() {
+        if (toString != null) {
+            return toString;
+        }
+
+        // Bytes outside the Java heap have to be copied once, since String can only decode arrays
+        String res = array != null
+                ? new String(array, (int) offset, length, StandardCharsets.UTF_8)
+                : new String(getBytes(), StandardCharsets.UTF_8);
+        return toString = res;
+    }
+
+    /**
+     * Compares two slices lexicographically by unsigned bytes, which is the order of the code points they encode.
+     */
+    @Override
+    public int compareTo(@NotNull Utf8Slice other) {
+        long i = MemorySegment.mismatch(
+                this.segment, this.offset, this.offset + this.length,
+                other.segment, other.offset, other.offset + other.length);
+        if (i < 0) {
+            return 0;
+        }
+        int lim = Math.min(this.length, other.length);
+        if (i >= lim) {
+            return this.length - other.length;
+        }
+        return (this.get((int) i) & 0xff) - (other.get((int) i) & 0xff);
+    }
+
+    private static final class DelimiterIterator extends AbstractIterator<Utf8Slice> {
+        private final MemorySegment segment;
+        private final byte[] array;
+        private final long endOffset;
+        private final Utf8Slice delimiter;
+
+        private long index;
+        private boolean hasTrailingEmpty = true;
+
+        private DelimiterIterator(MemorySegment segment, byte[] array, long beginOffset, long endOffset, Utf8Slice delimiter) {
+            this.segment = segment;
+            this.array = array;
+            this.endOffset = endOffset;
+            this.delimiter = delimiter;
+            this.index = beginOffset;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < endOffset || hasTrailingEmpty;
+        }
+
+        @Override
+        public Utf8Slice next() {
+            if (index >= endOffset) {
+                if (hasTrailingEmpty) {
+                    hasTrailingEmpty = false;
+                    return Utf8Slice.empty();
+                } else {
+                    throw new NoSuchElementException();
+                }
+            }
+
+            Utf8Slice result;
+            long delimiterIdx = delimiter.length == 1
+                    ? indexOf(segment, array, delimiter.get(0), index, endOffset)
+                    : indexOf(segment, array, delimiter, index, endOffset);
+            if (delimiterIdx < 0) {
+                result = slice(segment, array, index, endOffset);
+                hasTrailingEmpty = false;
+                index = endOffset;
+            } else {
+                result = slice(segment, array, index, delimiterIdx);
+                index = delimiterIdx + delimiter.length;
+            }
+            return result;
+        }
+    }
+
+    private static final class LinesIterator extends AbstractIterator<Utf8Slice> {
+        private final MemorySegment segment;
+        private final byte[] array;
+        private final long endOffset;
+        private long index;
+
+        private LinesIterator(MemorySegment segment, byte[] array, long beginOffset, long endOffset) {
+            this.segment = segment;
+            this.array = array;
+            this.endOffset = endOffset;
+            this.index = beginOffset;
+        }
+
+        private byte get(long offset) {
+            return array != null ? array[(int) offset] : segment.get(ValueLayout.JAVA_BYTE, offset);
+        }
+
+        private long indexOfLineSeparator(long beginOffset) {
+            for (long i = beginOffset; i < endOffset; i++) {
+                byte b = get(i);
+                if (b == '\n' || b == '\r') {
+                    return i;
+                }
+            }
+            return endOffset;
+        }
+
+        private long skipLineSeparator(long beginOffset) {
+            if (beginOffset < endOffset) {
+                if (get(beginOffset) == '\r') {
+                    long next = beginOffset + 1;
+                    if (next < endOffset && get(next) == '\n') {
+                        return next + 1;
+                    }
+                }
+                return beginOffset + 1;
+            }
+            return endOffset;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < endOffset;
+        }
+
+        @Override
+        public Utf8Slice next() {
+            checkStatus();
+
+            long start = index;
+            long end = indexOfLineSeparator(start);
+            index = skipLineSeparator(end);
+            return slice(segment, array, start, end);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kala.collection.base.primitive;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.NoSuchElementException;
+
+<#if KeyIsObject || ValueIsObject>
+@SuppressWarnings("unchecked")
+</#if>
+public interface ${Name}MapIterator${TypeParameters} extends PrimitiveMapIterator<${KeyWrapperType}, ${ValueWrapperType}> {
+
+    ${Name}MapIterator${TypeParameters?has_content?then("<?>", "")} EMPTY = new ${Name}MapIterator() {
+        @Override
+        public boolean hasNext() {
+            return false;
+        }
+
+        @Override
+        public ${KeyIsObject?then("Object", KeyPrimitiveType)} next${KeyIsObject?then("", KeyType)}Key() {
+            throw new NoSuchElementException();
+        }
+
+        @Override
+        public ${ValueIsObject?then("Object", ValuePrimitiveType)} get${ValueIsObject?then("", ValueType)}Value() {
+            throw new NoSuchElementException();
+        }
+
+        @Override
+        public String toString() {
+            return "${Name}MapIterator[]";
+        }
+    };
+
+<#if TypeParameters?has_content>
+    static ${TypeParameters} @NotNull ${Name}MapIterator${TypeParameters} empty() {
+        return (${Name}MapIterator${TypeParameters}) EMPTY;
+    }
+<#else>
+    static @NotNull ${Name}MapIterator empty() {
+        return EMPTY;
+    }
+</#if>
+
+<#if !KeyIsObject>
+    ${KeyPrimitiveType} next${KeyType}Key();
+
+    @Override
+    @Deprecated
+    default ${KeyWrapperType} nextKey() {
+        return next${KeyType}Key();
+    }
+
+</#if>
+<#if !ValueIsObject>
+    /**
+     * Returns the value associated with the key returned by the last call to {@link #next${KeyIsObject?then("", KeyType)}Key()}.
+     */
+    ${ValuePrimitiveType} get${ValueType}Value();
+
+    @Override
+    @Deprecated
+    default ${ValueWrapperType} getValue() {
+        return get${ValueType}Value();
+    }
+
+</#if>
+<#if !KeyIsObject>
+    default boolean containsKey(${KeyPrimitiveType} key) {
+        while (hasNext()) {
+<#if KeyType == "Float">
+            if (Float.floatToIntBits(key) == Float.floatToIntBits(nextFloatKey())) {
+<#elseif KeyType == "Double">
+            if (Double.doubleToLongBits(key) == Double.doubleToLongBits(nextDoubleKey())) {
+<#else>
+            if (key == next${KeyType}Key()) {
+</#if>
+                return true;
+            }
+        }
+        return false;
+    }
+
+</#if>
+<#if !ValueIsObject>
+    default boolean containsValue(${ValuePrimitiveType} value) {
+        while (hasNext()) {
+            next${KeyIsObject?then("", KeyType)}Key();
+<#if ValueType == "Float">
+            if (Float.floatToIntBits(value) == Float.floatToIntBits(getFloatValue())) {
+<#elseif ValueType == "Double">
+            if (Double.doubleToLongBits(value) == Double.doubleToLongBits(getDoubleValue())) {
+<#else>
+            if (value == get${ValueType}Value()) {
+</#if>
+                return true;
+            }
+        }
+        return false;
+    }
+
+</#if>
+    @Override
+    default int hash() {
+        int hash = 0;
+        while (hasNext()) {
+<#if KeyIsObject>
+            hash += java.util.Objects.hashCode(nextKey()) ^ ${ValueWrapperType}.hashCode(get${ValueType}Value());
+<#elseif ValueIsObject>
+            hash += ${KeyWrapperType}.hashCode(next${KeyType}Key()) ^ java.util.Objects.hashCode(getValue());
+<#else>
+            hash += ${KeyWrapperType}.hashCode(next${KeyType}Key()) ^ ${ValueWrapperType}.hashCode(get${ValueType}Value());
+</#if>
+        }
+        return hash;
+    }
+}
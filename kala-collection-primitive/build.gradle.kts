@@ -51,6 +51,10 @@ tasks.getByName<GenerateTask>("generateSources") {
             generate("Abstract${model["Type"]}Set", model, "AbstractPrimitiveSet")
             generate("Abstract${model["Type"]}SetView", model, "AbstractPrimitiveSetView")
         }
+
+        for (model in Primitives.mapPairs) {
+            generate("${model["Name"]}Map", model, "PrimitiveKeyValueMap")
+        }
     }
 
     withPackage("kala.collection.primitive.internal") {
@@ -86,8 +90,10 @@ tasks.getByName<GenerateTask>("generateSources") {
 
             generate("Immutable${model["Type"]}Set", model, "ImmutablePrimitiveSet")
             generate("AbstractImmutable${model["Type"]}Set", model, "AbstractImmutablePrimitiveSet")
-            if (model != Primitives.Boolean && model != Primitives.Byte)
+            if (model != Primitives.Boolean && model != Primitives.Byte) {
                 generate("ImmutableSorted${model["Type"]}ArraySet", model, "ImmutableSortedPrimitiveArraySet")
+                generate("Immutable${model["Type"]}HashSet", model, "ImmutablePrimitiveHashSet")
+            }
         }
     }
 
@@ -113,8 +119,15 @@ tasks.getByName<GenerateTask>("generateSources") {
             generate("Mutable${model["Type"]}Set", model, "MutablePrimitiveSet")
             generate("AbstractMutable${model["Type"]}Set", model, "AbstractMutablePrimitiveSet")
             generate("AbstractMutable${model["Type"]}SetFactory", model, "AbstractMutablePrimitiveSetFactory")
-            if (model != Primitives.Boolean && model != Primitives.Byte)
+            if (model != Primitives.Boolean && model != Primitives.Byte) {
                 generate("Mutable${model["Type"]}TreeSet", model, "MutablePrimitiveTreeSet")
+                generate("Mutable${model["Type"]}HashSet", model, "MutablePrimitiveHashSet")
+            }
+        }
+
+        for (model in Primitives.mapPairs) {
+            generate("Mutable${model["Name"]}Map", model, "MutablePrimitiveKeyValueMap")
+            generate("Mutable${model["Name"]}HashMap", model, "MutablePrimitiveKeyValueHashMap")
         }
     }
 }
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kala.collection.immutable.primitive;
+
+import kala.collection.base.primitive.*;
+import kala.collection.factory.primitive.${Type}CollectionFactory;
+import kala.collection.mutable.primitive.Mutable${Type}HashSet;
+import kala.function.*;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.function.*;
+
+/// An immutable hash set backed by a {@link Mutable${Type}HashSet} that is never modified after construction.
+public final class Immutable${Type}HashSet extends AbstractImmutable${Type}Set implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 0L;
+
+    private static final Immutable${Type}HashSet.Factory FACTORY = new Factory();
+    private static final Immutable${Type}HashSet EMPTY = new Immutable${Type}HashSet(new Mutable${Type}HashSet(0));
+
+    private final Mutable${Type}HashSet source;
+
+    private Immutable${Type}HashSet(Mutable${Type}HashSet source) {
+        this.source = source;
+    }
+
+    //region Static Factories
+
+    public static @NotNull ${Type}CollectionFactory<?, Immutable${Type}HashSet> factory() {
+        return FACTORY;
+    }
+
+    @Contract
+    public static @NotNull Immutable${Type}HashSet empty() {
+        return EMPTY;
+    }
+
+    public static @NotNull Immutable${Type}HashSet of() {
+        return empty();
+    }
+
+    public static @NotNull Immutable${Type}HashSet of(${PrimitiveType} value1) {
+        return new Immutable${Type}HashSet(Mutable${Type}HashSet.of(value1));
+    }
+
+    public static @NotNull Immutable${Type}HashSet of(${PrimitiveType} value1, ${PrimitiveType} value2) {
+        return new Immutable${Type}HashSet(Mutable${Type}HashSet.of(value1, value2));
+    }
+
+    public static @NotNull Immutable${Type}HashSet of(${PrimitiveType} value1, ${PrimitiveType} value2, ${PrimitiveType} value3) {
+        return new Immutable${Type}HashSet(Mutable${Type}HashSet.of(value1, value2, value3));
+    }
+
+    public static @NotNull Immutable${Type}HashSet of(${PrimitiveType} value1, ${PrimitiveType} value2, ${PrimitiveType} value3, ${PrimitiveType} value4) {
+        return new Immutable${Type}HashSet(Mutable${Type}HashSet.of(value1, value2, value3, value4));
+    }
+
+    public static @NotNull Immutable${Type}HashSet of(
+            ${PrimitiveType} value1, ${PrimitiveType} value2, ${PrimitiveType} value3, ${PrimitiveType} value4, ${PrimitiveType} value5
+    ) {
+        return new Immutable${Type}HashSet(Mutable${Type}HashSet.of(value1, value2, value3, value4, value5));
+    }
+
+    public static @NotNull Immutable${Type}HashSet of(${PrimitiveType}... values) {
+        return from(values);
+    }
+
+    public static @NotNull Immutable${Type}HashSet from(${PrimitiveType} @NotNull [] values) {
+        if (values.length == 0) { // implicit null check of values
+            return empty();
+        }
+        return new Immutable${Type}HashSet(Mutable${Type}HashSet.from(values));
+    }
+
+    public static @NotNull Immutable${Type}HashSet from(@NotNull ${Type}Traversable values) {
+        if (values instanceof Immutable${Type}HashSet set) {
+            return set;
+        }
+        if (values.knownSize() == 0) { // implicit null check of values
+            return empty();
+        }
+        return ofSource(Mutable${Type}HashSet.from(values));
+    }
+
+    public static @NotNull Immutable${Type}HashSet from(@NotNull ${Type}Iterator it) {
+        if (!it.hasNext()) { // implicit null check of it
+            return empty();
+        }
+        return new Immutable${Type}HashSet(Mutable${Type}HashSet.from(it));
+    }
+
+    private static @NotNull Immutable${Type}HashSet ofSource(@NotNull Mutable${Type}HashSet source) {
+        return source.isEmpty() ? empty() : new Immutable${Type}HashSet(source);
+    }
+
+    //endregion
+
+    @Override
+    public @NotNull String className() {
+        return "Immutable${Type}HashSet";
+    }
+
+    @Override
+    public @NotNull ${Type}CollectionFactory<?, Immutable${Type}HashSet> iterableFactory() {
+        return FACTORY;
+    }
+
+    @Override
+    public @NotNull ${Type}Iterator iterator() {
+        return source.iterator();
+    }
+
+    @Override
+    public int size() {
+        return source.size();
+    }
+
+    @Override
+    public int knownSize() {
+        return source.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return source.isEmpty();
+    }
+
+    @Override
+    public boolean contains(${PrimitiveType} value) {
+        return source.contains(value);
+    }
+
+    @Override
+    public ${PrimitiveType} @NotNull [] toArray() {
+        return source.toArray();
+    }
+
+    @Override
+    public void forEach(@NotNull ${Type}Consumer action) {
+        source.forEach(action);
+    }
+
+    @Override
+    public @NotNull Immutable${Type}HashSet added(${PrimitiveType} value) {
+        if (source.contains(value)) {
+            return this;
+        }
+        final Mutable${Type}HashSet newSource = source.clone();
+        newSource.add(value);
+        return new Immutable${Type}HashSet(newSource);
+    }
+
+    @Override
+    public @NotNull Immutable${Type}HashSet addedAll(@NotNull ${Type}Traversable values) {
+        if (values.knownSize() == 0) {
+            return this;
+        }
+        if (this.isEmpty()) {
+            return from(values);
+        }
+
+        final Mutable${Type}HashSet newSource = source.clone();
+        return newSource.addAll(values) ? new Immutable${Type}HashSet(newSource) : this;
+    }
+
+    @Override
+    public @NotNull Immutable${Type}HashSet addedAll(${PrimitiveType} @NotNull [] values) {
+        if (values.length == 0) {
+            return this;
+        }
+        if (this.isEmpty()) {
+            return from(values);
+        }
+
+        final Mutable${Type}HashSet newSource = source.clone();
+        return newSource.addAll(values) ? new Immutable${Type}HashSet(newSource) : this;
+    }
+
+    @Override
+    public @NotNull Immutable${Type}HashSet filter(@NotNull ${Type}Predicate predicate) {
+        final Mutable${Type}HashSet newSource = source.clone();
+        return newSource.retainIf(predicate) ? ofSource(newSource) : this;
+    }
+
+    @Override
+    public @NotNull Immutable${Type}HashSet filterNot(@NotNull ${Type}Predicate predicate) {
+        final Mutable${Type}HashSet newSource = source.clone();
+        return newSource.removeIf(predicate) ? ofSource(newSource) : this;
+    }
+
+    @Serial
+    private Object readResolve() {
+        return source.isEmpty() ? EMPTY : this;
+    }
+
+    private static final class Factory implements ${Type}CollectionFactory<Mutable${Type}HashSet, Immutable${Type}HashSet> {
+        @Override
+        public Immutable${Type}HashSet empty() {
+            return Immutable${Type}HashSet.empty();
+        }
+
+        @Override
+        public Mutable${Type}HashSet newBuilder() {
+            return new Mutable${Type}HashSet();
+        }
+
+        @Override
+        public Immutable${Type}HashSet build(@NotNull Mutable${Type}HashSet builder) {
+            return ofSource(builder.clone());
+        }
+
+        @Override
+        public void addToBuilder(@NotNull Mutable${Type}HashSet builder, ${PrimitiveType} value) {
+            builder.add(value);
+        }
+
+        @Override
+        public void sizeHint(@NotNull Mutable${Type}HashSet builder, int size) {
+            builder.sizeHint(size);
+        }
+
+        @Override
+        public Mutable${Type}HashSet mergeBuilder(@NotNull Mutable${Type}HashSet builder1, @NotNull Mutable${Type}HashSet builder2) {
+            builder1.addAll(builder2);
+            return builder1;
+        }
+    }
+}
@@ -0,0 +1,640 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kala.collection.mutable.primitive;
+
+import kala.collection.base.primitive.*;
+import kala.collection.factory.primitive.${Type}CollectionFactory;
+import kala.collection.primitive.${Type}Set;
+import kala.function.*;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.*;
+
+/// A hash set based on open addressing with linear probing.
+///
+/// Elements are stored directly in a `${PrimitiveType}[]` table, so no node objects are allocated per element.
+/// The value `${Values.Default}` is used as the marker of free slots and is tracked separately.
+public final class Mutable${Type}HashSet extends AbstractMutable${Type}Set implements Cloneable, Serializable {
+    @Serial
+    private static final long serialVersionUID = 0L;
+
+    public static final int DEFAULT_INITIAL_CAPACITY = 16;
+    public static final double DEFAULT_LOAD_FACTOR = 0.75;
+
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private static final Mutable${Type}HashSet.Factory FACTORY = new Factory();
+
+    private transient ${PrimitiveType}[] table;
+    private transient int mask;
+    private transient int threshold;
+    private transient int size;
+    private transient boolean containsFreeValue;
+
+    //region Constructors
+
+    public Mutable${Type}HashSet() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public Mutable${Type}HashSet(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+        }
+        allocate(tableSizeFor(initialCapacity));
+    }
+
+    private Mutable${Type}HashSet(Mutable${Type}HashSet old) {
+        this.table = old.table.clone();
+        this.mask = old.mask;
+        this.threshold = old.threshold;
+        this.size = old.size;
+        this.containsFreeValue = old.containsFreeValue;
+    }
+
+    //endregion
+
+    //region Static Factories
+
+    public static @NotNull ${Type}CollectionFactory<?, Mutable${Type}HashSet> factory() {
+        return FACTORY;
+    }
+
+    @Contract(value = " -> new", pure = true)
+    public static @NotNull Mutable${Type}HashSet create() {
+        return new Mutable${Type}HashSet();
+    }
+
+    @Contract(value = "_ -> new", pure = true)
+    public static @NotNull Mutable${Type}HashSet create(int initialCapacity) {
+        return new Mutable${Type}HashSet(initialCapacity);
+    }
+
+    @Contract(value = " -> new", pure = true)
+    public static @NotNull Mutable${Type}HashSet of() {
+        return new Mutable${Type}HashSet();
+    }
+
+    @Contract(value = "_ -> new", pure = true)
+    public static @NotNull Mutable${Type}HashSet of(${PrimitiveType} value1) {
+        Mutable${Type}HashSet s = new Mutable${Type}HashSet();
+        s.add(value1);
+        return s;
+    }
+
+    @Contract(value = "_, _ -> new", pure = true)
+    public static @NotNull Mutable${Type}HashSet of(${PrimitiveType} value1, ${PrimitiveType} value2) {
+        Mutable${Type}HashSet s = new Mutable${Type}HashSet();
+        s.add(value1);
+        s.add(value2);
+        return s;
+    }
+
+    @Contract(value = "_, _, _ -> new", pure = true)
+    public static @NotNull Mutable${Type}HashSet of(${PrimitiveType} value1, ${PrimitiveType} value2, ${PrimitiveType} value3) {
+        Mutable${Type}HashSet s = new Mutable${Type}HashSet();
+        s.add(value1);
+        s.add(value2);
+        s.add(value3);
+        return s;
+    }
+
+    @Contract(value = "_, _, _, _ -> new", pure = true)
+    public static @NotNull Mutable${Type}HashSet of(${PrimitiveType} value1, ${PrimitiveType} value2, ${PrimitiveType} value3, ${PrimitiveType} value4) {
+        Mutable${Type}HashSet s = new Mutable${Type}HashSet();
+        s.add(value1);
+        s.add(value2);
+        s.add(value3);
+        s.add(value4);
+        return s;
+    }
+
+    @Contract(value = "_, _, _, _, _ -> new", pure = true)
+    public static @NotNull Mutable${Type}HashSet of(${PrimitiveType} value1, ${PrimitiveType} value2, ${PrimitiveType} value3, ${PrimitiveType} value4, ${PrimitiveType} value5) {
+        Mutable${Type}HashSet s = new Mutable${Type}HashSet();
+        s.add(value1);
+        s.add(value2);
+        s.add(value3);
+        s.add(value4);
+        s.add(value5);
+        return s;
+    }
+
+    @Contract(value = "_ -> new", pure = true)
+    public static @NotNull Mutable${Type}HashSet of(${PrimitiveType}... values) {
+        return from(values);
+    }
+
+    @Contract(value = "_ -> new", pure = true)
+    public static @NotNull Mutable${Type}HashSet from(${PrimitiveType} @NotNull [] values) {
+        Mutable${Type}HashSet s = new Mutable${Type}HashSet(values.length); // implicit null check of values
+        s.addAll(values);
+        return s;
+    }
+
+    @Contract(value = "_ -> new", pure = true)
+    public static @NotNull Mutable${Type}HashSet from(@NotNull ${Type}Traversable values) {
+        final int knownSize = values.knownSize(); // implicit null check of values
+        Mutable${Type}HashSet s = new Mutable${Type}HashSet(Math.max(knownSize, DEFAULT_INITIAL_CAPACITY));
+        s.addAll(values);
+        return s;
+    }
+
+    @Contract(value = "_ -> new", pure = true)
+    public static @NotNull Mutable${Type}HashSet from(@NotNull ${Type}Iterator it) {
+        Mutable${Type}HashSet s = new Mutable${Type}HashSet();
+        while (it.hasNext()) { // implicit null check of it
+            s.add(it.next${Type}());
+        }
+        return s;
+    }
+
+    //endregion
+
+    //region Hash Table Helpers
+
+    private static int tableSizeFor(int expectedSize) {
+        final long n = Math.max(2L, (long) Math.ceil(expectedSize / DEFAULT_LOAD_FACTOR));
+        return n >= MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY : Integer.highestOneBit((int) n - 1) << 1;
+    }
+
+    private static int hash(${PrimitiveType} value) {
+<#if Type == "Long">
+        int h = (int) (value ^ (value >>> 32));
+<#elseif Type == "Float">
+        int h = Float.floatToIntBits(value);
+<#elseif Type == "Double">
+        final long bits = Double.doubleToLongBits(value);
+        int h = (int) (bits ^ (bits >>> 32));
+<#else>
+        int h = value;
+</#if>
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean isFree(${PrimitiveType} value) {
+<#if Type == "Float">
+        return Float.floatToIntBits(value) == 0;
+<#elseif Type == "Double">
+        return Double.doubleToLongBits(value) == 0L;
+<#else>
+        return value == 0;
+</#if>
+    }
+
+    private void allocate(int capacity) {
+        this.table = new ${PrimitiveType}[capacity];
+        this.mask = capacity - 1;
+        this.threshold = Math.min(capacity - 1, (int) (capacity * DEFAULT_LOAD_FACTOR));
+    }
+
+    /// Returns the slot of the value if it is present, or `-(insertionPoint + 1)` otherwise.
+    /// The value must not be free.
+    private int findSlot(${PrimitiveType} value) {
+        final ${PrimitiveType}[] table = this.table;
+        final int mask = this.mask;
+
+        int pos = hash(value) & mask;
+        ${PrimitiveType} v;
+        while (!isFree(v = table[pos])) {
+            if (${PrimitiveEquals("value", "v")}) {
+                return pos;
+            }
+            pos = (pos + 1) & mask;
+        }
+        return -(pos + 1);
+    }
+
+    private void growTable() {
+        final int oldCapacity = mask + 1;
+        if (oldCapacity == MAXIMUM_CAPACITY) {
+            if (size >= MAXIMUM_CAPACITY - 1) {
+                throw new IllegalStateException("Set is full");
+            }
+            threshold = MAXIMUM_CAPACITY - 2;
+            return;
+        }
+        rehash(oldCapacity << 1);
+    }
+
+    private void rehash(int newCapacity) {
+        final ${PrimitiveType}[] oldTable = this.table;
+        allocate(newCapacity);
+        transferFrom(oldTable);
+    }
+
+    /// Inserts all non-free values of `oldTable` into the current table, which must be large enough.
+    private void transferFrom(${PrimitiveType}[] oldTable) {
+        final ${PrimitiveType}[] newTable = this.table;
+        final int newMask = this.mask;
+
+        for (${PrimitiveType} v : oldTable) {
+            if (!isFree(v)) {
+                int pos = hash(v) & newMask;
+                while (!isFree(newTable[pos])) {
+                    pos = (pos + 1) & newMask;
+                }
+                newTable[pos] = v;
+            }
+        }
+    }
+
+    /// Removes the value at `pos` by shifting the following values of the probe sequence backward,
+    /// so no tombstones are needed.
+    private void removeAt(int pos) {
+        final ${PrimitiveType}[] table = this.table;
+        final int mask = this.mask;
+
+        size--;
+
+        int last;
+        ${PrimitiveType} v;
+        while (true) {
+            pos = ((last = pos) + 1) & mask;
+            while (true) {
+                if (isFree(v = table[pos])) {
+                    table[last] = ${Values.Default};
+                    return;
+                }
+                final int slot = hash(v) & mask;
+                if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            table[last] = v;
+        }
+    }
+
+    /// Keeps only the values matching `predicate` (or not matching it if `expected` is `false`)
+    /// by rebuilding the table in a single pass.
+    private boolean filterInPlace0(@NotNull ${Type}Predicate predicate, boolean expected) {
+        final int oldSize = this.size;
+        if (oldSize == 0) {
+            return false;
+        }
+
+        final boolean removeFreeValue = containsFreeValue && predicate.test(${Values.Default}) != expected;
+
+        final ${PrimitiveType}[] oldTable = this.table;
+        final ${PrimitiveType}[] newTable = new ${PrimitiveType}[oldTable.length];
+        final int mask = this.mask;
+
+        int removed = 0;
+        for (${PrimitiveType} v : oldTable) {
+            if (!isFree(v)) {
+                if (predicate.test(v) == expected) {
+                    int pos = hash(v) & mask;
+                    while (!isFree(newTable[pos])) {
+                        pos = (pos + 1) & mask;
+                    }
+                    newTable[pos] = v;
+                } else {
+                    removed++;
+                }
+            }
+        }
+
+        // Only update the state once the predicate has been applied to every value,
+        // so the set is left unchanged if the predicate throws
+        if (removed > 0) {
+            this.table = newTable;
+            this.size -= removed;
+        }
+        if (removeFreeValue) {
+            this.containsFreeValue = false;
+            this.size--;
+        }
+        return this.size != oldSize;
+    }
+
+    //endregion
+
+    @Override
+    public @NotNull String className() {
+        return "Mutable${Type}HashSet";
+    }
+
+    @Override
+    public @NotNull ${Type}CollectionFactory<?, Mutable${Type}HashSet> iterableFactory() {
+        return FACTORY;
+    }
+
+    @Override
+    public @NotNull ${Type}Iterator iterator() {
+        return size == 0 ? ${Type}Iterator.empty() : new Itr(table, containsFreeValue);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int knownSize() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(${PrimitiveType} value) {
+        if (isFree(value)) {
+            return containsFreeValue;
+        }
+
+        final ${PrimitiveType}[] table = this.table;
+        final int mask = this.mask;
+
+        int pos = hash(value) & mask;
+        ${PrimitiveType} v;
+        while (!isFree(v = table[pos])) {
+            if (${PrimitiveEquals("value", "v")}) {
+                return true;
+            }
+            pos = (pos + 1) & mask;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean add(${PrimitiveType} value) {
+        if (isFree(value)) {
+            if (containsFreeValue) {
+                return false;
+            }
+            containsFreeValue = true;
+            size++;
+            return true;
+        }
+
+        final int pos = findSlot(value);
+        if (pos >= 0) {
+            return false;
+        }
+        table[-pos - 1] = value;
+        if (++size > threshold) {
+            growTable();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean addAll(${PrimitiveType} @NotNull [] values) {
+        sizeHint(size + values.length); // implicit null check of values
+
+        boolean m = false;
+        for (${PrimitiveType} value : values) {
+            if (add(value)) {
+                m = true;
+            }
+        }
+        return m;
+    }
+
+    @Override
+    public boolean addAll(@NotNull ${Type}Traversable values) {
+        if (values == this) {
+            return false;
+        }
+
+        if (values instanceof Mutable${Type}HashSet other) {
+            if (other.size == 0) {
+                return false;
+            }
+            sizeHint(size + other.size);
+
+            boolean m = other.containsFreeValue && add(${Values.Default});
+            for (${PrimitiveType} v : other.table) {
+                if (!isFree(v) && add(v)) {
+                    m = true;
+                }
+            }
+            return m;
+        }
+
+        final int knownSize = values.knownSize();
+        if (knownSize > 0) {
+            sizeHint(size + knownSize);
+        }
+
+        boolean m = false;
+        final ${Type}Iterator it = values.iterator();
+        while (it.hasNext()) {
+            if (add(it.next${Type}())) {
+                m = true;
+            }
+        }
+        return m;
+    }
+
+    @Override
+    public boolean remove(${PrimitiveType} value) {
+        if (isFree(value)) {
+            if (!containsFreeValue) {
+                return false;
+            }
+            containsFreeValue = false;
+            size--;
+            return true;
+        }
+
+        final int pos = findSlot(value);
+        if (pos < 0) {
+            return false;
+        }
+        removeAt(pos);
+        return true;
+    }
+
+    @Override
+    public boolean retainAll(@NotNull ${Type}Traversable values) {
+        Objects.requireNonNull(values);
+        if (values == this || this.isEmpty()) {
+            return false;
+        }
+        if (values.isEmpty()) {
+            clear();
+            return true;
+        }
+
+        final ${Type}Set lookup = values instanceof ${Type}Set set ? set : Mutable${Type}HashSet.from(values);
+        return filterInPlace0(lookup::contains, true);
+    }
+
+    @Override
+    public boolean removeIf(@NotNull ${Type}Predicate predicate) {
+        Objects.requireNonNull(predicate);
+        return filterInPlace0(predicate, false);
+    }
+
+    @Override
+    public boolean retainIf(@NotNull ${Type}Predicate predicate) {
+        Objects.requireNonNull(predicate);
+        return filterInPlace0(predicate, true);
+    }
+
+    @Override
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        Arrays.fill(table, ${Values.Default});
+        size = 0;
+        containsFreeValue = false;
+    }
+
+    /// Ensures that this set can hold at least `expectedSize` values without rehashing.
+    @Contract(mutates = "this")
+    public void sizeHint(int expectedSize) {
+        final int capacity = tableSizeFor(expectedSize);
+        if (capacity > mask + 1) {
+            rehash(capacity);
+        }
+    }
+
+    @Override
+    public void trimToSize() {
+        final int capacity = tableSizeFor(size);
+        if (capacity < mask + 1) {
+            rehash(capacity);
+        }
+    }
+
+    @Override
+    public ${PrimitiveType} @NotNull [] toArray() {
+        final ${PrimitiveType}[] res = new ${PrimitiveType}[size];
+        int i = 0;
+        if (containsFreeValue) {
+            res[i++] = ${Values.Default};
+        }
+        for (${PrimitiveType} v : table) {
+            if (!isFree(v)) {
+                res[i++] = v;
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public void forEach(@NotNull ${Type}Consumer action) {
+        Objects.requireNonNull(action);
+        if (containsFreeValue) {
+            action.accept(${Values.Default});
+        }
+        for (${PrimitiveType} v : table) {
+            if (!isFree(v)) {
+                action.accept(v);
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("MethodDoesntCallSuperMethod")
+    public @NotNull Mutable${Type}HashSet clone() {
+        return new Mutable${Type}HashSet(this);
+    }
+
+    //region Serialization Operations
+
+    @Serial
+    private void writeObject(java.io.ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        this.forEachUnchecked(out::write${Type});
+    }
+
+    @Serial
+    private void readObject(java.io.ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        final int size = in.readInt();
+        if (size < 0) {
+            throw new java.io.InvalidObjectException("Illegal size: " + size);
+        }
+
+        allocate(tableSizeFor(size));
+        for (int i = 0; i < size; i++) {
+            this.add(in.read${Type}());
+        }
+    }
+
+    //endregion
+
+    private static final class Itr extends Abstract${Type}Iterator {
+        private final ${PrimitiveType}[] table;
+        private int index;
+        private boolean returnFreeValue;
+
+        Itr(${PrimitiveType}[] table, boolean containsFreeValue) {
+            this.table = table;
+            this.returnFreeValue = containsFreeValue;
+            this.index = advance(0);
+        }
+
+        private int advance(int from) {
+            final ${PrimitiveType}[] table = this.table;
+            for (int i = from; i < table.length; i++) {
+                if (!isFree(table[i])) {
+                    return i;
+                }
+            }
+            return table.length;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return returnFreeValue || index < table.length;
+        }
+
+        @Override
+        public ${PrimitiveType} next${Type}() {
+            if (returnFreeValue) {
+                returnFreeValue = false;
+                return ${Values.Default};
+            }
+
+            final int index = this.index;
+            if (index >= table.length) {
+                throw new NoSuchElementException();
+            }
+            this.index = advance(index + 1);
+            return table[index];
+        }
+    }
+
+    private static final class Factory extends AbstractMutable${Type}SetFactory<Mutable${Type}HashSet> {
+        @Override
+        public Mutable${Type}HashSet newBuilder() {
+            return new Mutable${Type}HashSet();
+        }
+
+        @Override
+        public void sizeHint(@NotNull Mutable${Type}HashSet builder, int size) {
+            builder.sizeHint(size);
+        }
+    }
+}
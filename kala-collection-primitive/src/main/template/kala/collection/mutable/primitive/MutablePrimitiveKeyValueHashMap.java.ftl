@@ -0,0 +1,614 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+<#assign KeyNext = KeyIsObject?then("nextKey", "next${KeyType}Key")>
+<#assign ValueGet = ValueIsObject?then("getValue", "get${ValueType}Value")>
+<#assign ValueUnaryOperator = ValueIsObject?then("UnaryOperator<V>", "${ValueType}UnaryOperator")>
+<#assign ValueApply = ValueIsObject?then("apply", "applyAs${ValueType}")>
+<#assign Wildcard = TypeParameters?has_content?then("<?>", "")>
+<#assign StaticTypeParameters = TypeParameters?has_content?then(TypeParameters + " ", "")>
+<#assign Diamond = TypeParameters?has_content?then("<>", "")>
+<#assign ClassName = "Mutable${Name}HashMap">
+<#assign ValueCast = ValueIsObject?then("(V) ", "")>
+<#assign KeyCast = KeyIsObject?then("(K) ", "")>
+package kala.collection.mutable.primitive;
+
+import kala.collection.AnyMap;
+import kala.collection.base.primitive.${Name}MapIterator;
+import kala.collection.primitive.${Name}Map;
+import kala.function.*;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.*;
+
+/// A hash map based on open addressing with linear probing.
+///
+/// Keys and values are stored in two parallel arrays, so no node objects are allocated per entry,
+/// and the primitive operations never box their keys or values.
+/// The slot one past the end of the table holds the value of the key `${KeyValues.Default}`,
+/// which is used as the marker of free slots.
+<#if KeyIsObject || ValueIsObject>
+@SuppressWarnings("unchecked")
+</#if>
+public final class ${ClassName}${TypeParameters} implements Mutable${Name}Map${TypeParameters}, Cloneable, Serializable {
+    @Serial
+    private static final long serialVersionUID = 0L;
+
+    public static final int DEFAULT_INITIAL_CAPACITY = 16;
+    public static final double DEFAULT_LOAD_FACTOR = 0.75;
+
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private transient ${KeyArrayType}[] keys;
+    private transient ${ValueArrayType}[] values;
+    private transient int mask;
+    private transient int threshold;
+    private transient int size;
+    private transient boolean containsFreeKey;
+
+    public ${ClassName}() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public ${ClassName}(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+        }
+        allocate(tableSizeFor(initialCapacity));
+    }
+
+    private ${ClassName}(${ClassName}${TypeParameters} old) {
+        this.keys = old.keys.clone();
+        this.values = old.values.clone();
+        this.mask = old.mask;
+        this.threshold = old.threshold;
+        this.size = old.size;
+        this.containsFreeKey = old.containsFreeKey;
+    }
+
+    //region Static Factories
+
+    @Contract(value = "-> new", pure = true)
+    public static ${StaticTypeParameters}@NotNull ${ClassName}${TypeParameters} create() {
+        return new ${ClassName}${Diamond}();
+    }
+
+    @Contract(value = "_ -> new", pure = true)
+    public static ${StaticTypeParameters}@NotNull ${ClassName}${TypeParameters} create(int initialCapacity) {
+        return new ${ClassName}${Diamond}(initialCapacity);
+    }
+
+    @Contract(value = "-> new", pure = true)
+    public static ${StaticTypeParameters}@NotNull ${ClassName}${TypeParameters} of() {
+        return new ${ClassName}${Diamond}();
+    }
+
+    @Contract(value = "_, _ -> new", pure = true)
+    public static ${StaticTypeParameters}@NotNull ${ClassName}${TypeParameters} of(${KeyPrimitiveType} k1, ${ValuePrimitiveType} v1) {
+        ${ClassName}${TypeParameters} m = new ${ClassName}${Diamond}();
+        m.set(k1, v1);
+        return m;
+    }
+
+    @Contract(value = "_, _, _, _ -> new", pure = true)
+    public static ${StaticTypeParameters}@NotNull ${ClassName}${TypeParameters} of(
+            ${KeyPrimitiveType} k1, ${ValuePrimitiveType} v1,
+            ${KeyPrimitiveType} k2, ${ValuePrimitiveType} v2
+    ) {
+        ${ClassName}${TypeParameters} m = new ${ClassName}${Diamond}();
+        m.set(k1, v1);
+        m.set(k2, v2);
+        return m;
+    }
+
+    @Contract(value = "_, _, _, _, _, _ -> new", pure = true)
+    public static ${StaticTypeParameters}@NotNull ${ClassName}${TypeParameters} of(
+            ${KeyPrimitiveType} k1, ${ValuePrimitiveType} v1,
+            ${KeyPrimitiveType} k2, ${ValuePrimitiveType} v2,
+            ${KeyPrimitiveType} k3, ${ValuePrimitiveType} v3
+    ) {
+        ${ClassName}${TypeParameters} m = new ${ClassName}${Diamond}();
+        m.set(k1, v1);
+        m.set(k2, v2);
+        m.set(k3, v3);
+        return m;
+    }
+
+    @Contract(value = "_ -> new", pure = true)
+    public static ${StaticTypeParameters}@NotNull ${ClassName}${TypeParameters} from(@NotNull ${Name}Map${Wildcard?replace("?", "? extends " + KeyIsObject?then("K", "V"))} map) {
+        ${ClassName}${TypeParameters} m = new ${ClassName}${Diamond}(map.size());
+        m.setAll(map);
+        return m;
+    }
+
+    //endregion
+
+    //region Hash Table Helpers
+
+    private static int tableSizeFor(int expectedSize) {
+        final long n = Math.max(2L, (long) Math.ceil(expectedSize / DEFAULT_LOAD_FACTOR));
+        return n >= MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY : Integer.highestOneBit((int) n - 1) << 1;
+    }
+
+    private static int hash(${KeyArrayType} key) {
+<#if KeyIsObject>
+        int h = key.hashCode();
+<#elseif KeyType == "Long">
+        int h = (int) (key ^ (key >>> 32));
+<#elseif KeyType == "Float">
+        int h = Float.floatToIntBits(key);
+<#elseif KeyType == "Double">
+        final long bits = Double.doubleToLongBits(key);
+        int h = (int) (bits ^ (bits >>> 32));
+<#else>
+        int h = key;
+</#if>
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean isFree(${KeyArrayType} key) {
+<#if KeyIsObject>
+        return key == null;
+<#elseif KeyType == "Float">
+        return Float.floatToIntBits(key) == 0;
+<#elseif KeyType == "Double">
+        return Double.doubleToLongBits(key) == 0L;
+<#else>
+        return key == 0;
+</#if>
+    }
+
+    private static boolean keyEquals(${KeyArrayType} key, ${KeyArrayType} other) {
+<#if KeyIsObject>
+        return key.equals(other);
+<#elseif KeyType == "Float">
+        return Float.floatToIntBits(key) == Float.floatToIntBits(other);
+<#elseif KeyType == "Double">
+        return Double.doubleToLongBits(key) == Double.doubleToLongBits(other);
+<#else>
+        return key == other;
+</#if>
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new ${KeyArrayType}[capacity + 1];
+        this.values = new ${ValueArrayType}[capacity + 1];
+        this.mask = capacity - 1;
+        this.threshold = Math.min(capacity - 1, (int) (capacity * DEFAULT_LOAD_FACTOR));
+    }
+
+    /// Returns the slot of the key, or `-1` if the key is not present.
+    private int indexOf(${KeyArrayType} key) {
+        if (isFree(key)) {
+            return containsFreeKey ? mask + 1 : -1;
+        }
+
+        final ${KeyArrayType}[] keys = this.keys;
+        final int mask = this.mask;
+
+        int pos = hash(key) & mask;
+        ${KeyArrayType} k;
+        while (!isFree(k = keys[pos])) {
+            if (keyEquals(key, k)) {
+                return pos;
+            }
+            pos = (pos + 1) & mask;
+        }
+        return -1;
+    }
+
+    /// Returns the slot of the key if it is present, or `-(insertionPoint + 1)` otherwise.
+    /// The key must not be free.
+    private int findSlot(${KeyArrayType} key) {
+        final ${KeyArrayType}[] keys = this.keys;
+        final int mask = this.mask;
+
+        int pos = hash(key) & mask;
+        ${KeyArrayType} k;
+        while (!isFree(k = keys[pos])) {
+            if (keyEquals(key, k)) {
+                return pos;
+            }
+            pos = (pos + 1) & mask;
+        }
+        return -(pos + 1);
+    }
+
+    private void insertAt(int pos, ${KeyArrayType} key, ${ValueArrayType} value) {
+        keys[pos] = key;
+        values[pos] = value;
+        if (++size > threshold) {
+            growTable();
+        }
+    }
+
+    private void growTable() {
+        final int oldCapacity = mask + 1;
+        if (oldCapacity == MAXIMUM_CAPACITY) {
+            if (size >= MAXIMUM_CAPACITY - 1) {
+                throw new IllegalStateException("Map is full");
+            }
+            threshold = MAXIMUM_CAPACITY - 2;
+            return;
+        }
+        rehash(oldCapacity << 1);
+    }
+
+    private void rehash(int newCapacity) {
+        final ${KeyArrayType}[] oldKeys = this.keys;
+        final ${ValueArrayType}[] oldValues = this.values;
+        final int oldCapacity = this.mask + 1;
+
+        allocate(newCapacity);
+
+        final ${KeyArrayType}[] newKeys = this.keys;
+        final ${ValueArrayType}[] newValues = this.values;
+        final int newMask = this.mask;
+
+        for (int i = 0; i < oldCapacity; i++) {
+            final ${KeyArrayType} k = oldKeys[i];
+            if (!isFree(k)) {
+                int pos = hash(k) & newMask;
+                while (!isFree(newKeys[pos])) {
+                    pos = (pos + 1) & newMask;
+                }
+                newKeys[pos] = k;
+                newValues[pos] = oldValues[i];
+            }
+        }
+        newValues[newCapacity] = oldValues[oldCapacity];
+    }
+
+    /// Removes the entry at `pos` by shifting the following entries of the probe sequence backward,
+    /// so no tombstones are needed.
+    private void removeAt(int pos) {
+        final ${KeyArrayType}[] keys = this.keys;
+        final ${ValueArrayType}[] values = this.values;
+        final int mask = this.mask;
+
+        size--;
+
+        int last;
+        ${KeyArrayType} k;
+        while (true) {
+            pos = ((last = pos) + 1) & mask;
+            while (true) {
+                if (isFree(k = keys[pos])) {
+                    keys[last] = ${KeyValues.Default};
+                    values[last] = ${ValueValues.Default};
+                    return;
+                }
+                final int slot = hash(k) & mask;
+                if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            keys[last] = k;
+            values[last] = values[pos];
+        }
+    }
+
+    //endregion
+
+    @Override
+    public @NotNull String className() {
+        return "${ClassName}";
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int knownSize() {
+        return size;
+    }
+
+    @Override
+    public @NotNull ${Name}MapIterator${TypeParameters} iterator() {
+        return size == 0 ? ${Name}MapIterator.empty() : new Itr${Diamond}(this);
+    }
+
+    @Override
+    public ${ValuePrimitiveType} get(${KeyPrimitiveType} key) {
+        final int index = indexOf(key);
+        if (index < 0) {
+            throw new NoSuchElementException("Key not found: " + key);
+        }
+        return ${ValueCast}values[index];
+    }
+
+    @Override
+    public ${ValuePrimitiveType} getOrDefault(${KeyPrimitiveType} key, ${ValuePrimitiveType} defaultValue) {
+        final int index = indexOf(key);
+        return index < 0 ? defaultValue : ${ValueCast}values[index];
+    }
+
+    @Override
+    public boolean containsKey(${KeyPrimitiveType} key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(${ValuePrimitiveType} value) {
+        final ${KeyArrayType}[] keys = this.keys;
+        final ${ValueArrayType}[] values = this.values;
+        final int capacity = mask + 1;
+
+        if (containsFreeKey && valueEquals(value, values[capacity])) {
+            return true;
+        }
+        for (int i = 0; i < capacity; i++) {
+            if (!isFree(keys[i]) && valueEquals(value, values[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean valueEquals(${ValueArrayType} value, ${ValueArrayType} other) {
+<#if ValueIsObject>
+        return Objects.equals(value, other);
+<#elseif ValueType == "Float">
+        return Float.floatToIntBits(value) == Float.floatToIntBits(other);
+<#elseif ValueType == "Double">
+        return Double.doubleToLongBits(value) == Double.doubleToLongBits(other);
+<#else>
+        return value == other;
+</#if>
+    }
+
+    @Override
+    public void set(${KeyPrimitiveType} key, ${ValuePrimitiveType} value) {
+        if (isFree(key)) {
+            if (!containsFreeKey) {
+                containsFreeKey = true;
+                size++;
+            }
+            values[mask + 1] = value;
+            return;
+        }
+
+        final int pos = findSlot(key);
+        if (pos >= 0) {
+            values[pos] = value;
+        } else {
+            insertAt(-pos - 1, key, value);
+        }
+    }
+
+    @Override
+    public boolean putIfAbsent(${KeyPrimitiveType} key, ${ValuePrimitiveType} value) {
+        if (isFree(key)) {
+            if (containsFreeKey) {
+                return false;
+            }
+            containsFreeKey = true;
+            size++;
+            values[mask + 1] = value;
+            return true;
+        }
+
+        final int pos = findSlot(key);
+        if (pos >= 0) {
+            return false;
+        }
+        insertAt(-pos - 1, key, value);
+        return true;
+    }
+
+    @Override
+    public ${ValuePrimitiveType} compute(${KeyPrimitiveType} key, ${ValuePrimitiveType} defaultValue, @NotNull ${ValueUnaryOperator} remapping) {
+        Objects.requireNonNull(remapping);
+
+        if (isFree(key)) {
+            final ${ValuePrimitiveType} newValue = remapping.${ValueApply}(containsFreeKey ? ${ValueCast}values[mask + 1] : defaultValue);
+            if (!containsFreeKey) {
+                containsFreeKey = true;
+                size++;
+            }
+            values[mask + 1] = newValue;
+            return newValue;
+        }
+
+        final int pos = findSlot(key);
+        if (pos >= 0) {
+            final ${ValuePrimitiveType} newValue = remapping.${ValueApply}(${ValueCast}values[pos]);
+            values[pos] = newValue;
+            return newValue;
+        } else {
+            final ${ValuePrimitiveType} newValue = remapping.${ValueApply}(defaultValue);
+            set(key, newValue);
+            return newValue;
+        }
+    }
+
+    @Override
+    public boolean remove(${KeyPrimitiveType} key) {
+        if (isFree(key)) {
+            if (!containsFreeKey) {
+                return false;
+            }
+            containsFreeKey = false;
+            size--;
+            values[mask + 1] = ${ValueValues.Default};
+            return true;
+        }
+
+        final int pos = findSlot(key);
+        if (pos < 0) {
+            return false;
+        }
+        removeAt(pos);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        Arrays.fill(keys, ${KeyValues.Default});
+        Arrays.fill(values, ${ValueValues.Default});
+        size = 0;
+        containsFreeKey = false;
+    }
+
+    /// Ensures that this map can hold at least `expectedSize` entries without rehashing.
+    @Contract(mutates = "this")
+    public void sizeHint(int expectedSize) {
+        final int capacity = tableSizeFor(expectedSize);
+        if (capacity > mask + 1) {
+            rehash(capacity);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("MethodDoesntCallSuperMethod")
+    public @NotNull ${ClassName}${TypeParameters} clone() {
+        return new ${ClassName}${Diamond}(this);
+    }
+
+    @Override
+    public int hashCode() {
+        return ${Name}Map.hashCode(this);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof AnyMap<?, ?> && ${Name}Map.equals(this, (AnyMap<?, ?>) obj);
+    }
+
+    @Override
+    public String toString() {
+        return iterator().joinTo(new StringBuilder(), ", ", className() + "{", "}").toString();
+    }
+
+    //region Serialization Operations
+
+    @Serial
+    private void writeObject(java.io.ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+
+        final ${Name}MapIterator${TypeParameters} it = iterator();
+        while (it.hasNext()) {
+<#if KeyIsObject>
+            out.writeObject(it.nextKey());
+<#else>
+            out.write${KeyType}(it.next${KeyType}Key());
+</#if>
+<#if ValueIsObject>
+            out.writeObject(it.getValue());
+<#else>
+            out.write${ValueType}(it.get${ValueType}Value());
+</#if>
+        }
+    }
+
+    @Serial
+    private void readObject(java.io.ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        final int size = in.readInt();
+        if (size < 0) {
+            throw new java.io.InvalidObjectException("Illegal size: " + size);
+        }
+
+        allocate(tableSizeFor(size));
+        for (int i = 0; i < size; i++) {
+<#if KeyIsObject>
+            final K key = (K) in.readObject();
+<#else>
+            final ${KeyPrimitiveType} key = in.read${KeyType}();
+</#if>
+<#if ValueIsObject>
+            final V value = (V) in.readObject();
+<#else>
+            final ${ValuePrimitiveType} value = in.read${ValueType}();
+</#if>
+            set(key, value);
+        }
+    }
+
+    //endregion
+
+    private static final class Itr${TypeParameters} implements ${Name}MapIterator${TypeParameters} {
+        private final ${KeyArrayType}[] keys;
+        private final ${ValueArrayType}[] values;
+        private final int capacity;
+        private final boolean containsFreeKey;
+
+        private int nextIndex;
+        private int currentIndex = -1;
+
+        Itr(${ClassName}${TypeParameters} map) {
+            this.keys = map.keys;
+            this.values = map.values;
+            this.capacity = map.mask + 1;
+            this.containsFreeKey = map.containsFreeKey;
+            this.nextIndex = advance(0);
+        }
+
+        private int advance(int from) {
+            final ${KeyArrayType}[] keys = this.keys;
+            final int capacity = this.capacity;
+            for (int i = from; i < capacity; i++) {
+                if (!isFree(keys[i])) {
+                    return i;
+                }
+            }
+            return from <= capacity && containsFreeKey ? capacity : -1;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex >= 0;
+        }
+
+        @Override
+        public ${KeyPrimitiveType} ${KeyNext}() {
+            final int index = this.nextIndex;
+            if (index < 0) {
+                throw new NoSuchElementException();
+            }
+            this.currentIndex = index;
+            this.nextIndex = advance(index + 1);
+            return ${KeyCast}keys[index];
+        }
+
+        @Override
+        public ${ValuePrimitiveType} ${ValueGet}() {
+            if (currentIndex < 0) {
+                throw new IllegalStateException();
+            }
+            return ${ValueCast}values[currentIndex];
+        }
+    }
+}
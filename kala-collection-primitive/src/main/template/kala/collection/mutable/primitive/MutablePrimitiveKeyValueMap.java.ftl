@@ -0,0 +1,83 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+<#assign KeyNext = KeyIsObject?then("nextKey", "next${KeyType}Key")>
+<#assign ValueGet = ValueIsObject?then("getValue", "get${ValueType}Value")>
+<#assign ValueUnaryOperator = ValueIsObject?then("UnaryOperator<V>", "${ValueType}UnaryOperator")>
+<#assign ValueApply = ValueIsObject?then("apply", "applyAs${ValueType}")>
+<#assign Wildcard = TypeParameters?has_content?then("<?>", "")>
+package kala.collection.mutable.primitive;
+
+import kala.collection.base.primitive.${Name}MapIterator;
+import kala.collection.primitive.${Name}Map;
+import kala.function.*;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.function.*;
+
+public interface Mutable${Name}Map${TypeParameters} extends ${Name}Map${TypeParameters} {
+
+    @Override
+    default @NotNull String className() {
+        return "Mutable${Name}Map";
+    }
+
+    @Contract(mutates = "this")
+    void set(${KeyPrimitiveType} key, ${ValuePrimitiveType} value);
+
+    /// Associates the value with the key if the key is not already present in this map.
+    ///
+    /// @return `true` if the value is associated with the key
+    @Contract(mutates = "this")
+    default boolean putIfAbsent(${KeyPrimitiveType} key, ${ValuePrimitiveType} value) {
+        if (containsKey(key)) {
+            return false;
+        }
+        set(key, value);
+        return true;
+    }
+
+    @Contract(mutates = "this")
+    default void setAll(@NotNull ${Name}Map${Wildcard?replace("?", "? extends " + KeyIsObject?then("K", "V"))} map) {
+        final ${Name}MapIterator${Wildcard?replace("?", "? extends " + KeyIsObject?then("K", "V"))} it = map.iterator();
+        while (it.hasNext()) {
+            set(it.${KeyNext}(), it.${ValueGet}());
+        }
+    }
+
+    /// Replaces the value associated with the key with the result of `remapping`.
+    ///
+    /// If the key is not present in this map, `remapping` is applied to `defaultValue` instead.
+    ///
+    /// @return the new value associated with the key
+    @Contract(mutates = "this")
+    default ${ValuePrimitiveType} compute(${KeyPrimitiveType} key, ${ValuePrimitiveType} defaultValue, @NotNull ${ValueUnaryOperator} remapping) {
+        Objects.requireNonNull(remapping);
+        final ${ValuePrimitiveType} newValue = remapping.${ValueApply}(getOrDefault(key, defaultValue));
+        set(key, newValue);
+        return newValue;
+    }
+
+    /// Removes the mapping for the key from this map if it is present.
+    ///
+    /// @return `true` if this map contained a mapping for the key
+    @Contract(mutates = "this")
+    boolean remove(${KeyPrimitiveType} key);
+
+    @Contract(mutates = "this")
+    void clear();
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+<#assign KeyNext = KeyIsObject?then("nextKey", "next${KeyType}Key")>
+<#assign ValueGet = ValueIsObject?then("getValue", "get${ValueType}Value")>
+<#assign Wildcard = TypeParameters?has_content?then("<?>", "")>
+package kala.collection.primitive;
+
+import kala.collection.AnyMap;
+import kala.collection.Map;
+import kala.collection.base.primitive.${Name}MapIterator;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.NoSuchElementException;
+<#if KeyIsObject || ValueIsObject>
+import java.util.Objects;
+</#if>
+
+public interface ${Name}Map${TypeParameters} extends PrimitiveMap<${KeyWrapperType}, ${ValueWrapperType}> {
+
+    static int hashCode(@NotNull ${Name}Map${Wildcard} map) {
+        return map.iterator().hash() + Map.HASH_MAGIC;
+    }
+
+<#if KeyIsObject || ValueIsObject>
+    @SuppressWarnings("unchecked")
+</#if>
+    static boolean equals(@NotNull ${Name}Map${Wildcard} map1, @NotNull AnyMap<?, ?> map2) {
+        if (map1 == map2) return true;
+        if (!map1.canEqual(map2) || !map2.canEqual(map1)) return false;
+        if (!(map2 instanceof ${Name}Map)) return false;
+
+        final ${Name}Map${TypeParameters?replace("K", "Object")?replace("V", "Object")} other = (${Name}Map${TypeParameters?replace("K", "Object")?replace("V", "Object")}) map2;
+        if (map1.size() != other.size()) return false;
+
+        final ${Name}MapIterator${Wildcard} it = map1.iterator();
+        while (it.hasNext()) {
+            final ${KeyIsObject?then("Object", KeyPrimitiveType)} key = it.${KeyNext}();
+            if (!other.containsKey(key)) return false;
+
+<#if ValueIsObject>
+            if (!Objects.equals(it.getValue(), other.get(key))) return false;
+<#elseif ValueType == "Float">
+            if (Float.floatToIntBits(it.getFloatValue()) != Float.floatToIntBits(other.get(key))) return false;
+<#elseif ValueType == "Double">
+            if (Double.doubleToLongBits(it.getDoubleValue()) != Double.doubleToLongBits(other.get(key))) return false;
+<#else>
+            if (it.${ValueGet}() != other.get(key)) return false;
+</#if>
+        }
+        return true;
+    }
+
+    @Override
+    @NotNull ${Name}MapIterator${TypeParameters} iterator();
+
+    @Override
+    default @NotNull String className() {
+        return "${Name}Map";
+    }
+
+    @Override
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    default int knownSize() {
+        return size();
+    }
+
+    /// Returns the value to which the specified key is mapped.
+    ///
+    /// @throws NoSuchElementException if this map contains no mapping for the key
+    default ${ValuePrimitiveType} get(${KeyPrimitiveType} key) {
+        final ${Name}MapIterator${TypeParameters} it = iterator();
+        while (it.hasNext()) {
+<#if KeyIsObject>
+            if (Objects.equals(key, it.nextKey())) {
+<#elseif KeyType == "Float">
+            if (Float.floatToIntBits(key) == Float.floatToIntBits(it.nextFloatKey())) {
+<#elseif KeyType == "Double">
+            if (Double.doubleToLongBits(key) == Double.doubleToLongBits(it.nextDoubleKey())) {
+<#else>
+            if (key == it.${KeyNext}()) {
+</#if>
+                return it.${ValueGet}();
+            }
+        }
+        throw new NoSuchElementException("Key not found: " + key);
+    }
+
+    default ${ValuePrimitiveType} getOrDefault(${KeyPrimitiveType} key, ${ValuePrimitiveType} defaultValue) {
+        return containsKey(key) ? get(key) : defaultValue;
+    }
+
+    default boolean containsKey(${KeyPrimitiveType} key) {
+        return iterator().containsKey(key);
+    }
+
+    default boolean containsValue(${ValuePrimitiveType} value) {
+        return iterator().containsValue(value);
+    }
+}
@@ -25,6 +25,7 @@ import kala.collection.internal.CollectionHelper;
 import kala.collection.internal.view.SeqViews;
 import kala.collection.mutable.MutableArray;
 import kala.collection.mutable.MutableArrayList;
+import kala.concurrent.Granularity;
 import kala.collection.factory.CollectionFactory;
 import kala.control.Option;
 import kala.function.IndexedBiConsumer;
@@ -32,11 +33,15 @@ import kala.function.IndexedConsumer;
 import kala.function.IndexedFunction;
 import kala.index.Index;
 import kala.index.Indexes;
+import kala.internal.ParallelUtils;
 import org.jetbrains.annotations.*;
 
 import java.io.Serial;
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.function.*;
 import java.util.stream.Collector;
 import java.util.stream.Stream;
@@ -979,6 +984,25 @@ public abstract sealed class ArraySeq<E> extends AbstractSeq<E> implements Seq<E
         }
     }
 
+    @Override
+    public @NotNull Future<Void> forEachAsync(
+            @NotNull Consumer<? super E> action, @NotNull Executor executor, @NotNull Granularity granularity) {
+        Objects.requireNonNull(action);
+        Objects.requireNonNull(executor);
+        Objects.requireNonNull(granularity);
+
+        if (granularity != Granularity.ATOM && executor instanceof ForkJoinPool) {
+            return super.forEachAsync(action, executor, granularity);
+        }
+
+        final Object[] elements = this.elements;
+        return ParallelUtils.runAsync(executor, elements.length, granularity.pieceSize(executor, elements.length), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                action.accept((E) elements[i]);
+            }
+        });
+    }
+
     //endregion
 
     @Override
@@ -19,12 +19,14 @@ import kala.collection.base.AbstractIterator;
 import kala.collection.base.Growable;
 import kala.collection.base.Iterators;
 import kala.collection.mutable.MutableSeq;
+import kala.concurrent.Granularity;
 import kala.control.Option;
 import kala.function.IndexedBiFunction;
 import kala.function.IndexedConsumer;
 import kala.function.IndexedFunction;
 import kala.index.Index;
 import kala.index.Indexes;
+import kala.internal.ParallelUtils;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
@@ -32,6 +34,9 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.lang.reflect.Array;
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.function.*;
 
 public interface IndexedSeqLike<E> extends SeqLike<E>, RandomAccess {
@@ -702,4 +707,26 @@ public interface IndexedSeqLike<E> extends SeqLike<E>, RandomAccess {
             action.accept(i, get(i));
         }
     }
+
+    /// {@inheritDoc}
+    ///
+    /// On executors other than [ForkJoinPool], the index range is split into pieces without copying the elements.
+    @Override
+    default @NotNull Future<Void> forEachAsync(
+            @NotNull Consumer<? super E> action, @NotNull Executor executor, @NotNull Granularity granularity) {
+        Objects.requireNonNull(action);
+        Objects.requireNonNull(executor);
+        Objects.requireNonNull(granularity);
+
+        if (granularity != Granularity.ATOM && executor instanceof ForkJoinPool) {
+            return SeqLike.super.forEachAsync(action, executor, granularity);
+        }
+
+        final int size = this.size();
+        return ParallelUtils.runAsync(executor, size, granularity.pieceSize(executor, size), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                action.accept(get(i));
+            }
+        });
+    }
 }
@@ -19,6 +19,7 @@ import kala.collection.MapLike;
 import kala.collection.base.MapIterator;
 import kala.collection.factory.MapBuilder;
 import kala.collection.factory.MapFactory;
+import kala.collection.internal.CollectionHelper;
 import kala.collection.internal.champ.BitmapIndexedChampMapNode;
 import kala.collection.internal.champ.ChampMapBuilder;
 import kala.collection.internal.champ.ChampMapKeyValueTupleIterator;
@@ -26,10 +27,12 @@ import kala.collection.internal.champ.ChampMapNode;
 import kala.control.Option;
 import kala.tuple.Tuple2;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Objects;
 import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 
 import static kala.collection.internal.champ.ChampNode.improve;
 
@@ -249,7 +252,7 @@ public final class ImmutableChampMap<K, V> extends AbstractImmutableMap<K, V> {
         return rootNode.getOption(key, keyUnimprovedHash, keyHash, 0);
     }
 
-    private @NotNull ImmutableChampMap<K, V> withTree(@NotNull BitmapIndexedChampMapNode<K, V> node) {
+    private @NotNull ImmutableChampMap<K, V> withTree(@NotNull ChampMapNode<K, V> node) {
         if (node == rootNode) {
             return this;
         }
@@ -258,26 +261,173 @@ public final class ImmutableChampMap<K, V> extends AbstractImmutableMap<K, V> {
             return empty();
         }
 
-        return new ImmutableChampMap<>(node);
+        return new ImmutableChampMap<>((BitmapIndexedChampMapNode<K, V>) node);
     }
 
     @Override
-    public @NotNull ImmutableMap<K, V> updated(K key, V value) {
+    public @NotNull ImmutableChampMap<K, V> updated(K key, V value) {
         int keyUnimprovedHash = Objects.hashCode(key);
         return withTree(rootNode.updated(key, value, keyUnimprovedHash, improve(keyUnimprovedHash), 0, true));
     }
 
     @Override
-    public @NotNull ImmutableMap<K, V> removed(K key) {
+    public @NotNull ImmutableChampMap<K, V> removed(K key) {
         int keyUnimprovedHash = Objects.hashCode(key);
         return withTree(rootNode.removed(key, keyUnimprovedHash, improve(keyUnimprovedHash), 0));
     }
 
+    /// Returns a map containing the entries of this map and `values`, where the values in `values` take precedence.
+    ///
+    /// Only the paths to the changed entries are copied; the rest of the trie is shared with this map.
+    /// If `values` is also an `ImmutableChampMap`, subtrees that only exist in one of the maps are shared as a whole.
+    @SuppressWarnings("unchecked")
+    public @NotNull ImmutableChampMap<K, V> updatedAll(@NotNull MapLike<? extends K, ? extends V> values) {
+        if (values instanceof ImmutableChampMap<?, ?> other) {
+            var builder = new ChampMapBuilder<>(rootNode);
+            builder.addAll(((ImmutableChampMap<K, V>) other).rootNode);
+            return builder.build();
+        }
+        return edit().putAll(values).done();
+    }
+
+    /// Returns a map containing the entries of this map and `values`, where the values in `values` take precedence.
+    ///
+    /// Only the paths to the changed entries are copied; the rest of the trie is shared with this map.
+    public @NotNull ImmutableChampMap<K, V> updatedAll(java.util.@NotNull Map<? extends K, ? extends V> values) {
+        return edit().putAll(values).done();
+    }
+
+    /// Returns a map containing the entries of this map whose keys are not in `keys`.
+    ///
+    /// Only the paths to the removed entries are copied; the rest of the trie is shared with this map.
+    /// If `keys` is an [ImmutableHashSet], the keys are removed subtree by subtree.
+    @SuppressWarnings("unchecked")
+    public @NotNull ImmutableChampMap<K, V> removedAll(@NotNull Iterable<? extends K> keys) {
+        if (keys instanceof ImmutableHashSet<?> set) {
+            return withTree(rootNode.difference((ChampMapNode<K, ?>) set.rootNode, 0));
+        }
+        return edit().removeAll(keys).done();
+    }
+
+    /// Returns a map containing the entries of this map whose keys are also keys of `other`.
+    ///
+    /// Subtrees shared by both maps are kept without being traversed.
+    public @NotNull ImmutableChampMap<K, V> intersection(@NotNull ImmutableChampMap<K, ?> other) {
+        return withTree(rootNode.intersect(other.rootNode, 0));
+    }
+
+    /// Returns a map containing the entries of this map whose keys are also in `keys`.
+    ///
+    /// If `keys` is an [ImmutableHashSet], subtrees are kept or dropped as a whole.
+    @SuppressWarnings("unchecked")
+    public @NotNull ImmutableChampMap<K, V> intersection(@NotNull Iterable<?> keys) {
+        if (keys instanceof ImmutableHashSet<?> set) {
+            return withTree(rootNode.intersect((ChampMapNode<K, ?>) set.rootNode, 0));
+        }
+        var contains = CollectionHelper.containsPredicate(keys);
+        return withTree(rootNode.filter((key, value) -> contains.test(key)));
+    }
+
+    /// Returns a map containing the entries of this map whose keys are not keys of `other`.
+    ///
+    /// Subtrees shared by both maps are dropped without being traversed.
+    public @NotNull ImmutableChampMap<K, V> difference(@NotNull ImmutableChampMap<K, ?> other) {
+        return withTree(rootNode.difference(other.rootNode, 0));
+    }
+
+    /// Returns a map containing the entries of this map and `other`.
+    /// For keys present in both maps, the value is `mergeFunction.apply(valueInThis, valueInOther)`.
+    ///
+    /// Only the paths to the changed entries are copied; the rest of the trie is shared with this map.
+    public @NotNull ImmutableChampMap<K, V> merged(
+            @NotNull MapLike<? extends K, ? extends V> other,
+            @NotNull BiFunction<? super V, ? super V, ? extends V> mergeFunction) {
+        Editor<K, V> editor = edit();
+        other.forEach((key, value) -> editor.merge(key, value, mergeFunction));
+        return editor.done();
+    }
+
+    /// Returns an editor that applies a batch of updates to this map.
+    ///
+    /// The editor copies each node of this map at most once, and then mutates the copy in place,
+    /// so a batch of `n` updates allocates far fewer nodes than `n` calls of [#updated(Object, Object)].
+    /// This map itself is never modified.
+    public @NotNull Editor<K, V> edit() {
+        return new Editor<>(new ChampMapBuilder<>(rootNode));
+    }
+
     @Override
     public void forEach(@NotNull BiConsumer<? super K, ? super V> consumer) {
         rootNode.forEach(consumer);
     }
 
+    /// A transient editor of an [ImmutableChampMap], created by [ImmutableChampMap#edit()].
+    ///
+    /// It is not thread-safe. Calling [#done()] returns the edited map;
+    /// the editor can continue to be used afterward without affecting the returned maps.
+    public static final class Editor<K, V> {
+        private final @NotNull ChampMapBuilder<K, V> builder;
+
+        private Editor(@NotNull ChampMapBuilder<K, V> builder) {
+            this.builder = builder;
+        }
+
+        public @NotNull ImmutableChampMap<K, V> done() {
+            return builder.build();
+        }
+
+        public int size() {
+            return builder.size();
+        }
+
+        public boolean containsKey(K key) {
+            return builder.containsKey(key);
+        }
+
+        public @NotNull Option<V> getOption(K key) {
+            return builder.getOption(key);
+        }
+
+        @Contract("_, _ -> this")
+        public @NotNull Editor<K, V> set(K key, V value) {
+            builder.add(key, value);
+            return this;
+        }
+
+        @Contract("_ -> this")
+        public @NotNull Editor<K, V> putAll(@NotNull MapLike<? extends K, ? extends V> m) {
+            m.forEach(builder::add);
+            return this;
+        }
+
+        @Contract("_ -> this")
+        public @NotNull Editor<K, V> putAll(java.util.@NotNull Map<? extends K, ? extends V> m) {
+            m.forEach(builder::add);
+            return this;
+        }
+
+        @Contract("_, _, _ -> this")
+        public @NotNull Editor<K, V> merge(K key, V value, @NotNull BiFunction<? super V, ? super V, ? extends V> mergeFunction) {
+            Option<V> oldValue = builder.getOption(key);
+            builder.add(key, oldValue.isDefined() ? mergeFunction.apply(oldValue.get(), value) : value);
+            return this;
+        }
+
+        @Contract("_ -> this")
+        public @NotNull Editor<K, V> remove(K key) {
+            builder.remove(key);
+            return this;
+        }
+
+        @Contract("_ -> this")
+        public @NotNull Editor<K, V> removeAll(@NotNull Iterable<? extends K> keys) {
+            for (K key : keys) {
+                builder.remove(key);
+            }
+            return this;
+        }
+    }
+
     private static final class Factory<K, V> implements MapFactory<K, V, ChampMapBuilder<K, V>, ImmutableChampMap<K, V>> {
 
         @Override
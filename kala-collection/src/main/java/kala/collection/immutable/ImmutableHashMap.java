@@ -16,7 +16,10 @@
 package kala.collection.immutable;
 
 import kala.collection.factory.MapBuilder;
-import kala.collection.mutable.MutableHashMap;
+import kala.collection.internal.champ.BitmapIndexedChampMapNode;
+import kala.collection.internal.champ.ChampMapBuilder;
+import kala.collection.internal.champ.ChampMapKeyValueTupleIterator;
+import kala.collection.internal.champ.ChampMapNode;
 import kala.control.Option;
 import kala.collection.MapLike;
 import kala.collection.base.MapIterator;
@@ -25,27 +28,36 @@ import kala.tuple.Tuple2;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.Serializable;
+import java.io.*;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.function.BiConsumer;
-import java.util.function.BiPredicate;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collector;
 
+import static kala.collection.internal.champ.ChampNode.improve;
+
+/// A persistent hash map based on a CHAMP (Compressed Hash-Array Mapped Prefix-tree).
+///
+/// [#updated(Object, Object)] and [#removed(Object)] copy only the path to the changed entry,
+/// so deriving a map from another one takes logarithmic time and the two maps share the rest of their structure.
 @SuppressWarnings("unchecked")
 public final class ImmutableHashMap<K, V> extends AbstractImmutableMap<K, V> implements Serializable {
     @SuppressWarnings("MissingSerialAnnotation")
     private static final long serialVersionUID = 4088221143962926192L;
 
-    private static final ImmutableHashMap<?, ?> EMPTY = new ImmutableHashMap<>(new MutableHashMap<>());
+    private static final ImmutableHashMap<?, ?> EMPTY = new ImmutableHashMap<>(ChampMapNode.empty());
     private static final Factory<?, ?> FACTORY = new Factory<>();
 
-    final MutableHashMap<K, V> source;
+    private static final Object NOT_FOUND = new Object();
+
+    final BitmapIndexedChampMapNode<K, V> rootNode;
 
-    private ImmutableHashMap(MutableHashMap<K, V> source) {
-        this.source = source;
+    private ImmutableHashMap(BitmapIndexedChampMapNode<K, V> rootNode) {
+        this.rootNode = rootNode;
     }
 
     //region Static Factories
@@ -79,19 +91,19 @@ public final class ImmutableHashMap<K, V> extends AbstractImmutableMap<K, V> imp
     }
 
     public static <K, V> @NotNull ImmutableHashMap<K, V> of(K k1, V v1) {
-        MutableHashMap<K, V> impl = new MutableHashMap<>();
-        impl.set(k1, v1);
-        return new ImmutableHashMap<>(impl);
+        var builder = new ChampMapBuilder<K, V>();
+        builder.add(k1, v1);
+        return build(builder);
     }
 
     public static <K, V> @NotNull ImmutableHashMap<K, V> of(
             K k1, V v1,
             K k2, V v2
     ) {
-        MutableHashMap<K, V> impl = new MutableHashMap<>();
-        impl.set(k1, v1);
-        impl.set(k2, v2);
-        return new ImmutableHashMap<>(impl);
+        var builder = new ChampMapBuilder<K, V>();
+        builder.add(k1, v1);
+        builder.add(k2, v2);
+        return build(builder);
     }
 
     public static <K, V> @NotNull ImmutableHashMap<K, V> of(
@@ -99,11 +111,11 @@ public final class ImmutableHashMap<K, V> extends AbstractImmutableMap<K, V> imp
             K k2, V v2,
             K k3, V v3
     ) {
-        MutableHashMap<K, V> impl = new MutableHashMap<>();
-        impl.set(k1, v1);
-        impl.set(k2, v2);
-        impl.set(k3, v3);
-        return new ImmutableHashMap<>(impl);
+        var builder = new ChampMapBuilder<K, V>();
+        builder.add(k1, v1);
+        builder.add(k2, v2);
+        builder.add(k3, v3);
+        return build(builder);
     }
 
     public static <K, V> @NotNull ImmutableHashMap<K, V> of(
@@ -112,12 +124,12 @@ public final class ImmutableHashMap<K, V> extends AbstractImmutableMap<K, V> imp
             K k3, V v3,
             K k4, V v4
     ) {
-        MutableHashMap<K, V> impl = new MutableHashMap<>();
-        impl.set(k1, v1);
-        impl.set(k2, v2);
-        impl.set(k3, v3);
-        impl.set(k4, v4);
-        return new ImmutableHashMap<>(impl);
+        var builder = new ChampMapBuilder<K, V>();
+        builder.add(k1, v1);
+        builder.add(k2, v2);
+        builder.add(k3, v3);
+        builder.add(k4, v4);
+        return build(builder);
     }
 
     public static <K, V> @NotNull ImmutableHashMap<K, V> of(
@@ -127,13 +139,13 @@ public final class ImmutableHashMap<K, V> extends AbstractImmutableMap<K, V> imp
             K k4, V v4,
             K k5, V v5
     ) {
-        MutableHashMap<K, V> impl = new MutableHashMap<>();
-        impl.set(k1, v1);
-        impl.set(k2, v2);
-        impl.set(k3, v3);
-        impl.set(k4, v4);
-        impl.set(k5, v5);
-        return new ImmutableHashMap<>(impl);
+        var builder = new ChampMapBuilder<K, V>();
+        builder.add(k1, v1);
+        builder.add(k2, v2);
+        builder.add(k3, v3);
+        builder.add(k4, v4);
+        builder.add(k5, v5);
+        return build(builder);
     }
 
     public static <K, V> @NotNull ImmutableHashMap<K, V> of(Object... values) {
@@ -145,13 +157,13 @@ public final class ImmutableHashMap<K, V> extends AbstractImmutableMap<K, V> imp
             return empty();
         }
 
-        MutableHashMap<K, V> impl = new MutableHashMap<>();
+        var builder = new ChampMapBuilder<K, V>();
 
         for (int i = 0; i < values.length; i += 2) {
-            impl.set((K) values[i], (V) values[i + 1]);
+            builder.add((K) values[i], (V) values[i + 1]);
         }
 
-        return new ImmutableHashMap<>(impl);
+        return build(builder);
     }
 
     public static <K, V> @NotNull ImmutableHashMap<K, V> ofEntries() {
@@ -161,19 +173,19 @@ public final class ImmutableHashMap<K, V> extends AbstractImmutableMap<K, V> imp
     public static <K, V> @NotNull ImmutableHashMap<K, V> ofEntries(
             @NotNull Tuple2<? extends K, ? extends V> entry1
     ) {
-        MutableHashMap<K, V> impl = new MutableHashMap<>();
-        impl.set(entry1);
-        return new ImmutableHashMap<>(impl);
+        var builder = new ChampMapBuilder<K, V>();
+        builder.add(Tuple2.narrow(entry1));
+        return build(builder);
     }
 
     public static <K, V> @NotNull ImmutableHashMap<K, V> ofEntries(
             @NotNull Tuple2<? extends K, ? extends V> entry1,
             @NotNull Tuple2<? extends K, ? extends V> entry2
     ) {
-        MutableHashMap<K, V> impl = new MutableHashMap<>();
-        impl.set(entry1);
-        impl.set(entry2);
-        return new ImmutableHashMap<>(impl);
+        var builder = new ChampMapBuilder<K, V>();
+        builder.add(Tuple2.narrow(entry1));
+        builder.add(Tuple2.narrow(entry2));
+        return build(builder);
     }
 
     public static <K, V> @NotNull ImmutableHashMap<K, V> ofEntries(
@@ -181,11 +193,11 @@ public final class ImmutableHashMap<K, V> extends AbstractImmutableMap<K, V> imp
             @NotNull Tuple2<? extends K, ? extends V> entry2,
             @NotNull Tuple2<? extends K, ? extends V> entry3
     ) {
-        MutableHashMap<K, V> impl = new MutableHashMap<>();
-        impl.set(entry1);
-        impl.set(entry2);
-        impl.set(entry3);
-        return new ImmutableHashMap<>(impl);
+        var builder = new ChampMapBuilder<K, V>();
+        builder.add(Tuple2.narrow(entry1));
+        builder.add(Tuple2.narrow(entry2));
+        builder.add(Tuple2.narrow(entry3));
+        return build(builder);
     }
 
     public static <K, V> @NotNull ImmutableHashMap<K, V> ofEntries(
@@ -194,12 +206,12 @@ public final class ImmutableHashMap<K, V> extends AbstractImmutableMap<K, V> imp
             @NotNull Tuple2<? extends K, ? extends V> entry3,
             @NotNull Tuple2<? extends K, ? extends V> entry4
     ) {
-        MutableHashMap<K, V> impl = new MutableHashMap<>();
-        impl.set(entry1);
-        impl.set(entry2);
-        impl.set(entry3);
-        impl.set(entry4);
-        return new ImmutableHashMap<>(impl);
+        var builder = new ChampMapBuilder<K, V>();
+        builder.add(Tuple2.narrow(entry1));
+        builder.add(Tuple2.narrow(entry2));
+        builder.add(Tuple2.narrow(entry3));
+        builder.add(Tuple2.narrow(entry4));
+        return build(builder);
     }
 
     public static <K, V> @NotNull ImmutableHashMap<K, V> ofEntries(
@@ -209,51 +221,54 @@ public final class ImmutableHashMap<K, V> extends AbstractImmutableMap<K, V> imp
             @NotNull Tuple2<? extends K, ? extends V> entry4,
             @NotNull Tuple2<? extends K, ? extends V> entry5
     ) {
-        MutableHashMap<K, V> impl = new MutableHashMap<>();
-        impl.set(entry1);
-        impl.set(entry2);
-        impl.set(entry3);
-        impl.set(entry4);
-        impl.set(entry5);
-        return new ImmutableHashMap<>(impl);
+        var builder = new ChampMapBuilder<K, V>();
+        builder.add(Tuple2.narrow(entry1));
+        builder.add(Tuple2.narrow(entry2));
+        builder.add(Tuple2.narrow(entry3));
+        builder.add(Tuple2.narrow(entry4));
+        builder.add(Tuple2.narrow(entry5));
+        return build(builder);
     }
 
     @SafeVarargs
     public static <K, V> @NotNull ImmutableHashMap<K, V> ofEntries(Tuple2<? extends K, ? extends V> @NotNull ... entries) {
-        MutableHashMap<K, V> impl = new MutableHashMap<>();
+        var builder = new ChampMapBuilder<K, V>();
         for (Tuple2<? extends K, ? extends V> entry : entries) {
-            impl.set(entry);
+            builder.add(Tuple2.narrow(entry));
         }
-        return new ImmutableHashMap<>(impl);
+        return build(builder);
     }
 
     public static <K, V> @NotNull ImmutableHashMap<K, V> from(java.util.@NotNull Map<? extends K, ? extends V> values) {
         if (values.isEmpty()) {
             return empty();
         }
-        MutableHashMap<K, V> impl = new MutableHashMap<>();
-        impl.putAll(values);
-        return new ImmutableHashMap<>(impl);
+        var builder = new ChampMapBuilder<K, V>();
+        values.forEach(builder::add);
+        return build(builder);
     }
 
     public static <K, V> @NotNull ImmutableHashMap<K, V> from(@NotNull MapLike<? extends K, ? extends V> values) {
+        if (values instanceof ImmutableHashMap<? extends K, ? extends V> map) {
+            return (ImmutableHashMap<K, V>) map;
+        }
         if (values.isEmpty()) {
             return empty();
         }
-        MutableHashMap<K, V> impl = new MutableHashMap<>();
-        impl.putAll(values);
-        return new ImmutableHashMap<>(impl);
+        var builder = new ChampMapBuilder<K, V>();
+        values.forEach(builder::add);
+        return build(builder);
     }
 
     public static <K, V> @NotNull ImmutableHashMap<K, V> from(java.util.Map.Entry<? extends K, ? extends V> @NotNull [] values) {
         if (values.length == 0) {
             return empty();
         }
-        MutableHashMap<K, V> impl = new MutableHashMap<>();
+        var builder = new ChampMapBuilder<K, V>();
         for (Map.Entry<? extends K, ? extends V> value : values) {
-            impl.set(value.getKey(), value.getValue());
+            builder.add(value.getKey(), value.getValue());
         }
-        return new ImmutableHashMap<>(impl);
+        return build(builder);
     }
 
     public static <K, V> @NotNull ImmutableHashMap<K, V> from(@NotNull Iterable<? extends java.util.Map.Entry<? extends K, ? extends V>> values) {
@@ -261,16 +276,28 @@ public final class ImmutableHashMap<K, V> extends AbstractImmutableMap<K, V> imp
         if (!it.hasNext()) {
             return empty();
         }
-        MutableHashMap<K, V> impl = new MutableHashMap<>();
+        var builder = new ChampMapBuilder<K, V>();
         while (it.hasNext()) {
             Map.Entry<? extends K, ? extends V> entry = it.next();
-            impl.set(entry.getKey(), entry.getValue());
+            builder.add(entry.getKey(), entry.getValue());
         }
-        return new ImmutableHashMap<>(impl);
+        return build(builder);
     }
 
     //endregion
 
+    private static <K, V> @NotNull ImmutableHashMap<K, V> build(@NotNull ChampMapBuilder<K, V> builder) {
+        return withRoot(builder.buildRoot());
+    }
+
+    private static <K, V> @NotNull ImmutableHashMap<K, V> withRoot(@NotNull ChampMapNode<K, V> rootNode) {
+        return rootNode.size() == 0 ? empty() : new ImmutableHashMap<>((BitmapIndexedChampMapNode<K, V>) rootNode);
+    }
+
+    private @NotNull ImmutableHashMap<K, V> withNewRoot(@NotNull ChampMapNode<K, V> rootNode) {
+        return rootNode == this.rootNode ? this : withRoot(rootNode);
+    }
+
     @Override
     public @NotNull String className() {
         return "ImmutableHashMap";
@@ -278,161 +305,240 @@ public final class ImmutableHashMap<K, V> extends AbstractImmutableMap<K, V> imp
 
     @Override
     public @NotNull MapIterator<K, V> iterator() {
-        return source.iterator();
+        return isEmpty() ? MapIterator.empty() : MapIterator.ofIterator(new ChampMapKeyValueTupleIterator<>(rootNode));
     }
 
     //region Size Info
 
     @Override
     public boolean isEmpty() {
-        return source.isEmpty();
+        return rootNode.size() == 0;
     }
 
     @Override
     public int size() {
-        return source.size();
+        return rootNode.size();
     }
 
     @Override
     public int knownSize() {
-        return source.knownSize();
+        return rootNode.size();
     }
 
     //endregion
 
+    private Object find(K key) {
+        int originalHash = Objects.hashCode(key);
+        return rootNode.getOrDefault(key, (V) NOT_FOUND, originalHash, improve(originalHash), 0);
+    }
+
     @Override
     public V get(K key) {
-        return source.get(key);
+        Object value = find(key);
+        if (value == NOT_FOUND) {
+            throw new NoSuchElementException("key not found: " + key);
+        }
+        return (V) value;
     }
 
     @Override
     public @Nullable V getOrNull(K key) {
-        return source.getOrNull(key);
+        Object value = find(key);
+        return value != NOT_FOUND ? (V) value : null;
     }
 
     @Override
     public @NotNull Option<V> getOption(K key) {
-        return source.getOption(key);
+        Object value = find(key);
+        return value != NOT_FOUND ? Option.some((V) value) : Option.none();
     }
 
     @Override
     public V getOrDefault(K key, V defaultValue) {
-        return source.getOrDefault(key, defaultValue);
+        Object value = find(key);
+        return value != NOT_FOUND ? (V) value : defaultValue;
     }
 
     @Override
     public V getOrElse(K key, @NotNull Supplier<? extends V> supplier) {
-        return source.getOrElse(key, supplier);
+        Object value = find(key);
+        return value != NOT_FOUND ? (V) value : supplier.get();
     }
 
     @Override
     public <Ex extends Throwable> V getOrThrow(K key, @NotNull Supplier<? extends Ex> supplier) throws Ex {
-        return source.getOrThrow(key, supplier);
+        Object value = find(key);
+        if (value == NOT_FOUND) {
+            throw supplier.get();
+        }
+        return (V) value;
     }
 
     @Override
     public <Ex extends Throwable> V getOrThrowException(K key, @NotNull Ex exception) throws Ex {
-        return source.getOrThrowException(key, exception);
+        Object value = find(key);
+        if (value == NOT_FOUND) {
+            throw exception;
+        }
+        return (V) value;
     }
 
     //region Element Conditions
 
     @Override
     public boolean contains(K key, Object value) {
-        return source.contains(key, value);
+        return Objects.equals(find(key), value);
     }
 
     @Override
     public boolean containsKey(K key) {
-        return source.containsKey(key);
+        int originalHash = Objects.hashCode(key);
+        return rootNode.containsKey(key, originalHash, improve(originalHash), 0);
     }
 
-    @Override
-    public boolean containsValue(Object value) {
-        return source.containsValue(value);
-    }
+    //endregion
+
+    //region Modification Operations
 
     @Override
-    public boolean anyMatch(@NotNull BiPredicate<? super K, ? super V> predicate) {
-        return source.anyMatch(predicate);
+    public @NotNull ImmutableHashMap<K, V> updated(K key, V value) {
+        int originalHash = Objects.hashCode(key);
+        return withNewRoot(rootNode.updated(key, value, originalHash, improve(originalHash), 0, true));
     }
 
     @Override
-    public boolean allMatch(@NotNull BiPredicate<? super K, ? super V> predicate) {
-        return source.allMatch(predicate);
+    public @NotNull ImmutableHashMap<K, V> removed(K key) {
+        int originalHash = Objects.hashCode(key);
+        return withNewRoot(rootNode.removed(key, originalHash, improve(originalHash), 0));
+    }
+
+    /// Returns a map containing the entries of this map and `values`, where the values in `values` take precedence.
+    ///
+    /// Only the paths to the changed entries are copied; the rest of the trie is shared with this map.
+    /// If `values` is also an `ImmutableHashMap`, subtrees that only exist in one of the maps are shared as a whole.
+    public @NotNull ImmutableHashMap<K, V> updatedAll(@NotNull MapLike<? extends K, ? extends V> values) {
+        if (values instanceof ImmutableHashMap<? extends K, ? extends V> other) {
+            if (other.isEmpty()) {
+                return this;
+            }
+            if (this.isEmpty()) {
+                return (ImmutableHashMap<K, V>) other;
+            }
+            return withNewRoot(rootNode.concat((ChampMapNode<K, V>) other.rootNode, 0));
+        }
+        if (values.isEmpty()) {
+            return this;
+        }
+        var builder = new ChampMapBuilder<>(rootNode);
+        values.forEach(builder::add);
+        return withNewRoot(builder.buildRoot());
     }
 
-    @Override
-    public boolean noneMatch(@NotNull BiPredicate<? super K, ? super V> predicate) {
-        return source.noneMatch(predicate);
+    /// Returns a map containing the entries of this map whose keys are not in `keys`.
+    ///
+    /// Only the paths to the removed entries are copied; the rest of the trie is shared with this map.
+    public @NotNull ImmutableHashMap<K, V> removedAll(@NotNull Iterable<? extends K> keys) {
+        if (keys instanceof ImmutableHashSet<? extends K> set) {
+            return withNewRoot(rootNode.difference((ChampMapNode<K, ?>) set.rootNode, 0));
+        }
+        Iterator<? extends K> it = keys.iterator();
+        if (!it.hasNext()) {
+            return this;
+        }
+        var builder = new ChampMapBuilder<>(rootNode);
+        while (it.hasNext()) {
+            builder.remove(it.next());
+        }
+        return withNewRoot(builder.buildRoot());
     }
 
     //endregion
 
     @Override
     public void forEach(@NotNull BiConsumer<? super K, ? super V> consumer) {
-        source.forEach(consumer);
+        rootNode.forEach(consumer);
     }
 
-    private static final class Factory<K, V> implements MapFactory<K, V, Builder<K, V>, ImmutableHashMap<K, V>> {
-        @Override
-        public Builder<K, V> newBuilder() {
-            return new Builder<>();
-        }
+    @Serial
+    private Object writeReplace() {
+        return new SerializedForm<>(this);
+    }
 
-        @Override
-        public ImmutableHashMap<K, V> build(Builder<K, V> builder) {
-            return builder.build();
-        }
+    @Serial
+    private void readObject(ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("SerializedForm required");
+    }
 
-        @Override
-        public void addToBuilder(Builder<K, V> builder, K key, V value) {
-            builder.add(key, value);
-        }
+    private static final class SerializedForm<K, V> implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 0L;
 
-        @Override
-        public Builder<K, V> mergeBuilder(Builder<K, V> builder1, Builder<K, V> builder2) {
-            return builder1.merge(builder2);
-        }
+        private transient ImmutableHashMap<K, V> map;
 
-        @Override
-        public void sizeHint(@NotNull Builder<K, V> builder, int size) {
-            builder.sizeHint(size);
+        SerializedForm(ImmutableHashMap<K, V> map) {
+            this.map = map;
         }
-    }
 
-    static final class Builder<K, V> {
-        MutableHashMap<K, V> source = new MutableHashMap<>();
-        boolean aliased = false;
+        @Serial
+        private void writeObject(ObjectOutputStream out) throws IOException {
+            out.defaultWriteObject();
+            out.writeInt(map.size());
+            try {
+                map.forEach((key, value) -> {
+                    try {
+                        out.writeObject(key);
+                        out.writeObject(value);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
 
-        private void ensureUnaliased() {
-            if (aliased) {
-                source = source.clone();
+        @Serial
+        private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+            in.defaultReadObject();
+            int size = in.readInt();
+            if (size < 0) {
+                throw new InvalidObjectException("Illegal size: " + size);
+            }
+            var builder = new ChampMapBuilder<K, V>();
+            for (int i = 0; i < size; i++) {
+                K key = (K) in.readObject();
+                V value = (V) in.readObject();
+                builder.add(key, value);
             }
+            this.map = build(builder);
         }
 
-        void add(K key, V value) {
-            ensureUnaliased();
-            source.set(key, value);
+        @Serial
+        private Object readResolve() {
+            return map;
         }
+    }
 
-        Builder<K, V> merge(Builder<K, V> other) {
-            ensureUnaliased();
-            this.source.putAll(other.source);
-            return this;
+    private static final class Factory<K, V> implements MapFactory<K, V, ChampMapBuilder<K, V>, ImmutableHashMap<K, V>> {
+        @Override
+        public ChampMapBuilder<K, V> newBuilder() {
+            return new ChampMapBuilder<>();
         }
 
-        void sizeHint(int size) {
-            ensureUnaliased();
-            source.sizeHint(size);
+        @Override
+        public ImmutableHashMap<K, V> build(ChampMapBuilder<K, V> builder) {
+            return ImmutableHashMap.build(builder);
         }
 
-        ImmutableHashMap<K, V> build() {
-            if (source.isEmpty()) {
-                return ImmutableHashMap.empty();
-            }
-            aliased = true;
-            return new ImmutableHashMap<>(source);
+        @Override
+        public void addToBuilder(ChampMapBuilder<K, V> builder, K key, V value) {
+            builder.add(key, value);
+        }
+
+        @Override
+        public ChampMapBuilder<K, V> mergeBuilder(ChampMapBuilder<K, V> builder1, ChampMapBuilder<K, V> builder2) {
+            builder1.addAll(builder2);
+            return builder1;
         }
     }
-}
\ No newline at end of file
+}
@@ -15,32 +15,48 @@
  */
 package kala.collection.immutable;
 
+import kala.collection.ArraySeq;
+import kala.collection.base.Iterators;
 import kala.collection.factory.CollectionBuilder;
 import kala.collection.factory.CollectionFactory;
-import kala.collection.internal.convert.FromJavaConvert;
+import kala.collection.internal.CollectionHelper;
+import kala.collection.internal.champ.BitmapIndexedChampMapNode;
+import kala.collection.internal.champ.ChampMapBuilder;
+import kala.collection.internal.champ.ChampMapKeyIterator;
+import kala.collection.internal.champ.ChampMapNode;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.*;
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Objects;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
+import static kala.collection.internal.champ.ChampNode.improve;
+
+/// A persistent hash set based on a CHAMP (Compressed Hash-Array Mapped Prefix-tree).
+///
+/// Adding or removing an element copies only the path to it, so derived sets share most of their structure.
+/// [#union(Iterable)], [#intersection(Iterable)] and [#difference(Iterable)] of two `ImmutableHashSet`s
+/// work on whole subtrees, and skip the subtrees that the two sets share.
 @SuppressWarnings("unchecked")
-public final class ImmutableHashSet<E> extends FromJavaConvert.SetFromJava<E> implements ImmutableSet<E>, Serializable {
+public final class ImmutableHashSet<E> extends AbstractImmutableSet<E> implements Serializable {
     @Serial
     private static final long serialVersionUID = 9051623197618851317L;
 
     private static final Factory<?> FACTORY = new Factory<>();
     private static final ImmutableHashSet<?> EMPTY = new ImmutableHashSet<>();
 
-    ImmutableHashSet(HashSet<E> source) {
-        super(source);
+    // the values of the trie are unused and always null
+    final BitmapIndexedChampMapNode<E, Object> rootNode;
+
+    private ImmutableHashSet(BitmapIndexedChampMapNode<E, Object> rootNode) {
+        this.rootNode = rootNode;
     }
 
     public ImmutableHashSet() {
-        this(new HashSet<>());
+        this(ChampMapNode.empty());
     }
 
     //region Narrow method
@@ -72,43 +88,43 @@ public final class ImmutableHashSet<E> extends FromJavaConvert.SetFromJava<E> im
     }
 
     public static <E> @NotNull ImmutableHashSet<E> of(E value1) {
-        HashSet<E> s = new HashSet<>();
-        s.add(value1);
-        return new ImmutableHashSet<>(s);
+        var builder = new ChampMapBuilder<E, Object>();
+        builder.add(value1, null);
+        return build(builder);
     }
 
     public static <E> @NotNull ImmutableHashSet<E> of(E value1, E value2) {
-        HashSet<E> s = new HashSet<>();
-        s.add(value1);
-        s.add(value2);
-        return new ImmutableHashSet<>(s);
+        var builder = new ChampMapBuilder<E, Object>();
+        builder.add(value1, null);
+        builder.add(value2, null);
+        return build(builder);
     }
 
     public static <E> @NotNull ImmutableHashSet<E> of(E value1, E value2, E value3) {
-        HashSet<E> s = new HashSet<>();
-        s.add(value1);
-        s.add(value2);
-        s.add(value3);
-        return new ImmutableHashSet<>(s);
+        var builder = new ChampMapBuilder<E, Object>();
+        builder.add(value1, null);
+        builder.add(value2, null);
+        builder.add(value3, null);
+        return build(builder);
     }
 
     public static <E> @NotNull ImmutableHashSet<E> of(E value1, E value2, E value3, E value4) {
-        HashSet<E> s = new HashSet<>();
-        s.add(value1);
-        s.add(value2);
-        s.add(value3);
-        s.add(value4);
-        return new ImmutableHashSet<>(s);
+        var builder = new ChampMapBuilder<E, Object>();
+        builder.add(value1, null);
+        builder.add(value2, null);
+        builder.add(value3, null);
+        builder.add(value4, null);
+        return build(builder);
     }
 
     public static <E> @NotNull ImmutableHashSet<E> of(E value1, E value2, E value3, E value4, E value5) {
-        HashSet<E> s = new HashSet<>();
-        s.add(value1);
-        s.add(value2);
-        s.add(value3);
-        s.add(value4);
-        s.add(value5);
-        return new ImmutableHashSet<>(s);
+        var builder = new ChampMapBuilder<E, Object>();
+        builder.add(value1, null);
+        builder.add(value2, null);
+        builder.add(value3, null);
+        builder.add(value4, null);
+        builder.add(value5, null);
+        return build(builder);
     }
 
     public static <E> @NotNull ImmutableHashSet<E> of(E... values) {
@@ -120,22 +136,18 @@ public final class ImmutableHashSet<E> extends FromJavaConvert.SetFromJava<E> im
             return empty();
         }
 
-        HashSet<E> set = new HashSet<>();
-        Collections.addAll(set, values);
-        return new ImmutableHashSet<>(set);
+        var builder = new ChampMapBuilder<E, Object>();
+        for (E value : values) {
+            builder.add(value, null);
+        }
+        return build(builder);
     }
 
     public static <E> @NotNull ImmutableHashSet<E> from(@NotNull Iterable<? extends E> values) {
-        Iterator<? extends E> it = values.iterator();
-        if (!it.hasNext()) {
-            return empty();
+        if (values instanceof ImmutableHashSet<? extends E> set) {
+            return narrow(set);
         }
-
-        HashSet<E> set = new HashSet<>();
-        while (it.hasNext()) {
-            set.add(it.next());
-        }
-        return new ImmutableHashSet<>(set);
+        return from(values.iterator());
     }
 
     public static <E> @NotNull ImmutableHashSet<E> from(@NotNull Iterator<? extends E> it) {
@@ -143,11 +155,11 @@ public final class ImmutableHashSet<E> extends FromJavaConvert.SetFromJava<E> im
             return empty();
         }
 
-        HashSet<E> set = new HashSet<>();
+        var builder = new ChampMapBuilder<E, Object>();
         while (it.hasNext()) {
-            set.add(it.next());
+            builder.add(it.next(), null);
         }
-        return new ImmutableHashSet<>(set);
+        return build(builder);
     }
 
     public static <E> @NotNull ImmutableHashSet<E> from(@NotNull Stream<? extends E> stream) {
@@ -156,6 +168,18 @@ public final class ImmutableHashSet<E> extends FromJavaConvert.SetFromJava<E> im
 
     //endregion
 
+    private static <E> @NotNull ImmutableHashSet<E> build(@NotNull ChampMapBuilder<E, Object> builder) {
+        return withRoot(builder.buildRoot());
+    }
+
+    private static <E> @NotNull ImmutableHashSet<E> withRoot(@NotNull ChampMapNode<E, Object> rootNode) {
+        return rootNode.size() == 0 ? empty() : new ImmutableHashSet<>((BitmapIndexedChampMapNode<E, Object>) rootNode);
+    }
+
+    private @NotNull ImmutableHashSet<E> withNewRoot(@NotNull ChampMapNode<E, Object> rootNode) {
+        return rootNode == this.rootNode ? this : withRoot(rootNode);
+    }
+
     @Override
     public @NotNull String className() {
         return "ImmutableHashSet";
@@ -166,62 +190,157 @@ public final class ImmutableHashSet<E> extends FromJavaConvert.SetFromJava<E> im
         return factory();
     }
 
-    @Serial
-    private Object writeReplace() {
-        return new SerializationWrapper<>(factory(), this);
+    @Override
+    public int size() {
+        return rootNode.size();
     }
 
-    private static final class Builder<E> {
-        private boolean aliased = false;
-        private HashSet<E> set = new HashSet<>();
+    @Override
+    public int knownSize() {
+        return rootNode.size();
+    }
 
-        private void ensureUnaliased() {
-            if (aliased) {
-                set = new HashSet<>(set);
-                aliased = false;
-            }
+    @Override
+    public @NotNull Iterator<E> iterator() {
+        return isEmpty() ? Iterators.empty() : new ChampMapKeyIterator<>(rootNode);
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        int originalHash = Objects.hashCode(value);
+        return rootNode.containsKey((E) value, originalHash, improve(originalHash), 0);
+    }
+
+    @Override
+    public @NotNull ImmutableHashSet<E> added(E value) {
+        int originalHash = Objects.hashCode(value);
+        int hash = improve(originalHash);
+        if (rootNode.containsKey(value, originalHash, hash, 0)) {
+            return this;
         }
+        return withNewRoot(rootNode.updated(value, null, originalHash, hash, 0, true));
+    }
+
+    @Override
+    public @NotNull ImmutableHashSet<E> addedAll(E... values) {
+        return addedAll(ArraySeq.wrap(values));
+    }
+
+    @Override
+    public @NotNull ImmutableHashSet<E> addedAll(@NotNull Iterable<? extends E> values) {
+        return union(values);
+    }
 
-        void add(E value) {
-            ensureUnaliased();
-            set.add(value);
+    @Override
+    public @NotNull ImmutableHashSet<E> removed(E value) {
+        int originalHash = Objects.hashCode(value);
+        return withNewRoot(rootNode.removed(value, originalHash, improve(originalHash), 0));
+    }
+
+    @Override
+    public @NotNull ImmutableHashSet<E> removedAll(E... values) {
+        return removedAll(ArraySeq.wrap(values));
+    }
+
+    @Override
+    public @NotNull ImmutableHashSet<E> removedAll(@NotNull Iterable<? extends E> values) {
+        return difference(values);
+    }
+
+    @Override
+    public @NotNull ImmutableHashSet<E> filter(@NotNull Predicate<? super E> predicate) {
+        return withNewRoot(rootNode.filter((key, value) -> predicate.test(key)));
+    }
+
+    /// Returns a set containing the elements of both this set and `values`.
+    ///
+    /// If `values` is also an `ImmutableHashSet`, the result shares all subtrees that only exist in one of the sets,
+    /// and subtrees shared by both sets are not traversed.
+    public @NotNull ImmutableHashSet<E> union(@NotNull Iterable<? extends E> values) {
+        if (values instanceof ImmutableHashSet<? extends E> other) {
+            if (other.isEmpty()) {
+                return this;
+            }
+            if (this.isEmpty()) {
+                return narrow(other);
+            }
+            return withNewRoot(rootNode.concat((ChampMapNode<E, Object>) other.rootNode, 0));
         }
 
-        Builder<E> merge(Builder<E> other) {
-            ensureUnaliased();
-            this.set.addAll(other.set);
+        Iterator<? extends E> it = values.iterator();
+        if (!it.hasNext()) {
             return this;
         }
+        var builder = new ChampMapBuilder<>(rootNode);
+        while (it.hasNext()) {
+            builder.add(it.next(), null);
+        }
+        return withNewRoot(builder.buildRoot());
+    }
 
-        ImmutableHashSet<E> build() {
-            aliased = true;
-            return new ImmutableHashSet<>(set);
+    /// Returns a set containing the elements of this set that are also in `values`.
+    ///
+    /// If `values` is also an `ImmutableHashSet`, subtrees shared by both sets are kept without being traversed.
+    public @NotNull ImmutableHashSet<E> intersection(@NotNull Iterable<?> values) {
+        if (values instanceof ImmutableHashSet<?> other) {
+            return withNewRoot(rootNode.intersect((ChampMapNode<E, ?>) other.rootNode, 0));
+        }
+        return filter(CollectionHelper.containsPredicate(values));
+    }
+
+    /// Returns a set containing the elements of this set that are not in `values`.
+    ///
+    /// If `values` is also an `ImmutableHashSet`, subtrees shared by both sets are dropped without being traversed.
+    public @NotNull ImmutableHashSet<E> difference(@NotNull Iterable<?> values) {
+        if (values instanceof ImmutableHashSet<?> other) {
+            return withNewRoot(rootNode.difference((ChampMapNode<E, ?>) other.rootNode, 0));
+        }
+
+        Iterator<?> it = values.iterator();
+        if (!it.hasNext()) {
+            return this;
+        }
+        var builder = new ChampMapBuilder<>(rootNode);
+        while (it.hasNext()) {
+            builder.remove((E) it.next());
         }
+        return withNewRoot(builder.buildRoot());
     }
 
-    private static final class Factory<E> implements CollectionFactory<E, Builder<E>, ImmutableHashSet<E>>, Serializable {
+    @Serial
+    private Object writeReplace() {
+        return new SerializationWrapper<>(factory(), this);
+    }
+
+    private static final class Factory<E> implements CollectionFactory<E, ChampMapBuilder<E, Object>, ImmutableHashSet<E>>, Serializable {
 
         @Serial
         private static final long serialVersionUID = 0L;
 
         @Override
-        public Builder<E> newBuilder() {
-            return new Builder<>();
+        public ImmutableHashSet<E> empty() {
+            return ImmutableHashSet.empty();
+        }
+
+        @Override
+        public ChampMapBuilder<E, Object> newBuilder() {
+            return new ChampMapBuilder<>();
         }
 
         @Override
-        public ImmutableHashSet<E> build(Builder<E> builder) {
-            return builder.build();
+        public ImmutableHashSet<E> build(ChampMapBuilder<E, Object> builder) {
+            return ImmutableHashSet.build(builder);
         }
 
         @Override
-        public void addToBuilder(@NotNull Builder<E> builder, E value) {
-            builder.add(value);
+        public void addToBuilder(@NotNull ChampMapBuilder<E, Object> builder, E value) {
+            builder.add(value, null);
         }
 
         @Override
-        public Builder<E> mergeBuilder(@NotNull Builder<E> builder1, @NotNull Builder<E> builder2) {
-            return builder1.merge(builder2);
+        public ChampMapBuilder<E, Object> mergeBuilder(@NotNull ChampMapBuilder<E, Object> builder1, @NotNull ChampMapBuilder<E, Object> builder2) {
+            builder1.addAll(builder2);
+            return builder1;
         }
 
         @Serial
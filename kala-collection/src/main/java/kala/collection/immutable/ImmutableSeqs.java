@@ -911,8 +911,7 @@ final class ImmutableSeqs {
 
         @Override
         public ImmutableVectors.VectorBuilder<E> mergeBuilder(ImmutableVectors.@NotNull VectorBuilder<E> builder1, ImmutableVectors.@NotNull VectorBuilder<E> builder2) {
-            builder1.addVector(builder2.build());
-            return builder1;
+            return ImmutableVectors.VectorBuilder.merge(builder1, builder2);
         }
 
         @Override
@@ -16,19 +16,22 @@
 package kala.collection.immutable;
 
 import kala.collection.Collection;
+import kala.collection.base.AnyTraversable;
+import kala.collection.base.ObjectArrays;
 import kala.collection.base.Traversable;
 import kala.collection.factory.CollectionBuilder;
 import kala.collection.factory.CollectionFactory;
 import kala.collection.internal.tree.IntTree;
 import kala.index.Index;
 import kala.index.Indexes;
-import kala.value.Var;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.Spliterator;
 import java.util.function.IntFunction;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -70,41 +73,23 @@ public final class ImmutableTreeSeq<E> extends AbstractImmutableSeq<E> implement
     }
 
     public static <E> @NotNull ImmutableTreeSeq<E> of(E value1) {
-        return new ImmutableTreeSeq<>(IntTree.<E>empty().plus(0, value1));
+        return new ImmutableTreeSeq<>(IntTree.balanced(new Object[]{value1}, 0, 1));
     }
 
     public static <E> @NotNull ImmutableTreeSeq<E> of(E value1, E value2) {
-        return new ImmutableTreeSeq<>(IntTree.<E>empty()
-                .plus(0, value1)
-                .plus(1, value2)
-        );
+        return new ImmutableTreeSeq<>(IntTree.balanced(new Object[]{value1, value2}, 0, 2));
     }
 
     public static <E> @NotNull ImmutableTreeSeq<E> of(E value1, E value2, E value3) {
-        return new ImmutableTreeSeq<>(IntTree.<E>empty()
-                .plus(0, value1)
-                .plus(1, value2)
-                .plus(2, value3)
-        );
+        return new ImmutableTreeSeq<>(IntTree.balanced(new Object[]{value1, value2, value3}, 0, 3));
     }
 
     public static <E> @NotNull ImmutableTreeSeq<E> of(E value1, E value2, E value3, E value4) {
-        return new ImmutableTreeSeq<>(IntTree.<E>empty()
-                .plus(0, value1)
-                .plus(1, value2)
-                .plus(2, value3)
-                .plus(3, value4)
-        );
+        return new ImmutableTreeSeq<>(IntTree.balanced(new Object[]{value1, value2, value3, value4}, 0, 4));
     }
 
     public static <E> @NotNull ImmutableTreeSeq<E> of(E value1, E value2, E value3, E value4, E value5) {
-        return new ImmutableTreeSeq<>(IntTree.<E>empty()
-                .plus(0, value1)
-                .plus(1, value2)
-                .plus(2, value3)
-                .plus(3, value4)
-                .plus(4, value5)
-        );
+        return new ImmutableTreeSeq<>(IntTree.balanced(new Object[]{value1, value2, value3, value4, value5}, 0, 5));
     }
 
     @SafeVarargs
@@ -117,25 +102,15 @@ public final class ImmutableTreeSeq<E> extends AbstractImmutableSeq<E> implement
             return empty();
         }
 
-        IntTree<E> node = IntTree.empty();
-        int i = 0;
-        for (E value : values) {
-            node = node.plus(i++, value);
-        }
-
-        return new ImmutableTreeSeq<>(node);
+        return new ImmutableTreeSeq<>(IntTree.balanced(values, 0, values.length));
     }
 
     public static <E> @NotNull ImmutableTreeSeq<E> from(@NotNull java.util.Collection<? extends E> values) {
         if (values.isEmpty()) {
             return empty();
         }
-        IntTree<E> node = IntTree.empty();
-        int i = 0;
-        for (E value : values) {
-            node = node.plus(i++, value);
-        }
-        return node.size() != 0 ? new ImmutableTreeSeq<>(node) : empty();
+        Object[] array = values.toArray();
+        return array.length != 0 ? new ImmutableTreeSeq<>(IntTree.balanced(array, 0, array.length)) : empty();
     }
 
     @SuppressWarnings("unchecked")
@@ -146,20 +121,30 @@ public final class ImmutableTreeSeq<E> extends AbstractImmutableSeq<E> implement
         if (values.knownSize() == 0) {
             return empty();
         }
-        return from(values.iterator());
+        Object[] array = values.toArray();
+        return array.length != 0 ? new ImmutableTreeSeq<>(IntTree.balanced(array, 0, array.length)) : empty();
     }
 
+    @SuppressWarnings("unchecked")
     public static <E> @NotNull ImmutableTreeSeq<E> from(@NotNull Iterable<? extends E> values) {
+        if (values instanceof Traversable<?>) {
+            return from((Traversable<E>) values);
+        }
+        if (values instanceof java.util.Collection<?>) {
+            return from((java.util.Collection<E>) values);
+        }
         return from(values.iterator());
     }
 
     public static <E> @NotNull ImmutableTreeSeq<E> from(@NotNull Iterator<? extends E> it) {
-        IntTree<E> node = IntTree.empty();
-        int i = 0;
+        if (!it.hasNext()) {
+            return empty();
+        }
+        Builder<E> builder = new Builder<>();
         while (it.hasNext()) {
-            node = node.plus(i++, it.next());
+            builder.add(it.next());
         }
-        return node.size() != 0 ? new ImmutableTreeSeq<>(node) : empty();
+        return builder.build();
     }
 
     public static <E> @NotNull ImmutableTreeSeq<E> from(@NotNull Stream<? extends E> stream) {
@@ -170,47 +155,37 @@ public final class ImmutableTreeSeq<E> extends AbstractImmutableSeq<E> implement
         if (n <= 0) {
             return empty();
         }
-        IntTree<E> node = IntTree.empty();
-        for (int i = 0; i < n; i++) {
-            node = node.plus(i, value);
-        }
-        return new ImmutableTreeSeq<>(node);
+        return new ImmutableTreeSeq<>(IntTree.balanced(n, i -> value));
     }
 
     public static <E> @NotNull ImmutableTreeSeq<E> fill(int n, @NotNull IntFunction<? extends E> init) {
         if (n <= 0) {
             return empty();
         }
-        IntTree<E> node = IntTree.empty();
-        for (int i = 0; i < n; i++) {
-            node = node.plus(i, init.apply(i));
-        }
-        return new ImmutableTreeSeq<>(node);
+        return new ImmutableTreeSeq<>(IntTree.balanced(n, init));
     }
 
     public static <E> @NotNull ImmutableTreeSeq<E> generateUntil(@NotNull Supplier<? extends E> supplier, @NotNull Predicate<? super E> predicate) {
-        IntTree<E> node = IntTree.empty();
-        int i = 0;
+        Builder<E> builder = new Builder<>();
         while (true) {
             E value = supplier.get();
             if (predicate.test(value))
                 break;
 
-            node = node.plus(i++, value);
+            builder.add(value);
         }
-        return node.size() != 0 ? new ImmutableTreeSeq<>(node) : empty();
+        return builder.build();
     }
 
     public static <E> @NotNull ImmutableTreeSeq<E> generateUntilNull(@NotNull Supplier<? extends @Nullable E> supplier) {
-        IntTree<E> node = IntTree.empty();
-        int i = 0;
+        Builder<E> builder = new Builder<>();
         while (true) {
             E value = supplier.get();
             if (value == null)
                 break;
-            node = node.plus(i++, value);
+            builder.add(value);
         }
-        return node.size() != 0 ? new ImmutableTreeSeq<>(node) : empty();
+        return builder.build();
     }
 
 
@@ -231,6 +206,11 @@ public final class ImmutableTreeSeq<E> extends AbstractImmutableSeq<E> implement
         return root.iterator();
     }
 
+    @Override
+    public @NotNull Spliterator<E> spliterator() {
+        return root.spliterator();
+    }
+
     @Override
     public int size() {
         return root.size();
@@ -258,6 +238,38 @@ public final class ImmutableTreeSeq<E> extends AbstractImmutableSeq<E> implement
         return new ImmutableTreeSeq<>(root.plus(size(), value));
     }
 
+    public @NotNull ImmutableTreeSeq<E> appendedAll(@NotNull ImmutableTreeSeq<? extends E> values) {
+        return concat(this, values);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public @NotNull ImmutableTreeSeq<E> appendedAll(@NotNull Iterable<? extends E> values) {
+        if (values instanceof ImmutableTreeSeq<?>) {
+            return appendedAll((ImmutableTreeSeq<E>) values);
+        }
+        if (AnyTraversable.knownSize(values) == 0) {
+            return this;
+        }
+        return concat(this, from(values));
+    }
+
+    public @NotNull ImmutableTreeSeq<E> prependedAll(@NotNull ImmutableTreeSeq<? extends E> values) {
+        return concat(values, this);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public @NotNull ImmutableTreeSeq<E> prependedAll(@NotNull Iterable<? extends E> values) {
+        if (values instanceof ImmutableTreeSeq<?>) {
+            return prependedAll((ImmutableTreeSeq<E>) values);
+        }
+        if (AnyTraversable.knownSize(values) == 0) {
+            return this;
+        }
+        return concat(from(values), this);
+    }
+
     @Override
     public @NotNull ImmutableSeq<E> inserted(@Index int index, E value) {
         index = Indexes.checkPositionIndex(index, size());
@@ -276,7 +288,75 @@ public final class ImmutableTreeSeq<E> extends AbstractImmutableSeq<E> implement
         return new Collection.SerializationWrapper<>(factory(), this);
     }
 
-    private static final class Factory<E> implements CollectionFactory<E, Var<IntTree<E>>, ImmutableTreeSeq<E>>, Serializable {
+    @SuppressWarnings("unchecked")
+    private static <E> @NotNull ImmutableTreeSeq<E> concat(ImmutableTreeSeq<? extends E> left, ImmutableTreeSeq<? extends E> right) {
+        if (left.isEmpty()) {
+            return (ImmutableTreeSeq<E>) right;
+        }
+        if (right.isEmpty()) {
+            return (ImmutableTreeSeq<E>) left;
+        }
+        return new ImmutableTreeSeq<>(IntTree.concat((IntTree<E>) left.root, (IntTree<E>) right.root));
+    }
+
+    /// A builder that buffers the appended elements in an array instead of inserting them one by one,
+    /// and only turns them into a balanced tree in O(n) time when [#build()] is called.
+    ///
+    /// Merged builders are joined in O(log n) time.
+    private static final class Builder<E> {
+        private static final int DEFAULT_CAPACITY = 16;
+
+        private IntTree<E> prefix = IntTree.empty();
+        private Object[] buffer = ObjectArrays.EMPTY;
+        private int bufferSize = 0;
+
+        void add(E value) {
+            if (bufferSize == buffer.length) {
+                grow(bufferSize + 1);
+            }
+            buffer[bufferSize++] = value;
+        }
+
+        void sizeHint(int size) {
+            int required = size - prefix.size();
+            if (required > buffer.length) {
+                grow(required);
+            }
+        }
+
+        private void grow(int minCapacity) {
+            int newCapacity = Math.max(Math.max(DEFAULT_CAPACITY, minCapacity), buffer.length + (buffer.length >> 1));
+            if (newCapacity < 0) {
+                newCapacity = minCapacity;
+            }
+            buffer = Arrays.copyOf(buffer, newCapacity);
+        }
+
+        IntTree<E> tree() {
+            if (bufferSize > 0) {
+                prefix = IntTree.concat(prefix, IntTree.balanced(buffer, 0, bufferSize));
+                buffer = ObjectArrays.EMPTY;
+                bufferSize = 0;
+            }
+            return prefix;
+        }
+
+        void merge(Builder<E> other) {
+            if (other.prefix.size() == 0 && bufferSize + other.bufferSize <= buffer.length) {
+                System.arraycopy(other.buffer, 0, buffer, bufferSize, other.bufferSize);
+                bufferSize += other.bufferSize;
+            } else {
+                prefix = IntTree.concat(tree(), other.tree());
+            }
+        }
+
+        ImmutableTreeSeq<E> build() {
+            IntTree<E> tree = tree();
+            return tree.size() == 0 ? ImmutableTreeSeq.empty() : new ImmutableTreeSeq<>(tree);
+        }
+    }
+
+    private static final class Factory<E> implements CollectionFactory<E, Builder<E>, ImmutableTreeSeq<E>>, Serializable {
 
         @Serial
         private static final long serialVersionUID = 0L;
@@ -287,34 +367,28 @@ public final class ImmutableTreeSeq<E> extends AbstractImmutableSeq<E> implement
         }
 
         @Override
-        public Var<IntTree<E>> newBuilder() {
-            return new Var<>(IntTree.empty());
+        public Builder<E> newBuilder() {
+            return new Builder<>();
         }
 
         @Override
-        public ImmutableTreeSeq<E> build(Var<IntTree<E>> builder) {
-            return builder.value.size() == 0 ? ImmutableTreeSeq.empty() : new ImmutableTreeSeq<>(builder.value);
+        public ImmutableTreeSeq<E> build(@NotNull Builder<E> builder) {
+            return builder.build();
         }
 
         @Override
-        public void addToBuilder(@NotNull Var<IntTree<E>> builder, E value) {
-            builder.value = builder.value.plus(builder.value.size(), value);
+        public void addToBuilder(@NotNull Builder<E> builder, E value) {
+            builder.add(value);
         }
 
         @Override
-        public Var<IntTree<E>> mergeBuilder(@NotNull Var<IntTree<E>> builder1, @NotNull Var<IntTree<E>> builder2) {
-            if (builder2.value.size() > 0) {
-                if (builder1.value.size() > 0) {
-                    IntTree<E> newValue = builder1.value;
-                    for (E e : builder2.value) {
-                        newValue = newValue.plus(newValue.size(), e);
-                    }
-                    builder1.value = newValue;
-                } else {
-                    builder1.value = builder2.value;
-                }
-            }
+        public void sizeHint(@NotNull Builder<E> builder, int size) {
+            builder.sizeHint(size);
+        }
 
+        @Override
+        public Builder<E> mergeBuilder(@NotNull Builder<E> builder1, @NotNull Builder<E> builder2) {
+            builder1.merge(builder2);
             return builder1;
         }
 
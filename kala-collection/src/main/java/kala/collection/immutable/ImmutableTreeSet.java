@@ -30,6 +30,7 @@ import java.io.Serial;
 import java.io.Serializable;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.Spliterator;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Stream;
@@ -343,6 +344,11 @@ public final class ImmutableTreeSet<E> extends AbstractImmutableSortedSet<E> imp
         return Iterators.map(tree.entryIterator(true), Map.Entry::getKey);
     }
 
+    @Override
+    public @NotNull Spliterator<E> spliterator() {
+        return tree.keySpliterator(comparator());
+    }
+
     @Override
     public @NotNull Iterator<E> reverseIterator() {
         return Iterators.map(tree.entryIterator(false), Map.Entry::getKey);
@@ -28,7 +28,7 @@ import java.util.stream.Stream;
 
 @SuppressWarnings("unchecked")
 public sealed abstract class ImmutableVector<@Covariant E> extends AbstractImmutableSeq<E> implements IndexedSeq<E>, Serializable
-        permits ImmutableVectors.Vector0, ImmutableVectors.Vector1, ImmutableVectors.BigVector {
+        permits ImmutableVectors.Vector0, ImmutableVectors.Vector1, ImmutableVectors.BigVector, ImmutableVectors.ConcatVector {
 
     @Serial
     private static final long serialVersionUID = -1087938624105900991L;
@@ -286,14 +286,12 @@ public sealed abstract class ImmutableVector<@Covariant E> extends AbstractImmut
         return builder.build();
     }
 
+    /// Returns a vector containing the elements of this vector followed by the elements of `values`.
+    ///
+    /// This takes logarithmic time. If one of the vectors is small, it is copied and the subtrees of the other one
+    /// are shared, otherwise both vectors are shared as the children of a balanced concatenation node.
     public @NotNull ImmutableVector<E> appendedAll(@NotNull ImmutableVector<? extends E> values) {
-        if (values == ImmutableVectors.Vector0.INSTANCE) {
-            return this;
-        }
-        ImmutableVectors.VectorBuilder<E> builder = new ImmutableVectors.VectorBuilder<>();
-        builder.initFrom(this);
-        builder.addVector(values);
-        return builder.build();
+        return ImmutableVectors.VectorBuilder.concat(this, values);
     }
 
     @Override
@@ -313,6 +311,7 @@ public sealed abstract class ImmutableVector<@Covariant E> extends AbstractImmut
     @Override
     public @NotNull ImmutableVector<E> prepended(E value) {
         ImmutableVectors.VectorBuilder<E> builder = new ImmutableVectors.VectorBuilder<>();
+        builder.alignTo(1, this);
         builder.add(value);
         builder.addVector(this);
         return builder.build();
@@ -321,19 +320,17 @@ public sealed abstract class ImmutableVector<@Covariant E> extends AbstractImmut
     @Override
     public @NotNull ImmutableVector<E> prependedAll(E... values) {
         ImmutableVectors.VectorBuilder<E> builder = new ImmutableVectors.VectorBuilder<>();
+        builder.alignTo(values.length, this);
         builder.addAll(values);
         builder.addVector(this);
         return builder.build();
     }
 
+    /// Returns a vector containing the elements of `values` followed by the elements of this vector.
+    ///
+    /// @see #appendedAll(ImmutableVector)
     public @NotNull ImmutableVector<E> prependedAll(@NotNull ImmutableVector<? extends E> values) {
-        if (values == ImmutableVectors.Vector0.INSTANCE) {
-            return this;
-        }
-        ImmutableVectors.VectorBuilder<E> builder = new ImmutableVectors.VectorBuilder<>();
-        builder.initFrom(values);
-        builder.addVector(this);
-        return builder.build();
+        return ImmutableVectors.VectorBuilder.concat(values, this);
     }
 
     @Override
@@ -458,8 +455,7 @@ public sealed abstract class ImmutableVector<@Covariant E> extends AbstractImmut
 
         @Override
         public ImmutableVectors.VectorBuilder<E> mergeBuilder(ImmutableVectors.@NotNull VectorBuilder<E> builder1, ImmutableVectors.@NotNull VectorBuilder<E> builder2) {
-            builder1.addVector(builder2.build());
-            return builder1;
+            return ImmutableVectors.VectorBuilder.merge(builder1, builder2);
         }
 
         @Override
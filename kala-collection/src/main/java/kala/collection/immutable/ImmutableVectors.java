@@ -587,6 +587,10 @@ final class ImmutableVectors {
     public static final int LASTWIDTH = WIDTH << 1; // 1 extra bit in the last level to go up to Int.MaxValue (2^31-1) instead of 2^30:
     public static final int Log2ConcatFaster = 5;
 
+    /// Concatenations where one side has at most this many elements copy that side into a strict vector,
+    /// larger ones are joined by a [ConcatVector].
+    static final int CONCAT_COPY_LIMIT = WIDTH2;
+
     /**
      * Dimension of the slice at index.
      */
@@ -1419,6 +1423,259 @@ final class ImmutableVectors {
         }
     }
 
+    /// A concatenation of two non-empty vectors.
+    ///
+    /// The leaves of the tree are strict radix vectors ([Vector1] or [BigVector]) with more than
+    /// [#CONCAT_COPY_LIMIT] elements, and the heights of the two children of a node differ by at most one
+    /// (as in an AVL tree), so concatenating, indexing and updating take logarithmic time.
+    static final class ConcatVector<E> extends ImmutableVector<E> {
+        @Serial
+        private static final long serialVersionUID = 2457412870123480611L;
+
+        final ImmutableVector<E> left;
+        final ImmutableVector<E> right;
+        final int leftLength;
+        final int length0;
+        final int height;
+
+        ConcatVector(ImmutableVector<E> left, ImmutableVector<E> right) {
+            super(left.prefix1);
+            this.left = left;
+            this.right = right;
+            this.leftLength = left.size();
+            this.length0 = leftLength + right.size();
+            this.height = Math.max(height(left), height(right)) + 1;
+        }
+
+        static int height(ImmutableVector<?> vector) {
+            return vector instanceof ConcatVector<?> concat ? concat.height : 0;
+        }
+
+        /// Concatenates two non-empty vectors.
+        ///
+        /// A side with at most [#CONCAT_COPY_LIMIT] elements is merged into the nearest leaf of the other side,
+        /// otherwise the shorter tree is joined into the spine of the taller one,
+        /// so the cost is logarithmic in the size of the result.
+        static <E> ImmutableVector<E> join(ImmutableVector<E> prefix, ImmutableVector<E> suffix) {
+            final int prefixSize = prefix.size();
+            final int suffixSize = suffix.size();
+
+            if (suffixSize <= CONCAT_COPY_LIMIT && prefix instanceof ConcatVector<E> concat) {
+                return balance(concat.left, join(concat.right, suffix));
+            }
+            if (prefixSize <= CONCAT_COPY_LIMIT && suffix instanceof ConcatVector<E> concat) {
+                return balance(join(prefix, concat.left), concat.right);
+            }
+
+            final int prefixHeight = height(prefix);
+            final int suffixHeight = height(suffix);
+            if (prefixHeight == 0 && suffixHeight == 0) {
+                return Math.min(prefixSize, suffixSize) <= CONCAT_COPY_LIMIT
+                        ? VectorBuilder.concatStrict(prefix, suffix)
+                        : new ConcatVector<>(prefix, suffix);
+            }
+            if (prefixHeight > suffixHeight + 1) {
+                ConcatVector<E> concat = (ConcatVector<E>) prefix;
+                return balance(concat.left, join(concat.right, suffix));
+            }
+            if (suffixHeight > prefixHeight + 1) {
+                ConcatVector<E> concat = (ConcatVector<E>) suffix;
+                return balance(join(prefix, concat.left), concat.right);
+            }
+            return new ConcatVector<>(prefix, suffix);
+        }
+
+        /// Creates a node whose children may differ in height by up to two, rotating it back into balance.
+        private static <E> ConcatVector<E> balance(ImmutableVector<E> left, ImmutableVector<E> right) {
+            final int leftHeight = height(left);
+            final int rightHeight = height(right);
+            if (leftHeight > rightHeight + 1) {
+                ConcatVector<E> l = (ConcatVector<E>) left;
+                if (height(l.left) >= height(l.right)) {
+                    return new ConcatVector<>(l.left, new ConcatVector<>(l.right, right));
+                }
+                ConcatVector<E> lr = (ConcatVector<E>) l.right;
+                return new ConcatVector<>(new ConcatVector<>(l.left, lr.left), new ConcatVector<>(lr.right, right));
+            }
+            if (rightHeight > leftHeight + 1) {
+                ConcatVector<E> r = (ConcatVector<E>) right;
+                if (height(r.right) >= height(r.left)) {
+                    return new ConcatVector<>(new ConcatVector<>(left, r.left), r.right);
+                }
+                ConcatVector<E> rl = (ConcatVector<E>) r.left;
+                return new ConcatVector<>(new ConcatVector<>(left, rl.left), new ConcatVector<>(rl.right, r.right));
+            }
+            return new ConcatVector<>(left, right);
+        }
+
+        private static <E> ImmutableVector<E> slice(ImmutableVector<E> vector, int lo, int hi) {
+            if (lo == hi) {
+                return ImmutableVector.empty();
+            }
+            if (lo == 0 && hi == vector.size()) {
+                return vector;
+            }
+            return vector.slice0(lo, hi);
+        }
+
+        @Override
+        int vectorSliceCount() {
+            throw new AssertionError();
+        }
+
+        @Override
+        Object[] vectorSlice(int idx) {
+            throw new AssertionError();
+        }
+
+        @Override
+        int vectorSlicePrefixLength(int idx) {
+            throw new AssertionError();
+        }
+
+        @Override
+        public @NotNull Iterator<E> iterator() {
+            return new ConcatItr<>(this);
+        }
+
+        @Override
+        public int size() {
+            return length0;
+        }
+
+        @Override
+        public E get(@Index int index) {
+            index = Indexes.checkIndex(index, length0);
+
+            ImmutableVector<E> vector = this;
+            while (vector instanceof ConcatVector<E> concat) {
+                if (index < concat.leftLength) {
+                    vector = concat.left;
+                } else {
+                    index -= concat.leftLength;
+                    vector = concat.right;
+                }
+            }
+            return vector.get(index);
+        }
+
+        @Override
+        public E getFirst() {
+            return left.getFirst();
+        }
+
+        @Override
+        public E getLast() {
+            return right.getLast();
+        }
+
+        @Override
+        public @NotNull ImmutableVector<E> updated(@Index int index, E newValue) {
+            index = Indexes.checkIndex(index, length0);
+            return index < leftLength
+                    ? new ConcatVector<>(ImmutableVector.from(left.updated(index, newValue)), right)
+                    : new ConcatVector<>(left, ImmutableVector.from(right.updated(index - leftLength, newValue)));
+        }
+
+        @Override
+        public @NotNull ImmutableVector<E> appended(E value) {
+            return new ConcatVector<>(left, right.appended(value));
+        }
+
+        @Override
+        public @NotNull ImmutableVector<E> appendedAll(E... values) {
+            return appendedAll(ImmutableVector.from(values));
+        }
+
+        @Override
+        public @NotNull ImmutableVector<E> appendedAll(@NotNull Iterable<? extends E> values) {
+            return appendedAll(ImmutableVector.from(values));
+        }
+
+        @Override
+        public @NotNull ImmutableVector<E> prepended(E value) {
+            return new ConcatVector<>(left.prepended(value), right);
+        }
+
+        @Override
+        public @NotNull ImmutableVector<E> prependedAll(E... values) {
+            return prependedAll(ImmutableVector.from(values));
+        }
+
+        @Override
+        public @NotNull ImmutableVector<E> prependedAll(@NotNull Iterable<? extends E> values) {
+            return prependedAll(ImmutableVector.from(values));
+        }
+
+        @Override
+        @NotNull ImmutableVector<E> slice0(int lo, int hi) {
+            if (hi <= leftLength) {
+                return slice(left, lo, hi);
+            }
+            if (lo >= leftLength) {
+                return slice(right, lo - leftLength, hi - leftLength);
+            }
+            return join(slice(left, lo, leftLength), slice(right, 0, hi - leftLength));
+        }
+
+        @Override
+        ImmutableSeq<E> filterImpl(Predicate<? super E> predicate, boolean isFlipped) {
+            VectorBuilder<E> b = new VectorBuilder<>();
+            this.forEach(v -> {
+                if (predicate.test(v) != isFlipped) {
+                    b.add(v);
+                }
+            });
+            return b.build();
+        }
+
+        @Override
+        public void forEach(@NotNull Consumer<? super E> action) {
+            left.forEach(action);
+            right.forEach(action);
+        }
+    }
+
+    static final class ConcatItr<E> extends AbstractIterator<E> {
+        // The right children of the nodes on the path to the current leaf
+        private final ImmutableVector<E>[] stack;
+        private int stackSize = 0;
+
+        private Iterator<E> current;
+
+        ConcatItr(ConcatVector<E> vector) {
+            this.stack = new ImmutableVector[vector.height];
+            descend(vector);
+        }
+
+        private void descend(ImmutableVector<E> vector) {
+            while (vector instanceof ConcatVector<E> concat) {
+                stack[stackSize++] = concat.right;
+                vector = concat.left;
+            }
+            current = vector.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                if (stackSize == 0) {
+                    return false;
+                }
+                descend(stack[--stackSize]);
+            }
+            return true;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+    }
+
     static final class VectorSliceBuilder {
         private final int lo;
         private final int hi;
@@ -1709,14 +1966,77 @@ final class ImmutableVectors {
         private int lenRest = 0;
         private int offset = 0;
         private int depth = 1;
+        private boolean prefixIsRightAligned = false;
+
+        // The elements before the ones held in the arrays, set by merge
+        private ImmutableVector<E> prefixVector;
 
+        /// Concatenates the contents of two builders.
+        ///
+        /// If one side has at most [#CONCAT_COPY_LIMIT] elements, it is copied leaf by leaf, while the full subtrees
+        /// of the other side are shared whenever the builder can be aligned with them.
+        /// Otherwise both sides are built and joined by [#concat(ImmutableVector, ImmutableVector)]
+        /// in logarithmic time.
         static <E> VectorBuilder<E> merge(VectorBuilder<E> builder1, VectorBuilder<E> builder2) {
-            builder1.addVector(builder2.build());
-            return builder1;
+            final int size1 = builder1.size();
+            final int size2 = builder2.size();
+            if (size2 == 0) {
+                return builder1;
+            }
+            if (size1 == 0) {
+                return builder2;
+            }
+            if (builder1.prefixVector != null || builder2.prefixVector != null || Math.min(size1, size2) > CONCAT_COPY_LIMIT) {
+                VectorBuilder<E> res = new VectorBuilder<>();
+                res.prefixVector = concat(builder1.build(), builder2.build());
+                return res;
+            }
+            if (size1 >= size2) {
+                builder1.addVector(builder2.build());
+                return builder1;
+            }
+
+            ImmutableVector<E> v2 = builder2.build();
+            VectorBuilder<E> res = new VectorBuilder<>();
+            res.alignTo(size1, v2);
+            res.addVector(builder1.build());
+            res.addVector(v2);
+            return res;
+        }
+
+        /// Concatenates two vectors in logarithmic time.
+        ///
+        /// @see ConcatVector#join(ImmutableVector, ImmutableVector)
+        static <E> ImmutableVector<E> concat(ImmutableVector<? extends E> prefix, ImmutableVector<? extends E> suffix) {
+            if (suffix.isEmpty()) {
+                return (ImmutableVector<E>) prefix;
+            }
+            if (prefix.isEmpty()) {
+                return (ImmutableVector<E>) suffix;
+            }
+            return ConcatVector.join((ImmutableVector<E>) prefix, (ImmutableVector<E>) suffix);
+        }
+
+        /// Concatenates two non-empty strict vectors, copying the smaller one and sharing the subtrees
+        /// of the larger one when possible.
+        static <E> ImmutableVector<E> concatStrict(ImmutableVector<? extends E> prefix, ImmutableVector<? extends E> suffix) {
+            final int prefixSize = prefix.size();
+            final int suffixSize = suffix.size();
+
+            VectorBuilder<E> builder = new VectorBuilder<>();
+            if (prefixSize >= suffixSize) {
+                builder.initFrom(prefix);
+            } else {
+                builder.alignTo(prefixSize, suffix);
+                builder.addVector(prefix);
+            }
+            builder.addVector(suffix);
+            return builder.build();
         }
 
         int size() {
-            return len1 + lenRest - offset;
+            final int size = len1 + lenRest - offset;
+            return prefixVector == null ? size : prefixVector.size() + size;
         }
 
         private void setLen(int i) {
@@ -1771,7 +2091,189 @@ final class ImmutableVectors {
             }
         }
 
+        /// Aligns an empty builder so that, after `before` more elements have been added,
+        /// the slices of `bigVector` can be shared instead of copied.
+        void alignTo(int before, ImmutableVector<?> bigVector) {
+            if (len1 != 0 || lenRest != 0 || prefixVector != null) {
+                throw new IllegalStateException("A non-empty VectorBuilder cannot be aligned retrospectively");
+            }
+
+            // addVector adds the leftmost leaf of a concatenation first
+            while (bigVector instanceof ConcatVector<?> concat) {
+                bigVector = concat.left;
+            }
+
+            final int prefixLength;
+            final int maxPrefixLength;
+            switch (bigVector.vectorSliceCount()) {
+                case 0:
+                case 1:
+                    // does not really make sense to align for <= 32 element-vector
+                    return;
+                case 3:
+                    prefixLength = ((Vector2<?>) bigVector).len1;
+                    maxPrefixLength = WIDTH;
+                    break;
+                case 5:
+                    prefixLength = ((Vector3<?>) bigVector).len12;
+                    maxPrefixLength = WIDTH2;
+                    break;
+                case 7:
+                    prefixLength = ((Vector4<?>) bigVector).len123;
+                    maxPrefixLength = WIDTH3;
+                    break;
+                case 9:
+                    prefixLength = ((Vector5<?>) bigVector).len1234;
+                    maxPrefixLength = WIDTH4;
+                    break;
+                case 11:
+                    prefixLength = ((Vector6<?>) bigVector).len12345;
+                    maxPrefixLength = WIDTH5;
+                    break;
+                default:
+                    throw new AssertionError();
+            }
+
+            final int overallPrefixLength = (int) (((long) before + prefixLength) % maxPrefixLength);
+            offset = (maxPrefixLength - overallPrefixLength) % maxPrefixLength;
+            // pretend there are already `offset` elements added
+            advanceN(offset & ~MASK);
+            len1 = offset & MASK;
+            prefixIsRightAligned = true;
+        }
+
+        /// Removes the empty space reserved by [#alignTo(int, ImmutableVector)] before the first element,
+        /// so that the builder has the same layout as one created by [#initFrom(ImmutableVector)].
+        private void leftAlignPrefix() {
+            Object[] a = null; // the array we modify
+            Object[] aParent = null; // a's parent, so aParent[0] == a
+            if (depth >= 6) {
+                a = a6;
+                int i = offset >>> BITS5;
+                if (i > 0) {
+                    System.arraycopy(a, i, a, 0, a.length - i);
+                }
+                shrinkOffsetIfTooLarge(WIDTH5);
+                if ((lenRest >>> BITS5) == 0) {
+                    depth = 5;
+                }
+                aParent = a;
+                a = (Object[]) a[0];
+            }
+            if (depth >= 5) {
+                if (a == null) {
+                    a = a5;
+                }
+                int i = (offset >>> BITS4) & MASK;
+                if (depth == 5) {
+                    if (i > 0) {
+                        System.arraycopy(a, i, a, 0, WIDTH - i);
+                    }
+                    a5 = (Object[][][][][]) a;
+                    shrinkOffsetIfTooLarge(WIDTH4);
+                    if ((lenRest >>> BITS4) == 0) {
+                        depth = 4;
+                    }
+                } else if (i > 0) {
+                    a = Arrays.copyOfRange(a, i, WIDTH);
+                    aParent[0] = a;
+                }
+                aParent = a;
+                a = (Object[]) a[0];
+            }
+            if (depth >= 4) {
+                if (a == null) {
+                    a = a4;
+                }
+                int i = (offset >>> BITS3) & MASK;
+                if (depth == 4) {
+                    if (i > 0) {
+                        System.arraycopy(a, i, a, 0, WIDTH - i);
+                    }
+                    a4 = (Object[][][][]) a;
+                    shrinkOffsetIfTooLarge(WIDTH3);
+                    if ((lenRest >>> BITS3) == 0) {
+                        depth = 3;
+                    }
+                } else if (i > 0) {
+                    a = Arrays.copyOfRange(a, i, WIDTH);
+                    aParent[0] = a;
+                }
+                aParent = a;
+                a = (Object[]) a[0];
+            }
+            if (depth >= 3) {
+                if (a == null) {
+                    a = a3;
+                }
+                int i = (offset >>> BITS2) & MASK;
+                if (depth == 3) {
+                    if (i > 0) {
+                        System.arraycopy(a, i, a, 0, WIDTH - i);
+                    }
+                    a3 = (Object[][][]) a;
+                    shrinkOffsetIfTooLarge(WIDTH2);
+                    if ((lenRest >>> BITS2) == 0) {
+                        depth = 2;
+                    }
+                } else if (i > 0) {
+                    a = Arrays.copyOfRange(a, i, WIDTH);
+                    aParent[0] = a;
+                }
+                aParent = a;
+                a = (Object[]) a[0];
+            }
+            if (depth >= 2) {
+                if (a == null) {
+                    a = a2;
+                }
+                int i = (offset >>> BITS) & MASK;
+                if (depth == 2) {
+                    if (i > 0) {
+                        System.arraycopy(a, i, a, 0, WIDTH - i);
+                    }
+                    a2 = (Object[][]) a;
+                    shrinkOffsetIfTooLarge(WIDTH);
+                    if ((lenRest >>> BITS) == 0) {
+                        depth = 1;
+                    }
+                } else if (i > 0) {
+                    a = Arrays.copyOfRange(a, i, WIDTH);
+                    aParent[0] = a;
+                }
+                aParent = a;
+                a = (Object[]) a[0];
+            }
+            if (a == null) {
+                a = a1;
+            }
+            int i = offset & MASK;
+            if (depth == 1) {
+                if (i > 0) {
+                    System.arraycopy(a, i, a, 0, WIDTH - i);
+                }
+                a1 = a;
+                len1 -= offset;
+                offset = 0;
+            } else if (i > 0) {
+                a = Arrays.copyOfRange(a, i, WIDTH);
+                aParent[0] = a;
+            }
+            prefixIsRightAligned = false;
+        }
+
+        private void shrinkOffsetIfTooLarge(int width) {
+            int newOffset = offset % width;
+            lenRest -= offset - newOffset;
+            offset = newOffset;
+        }
+
         void initFrom(ImmutableVector<?> v) {
+            if (v instanceof ConcatVector<?> concat) {
+                initFrom(concat.left);
+                addVector((ImmutableVector<E>) concat.right);
+                return;
+            }
             switch (v.vectorSliceCount()) { // implicit null check of v
                 case 0:
                     break;
@@ -1912,8 +2414,118 @@ final class ImmutableVectors {
             }
         }
 
+        private void addArrN(Object[] slice, int dim) {
+            // assert dim >= 2
+            // assert lenRest % WIDTH == 0
+            // assert len1 == 0 || len1 == WIDTH
+            final int sl = slice.length;
+            if (sl == 0) {
+                return;
+            }
+            if (len1 == WIDTH) {
+                advance();
+            }
+            switch (dim) {
+                case 2: {
+                    // lenRest is always a multiple of WIDTH
+                    int copy1 = Math.min(((WIDTH2 - lenRest) >>> BITS) & MASK, sl);
+                    int copy2 = sl - copy1;
+                    int destPos = (lenRest >>> BITS) & MASK;
+                    System.arraycopy(slice, 0, a2, destPos, copy1);
+                    advanceN(WIDTH * copy1);
+                    if (copy2 > 0) {
+                        System.arraycopy(slice, copy1, a2, 0, copy2);
+                        advanceN(WIDTH * copy2);
+                    }
+                    break;
+                }
+                case 3: {
+                    if (lenRest % WIDTH2 != 0) {
+                        // lenRest is not multiple of WIDTH2, so this slice does not align, need to try lower dimension
+                        for (Object e : slice) {
+                            addArrN((Object[]) e, 2);
+                        }
+                        return;
+                    }
+                    int copy1 = Math.min(((WIDTH3 - lenRest) >>> BITS2) & MASK, sl);
+                    int copy2 = sl - copy1;
+                    int destPos = (lenRest >>> BITS2) & MASK;
+                    System.arraycopy(slice, 0, a3, destPos, copy1);
+                    advanceN(WIDTH2 * copy1);
+                    if (copy2 > 0) {
+                        System.arraycopy(slice, copy1, a3, 0, copy2);
+                        advanceN(WIDTH2 * copy2);
+                    }
+                    break;
+                }
+                case 4: {
+                    if (lenRest % WIDTH3 != 0) {
+                        for (Object e : slice) {
+                            addArrN((Object[]) e, 3);
+                        }
+                        return;
+                    }
+                    int copy1 = Math.min(((WIDTH4 - lenRest) >>> BITS3) & MASK, sl);
+                    int copy2 = sl - copy1;
+                    int destPos = (lenRest >>> BITS3) & MASK;
+                    System.arraycopy(slice, 0, a4, destPos, copy1);
+                    advanceN(WIDTH3 * copy1);
+                    if (copy2 > 0) {
+                        System.arraycopy(slice, copy1, a4, 0, copy2);
+                        advanceN(WIDTH3 * copy2);
+                    }
+                    break;
+                }
+                case 5: {
+                    if (lenRest % WIDTH4 != 0) {
+                        for (Object e : slice) {
+                            addArrN((Object[]) e, 4);
+                        }
+                        return;
+                    }
+                    int copy1 = Math.min(((WIDTH5 - lenRest) >>> BITS4) & MASK, sl);
+                    int copy2 = sl - copy1;
+                    int destPos = (lenRest >>> BITS4) & MASK;
+                    System.arraycopy(slice, 0, a5, destPos, copy1);
+                    advanceN(WIDTH4 * copy1);
+                    if (copy2 > 0) {
+                        System.arraycopy(slice, copy1, a5, 0, copy2);
+                        advanceN(WIDTH4 * copy2);
+                    }
+                    break;
+                }
+                case 6: {
+                    if (lenRest % WIDTH5 != 0) {
+                        for (Object e : slice) {
+                            addArrN((Object[]) e, 5);
+                        }
+                        return;
+                    }
+                    // there is no copy2 because there can't be another a6 to copy to
+                    int destPos = lenRest >>> BITS5;
+                    if (destPos + sl > LASTWIDTH) {
+                        throw new IllegalArgumentException("exceeding 2^31 elements");
+                    }
+                    System.arraycopy(slice, 0, a6, destPos, sl);
+                    advanceN(WIDTH5 * sl);
+                    break;
+                }
+                default:
+                    throw new AssertionError();
+            }
+        }
+
         void addVector(ImmutableVector<? extends E> xs) {
+            if (xs instanceof ConcatVector<? extends E> concat) {
+                addVector(concat.left);
+                addVector(concat.right);
+                return;
+            }
             final int sliceCount = xs.vectorSliceCount(); // implicit null check of xs
+            if (len1 == 0 && lenRest == 0 && !prefixIsRightAligned) {
+                initFrom(xs);
+                return;
+            }
             int sliceIdx = 0;
             while (sliceIdx < sliceCount) {
                 Object[] slice = xs.vectorSlice(sliceIdx);
@@ -1921,6 +2533,9 @@ final class ImmutableVectors {
                 int dim = vectorSliceDim(sliceCount, sliceIdx);
                 if (dim == 1) {
                     addArr1(slice);
+                } else if (len1 == WIDTH || len1 == 0) {
+                    // the builder is aligned with the slice, so whole subtrees can be shared
+                    addArrN(slice, dim);
                 } else {
                     forEachRec(dim - 2, slice, (Consumer<Object[]>) this::addArr1);
                 }
@@ -1943,11 +2558,8 @@ final class ImmutableVectors {
         void addAll(Traversable<? extends E> xs) {
             if (xs instanceof ImmutableVector<?>) {
                 ImmutableVector<E> v = (ImmutableVector<E>) xs;
-                if (len1 == 0 && lenRest == 0) {
-                    initFrom(v);
-                } else {
-                    addVector(v);
-                }
+                addVector(v);
+                return;
             }
             for (E e : xs) {
                 add(e);
@@ -1962,30 +2574,41 @@ final class ImmutableVectors {
             advance1(idx, xor);
         }
 
+        private void advanceN(int n) {
+            // assert n % WIDTH == 0
+            if (n > 0) {
+                int idx = lenRest + n;
+                int xor = idx ^ lenRest;
+                lenRest = idx;
+                len1 = 0;
+                advance1(idx, xor);
+            }
+        }
+
         private void advance1(int idx, int xor) {
             if (xor < WIDTH2) { // level = 1
-                if (depth == 1) {
+                if (depth <= 1) {
                     a2 = new Object[WIDTH][];
                     a2[0] = a1;
-                    ++depth;
+                    depth = 2;
                 }
                 a1 = new Object[WIDTH];
                 a2[(idx >>> BITS) & MASK] = a1;
             } else if (xor < WIDTH3) { // level = 2
-                if (depth == 2) {
+                if (depth <= 2) {
                     a3 = new Object[WIDTH][][];
                     a3[0] = a2;
-                    ++depth;
+                    depth = 3;
                 }
                 a1 = new Object[WIDTH];
                 a2 = new Object[WIDTH][];
                 a2[(idx >>> BITS) & MASK] = a1;
                 a3[(idx >>> BITS2) & MASK] = a2;
             } else if (xor < WIDTH4) { // level = 3
-                if (depth == 3) {
+                if (depth <= 3) {
                     a4 = new Object[WIDTH][][][];
                     a4[0] = a3;
-                    ++depth;
+                    depth = 4;
                 }
                 a1 = new Object[WIDTH];
                 a2 = new Object[WIDTH][];
@@ -1994,10 +2617,10 @@ final class ImmutableVectors {
                 a3[(idx >>> BITS2) & MASK] = a2;
                 a4[(idx >>> BITS3) & MASK] = a3;
             } else if (xor < WIDTH5) { // level = 4
-                if (depth == 4) {
+                if (depth <= 4) {
                     a5 = new Object[WIDTH][][][][];
                     a5[0] = a4;
-                    depth += 1;
+                    depth = 5;
                 }
                 a1 = new Object[WIDTH];
                 a2 = new Object[WIDTH][];
@@ -2008,10 +2631,10 @@ final class ImmutableVectors {
                 a4[(idx >>> BITS3) & MASK] = a3;
                 a5[(idx >>> BITS4) & MASK] = a4;
             } else if (xor < WIDTH6) { // level = 5
-                if (depth == 5) {
+                if (depth <= 5) {
                     a6 = new Object[LASTWIDTH][][][][][];
                     a6[0] = a5;
-                    depth += 1;
+                    depth = 6;
                 }
                 a1 = new Object[WIDTH];
                 a2 = new Object[WIDTH][];
@@ -2035,6 +2658,14 @@ final class ImmutableVectors {
         }
 
         ImmutableVector<E> build() {
+            final ImmutableVector<E> res = buildArrays();
+            return prefixVector == null ? res : concat(prefixVector, res);
+        }
+
+        private ImmutableVector<E> buildArrays() {
+            if (prefixIsRightAligned) {
+                leftAlignPrefix();
+            }
             final int len = len1 + lenRest;
             final int realLen = len - offset;
             if (realLen == 0) {
@@ -2128,6 +2759,12 @@ final class ImmutableVectors {
         }
 
         ImmutableSeq<E> buildSeq() {
+            if (prefixVector != null) {
+                return build();
+            }
+            if (prefixIsRightAligned) {
+                leftAlignPrefix();
+            }
             final int len = len1 + lenRest;
             final int realLen = len - offset;
             if (realLen == 0) {
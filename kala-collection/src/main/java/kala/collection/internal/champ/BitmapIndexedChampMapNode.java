@@ -45,13 +45,35 @@ public final class BitmapIndexedChampMapNode<K, V> extends ChampMapNode<K, V> {
     int size;
     int cachedJavaKeySetHashCode;
 
+    /**
+     * The token of the transient edit that created this node and may still mutate it in place,
+     * or null if this node may be shared.
+     */
+    Object owner;
+
     public BitmapIndexedChampMapNode(int dataMap, int nodeMap, Object[] content, int[] originalHashes, int size, int cachedJavaKeySetHashCode) {
+        this(dataMap, nodeMap, content, originalHashes, size, cachedJavaKeySetHashCode, null);
+    }
+
+    BitmapIndexedChampMapNode(int dataMap, int nodeMap, Object[] content, int[] originalHashes, int size, int cachedJavaKeySetHashCode, Object owner) {
         this.dataMap = dataMap;
         this.nodeMap = nodeMap;
         this.content = content;
         this.originalHashes = originalHashes;
         this.size = size;
         this.cachedJavaKeySetHashCode = cachedJavaKeySetHashCode;
+        this.owner = owner;
+    }
+
+    /**
+     * Returns this node if it is owned by `owner`, otherwise a copy of this node owned by `owner`.
+     */
+    BitmapIndexedChampMapNode<K, V> editable(Object owner) {
+        if (owner != null && this.owner == owner) {
+            return this;
+        }
+        // originalHashes is never written in place, so only content needs to be copied
+        return new BitmapIndexedChampMapNode<>(dataMap, nodeMap, content.clone(), originalHashes, size, cachedJavaKeySetHashCode, owner);
     }
 
     @Override
@@ -125,6 +147,22 @@ public final class BitmapIndexedChampMapNode<K, V> extends ChampMapNode<K, V> {
         }
     }
 
+    @Override
+    public V getOrDefault(K key, V defaultValue, int originalHash, int keyHash, int shift) {
+        int mask = maskFrom(keyHash, shift);
+        int bitpos = bitposFrom(mask);
+
+        if ((dataMap & bitpos) != 0) {
+            int index = indexFrom(dataMap, mask, bitpos);
+            return Objects.equals(key, getKey(index)) ? getValue(index) : defaultValue;
+        } else if ((nodeMap & bitpos) != 0) {
+            int index = indexFrom(nodeMap, mask, bitpos);
+            return getNode(index).getOrDefault(key, defaultValue, originalHash, keyHash, shift + BitPartitionSize);
+        } else {
+            return defaultValue;
+        }
+    }
+
     @Override
     public Tuple2<K, V> getTuple(K key, int originalHash, int hash, int shift) {
         int mask = maskFrom(hash, shift);
@@ -133,7 +171,7 @@ public final class BitmapIndexedChampMapNode<K, V> extends ChampMapNode<K, V> {
         if ((dataMap & bitpos) != 0) {
             int index = indexFrom(dataMap, mask, bitpos);
             Tuple2<K, V> payload = getPayload(index);
-            if (key == payload.getKey()) {
+            if (Objects.equals(key, payload.getKey())) {
                 return payload;
             } else {
                 throw new NoSuchElementException("key not found: " + key);
@@ -353,11 +391,166 @@ public final class BitmapIndexedChampMapNode<K, V> extends ChampMapNode<K, V> {
         }
     }
 
+    @Override
+    public BitmapIndexedChampMapNode<K, V> updatedTransient(Object owner, K key, V value, int originalHash, int keyHash, int shift) {
+        int mask = maskFrom(keyHash, shift);
+        int bitpos = bitposFrom(mask);
+
+        if ((dataMap & bitpos) != 0) {
+            int index = indexFrom(dataMap, mask, bitpos);
+            K key0 = getKey(index);
+            int key0UnimprovedHash = getHash(index);
+            if (key0UnimprovedHash == originalHash && Objects.equals(key0, key)) {
+                if (getValue(index) == value) {
+                    return this;
+                }
+                var node = editable(owner);
+                node.content[TupleLength * index + 1] = value;
+                return node;
+            } else {
+                V value0 = getValue(index);
+                int key0Hash = improve(key0UnimprovedHash);
+                var subNodeNew = mergeTwoKeyValPairs(key0, value0, key0UnimprovedHash, key0Hash, key, value, originalHash, keyHash, shift + BitPartitionSize, owner);
+                return editable(owner).migrateFromInlineToNodeInPlace(bitpos, key0Hash, subNodeNew);
+            }
+        } else if ((nodeMap & bitpos) != 0) {
+            int index = indexFrom(nodeMap, mask, bitpos);
+            ChampMapNode<K, V> subNode = getNode(index);
+            // read before the update, which may mutate subNode in place
+            int subNodeSize = subNode.size();
+            int subNodeHashCode = subNode.cachedJavaKeySetHashCode();
+
+            ChampMapNode<K, V> subNodeNew = subNode.updatedTransient(owner, key, value, originalHash, keyHash, shift + BitPartitionSize);
+            if (subNodeNew == subNode && subNodeNew.size() == subNodeSize) {
+                return this;
+            }
+
+            // an owned subNode is only reachable through owned nodes, so this is a no-op if subNodeNew == subNode
+            var node = editable(owner);
+            node.content[node.content.length - 1 - index] = subNodeNew;
+            node.size += subNodeNew.size() - subNodeSize;
+            node.cachedJavaKeySetHashCode += subNodeNew.cachedJavaKeySetHashCode() - subNodeHashCode;
+            return node;
+        } else {
+            var node = editable(owner);
+            int dataIx = node.dataIndex(bitpos);
+            int idx = TupleLength * dataIx;
+
+            Object[] src = node.content;
+            Object[] dst = new Object[src.length + TupleLength];
+
+            // copy 'src' and insert 2 element(s) at position 'idx'
+            System.arraycopy(src, 0, dst, 0, idx);
+            dst[idx] = key;
+            dst[idx + 1] = value;
+            System.arraycopy(src, idx, dst, idx + TupleLength, src.length - idx);
+
+            node.dataMap |= bitpos;
+            node.content = dst;
+            node.originalHashes = insertElement(node.originalHashes, dataIx, originalHash);
+            node.size += 1;
+            node.cachedJavaKeySetHashCode += keyHash;
+            return node;
+        }
+    }
+
+    @Override
+    public BitmapIndexedChampMapNode<K, V> removedTransient(Object owner, K key, int originalHash, int keyHash, int shift) {
+        int mask = maskFrom(keyHash, shift);
+        int bitpos = bitposFrom(mask);
+
+        if ((dataMap & bitpos) != 0) {
+            int index = indexFrom(dataMap, mask, bitpos);
+            if (!Objects.equals(getKey(index), key)) {
+                return this;
+            }
+            if (this.payloadArity() == 2 && this.nodeArity() == 0) {
+                // the remaining pair may be inlined into the parent, which requires a new node anyway
+                return removed(key, originalHash, keyHash, shift);
+            }
+
+            var node = editable(owner);
+            int idx = TupleLength * index;
+
+            var src = node.content;
+            var dst = new Object[src.length - TupleLength];
+
+            // copy 'src' and remove 2 element(s) at position 'idx'
+            System.arraycopy(src, 0, dst, 0, idx);
+            System.arraycopy(src, idx + TupleLength, dst, idx, src.length - idx - TupleLength);
+
+            node.dataMap ^= bitpos;
+            node.content = dst;
+            node.originalHashes = removeElement(node.originalHashes, index);
+            node.size -= 1;
+            node.cachedJavaKeySetHashCode -= keyHash;
+            return node;
+        } else if ((nodeMap & bitpos) != 0) {
+            int index = indexFrom(nodeMap, mask, bitpos);
+            ChampMapNode<K, V> subNode = getNode(index);
+            // read before the update, which may mutate subNode in place
+            int subNodeSize = subNode.size();
+            int subNodeHashCode = subNode.cachedJavaKeySetHashCode();
+
+            ChampMapNode<K, V> subNodeNew = subNode.removedTransient(owner, key, originalHash, keyHash, shift + BitPartitionSize);
+            int subNodeNewSize = subNodeNew.size();
+            if (subNodeNewSize == subNodeSize) {
+                return this;
+            }
+
+            if (subNodeNewSize == 1) {
+                if (this.size == subNodeSize) {
+                    // subNode is the only child (no other data or node children of `this` exist)
+                    // escalate (singleton or empty) result
+                    return (BitmapIndexedChampMapNode<K, V>) subNodeNew;
+                }
+
+                // inline value (move to front)
+                var node = editable(owner);
+                int idxOld = node.content.length - 1 - index;
+                int dataIxNew = node.dataIndex(bitpos);
+                int idxNew = TupleLength * dataIxNew;
+
+                var src = node.content;
+                var dst = new Object[src.length - 1 + TupleLength];
+
+                // copy 'src' and remove 1 element(s) at position 'idxOld' and
+                // insert 2 element(s) at position 'idxNew'
+                System.arraycopy(src, 0, dst, 0, idxNew);
+                dst[idxNew] = subNodeNew.getKey(0);
+                dst[idxNew + 1] = subNodeNew.getValue(0);
+                System.arraycopy(src, idxNew, dst, idxNew + TupleLength, idxOld - idxNew);
+                System.arraycopy(src, idxOld + 1, dst, idxOld + TupleLength, src.length - idxOld - 1);
+
+                node.dataMap |= bitpos;
+                node.nodeMap ^= bitpos;
+                node.content = dst;
+                node.originalHashes = insertElement(node.originalHashes, dataIxNew, subNodeNew.getHash(0));
+                node.size += 1 - subNodeSize;
+                node.cachedJavaKeySetHashCode += subNodeNew.cachedJavaKeySetHashCode() - subNodeHashCode;
+                return node;
+            }
+
+            // modify current node (set replacement node)
+            var node = editable(owner);
+            node.content[node.content.length - 1 - index] = subNodeNew;
+            node.size += subNodeNewSize - subNodeSize;
+            node.cachedJavaKeySetHashCode += subNodeNew.cachedJavaKeySetHashCode() - subNodeHashCode;
+            return node;
+        } else {
+            return this;
+        }
+    }
+
     public ChampMapNode<K, V> mergeTwoKeyValPairs(K key0, V value0, int originalHash0, int keyHash0, K key1, V value1, int originalHash1, int keyHash1, int shift) {
+        return mergeTwoKeyValPairs(key0, value0, originalHash0, keyHash0, key1, value1, originalHash1, keyHash1, shift, null);
+    }
+
+    ChampMapNode<K, V> mergeTwoKeyValPairs(K key0, V value0, int originalHash0, int keyHash0, K key1, V value1, int originalHash1, int keyHash1, int shift, Object owner) {
         // assert(key0 != key1)
 
         if (shift >= HashCodeLength) {
-            return new HashCollisionChampMapNode<>(originalHash0, keyHash0, ImmutableVector.of(Tuple.of(key0, value0), Tuple.of(key1, value1)));
+            return new HashCollisionChampMapNode<>(originalHash0, keyHash0, ImmutableVector.of(Tuple.of(key0, value0), Tuple.of(key1, value1)), owner);
         } else {
             int mask0 = maskFrom(keyHash0, shift);
             int mask1 = maskFrom(keyHash1, shift);
@@ -368,15 +561,15 @@ public final class BitmapIndexedChampMapNode<K, V> extends ChampMapNode<K, V> {
                 int dataMap = bitposFrom(mask0) | bitposFrom(mask1);
 
                 if (mask0 < mask1) {
-                    return new BitmapIndexedChampMapNode<>(dataMap, 0, new Object[]{key0, value0, key1, value1}, new int[]{originalHash0, originalHash1}, 2, newCachedHash);
+                    return new BitmapIndexedChampMapNode<>(dataMap, 0, new Object[]{key0, value0, key1, value1}, new int[]{originalHash0, originalHash1}, 2, newCachedHash, owner);
                 } else {
-                    return new BitmapIndexedChampMapNode<>(dataMap, 0, new Object[]{key1, value1, key0, value0}, new int[]{originalHash1, originalHash0}, 2, newCachedHash);
+                    return new BitmapIndexedChampMapNode<>(dataMap, 0, new Object[]{key1, value1, key0, value0}, new int[]{originalHash1, originalHash0}, 2, newCachedHash, owner);
                 }
             } else {
                 // identical prefixes, payload must be disambiguated deeper in the trie
                 var nodeMap = bitposFrom(mask0);
-                ChampMapNode<K, V> node = mergeTwoKeyValPairs(key0, value0, originalHash0, keyHash0, key1, value1, originalHash1, keyHash1, shift + BitPartitionSize);
-                return new BitmapIndexedChampMapNode<>(0, nodeMap, new Object[]{node}, IntArrays.EMPTY, node.size(), node.cachedJavaKeySetHashCode());
+                ChampMapNode<K, V> node = mergeTwoKeyValPairs(key0, value0, originalHash0, keyHash0, key1, value1, originalHash1, keyHash1, shift + BitPartitionSize, owner);
+                return new BitmapIndexedChampMapNode<>(0, nodeMap, new Object[]{node}, IntArrays.EMPTY, node.size(), node.cachedJavaKeySetHashCode(), owner);
             }
         }
     }
@@ -522,12 +715,12 @@ public final class BitmapIndexedChampMapNode<K, V> extends ChampMapNode<K, V> {
         var dstHashes = removeElement(originalHashes, dataIx);
 
         return new BitmapIndexedChampMapNode<>(
-                dataMap = dataMap ^ bitpos,
-                nodeMap = nodeMap | bitpos,
-                content = dst,
-                originalHashes = dstHashes,
-                size = size - 1 + node.size(),
-                cachedJavaKeySetHashCode = cachedJavaKeySetHashCode - keyHash + node.cachedJavaKeySetHashCode()
+                dataMap ^ bitpos,
+                nodeMap | bitpos,
+                dst,
+                dstHashes,
+                size - 1 + node.size(),
+                cachedJavaKeySetHashCode - keyHash + node.cachedJavaKeySetHashCode()
         );
     }
 
@@ -552,12 +745,12 @@ public final class BitmapIndexedChampMapNode<K, V> extends ChampMapNode<K, V> {
         int hash = node.getHash(0);
         var dstHashes = insertElement(originalHashes, dataIxNew, hash);
         return new BitmapIndexedChampMapNode<>(
-                dataMap = dataMap | bitpos,
-                nodeMap = nodeMap ^ bitpos,
-                content = dst,
-                originalHashes = dstHashes,
-                size = size - oldNode.size() + 1,
-                cachedJavaKeySetHashCode = cachedJavaKeySetHashCode - oldNode.cachedJavaKeySetHashCode() + node.cachedJavaKeySetHashCode()
+                dataMap | bitpos,
+                nodeMap ^ bitpos,
+                dst,
+                dstHashes,
+                size - oldNode.size() + 1,
+                cachedJavaKeySetHashCode - oldNode.cachedJavaKeySetHashCode() + node.cachedJavaKeySetHashCode()
         );
     }
 
@@ -946,7 +1139,7 @@ public final class BitmapIndexedChampMapNode<K, V> extends ChampMapNode<K, V> {
                                 bm.getValue(rightDataIdx),
                                 bm.getHash(rightDataIdx),
                                 improve(rightOriginalHash),
-                                shift = nextShift,
+                                nextShift,
                                 true
                         );
                     }
@@ -1036,15 +1229,156 @@ public final class BitmapIndexedChampMapNode<K, V> extends ChampMapNode<K, V> {
         }
 
         return anyChangesMadeSoFar ? new BitmapIndexedChampMapNode<K, V>(
-                dataMap = newDataMap,
-                nodeMap = newNodeMap,
-                content = newContent,
-                originalHashes = newOriginalHashes,
-                size = newSize,
-                cachedJavaKeySetHashCode = newCachedHashCode
+                newDataMap,
+                newNodeMap,
+                newContent,
+                newOriginalHashes,
+                newSize,
+                newCachedHashCode
         ) : bm;
     }
 
+    @Override
+    public ChampMapNode<K, V> intersect(ChampMapNode<K, ?> that, int shift) {
+        return that == this ? this : retain(that, shift, true);
+    }
+
+    @Override
+    public ChampMapNode<K, V> difference(ChampMapNode<K, ?> that, int shift) {
+        return that == this ? ChampMapNode.empty() : retain(that, shift, false);
+    }
+
+    /**
+     * Keeps the entries whose keys are in `that` if `intersect` is true, or the ones whose keys are not otherwise.
+     */
+    private ChampMapNode<K, V> retain(ChampMapNode<K, ?> that0, int shift, boolean intersect) {
+        if (size == 0 || that0.size() == 0) {
+            return intersect ? ChampMapNode.empty() : this;
+        }
+
+        if (!(that0 instanceof BitmapIndexedChampMapNode<K, ?> that)) {
+            // should never happen -- hash collisions are never at the same level as bitmapIndexedMapNodes
+            return filter((key, value) -> {
+                int originalHash = Objects.hashCode(key);
+                return that0.containsKey(key, originalHash, improve(originalHash), shift) == intersect;
+            });
+        }
+
+        final int nextShift = shift + BitPartitionSize;
+        final int maxDataArity = payloadArity() + nodeArity();
+
+        // a sub-node may shrink to a single entry, which is then inlined, so there may be more data than before
+        Object[] newData = new Object[TupleLength * maxDataArity];
+        int[] newOriginalHashes = new int[maxDataArity];
+        Object[] newNodes = new Object[nodeArity()];
+
+        int newDataMap = 0;
+        int newNodeMap = 0;
+        int newDataArity = 0;
+        int newNodeArity = 0;
+        int newSize = 0;
+        int newCachedHashCode = 0;
+        boolean anyChanges = false;
+
+        int dataIdx = 0;
+        int nodeIdx = 0;
+        for (int remaining = dataMap | nodeMap; remaining != 0; remaining &= remaining - 1) {
+            int bitpos = remaining & -remaining;
+
+            if ((bitpos & dataMap) != 0) {
+                K key = getKey(dataIdx);
+                int originalHash = getHash(dataIdx);
+                int keyHash = improve(originalHash);
+                if (that.containsKey(key, originalHash, keyHash, shift) == intersect) {
+                    newData[TupleLength * newDataArity] = key;
+                    newData[TupleLength * newDataArity + 1] = getValue(dataIdx);
+                    newOriginalHashes[newDataArity] = originalHash;
+                    newDataArity += 1;
+                    newDataMap |= bitpos;
+                    newSize += 1;
+                    newCachedHashCode += keyHash;
+                } else {
+                    anyChanges = true;
+                }
+                dataIdx += 1;
+                continue;
+            }
+
+            ChampMapNode<K, V> subNode = getNode(nodeIdx);
+            nodeIdx += 1;
+
+            ChampMapNode<K, V> newSubNode;
+            if ((bitpos & that.nodeMap) != 0) {
+                ChampMapNode<K, ?> thatSubNode = that.getNode(that.nodeIndex(bitpos));
+                newSubNode = intersect ? subNode.intersect(thatSubNode, nextShift) : subNode.difference(thatSubNode, nextShift);
+            } else if ((bitpos & that.dataMap) != 0) {
+                int thatIdx = that.dataIndex(bitpos);
+                K thatKey = that.getKey(thatIdx);
+                int thatOriginalHash = that.getHash(thatIdx);
+                int thatKeyHash = improve(thatOriginalHash);
+                if (intersect) {
+                    // at most the single key of that survives, so it becomes data of this node
+                    if (subNode.containsKey(thatKey, thatOriginalHash, thatKeyHash, nextShift)) {
+                        Tuple2<K, V> tuple = subNode.getTuple(thatKey, thatOriginalHash, thatKeyHash, nextShift);
+                        newData[TupleLength * newDataArity] = tuple.getKey();
+                        newData[TupleLength * newDataArity + 1] = tuple.getValue();
+                        newOriginalHashes[newDataArity] = thatOriginalHash;
+                        newDataArity += 1;
+                        newDataMap |= bitpos;
+                        newSize += 1;
+                        newCachedHashCode += thatKeyHash;
+                    }
+                    anyChanges = true;
+                    continue;
+                } else {
+                    newSubNode = subNode.removed(thatKey, thatOriginalHash, thatKeyHash, nextShift);
+                }
+            } else {
+                newSubNode = intersect ? ChampMapNode.empty() : subNode;
+            }
+
+            int newSubNodeSize = newSubNode.size();
+            if (newSubNodeSize == 1) {
+                // inline the remaining entry
+                newData[TupleLength * newDataArity] = newSubNode.getKey(0);
+                newData[TupleLength * newDataArity + 1] = newSubNode.getValue(0);
+                newOriginalHashes[newDataArity] = newSubNode.getHash(0);
+                newDataArity += 1;
+                newDataMap |= bitpos;
+                newSize += 1;
+                newCachedHashCode += newSubNode.cachedJavaKeySetHashCode();
+                anyChanges = true;
+            } else if (newSubNodeSize > 1) {
+                newNodes[newNodeArity] = newSubNode;
+                newNodeArity += 1;
+                newNodeMap |= bitpos;
+                newSize += newSubNodeSize;
+                newCachedHashCode += newSubNode.cachedJavaKeySetHashCode();
+                anyChanges |= newSubNode != subNode;
+            } else {
+                anyChanges = true;
+            }
+        }
+
+        if (!anyChanges) {
+            return this;
+        }
+        if (newSize == 0) {
+            return ChampMapNode.empty();
+        }
+
+        int newContentSize = TupleLength * newDataArity + newNodeArity;
+        Object[] newContent = new Object[newContentSize];
+        System.arraycopy(newData, 0, newContent, 0, TupleLength * newDataArity);
+        for (int i = 0; i < newNodeArity; i++) {
+            newContent[newContentSize - 1 - i] = newNodes[i];
+        }
+        if (newOriginalHashes.length != newDataArity) {
+            newOriginalHashes = Arrays.copyOf(newOriginalHashes, newDataArity);
+        }
+        return new BitmapIndexedChampMapNode<>(newDataMap, newNodeMap, newContent, newOriginalHashes, newSize, newCachedHashCode);
+    }
+
     @Override
     public BitmapIndexedChampMapNode<K, V> copy() {
         Object[] contentClone = content.clone();
@@ -15,10 +15,8 @@
  */
 package kala.collection.internal.champ;
 
-import kala.collection.base.ObjectArrays;
-import kala.collection.base.primitive.IntArrays;
 import kala.collection.immutable.ImmutableChampMap;
-import kala.tuple.Tuple;
+import kala.control.Option;
 import kala.tuple.Tuple2;
 import org.jetbrains.annotations.NotNull;
 
@@ -28,109 +26,31 @@ import java.lang.invoke.MethodType;
 import java.lang.invoke.VarHandle;
 import java.util.Objects;
 
-import static kala.collection.internal.champ.ChampMapNode.TupleLength;
-import static kala.collection.internal.champ.ChampNode.BitPartitionSize;
-import static kala.collection.internal.champ.ChampNode.bitposFrom;
 import static kala.collection.internal.champ.ChampNode.improve;
-import static kala.collection.internal.champ.ChampNode.indexFrom;
-import static kala.collection.internal.champ.ChampNode.maskFrom;
 
+/**
+ * A transient editor of a CHAMP trie.
+ * <p>
+ * Nodes created by this builder are tagged with an owner token and mutated in place by later updates,
+ * while nodes shared with other maps are copied once, the first time an update passes through them.
+ * {@link #build()} retires the token, so the built map can never be changed by this builder again.
+ */
 @SuppressWarnings("unchecked")
 public final class ChampMapBuilder<K, V> {
 
+    private Object owner = new Object();
+    private BitmapIndexedChampMapNode<K, V> rootNode;
     private ImmutableChampMap<K, V> aliased;
-    private BitmapIndexedChampMapNode<K, V> rootNode = newEmptyRootNode();
-
-    private BitmapIndexedChampMapNode<K, V> newEmptyRootNode() {
-        return new BitmapIndexedChampMapNode<>(0, 0, ObjectArrays.EMPTY, IntArrays.EMPTY, 0, 0);
-    }
 
-    private boolean isAliased() {
-        return aliased != null;
+    public ChampMapBuilder() {
+        this.rootNode = ChampMapNode.empty();
     }
 
-    private int[] insertElement(int[] as, int ix, int elem) {
-        if (ix < 0 || ix > as.length) {
-            throw new ArrayIndexOutOfBoundsException(ix);
-        }
-
-        int[] result = new int[as.length + 1];
-        System.arraycopy(as, 0, result, 0, ix);
-        result[ix] = elem;
-        System.arraycopy(as, ix, result, ix + 1, as.length - ix);
-        return result;
-    }
-
-
-    private void insertValue(BitmapIndexedChampMapNode<K, V> bm, int bitpos, K key, int originalHash, int keyHash, V value) {
-        int dataIx = bm.dataIndex(bitpos);
-        int idx = TupleLength * dataIx;
-
-        var src = bm.content;
-        var dst = new Object[src.length + TupleLength];
-
-        // copy 'src' and insert 2 element(s) at position 'idx'
-        System.arraycopy(src, 0, dst, 0, idx);
-        dst[idx] = key;
-        dst[idx + 1] = value;
-        System.arraycopy(src, idx, dst, idx + TupleLength, src.length - idx);
-
-        var dstHashes = insertElement(bm.originalHashes, dataIx, originalHash);
-
-        bm.dataMap |= bitpos;
-        bm.content = dst;
-        bm.originalHashes = dstHashes;
-        bm.size += 1;
-        bm.cachedJavaKeySetHashCode += keyHash;
-    }
-
-    private void update(ChampMapNode<K, V> mapNode, K key, V value, int originalHash, int keyHash, int shift) {
-        if (mapNode instanceof BitmapIndexedChampMapNode<K, V> bm) {
-            int mask = maskFrom(keyHash, shift);
-            int bitpos = bitposFrom(mask);
-            if ((bm.dataMap & bitpos) != 0) {
-                int index = indexFrom(bm.dataMap, mask, bitpos);
-                K key0 = bm.getKey(index);
-                int key0UnimprovedHash = bm.getHash(index);
-
-                if (key0UnimprovedHash == originalHash && Objects.equals(key0, key)) {
-                    bm.content[TupleLength * index + 1] = value;
-                } else {
-                    V value0 = bm.getValue(index);
-                    int key0Hash = improve(key0UnimprovedHash);
-
-                    ChampMapNode<K, V> subNodeNew =
-                            bm.mergeTwoKeyValPairs(key0, value0, key0UnimprovedHash, key0Hash, key, value, originalHash, keyHash, shift + BitPartitionSize);
-
-                    bm.migrateFromInlineToNodeInPlace(bitpos, key0Hash, subNodeNew);
-                }
-
-            } else if ((bm.nodeMap & bitpos) != 0) {
-                int index = indexFrom(bm.nodeMap, mask, bitpos);
-                var subNode = bm.getNode(index);
-                int beforeSize = subNode.size();
-                int beforeHash = subNode.cachedJavaKeySetHashCode();
-                update(subNode, key, value, originalHash, keyHash, shift + BitPartitionSize);
-                bm.size += subNode.size() - beforeSize;
-                bm.cachedJavaKeySetHashCode += subNode.cachedJavaKeySetHashCode() - beforeHash;
-            } else {
-                insertValue(bm, bitpos, key, originalHash, keyHash, value);
-            }
-        } else if (mapNode instanceof HashCollisionChampMapNode<K, V> hc) {
-            int index = hc.indexOf(key);
-            if (index < 0) {
-                hc.content = hc.content.appended(Tuple.of(key, value));
-            } else {
-                hc.content = hc.content.updated(index, Tuple.of(key, value));
-            }
-        }
-    }
-
-    private void ensureUnaliased() {
-        if (isAliased()) {
-            rootNode = rootNode.copy();
-            aliased = null;
-        }
+    /**
+     * Creates a builder that starts with the given trie, without copying it.
+     */
+    public ChampMapBuilder(BitmapIndexedChampMapNode<K, V> rootNode) {
+        this.rootNode = rootNode;
     }
 
     private static final MethodHandle createImmutableChampHashMap;
@@ -144,6 +64,33 @@ public final class ChampMapBuilder<K, V> {
         }
     }
 
+    public BitmapIndexedChampMapNode<K, V> rootNode() {
+        return rootNode;
+    }
+
+    public int size() {
+        return rootNode.size;
+    }
+
+    public boolean containsKey(K key) {
+        int originalHash = Objects.hashCode(key);
+        return rootNode.containsKey(key, originalHash, improve(originalHash), 0);
+    }
+
+    public Option<V> getOption(K key) {
+        int originalHash = Objects.hashCode(key);
+        return rootNode.getOption(key, originalHash, improve(originalHash), 0);
+    }
+
+    /**
+     * Returns the current trie, which will not be changed by this builder anymore.
+     */
+    public BitmapIndexedChampMapNode<K, V> buildRoot() {
+        // retire the token, so that the nodes of the result will never be mutated again
+        owner = new Object();
+        return rootNode;
+    }
+
     public ImmutableChampMap<K, V> build() {
         if (rootNode.size == 0) {
             return ImmutableChampMap.empty();
@@ -151,7 +98,7 @@ public final class ChampMapBuilder<K, V> {
             return aliased;
         } else {
             try {
-                aliased = (ImmutableChampMap<K, V>) createImmutableChampHashMap.invokeExact(rootNode);
+                aliased = (ImmutableChampMap<K, V>) createImmutableChampHashMap.invokeExact(buildRoot());
             } catch (Throwable e) {
                 throw new InternalError(e);
             }
@@ -160,50 +107,54 @@ public final class ChampMapBuilder<K, V> {
         }
     }
 
+    private void setRootNode(BitmapIndexedChampMapNode<K, V> newRootNode) {
+        if (aliased != null && newRootNode == rootNode) {
+            return;
+        }
+        rootNode = newRootNode;
+        aliased = null;
+    }
+
     public void add(final Tuple2<K, V> elem) {
-        ensureUnaliased();
-        int h = Objects.hashCode(elem.getKey());
-        int im = improve(h);
-        update(rootNode, elem.getKey(), elem.getValue(), h, im, 0);
+        add(elem.getKey(), elem.getValue());
     }
 
     public void add(K key, V value) {
-        ensureUnaliased();
         int originalHash = Objects.hashCode(key);
-        update(rootNode, key, value, originalHash, improve(originalHash), 0);
+        add(key, value, originalHash, improve(originalHash));
     }
 
     public void add(final K key, final V value, final int originalHash) {
-        ensureUnaliased();
-        update(rootNode, key, value, originalHash, improve(originalHash), 0);
+        add(key, value, originalHash, improve(originalHash));
     }
 
     public void add(final K key, final V value, final int originalHash, final int hash) {
-        ensureUnaliased();
-        update(rootNode, key, value, originalHash, hash, 0);
+        setRootNode(rootNode.updatedTransient(owner, key, value, originalHash, hash, 0));
     }
 
-    public void addAll(@NotNull ChampMapBuilder<K, V> other) {
-        new ChampBaseIterator<Tuple2<K, V>, ChampMapNode<K, V>>(other.rootNode) {
-            {
-                while (hasNext()) {
-                    int originalHash = currentValueNode.getHash(currentValueCursor);
-                    ChampMapBuilder.this.update(
-                            rootNode,
-                            currentValueNode.getKey(currentValueCursor),
-                            currentValueNode.getValue(currentValueCursor),
-                            originalHash,
-                            improve(originalHash),
-                            0
-                    );
-                    currentValueCursor += 1;
-                }
-            }
+    public void remove(K key) {
+        int originalHash = Objects.hashCode(key);
+        setRootNode(rootNode.removedTransient(owner, key, originalHash, improve(originalHash), 0));
+    }
 
-            @Override
-            public Tuple2<K, V> next() {
-                throw new UnsupportedOperationException();
-            }
-        };
+    /**
+     * Adds all entries of the given trie, replacing the values of existing keys.
+     * Subtrees that only exist in one of the tries are shared instead of being rebuilt.
+     */
+    public void addAll(BitmapIndexedChampMapNode<K, V> other) {
+        if (other.size == 0) {
+            return;
+        }
+        if (rootNode.size == 0) {
+            setRootNode(other);
+        } else {
+            setRootNode((BitmapIndexedChampMapNode<K, V>) rootNode.concat(other, 0));
+        }
+    }
+
+    public void addAll(@NotNull ChampMapBuilder<K, V> other) {
+        // the result shares nodes with other, so other must stop mutating them
+        other.owner = new Object();
+        addAll(other.rootNode);
     }
 }
@@ -37,6 +37,12 @@ public sealed abstract class ChampMapNode<K, V> extends ChampNode<ChampMapNode<K
 
     public abstract Option<V> getOption(K key, int originalHash, int hash, int shift);
 
+    /**
+     * Returns the value associated with {@code key}, or {@code defaultValue} if there is no such key.
+     * Unlike {@link #getOption}, this does not allocate.
+     */
+    public abstract V getOrDefault(K key, V defaultValue, int originalHash, int hash, int shift);
+
     public abstract boolean containsKey(K key, int originalHash, int hash, int shift);
 
     /**
@@ -57,6 +63,24 @@ public sealed abstract class ChampMapNode<K, V> extends ChampNode<ChampMapNode<K
 
     public abstract ChampMapNode<K, V> removed(K key, int originalHash, int hash, int shift);
 
+    /**
+     * Like {@link #updated(Object, Object, int, int, int, boolean) updated(key, value, originalHash, hash, shift, true)},
+     * but mutates the nodes owned by `owner` in place instead of copying them.
+     * <p>
+     * Nodes created by this method are owned by `owner`, so they must not be shared
+     * until the editor holding `owner` stops using it.
+     *
+     * @param owner the token of the transient edit; must not be null
+     */
+    public abstract ChampMapNode<K, V> updatedTransient(Object owner, K key, V value, int originalHash, int hash, int shift);
+
+    /**
+     * Like {@link #removed(Object, int, int, int)}, but mutates the nodes owned by `owner` in place instead of copying them.
+     *
+     * @param owner the token of the transient edit; must not be null
+     */
+    public abstract ChampMapNode<K, V> removedTransient(Object owner, K key, int originalHash, int hash, int shift);
+
     public abstract boolean hasNodes();
 
     public abstract int nodeArity();
@@ -83,6 +107,26 @@ public sealed abstract class ChampMapNode<K, V> extends ChampNode<ChampMapNode<K
 
     public abstract ChampMapNode<K, V> concat(ChampMapNode<K, V> that, int shift);
 
+    /**
+     * Returns a node containing the entries of this node whose keys are also in `that`.
+     * <p>
+     * Subtrees of this node that are identical (by reference) to the subtrees of `that` at the same position
+     * are kept as they are without being traversed.
+     *
+     * @param that a node at the same position as this node, within another trie
+     */
+    public abstract ChampMapNode<K, V> intersect(ChampMapNode<K, ?> that, int shift);
+
+    /**
+     * Returns a node containing the entries of this node whose keys are not in `that`.
+     * <p>
+     * Subtrees of this node that are identical (by reference) to the subtrees of `that` at the same position
+     * are dropped without being traversed.
+     *
+     * @param that a node at the same position as this node, within another trie
+     */
+    public abstract ChampMapNode<K, V> difference(ChampMapNode<K, ?> that, int shift);
+
     public abstract ChampMapNode<K, V> filter(BiPredicate<K, V> predicate);
 
     /**
@@ -36,7 +36,17 @@ public final class HashCollisionChampMapNode<K, V> extends ChampMapNode<K, V> {
     final int hash;
     ImmutableSeq<Tuple2<K, V>> content;
 
+    /**
+     * The token of the transient edit that created this node and may still mutate it in place,
+     * or null if this node may be shared.
+     */
+    Object owner;
+
     public HashCollisionChampMapNode(int originalHash, int hash, ImmutableSeq<Tuple2<K, V>> content) {
+        this(originalHash, hash, content, null);
+    }
+
+    HashCollisionChampMapNode(int originalHash, int hash, ImmutableSeq<Tuple2<K, V>> content, Object owner) {
         if (content.size() < 2) {
             throw new IllegalArgumentException("HashCollisionChampMapNode must have at least two elements");
         }
@@ -44,6 +54,7 @@ public final class HashCollisionChampMapNode<K, V> extends ChampMapNode<K, V> {
         this.originalHash = originalHash;
         this.hash = hash;
         this.content = content;
+        this.owner = owner;
     }
 
     int indexOf(Object key) {
@@ -77,6 +88,16 @@ public final class HashCollisionChampMapNode<K, V> extends ChampMapNode<K, V> {
         }
     }
 
+    @Override
+    public V getOrDefault(K key, V defaultValue, int originalHash, int hash, int shift) {
+        if (this.hash == hash) {
+            int index = indexOf(key);
+            return index >= 0 ? content.get(index).getValue() : defaultValue;
+        } else {
+            return defaultValue;
+        }
+    }
+
     @Override
     public Tuple2<K, V> getTuple(K key, int originalHash, int hash, int shift) {
         final var index = indexOf(key);
@@ -118,6 +139,30 @@ public final class HashCollisionChampMapNode<K, V> extends ChampMapNode<K, V> {
         }
     }
 
+    @Override
+    public ChampMapNode<K, V> updatedTransient(Object owner, K key, V value, int originalHash, int hash, int shift) {
+        int index = indexOf(key);
+        if (index >= 0 && content.get(index).getValue() == value) {
+            return this;
+        }
+
+        ImmutableSeq<Tuple2<K, V>> newContent = index >= 0
+                ? content.updated(index, Tuple.of(key, value))
+                : content.appended(Tuple.of(key, value));
+        if (owner != null && this.owner == owner) {
+            this.content = newContent;
+            return this;
+        } else {
+            return new HashCollisionChampMapNode<>(originalHash, hash, newContent, owner);
+        }
+    }
+
+    @Override
+    public ChampMapNode<K, V> removedTransient(Object owner, K key, int originalHash, int hash, int shift) {
+        // the content is an immutable sequence, so there is nothing to gain from editing in place
+        return removed(key, originalHash, hash, shift);
+    }
+
     @Override
     public ChampMapNode<K, V> removed(K key, int originalHash, int hash, int shift) {
         if (!this.containsKey(key, originalHash, hash, shift)) {
@@ -243,6 +288,22 @@ public final class HashCollisionChampMapNode<K, V> extends ChampMapNode<K, V> {
         }
     }
 
+    @Override
+    public ChampMapNode<K, V> intersect(ChampMapNode<K, ?> that, int shift) {
+        if (that == this) {
+            return this;
+        }
+        return filter((key, value) -> that.containsKey(key, originalHash, hash, shift));
+    }
+
+    @Override
+    public ChampMapNode<K, V> difference(ChampMapNode<K, ?> that, int shift) {
+        if (that == this) {
+            return ChampMapNode.empty();
+        }
+        return filter((key, value) -> !that.containsKey(key, originalHash, hash, shift));
+    }
+
     private static <K> int rightIndexOf(Object[] rightArray, K key) {
         for (int i = 0; i < rightArray.length; i++) {
             var elem = rightArray[i];
@@ -15,6 +15,7 @@
  */
 package kala.collection.internal.hash;
 
+import kala.collection.mutable.CollectionMetrics;
 import kala.function.Hasher;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -23,6 +24,9 @@ import java.io.Serial;
 import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static kala.collection.internal.hash.HashUtils.tableSizeFor;
 
@@ -35,6 +39,15 @@ public abstract class HashBase<K, N extends HashNode<K, N>> implements Serializa
 
     protected static final int MAXIMUM_CAPACITY = 1 << 30;
 
+    /// The chain length at which a bucket is indexed by a [TreeBin].
+    protected static final int TREEIFY_THRESHOLD = 8;
+
+    /// The size at which a tree bin is dropped again.
+    protected static final int UNTREEIFY_THRESHOLD = 6;
+
+    /// The smallest table for which buckets are treeified; smaller tables are grown instead.
+    protected static final int MIN_TREEIFY_CAPACITY = 64;
+
     protected Hasher<? super K> hasher;
     protected double loadFactor;
 
@@ -43,6 +56,13 @@ public abstract class HashBase<K, N extends HashNode<K, N>> implements Serializa
 
     protected transient int contentSize = 0;
 
+    protected transient CollectionMetrics.Tracker metrics;
+
+    /// The tree bins of the table, or `null` if no bucket has been treeified.
+    ///
+    /// Tree bins protect lookups from long collision chains, whether caused by bad luck or by crafted keys.
+    private transient TreeBin<K, N>[] bins;
+
     protected HashBase(@NotNull Hasher<? super K> hasher, int initialCapacity, double loadFactor) {
         this.hasher = Objects.requireNonNull(hasher);
 
@@ -62,6 +82,7 @@ public abstract class HashBase<K, N extends HashNode<K, N>> implements Serializa
         final int tableSize = tableSizeFor(initialCapacity);
         this.table = createNodeArray(tableSize);
         this.threshold = newThreshold(tableSize);
+        this.metrics = CollectionMetrics.track(this, tableSize);
     }
 
     protected HashBase(@NotNull HashBase<K, N> old) {
@@ -80,6 +101,10 @@ public abstract class HashBase<K, N extends HashNode<K, N>> implements Serializa
                 newTable[i] = oldNode.deepClone();
             }
         }
+        if (old.bins != null) {
+            treeifyLongChains();
+        }
+        this.metrics = CollectionMetrics.track(this, newTable.length);
     }
 
 
@@ -99,11 +124,28 @@ public abstract class HashBase<K, N extends HashNode<K, N>> implements Serializa
 
     protected final @Nullable N findNode(K key) {
         final int hash = hasher.hash(key);
-        N fn = table[index(hash)];
-        if (fn == null) {
+        final int idx = index(hash);
+        N node = table[idx];
+        if (node == null) {
             return null;
         }
-        return fn.findNode(key, hash);
+
+        final TreeBin<K, N>[] bins = this.bins;
+        if (bins != null && bins[idx] != null) {
+            return bins[idx].find(key, hash);
+        }
+
+        do {
+            final int nodeHash = node.hash;
+            if (nodeHash == hash && hasher.equals(key, node.key)) {
+                return node;
+            }
+            if (nodeHash > hash) {
+                return null;
+            }
+            node = node.next;
+        } while (node != null);
+        return null;
     }
 
     protected final N removeNode(K elem) {
@@ -119,6 +161,11 @@ public abstract class HashBase<K, N extends HashNode<K, N>> implements Serializa
             return null;
         }
 
+        final TreeBin<K, N>[] bins = this.bins;
+        if (bins != null && bins[idx] != null) {
+            return removeTreeNode(idx, elem, hash);
+        }
+
         if (nd.hash == hash && hasher.equals(nd.key, elem)) {
             table[idx] = nd.next;
             contentSize -= 1;
@@ -141,8 +188,202 @@ public abstract class HashBase<K, N extends HashNode<K, N>> implements Serializa
         return null;
     }
 
+    /// Returns whether the bucket at `idx` is indexed by a tree bin.
+    ///
+    /// Insertions into such a bucket must go through [#findTreeNode(int, Object, int)]
+    /// and [#insertTreeNode(int, HashNode)] instead of walking the chain.
+    protected final boolean isTreeBin(int idx) {
+        final TreeBin<K, N>[] bins = this.bins;
+        return bins != null && bins[idx] != null;
+    }
+
+    protected final @Nullable N findTreeNode(int idx, K key, int hash) {
+        return bins[idx].find(key, hash);
+    }
+
+    /// Links `node` into the tree bin at `idx`. The caller is responsible for updating `contentSize`.
+    protected final void insertTreeNode(int idx, N node) {
+        final N prev = bins[idx].insert(node);
+        if (prev == null) {
+            node.next = table[idx];
+            table[idx] = node;
+        } else {
+            node.next = prev.next;
+            prev.next = node;
+        }
+    }
+
+    private N removeTreeNode(int idx, K key, int hash) {
+        final TreeBin<K, N> bin = bins[idx];
+        final N node = bin.find(key, hash);
+        if (node == null) {
+            return null;
+        }
+
+        final N prev = bin.remove(node);
+        if (prev == null) {
+            table[idx] = node.next;
+        } else {
+            prev.next = node.next;
+        }
+        node.next = null;
+        contentSize -= 1;
+
+        if (bin.size < UNTREEIFY_THRESHOLD) {
+            bins[idx] = null;
+        }
+        return node;
+    }
+
+    /// Treeifies the bucket at `idx` if its chain has reached [#TREEIFY_THRESHOLD].
+    ///
+    /// Must be called after a node has been linked into a bucket that is not a tree bin.
+    /// If the table is smaller than [#MIN_TREEIFY_CAPACITY], the table is grown instead.
+    protected final void treeifyIfNeeded(int idx) {
+        int count = 0;
+        for (N node = table[idx]; node != null; node = node.next) {
+            if (++count >= TREEIFY_THRESHOLD) {
+                if (table.length < MIN_TREEIFY_CAPACITY) {
+                    growTable(table.length * 2);
+                } else {
+                    treeify(idx);
+                }
+                return;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void treeify(int idx) {
+        if (bins == null) {
+            bins = new TreeBin[table.length];
+        }
+        final TreeBin<K, N> bin = TreeBin.build(hasher, table[idx]);
+        bins[idx] = bin;
+        table[idx] = bin.head();
+    }
+
+    /// Rebuilds the tree bins after the table has been replaced.
+    ///
+    /// Must be called by [#growTable(int)] after the chains have been split.
+    protected final void rebuildTreeBins() {
+        if (bins != null) {
+            bins = null;
+            treeifyLongChains();
+        }
+    }
+
+    private void treeifyLongChains() {
+        final N[] table = this.table;
+        for (int i = 0; i < table.length; i++) {
+            int count = 0;
+            for (N node = table[i]; node != null; node = node.next) {
+                if (++count >= TREEIFY_THRESHOLD) {
+                    treeify(i);
+                    break;
+                }
+            }
+        }
+    }
+
+    /// Returns a spliterator over the nodes of this table, mapped by `mapper`.
+    ///
+    /// The spliterator splits the range of buckets in half,
+    /// so it knows its exact size only until it is split for the first time.
+    protected final <T> @NotNull Spliterator<T> nodeSpliterator(
+            @NotNull Function<? super N, ? extends T> mapper, int characteristics) {
+        return new NodeSpliterator<>(table, mapper, characteristics, 0, table.length, contentSize, true);
+    }
+
     //endregion
 
+    private static final class NodeSpliterator<N extends HashNode<?, N>, T> implements Spliterator<T> {
+        private final N[] table;
+        private final Function<? super N, ? extends T> mapper;
+        private final int characteristics;
+
+        private int index;
+        private final int fence;
+        private N current;
+        private int est;
+        private boolean topLevel;
+
+        NodeSpliterator(N[] table, Function<? super N, ? extends T> mapper, int characteristics,
+                        int origin, int fence, int est, boolean topLevel) {
+            this.table = table;
+            this.mapper = mapper;
+            this.characteristics = characteristics;
+            this.index = origin;
+            this.fence = fence;
+            this.est = est;
+            this.topLevel = topLevel;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            final int lo = index;
+            final int mid = (lo + fence) >>> 1;
+            if (lo >= mid || current != null) {
+                return null;
+            }
+            topLevel = false;
+            index = mid;
+            return new NodeSpliterator<>(table, mapper, characteristics, lo, mid, est >>>= 1, false);
+        }
+
+        @Override
+        public boolean tryAdvance(@NotNull Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            while (current != null || index < fence) {
+                if (current == null) {
+                    current = table[index++];
+                } else {
+                    final N node = current;
+                    current = node.next;
+                    if (est > 0) {
+                        est--;
+                    }
+                    action.accept(mapper.apply(node));
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(@NotNull Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            final N[] table = this.table;
+            final int fence = this.fence;
+            N node = current;
+            int i = index;
+            current = null;
+            index = fence;
+            est = 0;
+
+            while (true) {
+                while (node != null) {
+                    action.accept(mapper.apply(node));
+                    node = node.next;
+                }
+                if (i >= fence) {
+                    break;
+                }
+                node = table[i++];
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return est;
+        }
+
+        @Override
+        public int characteristics() {
+            return (topLevel ? Spliterator.SIZED : 0) | characteristics;
+        }
+    }
+
     public @NotNull Hasher<? super K> getHasher() {
         return hasher;
     }
@@ -160,6 +401,7 @@ public abstract class HashBase<K, N extends HashNode<K, N>> implements Serializa
 
     public void clear() {
         contentSize = 0;
+        bins = null;
         Arrays.fill(table, null);
     }
 }
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kala.collection.internal.hash;
+
+import kala.function.Hasher;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/// A balanced index over a bucket of a [HashBase] whose chain has grown too long.
+///
+/// The chain itself is kept intact, so iteration, splitting and cloning do not need to know about tree bins.
+/// The nodes of the chain are ordered by hash, then by class name, and then by [Comparable#compareTo(Object)]
+/// when the keys are mutually comparable and the hasher uses [Object#equals(Object)].
+/// Nodes that cannot be told apart by this order form a group, which is stored contiguously in the chain
+/// and searched linearly, so keys that are neither comparable nor distinguishable by hash still fall back to a scan.
+///
+/// Keys of different classes can still be equal (for example, two [java.util.List] implementations,
+/// or any keys under a custom [Hasher]), so when the group of the probed key does not contain it,
+/// [#find(Object, int)] also scans the groups of the other classes with the same hash,
+/// like `java.util.HashMap.TreeNode.find` does when its comparison cannot decide.
+@SuppressWarnings({"unchecked", "rawtypes"})
+final class TreeBin<K, N extends HashNode<K, N>> {
+
+    private static final class Group<N> {
+        N first;
+        N last;
+        int size;
+
+        Group(N first) {
+            this.first = first;
+            this.last = first;
+            this.size = 1;
+        }
+    }
+
+    /// A search key for [#groups].
+    ///
+    /// A `bound` of zero compares like a node with the same key and hash. A negative `bound` compares
+    /// before, and a positive `bound` after, all nodes with the same hash whose keys have the class of `key`.
+    /// [#RUN_START] compares before all nodes with the same hash.
+    private record Probe(Object key, int hash, int bound) {
+    }
+
+    private static final int RUN_START = Integer.MIN_VALUE;
+
+    private final Hasher<? super K> hasher;
+    private final boolean useComparable;
+    private final TreeMap<Object, Group<N>> groups;
+
+    int size;
+
+    private TreeBin(Hasher<? super K> hasher) {
+        this.hasher = hasher;
+        this.useComparable = hasher == Hasher.defaultHasher() || hasher == Hasher.optimizedHasher();
+        this.groups = new TreeMap<>((Comparator<Object>) this::compare);
+    }
+
+    /// Builds a tree bin from the chain starting at `head`, and reorders the chain to match the tree.
+    ///
+    /// @return the tree bin, whose [#head()] is the new head of the chain.
+    static <K, N extends HashNode<K, N>> TreeBin<K, N> build(Hasher<? super K> hasher, N head) {
+        TreeBin<K, N> bin = new TreeBin<>(hasher);
+        TreeMap<Object, Group<N>> groups = bin.groups;
+
+        TreeMap<Object, ArrayList<N>> members = new TreeMap<>(groups.comparator());
+        for (N node = head; node != null; node = node.next) {
+            members.computeIfAbsent(node, k -> new ArrayList<>(1)).add(node);
+            bin.size++;
+        }
+
+        N prev = null;
+        for (ArrayList<N> list : members.values()) {
+            Group<N> group = null;
+            for (N node : list) {
+                if (prev != null) {
+                    prev.next = node;
+                }
+                if (group == null) {
+                    group = new Group<>(node);
+                } else {
+                    group.last = node;
+                    group.size++;
+                }
+                prev = node;
+            }
+            groups.put(group, group);
+        }
+        if (prev != null) {
+            prev.next = null;
+        }
+        return bin;
+    }
+
+    N head() {
+        Map.Entry<Object, Group<N>> first = groups.firstEntry();
+        return first != null ? first.getValue().first : null;
+    }
+
+    N find(K key, int hash) {
+        N node = findInGroup(groups.get(new Probe(key, hash, 0)), key, hash);
+        if (node != null) {
+            return node;
+        }
+
+        // The groups of the same class have been ruled out by the order, but keys of other classes may still be equal
+        var lowerRun = groups.subMap(new Probe(key, hash, RUN_START), true, new Probe(key, hash, -1), false);
+        for (Group<N> group : lowerRun.values()) {
+            if ((node = findInGroup(group, key, hash)) != null) {
+                return node;
+            }
+        }
+        for (Group<N> group : groups.tailMap(new Probe(key, hash, 1), false).values()) {
+            if (group.first.hash != hash) {
+                break;
+            }
+            if ((node = findInGroup(group, key, hash)) != null) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    private N findInGroup(Group<N> group, K key, int hash) {
+        if (group == null) {
+            return null;
+        }
+
+        N node = group.first;
+        for (int i = 0; i < group.size; i++) {
+            if (node.hash == hash && hasher.equals(key, node.key)) {
+                return node;
+            }
+            node = node.next;
+        }
+        return null;
+    }
+
+    /// Adds `node` to this tree bin.
+    ///
+    /// @return the node after which `node` should be linked in the chain, or `null` if it becomes the head.
+    N insert(N node) {
+        size++;
+        Group<N> group = groups.get(node);
+        if (group != null) {
+            N prev = group.last;
+            group.last = node;
+            group.size++;
+            return prev;
+        }
+
+        Map.Entry<Object, Group<N>> lower = groups.lowerEntry(node);
+        group = new Group<>(node);
+        groups.put(group, group);
+        return lower != null ? lower.getValue().last : null;
+    }
+
+    /// Removes `node`, which must be in this tree bin.
+    ///
+    /// @return the node before `node` in the chain, or `null` if `node` is the head.
+    N remove(N node) {
+        size--;
+        Group<N> group = groups.get(node);
+        assert group != null;
+
+        N prev;
+        if (node == group.first) {
+            Map.Entry<Object, Group<N>> lower = groups.lowerEntry(group);
+            prev = lower != null ? lower.getValue().last : null;
+            if (group.size == 1) {
+                groups.remove(group);
+                return prev;
+            }
+            group.first = node.next;
+        } else {
+            prev = group.first;
+            while (prev.next != node) {
+                prev = prev.next;
+            }
+            if (node == group.last) {
+                group.last = prev;
+            }
+        }
+        group.size--;
+        return prev;
+    }
+
+    private static int hashOf(Object o) {
+        if (o instanceof Group<?> group) {
+            return ((HashNode<?, ?>) group.first).hash;
+        } else if (o instanceof HashNode<?, ?> node) {
+            return node.hash;
+        } else {
+            return ((Probe) o).hash;
+        }
+    }
+
+    private static Object keyOf(Object o) {
+        if (o instanceof Group<?> group) {
+            return ((HashNode<?, ?>) group.first).key;
+        } else if (o instanceof HashNode<?, ?> node) {
+            return node.key;
+        } else {
+            return ((Probe) o).key;
+        }
+    }
+
+    private static int boundOf(Object o) {
+        return o instanceof Probe probe ? probe.bound : 0;
+    }
+
+    private int compare(Object o1, Object o2) {
+        int c = Integer.compare(hashOf(o1), hashOf(o2));
+        if (c != 0) {
+            return c;
+        }
+
+        int b1 = boundOf(o1);
+        int b2 = boundOf(o2);
+        if (b1 == RUN_START || b2 == RUN_START) {
+            return Integer.compare(b1, b2);
+        }
+
+        Object k1 = keyOf(o1);
+        Object k2 = keyOf(o2);
+        Class<?> c1 = k1 != null ? k1.getClass() : null;
+        Class<?> c2 = k2 != null ? k2.getClass() : null;
+        if (c1 != c2) {
+            if (c1 == null) {
+                return -1;
+            }
+            if (c2 == null) {
+                return 1;
+            }
+            c = c1.getName().compareTo(c2.getName());
+            return c != 0 ? c : Integer.compare(System.identityHashCode(c1), System.identityHashCode(c2));
+        }
+
+        if (b1 != 0 || b2 != 0) {
+            return Integer.compare(b1, b2);
+        }
+        if (k1 == k2) {
+            return 0;
+        }
+
+        if (useComparable && k1 instanceof Comparable) {
+            try {
+                return ((Comparable) k1).compareTo(k2);
+            } catch (ClassCastException ignored) {
+            }
+        }
+        return 0;
+    }
+}
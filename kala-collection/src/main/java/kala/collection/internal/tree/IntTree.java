@@ -9,6 +9,7 @@ import kala.collection.base.AbstractIterator;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
+import java.util.function.IntFunction;
 
 // https://github.com/hrldcpr/pcollections/v4.0.2/master/src/main/java/org/pcollections/IntTree.java
 public final class IntTree<V> implements Iterable<V> {
@@ -49,6 +50,75 @@ public final class IntTree<V> implements Iterable<V> {
         this.size = 1 + left.size + right.size;
     }
 
+    /**
+     * Returns a perfectly balanced tree mapping each key {@code 0 <= i < size} to {@code values.apply(i)}.
+     *
+     * <p>This runs in O(size) time, and {@code values} is called in ascending key order.
+     */
+    public static <V> IntTree<V> balanced(final int size, final IntFunction<? extends V> values) {
+        return size > 0 ? balanced(0, size, 0, values) : empty();
+    }
+
+    /**
+     * Returns a perfectly balanced tree mapping each key {@code 0 <= i < to - from} to {@code values[from + i]}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> IntTree<V> balanced(final Object[] values, final int from, final int to) {
+        return balanced(to - from, i -> (V) values[from + i]);
+    }
+
+    // build the keys [from, to), relative to the absolute key parentKey:
+    private static <V> IntTree<V> balanced(
+            final int from, final int to, final long parentKey, final IntFunction<? extends V> values) {
+        if (from >= to) return empty();
+        final int mid = (from + to) >>> 1;
+        // build in key order so that values are requested sequentially:
+        IntTree<V> left = balanced(from, mid, mid, values);
+        V value = values.apply(mid);
+        IntTree<V> right = balanced(mid + 1, to, mid, values);
+        return new IntTree<>(mid - parentKey, value, left, right);
+    }
+
+    /**
+     * Joins two trees whose keys are {@code 0 <= k < left.size()} and {@code 0 <= k < right.size()} respectively.
+     *
+     * <p>The keys of right are shifted by {@code left.size()}.
+     * This runs in O(log(left.size() + right.size())) time.
+     */
+    public static <V> IntTree<V> concat(final IntTree<V> left, final IntTree<V> right) {
+        if (left.size == 0) return right;
+        if (right.size == 0) return left;
+
+        final int last = left.size - 1;
+        return concat(left.minus(last), left.get(last), right);
+    }
+
+    /**
+     * Joins two trees whose keys are {@code 0 <= k < left.size()} and {@code 0 <= k < right.size()} respectively,
+     * with value at key {@code left.size()} between them.
+     *
+     * <p>The keys of right are shifted by {@code left.size() + 1}.
+     * This runs in O(log(left.size() + right.size())) time.
+     */
+    public static <V> IntTree<V> concat(final IntTree<V> left, final V value, final IntTree<V> right) {
+        if (left.size + right.size > 1) {
+            if (left.size >= OMEGA * right.size) {
+                // descend along the right spine of left, whose root keeps its absolute key:
+                IntTree<V> lr = left.right;
+                IntTree<V> joined = concat(lr.withKey(lr.key - 1), value, right);
+                return rebalanced(left.key, left.value, left.left, joined.withKey(joined.key + 1));
+            } else if (right.size >= OMEGA * left.size) {
+                // descend along the left spine of right, whose root moves to the absolute key left.size+1+right.key:
+                IntTree<V> rl = right.left;
+                IntTree<V> joined = concat(left, value, rl.withKey(rl.key + right.key));
+                long newKey = left.size + 1 + right.key;
+                return rebalanced(newKey, right.value, joined.withKey(joined.key - newKey), right.right);
+            }
+        }
+        // otherwise value can become the root:
+        return new IntTree<>(left.size, value, left.withKey(left.key - left.size), right.withKey(right.key + 1));
+    }
+
     private IntTree<V> withKey(final long newKey) {
         if (size == 0 || newKey == key) return this;
         return new IntTree<>(newKey, value, left, right);
@@ -59,6 +129,14 @@ public final class IntTree<V> implements Iterable<V> {
         return new Itr<>(this);
     }
 
+    /**
+     * Returns a spliterator over the values of this tree in key order,
+     * which splits along subtrees and always knows its exact size.
+     */
+    public @NotNull Spliterator<V> spliterator() {
+        return new Spliter<>(this);
+    }
+
     public int size() {
         return size;
     }
@@ -238,6 +316,45 @@ public final class IntTree<V> implements Iterable<V> {
         return new IntTree<>(key, value, left, right);
     }
 
+    private static final class Spliter<V> extends SizedTreeSpliterator<IntTree<V>, V> {
+        Spliter() {
+        }
+
+        Spliter(IntTree<V> root) {
+            super(root, root.size);
+        }
+
+        @Override
+        protected int sizeOf(@NotNull IntTree<V> node) {
+            return node.size;
+        }
+
+        @Override
+        protected @NotNull IntTree<V> leftOf(@NotNull IntTree<V> node) {
+            return node.left;
+        }
+
+        @Override
+        protected @NotNull IntTree<V> rightOf(@NotNull IntTree<V> node) {
+            return node.right;
+        }
+
+        @Override
+        protected V elementOf(@NotNull IntTree<V> node) {
+            return node.value;
+        }
+
+        @Override
+        protected @NotNull SizedTreeSpliterator<IntTree<V>, V> newSpliterator() {
+            return new Spliter<>();
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.IMMUTABLE;
+        }
+    }
+
     private static final class Itr<V> extends AbstractIterator<V> {
         private final List<IntTree<V>> stack = new ArrayList<>(); // path of nonempty nodes
         private int key = 0; // note we use _int_ here since this is a truly absolute key
@@ -13,6 +13,7 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
 import java.util.function.Consumer;
 
 // https://github.com/hrldcpr/pcollections/blob/v4.0.2/src/main/java/org/pcollections/KVTree.java
@@ -223,6 +224,14 @@ public final class KVTree<K, V> implements Map.Entry<K, V>, Serializable {
                && Objects.equals(this.value, that.getValue());
     }
 
+    /**
+     * Returns a spliterator over the keys of this tree in ascending order,
+     * which splits along subtrees and always knows its exact size.
+     */
+    public Spliterator<K> keySpliterator(final Comparator<? super K> comparator) {
+        return new KeySpliterator<>(this, comparator);
+    }
+
     /**
      * @return This node's key, or null if this node is the root of the empty tree.
      */
@@ -550,6 +559,55 @@ public final class KVTree<K, V> implements Map.Entry<K, V>, Serializable {
         return KVTree.join(left, mid.key, mid.value, restOfRight);
     }
 
+    private static final class KeySpliterator<K, V> extends SizedTreeSpliterator<KVTree<K, V>, K> {
+        private final Comparator<? super K> comparator;
+
+        KeySpliterator(final Comparator<? super K> comparator) {
+            this.comparator = comparator;
+        }
+
+        KeySpliterator(final KVTree<K, V> root, final Comparator<? super K> comparator) {
+            super(root, root.size);
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected int sizeOf(final KVTree<K, V> node) {
+            return node.size;
+        }
+
+        @Override
+        protected KVTree<K, V> leftOf(final KVTree<K, V> node) {
+            return node.left;
+        }
+
+        @Override
+        protected KVTree<K, V> rightOf(final KVTree<K, V> node) {
+            return node.right;
+        }
+
+        @Override
+        protected K elementOf(final KVTree<K, V> node) {
+            return node.key;
+        }
+
+        @Override
+        protected SizedTreeSpliterator<KVTree<K, V>, K> newSpliterator() {
+            return new KeySpliterator<>(comparator);
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT
+                   | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.IMMUTABLE;
+        }
+
+        @Override
+        public Comparator<? super K> getComparator() {
+            return comparator;
+        }
+    }
+
     /** An iterator over the mappings of a KVTree. */
     private static class EntryIterator<K, V> implements Iterator<Map.Entry<K, V>> {
         /** whether we're iterating from left to right (vs. right to left) */
@@ -22,7 +22,10 @@ import org.jetbrains.annotations.Nullable;
 import java.io.Serial;
 import java.io.Serializable;
 import java.util.Comparator;
+import java.util.Objects;
+import java.util.Spliterator;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 public abstract class RedBlackTree<A, N extends RedBlackTree.Node<A, N>> implements Serializable {
     @Serial
@@ -386,6 +389,108 @@ public abstract class RedBlackTree<A, N extends RedBlackTree.Node<A, N>> impleme
         return this.comparator;
     }
 
+    /// Returns a spliterator over the nodes of this tree in ascending order, mapped by `mapper`.
+    ///
+    /// The spliterator splits at the root first, then at the children of the split points,
+    /// so it knows its exact size only until it is split for the first time.
+    /// If `characteristics` contains [Spliterator#SORTED], it reports the comparator of this tree.
+    protected final <T> @NotNull Spliterator<T> nodeSpliterator(
+            @NotNull Function<? super N, ? extends T> mapper, int characteristics) {
+        return new NodeSpliterator<>(this, mapper, characteristics, firstNode(), null, 0, size);
+    }
+
+    private static final class NodeSpliterator<A, N extends Node<A, N>, T> implements Spliterator<T> {
+        private final RedBlackTree<A, N> tree;
+        private final Function<? super N, ? extends T> mapper;
+        private final int characteristics;
+
+        private N current;
+        private final N fence;
+
+        /// 0 for the top level spliterator, -1 for a left split and 1 for a right split.
+        private int side;
+        private int est;
+
+        NodeSpliterator(RedBlackTree<A, N> tree, Function<? super N, ? extends T> mapper, int characteristics,
+                        N current, N fence, int side, int est) {
+            this.tree = tree;
+            this.mapper = mapper;
+            this.characteristics = characteristics;
+            this.current = current;
+            this.fence = fence;
+            this.side = side;
+            this.est = est;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            final int d = side;
+            final N e = current;
+            final N f = fence;
+            final N s = (e == null || e == f) ? null
+                    : d == 0 ? tree.root
+                    : d > 0 ? e.right
+                    : f != null ? f.left
+                    : null;
+
+            if (s != null && s != e && s != f && ComparableUtils.compare(e.key, s.key, tree.comparator) < 0) {
+                side = 1;
+                current = s;
+                return new NodeSpliterator<>(tree, mapper, characteristics, e, s, -1, est >>>= 1);
+            }
+            return null;
+        }
+
+        @Override
+        public boolean tryAdvance(@NotNull Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            final N e = current;
+            if (e == null || e == fence) {
+                return false;
+            }
+            current = successor(e);
+            if (est > 0) {
+                est--;
+            }
+            action.accept(mapper.apply(e));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(@NotNull Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            final N f = fence;
+            N e = current;
+            current = f;
+            est = 0;
+            while (e != null && e != f) {
+                N next = successor(e);
+                action.accept(mapper.apply(e));
+                e = next;
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return est;
+        }
+
+        @Override
+        public int characteristics() {
+            return (side == 0 ? Spliterator.SIZED : 0) | characteristics;
+        }
+
+        @Override
+        public Comparator<? super T> getComparator() {
+            if ((characteristics & Spliterator.SORTED) == 0) {
+                throw new IllegalStateException();
+            }
+            @SuppressWarnings("unchecked")
+            Comparator<? super T> comparator = (Comparator<? super T>) tree.comparator;
+            return comparator;
+        }
+    }
+
     protected static class Node<A, N extends Node<A, N>> {
         public boolean color = BLACK;
         public A key;
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kala.collection.internal.tree;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/// A [Spliterator] over a binary tree whose nodes know the size of their subtree.
+///
+/// The remaining elements are kept as a stack of frames, each frame being either a whole subtree or a single node.
+/// Splitting expands the frames on the top of the stack until about half of the remaining elements can be handed
+/// to the new spliterator, so both halves always know their exact size.
+public abstract class SizedTreeSpliterator<N, E> implements Spliterator<E> {
+    private Object[] nodes = new Object[16];
+    private boolean[] whole = new boolean[16];
+    private int depth = 0;
+    private int remaining;
+
+    protected SizedTreeSpliterator() {
+    }
+
+    protected SizedTreeSpliterator(@NotNull N root, int size) {
+        this.remaining = size;
+        push(root, true);
+    }
+
+    protected abstract int sizeOf(@NotNull N node);
+
+    protected abstract @NotNull N leftOf(@NotNull N node);
+
+    protected abstract @NotNull N rightOf(@NotNull N node);
+
+    protected abstract E elementOf(@NotNull N node);
+
+    /// Creates an empty spliterator with the same configuration as this one.
+    protected abstract @NotNull SizedTreeSpliterator<N, E> newSpliterator();
+
+    private void push(N node, boolean isWhole) {
+        if (isWhole && sizeOf(node) == 0) {
+            return;
+        }
+
+        if (depth == nodes.length) {
+            nodes = Arrays.copyOf(nodes, depth * 2);
+            whole = Arrays.copyOf(whole, depth * 2);
+        }
+        nodes[depth] = node;
+        whole[depth] = isWhole;
+        depth++;
+    }
+
+    @SuppressWarnings("unchecked")
+    private N pop() {
+        N node = (N) nodes[--depth];
+        nodes[depth] = null;
+        return node;
+    }
+
+    @SuppressWarnings("unchecked")
+    private N top() {
+        return (N) nodes[depth - 1];
+    }
+
+    /// Replaces the whole subtree on the top of the stack with its left subtree, its root and its right subtree.
+    private void expandTop() {
+        N node = pop();
+        push(rightOf(node), true);
+        push(node, false);
+        push(leftOf(node), true);
+    }
+
+    private void forEachInOrder(N node, Consumer<? super E> action) {
+        while (sizeOf(node) > 0) {
+            forEachInOrder(leftOf(node), action);
+            action.accept(elementOf(node));
+            node = rightOf(node);
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(@NotNull Consumer<? super E> action) {
+        Objects.requireNonNull(action);
+        while (depth > 0) {
+            if (!whole[depth - 1]) {
+                N node = pop();
+                remaining--;
+                action.accept(elementOf(node));
+                return true;
+            }
+            expandTop();
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(@NotNull Consumer<? super E> action) {
+        Objects.requireNonNull(action);
+        while (depth > 0) {
+            boolean isWhole = whole[depth - 1];
+            N node = pop();
+            if (isWhole) {
+                forEachInOrder(node, action);
+            } else {
+                action.accept(elementOf(node));
+            }
+        }
+        remaining = 0;
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+        if (remaining < 2) {
+            return null;
+        }
+
+        final int half = remaining >>> 1;
+        while (whole[depth - 1] && sizeOf(top()) > half) {
+            expandTop();
+        }
+
+        int k = depth;
+        int count = 0;
+        while (k > 0 && count < half) {
+            k--;
+            count += whole[k] ? sizeOf(nodeAt(k)) : 1;
+        }
+        if (k == 0) {
+            // Leave at least one frame to this spliterator
+            count -= whole[0] ? sizeOf(nodeAt(0)) : 1;
+            k = 1;
+        }
+        if (k == depth) {
+            return null;
+        }
+
+        SizedTreeSpliterator<N, E> prefix = newSpliterator();
+        for (int i = k; i < depth; i++) {
+            prefix.push(nodeAt(i), whole[i]);
+            nodes[i] = null;
+        }
+        prefix.remaining = count;
+        this.depth = k;
+        this.remaining -= count;
+        return prefix;
+    }
+
+    @SuppressWarnings("unchecked")
+    private N nodeAt(int index) {
+        return (N) nodes[index];
+    }
+
+    @Override
+    public long estimateSize() {
+        return remaining;
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        return remaining;
+    }
+}
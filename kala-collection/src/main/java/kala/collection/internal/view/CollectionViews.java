@@ -485,11 +485,42 @@ public final class CollectionViews {
         }
     }
 
-    public static final class Mapped<@Covariant E, T> extends AbstractCollectionView<E> {
+    /// A view whose terminal operations run the chain of views ending in it as one loop, see [ViewPipeline].
+    abstract static class Fusible<@Covariant E> extends AbstractCollectionView<E> {
+        @Override
+        public void forEach(@NotNull Consumer<? super E> action) {
+            Objects.requireNonNull(action);
+            ViewPipeline.forEach(this, action);
+        }
 
-        private final @NotNull CollectionLike<T> source;
+        @Override
+        public <U> U foldLeft(U zero, @NotNull BiFunction<? super U, ? super E, ? extends U> op) {
+            Objects.requireNonNull(op);
+            return ViewPipeline.foldLeft(this, zero, op);
+        }
 
-        private final @NotNull Function<? super T, ? extends E> mapper;
+        @Override
+        public int count(@NotNull Predicate<? super E> predicate) {
+            Objects.requireNonNull(predicate);
+            return ViewPipeline.count(this, predicate);
+        }
+
+        @Override
+        public <R, Builder> R collect(@NotNull CollectionFactory<? super E, Builder, ? extends R> factory) {
+            return ViewPipeline.collect(this, factory);
+        }
+
+        @Override
+        public @NotNull ImmutableSeq<E> toSeq() {
+            return ViewPipeline.toSeq(this);
+        }
+    }
+
+    public static final class Mapped<@Covariant E, T> extends Fusible<E> {
+
+        final @NotNull CollectionLike<T> source;
+
+        final @NotNull Function<? super T, ? extends E> mapper;
 
         public Mapped(@NotNull CollectionLike<T> source, @NotNull Function<? super T, ? extends E> mapper) {
             this.source = source;
@@ -566,9 +597,9 @@ public final class CollectionViews {
         }
     }
 
-    public static final class Filter<@Covariant E> extends AbstractCollectionView<E> {
-        private final @NotNull CollectionLike<E> source;
-        private final @NotNull Predicate<? super E> predicate;
+    public static final class Filter<@Covariant E> extends Fusible<E> {
+        final @NotNull CollectionLike<E> source;
+        final @NotNull Predicate<? super E> predicate;
 
         public Filter(@NotNull CollectionLike<E> source, @NotNull Predicate<? super E> predicate) {
             this.source = source;
@@ -19,6 +19,8 @@ import kala.collection.*;
 import kala.collection.base.AbstractIterator;
 import kala.collection.base.GenericArrays;
 import kala.collection.base.Iterators;
+import kala.collection.factory.CollectionFactory;
+import kala.collection.immutable.ImmutableSeq;
 import kala.collection.mutable.MutableArrayList;
 import kala.control.Option;
 import kala.function.IndexedBiConsumer;
@@ -391,6 +393,37 @@ public final class SeqViews {
         }
     }
 
+    /// A view whose terminal operations run the chain of views ending in it as one loop, see [ViewPipeline].
+    abstract static class Fusible<E> extends AbstractSeqView<E> {
+        @Override
+        public void forEach(@NotNull Consumer<? super E> action) {
+            Objects.requireNonNull(action);
+            ViewPipeline.forEach(this, action);
+        }
+
+        @Override
+        public <U> U foldLeft(U zero, @NotNull BiFunction<? super U, ? super E, ? extends U> op) {
+            Objects.requireNonNull(op);
+            return ViewPipeline.foldLeft(this, zero, op);
+        }
+
+        @Override
+        public int count(@NotNull Predicate<? super E> predicate) {
+            Objects.requireNonNull(predicate);
+            return ViewPipeline.count(this, predicate);
+        }
+
+        @Override
+        public <R, Builder> R collect(@NotNull CollectionFactory<? super E, Builder, ? extends R> factory) {
+            return ViewPipeline.collect(this, factory);
+        }
+
+        @Override
+        public @NotNull ImmutableSeq<E> toSeq() {
+            return ViewPipeline.toSeq(this);
+        }
+    }
+
     public static class Slice<E> extends AbstractSeqView<E> {
         protected final @NotNull SeqLike<E> source;
         protected final int beginIndex;
@@ -462,7 +495,7 @@ public final class SeqViews {
         }
     }
 
-    public static class Drop<E> extends AbstractSeqView<E> {
+    public static class Drop<E> extends Fusible<E> {
         protected final @NotNull SeqLike<E> source;
 
         protected final int n;
@@ -581,7 +614,7 @@ public final class SeqViews {
         }
     }
 
-    public static class Take<E> extends AbstractSeqView<E> {
+    public static class Take<E> extends Fusible<E> {
         protected final @NotNull SeqLike<E> source;
 
         protected final @Range(from = 1, to = Integer.MAX_VALUE) int n;
@@ -1076,10 +1109,10 @@ public final class SeqViews {
         }
     }
 
-    public static final class Filter<E> extends AbstractSeqView<E> {
-        private final @NotNull SeqLike<E> source;
+    public static final class Filter<E> extends Fusible<E> {
+        final @NotNull SeqLike<E> source;
 
-        private final @NotNull Predicate<? super E> predicate;
+        final @NotNull Predicate<? super E> predicate;
 
         public Filter(@NotNull SeqLike<E> source, @NotNull Predicate<? super E> predicate) {
             this.source = source;
@@ -1121,9 +1154,9 @@ public final class SeqViews {
         }
     }
 
-    public static class Mapped<E, T> extends AbstractSeqView<E> {
-        private final @NotNull SeqLike<T> source;
-        private final @NotNull Function<? super T, ? extends E> mapper;
+    public static class Mapped<E, T> extends Fusible<E> {
+        final @NotNull SeqLike<T> source;
+        final @NotNull Function<? super T, ? extends E> mapper;
 
         public Mapped(@NotNull SeqLike<T> source, @NotNull Function<? super T, ? extends E> mapper) {
             this.source = source;
@@ -0,0 +1,310 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kala.collection.internal.view;
+
+import kala.collection.CollectionLike;
+import kala.collection.SeqLike;
+import kala.collection.factory.CollectionFactory;
+import kala.collection.immutable.ImmutableSeq;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/// Runs a chain of `map`, `filter`, `take` and `drop` views as a single loop over their source.
+///
+/// The chain is unwrapped when a terminal operation is called on its last view.
+/// If the source is an array slice or a sequence with fast random access, the `take` and `drop` stages
+/// that are only preceded by `map` stages become bounds of an indexed loop.
+/// The remaining stages are linked into a chain of sinks, and elements are pushed through it
+/// without the intermediate iterators.
+@SuppressWarnings({"unchecked", "rawtypes"})
+final class ViewPipeline {
+    private final CollectionLike<?> source;
+
+    private Object[] array;
+    private SeqLike<?> indexed;
+    private int beginIndex;
+    private int endIndex;
+
+    /// The stages of the chain, from the last view to the first one. Folded stages are `null`.
+    private final ArrayList<Object> stages = new ArrayList<>();
+
+    private boolean done = false;
+
+    private ViewPipeline(CollectionLike<?> view) {
+        CollectionLike<?> source = view;
+        while (true) {
+            if (source instanceof SeqViews.Mapped<?, ?> mapped) {
+                stages.add(mapped);
+                source = mapped.source;
+            } else if (source instanceof SeqViews.Filter<?> filter) {
+                stages.add(filter);
+                source = filter.source;
+            } else if (source instanceof SeqViews.Take<?> take) {
+                stages.add(take);
+                source = take.source;
+            } else if (source instanceof SeqViews.Drop<?> drop) {
+                stages.add(drop);
+                source = drop.source;
+            } else if (source instanceof CollectionViews.Mapped<?, ?> mapped) {
+                stages.add(mapped);
+                source = mapped.source;
+            } else if (source instanceof CollectionViews.Filter<?> filter) {
+                stages.add(filter);
+                source = filter.source;
+            } else {
+                break;
+            }
+        }
+
+        if (source instanceof SeqViews.OfArraySlice<?> slice) {
+            this.array = slice.array;
+            this.beginIndex = slice.beginIndex;
+            this.endIndex = slice.endIndex;
+        } else {
+            CollectionLike<?> underlying = source instanceof CollectionViews.Of<?, ?> of ? of.source : source;
+            if (underlying instanceof SeqLike<?> seq && seq.supportsFastRandomAccess()) {
+                this.indexed = seq;
+                this.beginIndex = 0;
+                this.endIndex = seq.size();
+            }
+        }
+        this.source = source;
+
+        if (array != null || indexed != null) {
+            foldRange();
+        }
+    }
+
+    private void foldRange() {
+        for (int i = stages.size() - 1; i >= 0; i--) {
+            Object stage = stages.get(i);
+            if (stage instanceof SeqViews.Take<?> take) {
+                endIndex = beginIndex + Math.min(endIndex - beginIndex, Math.max(take.n, 0));
+                stages.set(i, null);
+            } else if (stage instanceof SeqViews.Drop<?> drop) {
+                beginIndex += Math.min(endIndex - beginIndex, drop.n);
+                stages.set(i, null);
+            } else if (!(stage instanceof SeqViews.Mapped<?, ?> || stage instanceof CollectionViews.Mapped<?, ?>)) {
+                return;
+            }
+        }
+    }
+
+    /// Returns the number of elements the chain produces if it is known without running it, otherwise `-1`.
+    private int exactSize() {
+        if (array == null && indexed == null) {
+            return -1;
+        }
+        for (Object stage : stages) {
+            if (stage != null && !(stage instanceof SeqViews.Mapped<?, ?> || stage instanceof CollectionViews.Mapped<?, ?>)) {
+                return -1;
+            }
+        }
+        return endIndex - beginIndex;
+    }
+
+    private void run(Consumer terminal) {
+        Consumer sink = terminal;
+        for (Object stage : stages) {
+            if (stage == null) {
+                continue;
+            }
+
+            if (stage instanceof SeqViews.Mapped<?, ?> mapped) {
+                sink = new MapSink(mapped.mapper, sink);
+            } else if (stage instanceof CollectionViews.Mapped<?, ?> mapped) {
+                sink = new MapSink(mapped.mapper, sink);
+            } else if (stage instanceof SeqViews.Filter<?> filter) {
+                sink = new FilterSink(filter.predicate, sink);
+            } else if (stage instanceof CollectionViews.Filter<?> filter) {
+                sink = new FilterSink(filter.predicate, sink);
+            } else if (stage instanceof SeqViews.Take<?> take) {
+                if (take.n <= 0) {
+                    return;
+                }
+                sink = new TakeSink(this, take.n, sink);
+            } else {
+                sink = new DropSink(((SeqViews.Drop<?>) stage).n, sink);
+            }
+        }
+
+        if (array != null) {
+            final Object[] array = this.array;
+            final int end = this.endIndex;
+            for (int i = beginIndex; i < end && !done; i++) {
+                sink.accept(array[i]);
+            }
+        } else if (indexed != null) {
+            final SeqLike<?> seq = this.indexed;
+            final int end = this.endIndex;
+            for (int i = beginIndex; i < end && !done; i++) {
+                sink.accept(seq.get(i));
+            }
+        } else {
+            Iterator<?> it = source.iterator();
+            while (!done && it.hasNext()) {
+                sink.accept(it.next());
+            }
+        }
+    }
+
+    //region Terminal Operations
+
+    static <E> void forEach(@NotNull CollectionLike<E> view, @NotNull Consumer<? super E> action) {
+        new ViewPipeline(view).run(action);
+    }
+
+    static <E, U> U foldLeft(@NotNull CollectionLike<E> view, U zero, @NotNull BiFunction<? super U, ? super E, ? extends U> op) {
+        FoldSink<E, U> sink = new FoldSink<>(zero, op);
+        new ViewPipeline(view).run(sink);
+        return sink.result;
+    }
+
+    static <E> int count(@NotNull CollectionLike<E> view, @NotNull Predicate<? super E> predicate) {
+        CountSink<E> sink = new CountSink<>(predicate);
+        new ViewPipeline(view).run(sink);
+        return sink.count;
+    }
+
+    static <E, R, Builder> R collect(@NotNull CollectionLike<E> view, @NotNull CollectionFactory<? super E, Builder, ? extends R> factory) {
+        ViewPipeline pipeline = new ViewPipeline(view);
+        Builder builder = factory.newBuilder();
+        int size = pipeline.exactSize();
+        if (size >= 0) {
+            factory.sizeHint(builder, size);
+        }
+        pipeline.run(value -> factory.addToBuilder(builder, (E) value));
+        return factory.build(builder);
+    }
+
+    static <E> @NotNull ImmutableSeq<E> toSeq(@NotNull CollectionLike<E> view) {
+        return collect(view, ImmutableSeq.<E>factory());
+    }
+
+    //endregion
+
+    //region Sinks
+
+    private static final class MapSink implements Consumer<Object> {
+        private final Function mapper;
+        private final Consumer downstream;
+
+        MapSink(Function mapper, Consumer downstream) {
+            this.mapper = mapper;
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void accept(Object value) {
+            downstream.accept(mapper.apply(value));
+        }
+    }
+
+    private static final class FilterSink implements Consumer<Object> {
+        private final Predicate predicate;
+        private final Consumer downstream;
+
+        FilterSink(Predicate predicate, Consumer downstream) {
+            this.predicate = predicate;
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void accept(Object value) {
+            if (predicate.test(value)) {
+                downstream.accept(value);
+            }
+        }
+    }
+
+    private static final class TakeSink implements Consumer<Object> {
+        private final ViewPipeline pipeline;
+        private final Consumer downstream;
+        private int remaining;
+
+        TakeSink(ViewPipeline pipeline, int n, Consumer downstream) {
+            this.pipeline = pipeline;
+            this.remaining = n;
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void accept(Object value) {
+            downstream.accept(value);
+            if (--remaining == 0) {
+                pipeline.done = true;
+            }
+        }
+    }
+
+    private static final class DropSink implements Consumer<Object> {
+        private final Consumer downstream;
+        private int remaining;
+
+        DropSink(int n, Consumer downstream) {
+            this.remaining = n;
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void accept(Object value) {
+            if (remaining > 0) {
+                remaining--;
+            } else {
+                downstream.accept(value);
+            }
+        }
+    }
+
+    private static final class FoldSink<E, U> implements Consumer<E> {
+        private final BiFunction<? super U, ? super E, ? extends U> op;
+        U result;
+
+        FoldSink(U zero, BiFunction<? super U, ? super E, ? extends U> op) {
+            this.result = zero;
+            this.op = op;
+        }
+
+        @Override
+        public void accept(E value) {
+            result = op.apply(result, value);
+        }
+    }
+
+    private static final class CountSink<E> implements Consumer<E> {
+        private final Predicate<? super E> predicate;
+        int count = 0;
+
+        CountSink(Predicate<? super E> predicate) {
+            this.predicate = predicate;
+        }
+
+        @Override
+        public void accept(E value) {
+            if (predicate.test(value)) {
+                count++;
+            }
+        }
+    }
+
+    //endregion
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kala.collection.mutable;
+
+import kala.annotations.StaticClass;
+import kala.collection.MapLike;
+import kala.collection.base.Sized;
+import kala.collection.factory.CollectionFactory;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/// Opt-in instrumentation of the growth of mutable collections.
+///
+/// When the JVM is started with `-Dkala.collection.metrics=true`,
+/// [MutableArrayList], [MutableSmartArrayList], [MutableArrayDeque], [MutableHashMap], [MutableFlatHashMap] and [MutableHashSet]
+/// record, for every allocation site, how many times their backing storage was grown or rehashed,
+/// how many bytes were copied while doing so, and how their peak and final capacity compare to their size.
+/// Use [#snapshot()] or [#report()] to find the collections worth a `sizeHint`.
+///
+/// The property is read once when this class is initialized.
+/// When it is not set, every hook is guarded by a `static final` flag that the JIT compiler folds away,
+/// so the only remaining cost is one always-`null` field per collection.
+///
+/// Bytes are estimated from the number of copied references,
+/// assuming 4-byte compressed references on 64-bit JVMs with a heap smaller than 32 GiB.
+@StaticClass
+public final class CollectionMetrics {
+    private CollectionMetrics() {
+    }
+
+    /// The system property that enables the instrumentation.
+    public static final String PROPERTY = "kala.collection.metrics";
+
+    private static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+
+    private static final int REFERENCE_SIZE =
+            "32".equals(System.getProperty("sun.arch.data.model")) || Runtime.getRuntime().maxMemory() < (32L << 30)
+                    ? 4
+                    : 8;
+
+    private static final ConcurrentHashMap<String, Site> SITES = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<Object> QUEUE = new ReferenceQueue<>();
+
+    private static final StackWalker WALKER = ENABLED
+            ? StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE)
+            : null;
+
+    /// Returns whether the instrumentation was enabled at startup.
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /// Returns the metrics of all allocation sites recorded so far,
+    /// sorted by the number of bytes copied during growth in descending order.
+    public static @NotNull @Unmodifiable List<SiteMetrics> snapshot() {
+        if (!ENABLED) {
+            return List.of();
+        }
+
+        expungeStaleTrackers();
+        ArrayList<SiteMetrics> res = new ArrayList<>(SITES.size());
+        for (Site site : SITES.values()) {
+            res.add(site.snapshot());
+        }
+        res.sort(Comparator.comparingLong(SiteMetrics::bytesCopied).reversed()
+                .thenComparing(SiteMetrics::growEvents, Comparator.reverseOrder()));
+        return List.copyOf(res);
+    }
+
+    /// Returns the metrics of the given collection class allocated at the given site,
+    /// or `null` if no such collection has been recorded.
+    ///
+    /// @param location the allocation site, in the format of [StackTraceElement#toString()].
+    public static @Nullable SiteMetrics snapshot(@NotNull Class<?> type, @NotNull String location) {
+        if (!ENABLED) {
+            return null;
+        }
+
+        expungeStaleTrackers();
+        Site site = SITES.get(siteKey(type.getName(), location));
+        return site != null ? site.snapshot() : null;
+    }
+
+    /// Returns a human-readable table of [#snapshot()].
+    public static @NotNull String report() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("%-24s %10s %10s %12s %12s %12s %12s  %s%n",
+                "type", "instances", "grows", "copied", "peak cap", "final cap", "wasted", "site"));
+        for (SiteMetrics metrics : snapshot()) {
+            builder.append(String.format("%-24s %10d %10d %12d %12d %12d %12d  %s%n",
+                    metrics.type(), metrics.instances(), metrics.growEvents(), metrics.bytesCopied(),
+                    metrics.peakCapacity(), metrics.finalCapacity(), metrics.wastedCapacity(), metrics.location()));
+        }
+        return builder.toString();
+    }
+
+    //region Hooks
+
+    /// Starts tracking a newly created collection, or returns `null` if the instrumentation is disabled.
+    @ApiStatus.Internal
+    public static @Nullable Tracker track(@NotNull Object owner, int capacity) {
+        if (!ENABLED) {
+            return null;
+        }
+
+        expungeStaleTrackers();
+        String type = owner.getClass().getName();
+        String location = WALKER.walk(frames -> frames
+                .filter(frame -> !isInternalFrame(frame.getDeclaringClass(), owner))
+                .findFirst()
+                .map(frame -> frame.toStackTraceElement().toString())
+                .orElse("<unknown>"));
+
+        Site site = SITES.computeIfAbsent(siteKey(type, location), key -> new Site(owner.getClass().getSimpleName(), location));
+        Tracker tracker = new Tracker(owner, site, capacity);
+        site.instances.increment();
+        site.live.add(tracker);
+        site.updatePeak(capacity);
+        return tracker;
+    }
+
+    /// Records that the backing storage of a tracked collection has been replaced
+    /// by one of `newCapacity` slots, copying `copied` slots from the old storage.
+    @ApiStatus.Internal
+    public static void onResize(@Nullable Tracker tracker, int newCapacity, int copied) {
+        if (ENABLED && tracker != null) {
+            tracker.resize(newCapacity, copied);
+        }
+    }
+
+    //endregion
+
+    private static String siteKey(String type, String location) {
+        return type + '@' + location;
+    }
+
+    private static boolean isInternalFrame(Class<?> declaringClass, Object owner) {
+        if (declaringClass == CollectionMetrics.class) {
+            return true;
+        }
+        Class<?> host = declaringClass.getNestHost();
+        return host.isAssignableFrom(owner.getClass())
+                || CollectionFactory.class.isAssignableFrom(host)
+                || host.getPackageName().equals("kala.collection.factory");
+    }
+
+    private static void expungeStaleTrackers() {
+        Reference<?> ref;
+        while ((ref = QUEUE.poll()) != null) {
+            Tracker tracker = (Tracker) ref;
+            Site site = tracker.site;
+            if (site.live.remove(tracker)) {
+                site.retiredCapacity.add(tracker.capacity);
+            }
+        }
+    }
+
+    /// The metrics of the collections of one type allocated at one site.
+    ///
+    /// @param type           the simple name of the collection class.
+    /// @param location       the allocation site, in the format of [StackTraceElement#toString()].
+    /// @param instances      the number of collections created at this site.
+    /// @param liveInstances  the number of those collections that are still reachable.
+    /// @param growEvents     the number of times the backing storage was grown or rehashed.
+    /// @param bytesCopied    the estimated number of bytes copied while growing.
+    /// @param peakCapacity   the largest capacity any of the collections has reached.
+    /// @param finalCapacity  the sum of the current capacities of the live collections
+    ///                       and the last capacities of the collected ones.
+    /// @param liveCapacity   the sum of the current capacities of the live collections.
+    /// @param liveSize       the sum of the current sizes of the live collections.
+    public record SiteMetrics(
+            @NotNull String type, @NotNull String location,
+            long instances, long liveInstances,
+            long growEvents, long bytesCopied,
+            int peakCapacity, long finalCapacity,
+            long liveCapacity, long liveSize) {
+
+        /// Returns the number of slots allocated but not used by the live collections.
+        public long wastedCapacity() {
+            return liveCapacity - liveSize;
+        }
+    }
+
+    /// The per-collection state of the instrumentation.
+    @ApiStatus.Internal
+    public static final class Tracker extends WeakReference<Object> {
+        private final Site site;
+        private volatile int capacity;
+
+        private Tracker(Object owner, Site site, int capacity) {
+            super(owner, QUEUE);
+            this.site = site;
+            this.capacity = capacity;
+        }
+
+        private void resize(int newCapacity, int copied) {
+            if (newCapacity > capacity) {
+                site.growEvents.increment();
+                site.updatePeak(newCapacity);
+            }
+            if (copied > 0) {
+                site.slotsCopied.add(copied);
+            }
+            capacity = newCapacity;
+        }
+    }
+
+    private static final class Site {
+        final String type;
+        final String location;
+
+        final LongAdder instances = new LongAdder();
+        final LongAdder growEvents = new LongAdder();
+        final LongAdder slotsCopied = new LongAdder();
+        final LongAdder retiredCapacity = new LongAdder();
+        final AtomicInteger peakCapacity = new AtomicInteger();
+        final Set<Tracker> live = ConcurrentHashMap.newKeySet();
+
+        Site(String type, String location) {
+            this.type = type;
+            this.location = location;
+        }
+
+        void updatePeak(int capacity) {
+            peakCapacity.accumulateAndGet(capacity, Math::max);
+        }
+
+        SiteMetrics snapshot() {
+            long liveInstances = 0;
+            long liveCapacity = 0;
+            long liveSize = 0;
+            long clearedCapacity = 0;
+            for (Tracker tracker : live) {
+                Object owner = tracker.get();
+                if (owner == null) {
+                    // collected, but not yet expunged
+                    clearedCapacity += tracker.capacity;
+                    continue;
+                }
+                liveInstances++;
+                liveCapacity += tracker.capacity;
+                if (owner instanceof Sized sized) {
+                    liveSize += sized.size();
+                } else if (owner instanceof MapLike<?, ?> map) {
+                    liveSize += map.size();
+                }
+            }
+
+            return new SiteMetrics(
+                    type, location,
+                    instances.sum(), liveInstances,
+                    growEvents.sum(), slotsCopied.sum() * REFERENCE_SIZE,
+                    peakCapacity.get(), liveCapacity + clearedCapacity + retiredCapacity.sum(),
+                    liveCapacity, liveSize);
+        }
+    }
+}
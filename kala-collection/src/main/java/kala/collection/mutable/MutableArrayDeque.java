@@ -49,14 +49,18 @@ public final class MutableArrayDeque<E> extends AbstractMutableList<E> implement
     int begin = -1;
     int end = 0;
 
+    private transient CollectionMetrics.Tracker metrics;
+
     private MutableArrayDeque(Object[] elements, int begin, int end) {
         this.elements = elements;
         this.begin = begin;
         this.end = end;
+        this.metrics = CollectionMetrics.track(this, elements.length);
     }
 
     public MutableArrayDeque() {
         this.elements = ObjectArrays.EMPTY;
+        this.metrics = CollectionMetrics.track(this, 0);
     }
 
     public MutableArrayDeque(int initialCapacity) {
@@ -67,6 +71,7 @@ public final class MutableArrayDeque<E> extends AbstractMutableList<E> implement
         this.elements = initialCapacity == 0
                 ? ObjectArrays.EMPTY
                 : new Object[initialCapacity];
+        this.metrics = CollectionMetrics.track(this, initialCapacity);
     }
 
     //region Internal
@@ -116,6 +121,7 @@ public final class MutableArrayDeque<E> extends AbstractMutableList<E> implement
             end = size;
         }
         this.elements = newElements;
+        CollectionMetrics.onResize(metrics, newCapacity, size);
     }
 
     private int newCapacity(int oldCapacity, int minCapacity) {
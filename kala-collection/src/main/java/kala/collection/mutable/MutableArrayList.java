@@ -52,6 +52,8 @@ public final class MutableArrayList<E> extends AbstractMutableList<E> implements
     Object @NotNull [] elements;
     int size;
 
+    private transient CollectionMetrics.Tracker metrics;
+
     //endregion
 
     //region Constructors
@@ -59,6 +61,7 @@ public final class MutableArrayList<E> extends AbstractMutableList<E> implements
     private MutableArrayList(Object @NotNull [] elements, int size) {
         this.elements = elements;
         this.size = size;
+        this.metrics = CollectionMetrics.track(this, elements.length);
     }
 
     public MutableArrayList() {
@@ -72,6 +75,7 @@ public final class MutableArrayList<E> extends AbstractMutableList<E> implements
 
         this.elements = initialCapacity == 0 ? ObjectArrays.EMPTY : new Object[initialCapacity];
         this.size = 0;
+        this.metrics = CollectionMetrics.track(this, initialCapacity);
     }
 
     //endregion
@@ -245,11 +249,14 @@ public final class MutableArrayList<E> extends AbstractMutableList<E> implements
 
     private Object[] growArray(int minCapacity) {
         int oldCapacity = elements.length;
+        int newCapacity;
         if (elements == DEFAULT_EMPTY_ARRAY && oldCapacity == 0) {
-            return new Object[Math.max(DEFAULT_CAPACITY, minCapacity)];
+            newCapacity = Math.max(DEFAULT_CAPACITY, minCapacity);
+        } else {
+            newCapacity = Math.max(Math.max(oldCapacity, minCapacity), oldCapacity + (oldCapacity >> 1));
         }
-
-        int newCapacity = Math.max(Math.max(oldCapacity, minCapacity), oldCapacity + (oldCapacity >> 1));
+        // every caller copies the current elements into the new array
+        CollectionMetrics.onResize(metrics, newCapacity, size);
         return new Object[newCapacity];
     }
 
@@ -525,6 +532,7 @@ public final class MutableArrayList<E> extends AbstractMutableList<E> implements
     public void trimToSize() {
         if (size < elements.length) {
             elements = size == 0 ? DEFAULT_EMPTY_ARRAY : Arrays.copyOf(elements, size);
+            CollectionMetrics.onResize(metrics, size, 0);
         }
     }
 
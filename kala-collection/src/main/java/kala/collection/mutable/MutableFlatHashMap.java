@@ -0,0 +1,826 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kala.collection.mutable;
+
+import kala.collection.MapLike;
+import kala.collection.base.AbstractMapIterator;
+import kala.collection.base.MapIterator;
+import kala.collection.factory.MapBuilder;
+import kala.collection.factory.MapFactory;
+import kala.control.Option;
+import kala.function.Hasher;
+import kala.tuple.Tuple2;
+import org.jetbrains.annotations.Debug;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.Serial;
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/// A hash map based on open addressing in the style of Swiss tables.
+///
+/// Keys and values are stored in two parallel arrays, so unlike [MutableHashMap],
+/// no node object is allocated per entry.
+/// Every slot has a control byte, which marks the slot as empty or deleted,
+/// or holds 7 bits of the hash of its key.
+/// Slots are probed in aligned groups of eight: the control bytes of a group are loaded as one `long`
+/// and compared with the hash of the key using word-wide bit operations,
+/// so keys are only compared for the few slots whose control byte matches.
+///
+/// Like [MutableHashMap], this map hashes and compares keys with a [Hasher], and permits `null` keys and values.
+/// The iteration order is unspecified and may change when the map is resized.
+@SuppressWarnings("unchecked")
+@Debug.Renderer(hasChildren = "isNotEmpty()", childrenArray = "toArray()")
+public final class MutableFlatHashMap<K, V> extends AbstractMutableMap<K, V> implements Cloneable, Serializable {
+    @Serial
+    private static final long serialVersionUID = 0L;
+
+    private static final Factory<?, ?> FACTORY = new Factory<>(defaultHasher());
+
+    public static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private static final int GROUP_WIDTH = 8;
+
+    private static final byte EMPTY = (byte) 0b1000_0000;
+    private static final byte DELETED = (byte) 0b1111_1110;
+
+    private static final long LSBS = 0x0101_0101_0101_0101L;
+    private static final long MSBS = 0x8080_8080_8080_8080L;
+
+    private static final VarHandle GROUP = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private transient Hasher<? super K> hasher;
+
+    private transient byte[] ctrl;
+    private transient Object[] keys;
+    private transient Object[] values;
+
+    private transient int size;
+
+    /// The number of empty slots that can still be filled before the table must be rehashed.
+    private transient int growthLeft;
+
+    private transient CollectionMetrics.Tracker metrics;
+
+    //region Static Factories
+
+    public static <K> @NotNull Hasher<K> defaultHasher() {
+        return Hasher.optimizedHasher();
+    }
+
+    public static <K, V> @NotNull MapFactory<K, V, ?, MutableFlatHashMap<K, V>> factory() {
+        return (Factory<K, V>) FACTORY;
+    }
+
+    public static <K, V> @NotNull MapFactory<K, V, ?, MutableFlatHashMap<K, V>> factory(@NotNull Hasher<? super K> hasher) {
+        return hasher == defaultHasher() ? factory() : new Factory<>(hasher);
+    }
+
+    public static <K, V> @NotNull MapBuilder<K, V, MutableFlatHashMap<K, V>> newMapBuilder() {
+        return MutableFlatHashMap.<K, V>factory().newMapBuilder();
+    }
+
+    public static <K, V> @NotNull MapBuilder<K, V, MutableFlatHashMap<K, V>> newMapBuilder(@NotNull Hasher<? super K> hasher) {
+        return MutableFlatHashMap.<K, V>factory(hasher).newMapBuilder();
+    }
+
+    public static <K, V> @NotNull MutableFlatHashMap<K, V> create() {
+        return new MutableFlatHashMap<>();
+    }
+
+    public static <K, V> @NotNull MutableFlatHashMap<K, V> create(int initialCapacity) {
+        return new MutableFlatHashMap<>(initialCapacity);
+    }
+
+    public static <K, V> @NotNull MutableFlatHashMap<K, V> of() {
+        return new MutableFlatHashMap<>();
+    }
+
+    public static <K, V> @NotNull MutableFlatHashMap<K, V> of(K k1, V v1) {
+        MutableFlatHashMap<K, V> m = new MutableFlatHashMap<>();
+        m.set(k1, v1);
+        return m;
+    }
+
+    public static <K, V> @NotNull MutableFlatHashMap<K, V> of(
+            K k1, V v1,
+            K k2, V v2
+    ) {
+        MutableFlatHashMap<K, V> m = new MutableFlatHashMap<>();
+        m.set(k1, v1);
+        m.set(k2, v2);
+        return m;
+    }
+
+    public static <K, V> @NotNull MutableFlatHashMap<K, V> of(
+            K k1, V v1,
+            K k2, V v2,
+            K k3, V v3
+    ) {
+        MutableFlatHashMap<K, V> m = new MutableFlatHashMap<>();
+        m.set(k1, v1);
+        m.set(k2, v2);
+        m.set(k3, v3);
+        return m;
+    }
+
+    public static <K, V> @NotNull MutableFlatHashMap<K, V> of(
+            K k1, V v1,
+            K k2, V v2,
+            K k3, V v3,
+            K k4, V v4
+    ) {
+        MutableFlatHashMap<K, V> m = new MutableFlatHashMap<>();
+        m.set(k1, v1);
+        m.set(k2, v2);
+        m.set(k3, v3);
+        m.set(k4, v4);
+        return m;
+    }
+
+    public static <K, V> @NotNull MutableFlatHashMap<K, V> of(
+            K k1, V v1,
+            K k2, V v2,
+            K k3, V v3,
+            K k4, V v4,
+            K k5, V v5
+    ) {
+        MutableFlatHashMap<K, V> m = new MutableFlatHashMap<>();
+        m.set(k1, v1);
+        m.set(k2, v2);
+        m.set(k3, v3);
+        m.set(k4, v4);
+        m.set(k5, v5);
+        return m;
+    }
+
+    public static <K, V> @NotNull MutableFlatHashMap<K, V> of(Object... values) {
+        if (values.length % 2 != 0) {
+            throw new IllegalArgumentException();
+        }
+
+        MutableFlatHashMap<K, V> res = new MutableFlatHashMap<>(values.length / 2);
+        for (int i = 0; i < values.length; i += 2) {
+            res.set((K) values[i], (V) values[i + 1]);
+        }
+        return res;
+    }
+
+    public static <K, V> @NotNull MutableFlatHashMap<K, V> ofEntries() {
+        return new MutableFlatHashMap<>();
+    }
+
+    public static <K, V> @NotNull MutableFlatHashMap<K, V> ofEntries(
+            @NotNull Tuple2<? extends K, ? extends V> entry1
+    ) {
+        MutableFlatHashMap<K, V> res = new MutableFlatHashMap<>();
+        res.set(entry1);
+        return res;
+    }
+
+    public static <K, V> @NotNull MutableFlatHashMap<K, V> ofEntries(
+            @NotNull Tuple2<? extends K, ? extends V> entry1,
+            @NotNull Tuple2<? extends K, ? extends V> entry2
+    ) {
+        MutableFlatHashMap<K, V> res = new MutableFlatHashMap<>();
+        res.set(entry1);
+        res.set(entry2);
+        return res;
+    }
+
+    public static <K, V> @NotNull MutableFlatHashMap<K, V> ofEntries(
+            @NotNull Tuple2<? extends K, ? extends V> entry1,
+            @NotNull Tuple2<? extends K, ? extends V> entry2,
+            @NotNull Tuple2<? extends K, ? extends V> entry3
+    ) {
+        MutableFlatHashMap<K, V> res = new MutableFlatHashMap<>();
+        res.set(entry1);
+        res.set(entry2);
+        res.set(entry3);
+        return res;
+    }
+
+    public static <K, V> @NotNull MutableFlatHashMap<K, V> ofEntries(
+            @NotNull Tuple2<? extends K, ? extends V> entry1,
+            @NotNull Tuple2<? extends K, ? extends V> entry2,
+            @NotNull Tuple2<? extends K, ? extends V> entry3,
+            @NotNull Tuple2<? extends K, ? extends V> entry4
+    ) {
+        MutableFlatHashMap<K, V> res = new MutableFlatHashMap<>();
+        res.set(entry1);
+        res.set(entry2);
+        res.set(entry3);
+        res.set(entry4);
+        return res;
+    }
+
+    public static <K, V> @NotNull MutableFlatHashMap<K, V> ofEntries(
+            @NotNull Tuple2<? extends K, ? extends V> entry1,
+            @NotNull Tuple2<? extends K, ? extends V> entry2,
+            @NotNull Tuple2<? extends K, ? extends V> entry3,
+            @NotNull Tuple2<? extends K, ? extends V> entry4,
+            @NotNull Tuple2<? extends K, ? extends V> entry5
+    ) {
+        MutableFlatHashMap<K, V> res = new MutableFlatHashMap<>();
+        res.set(entry1);
+        res.set(entry2);
+        res.set(entry3);
+        res.set(entry4);
+        res.set(entry5);
+        return res;
+    }
+
+    @SafeVarargs
+    public static <K, V> @NotNull MutableFlatHashMap<K, V> ofEntries(Tuple2<? extends K, ? extends V> @NotNull ... entries) {
+        MutableFlatHashMap<K, V> res = new MutableFlatHashMap<>(entries.length);
+        for (Tuple2<? extends K, ? extends V> entry : entries) {
+            res.set(entry);
+        }
+        return res;
+    }
+
+    public static <K, V> @NotNull MutableFlatHashMap<K, V> from(java.util.@NotNull Map<? extends K, ? extends V> values) {
+        MutableFlatHashMap<K, V> m = new MutableFlatHashMap<>(values.size());
+        m.putAll(values);
+        return m;
+    }
+
+    public static <K, V> @NotNull MutableFlatHashMap<K, V> from(@NotNull MapLike<? extends K, ? extends V> values) {
+        MutableFlatHashMap<K, V> m = new MutableFlatHashMap<>();
+        m.putAll(values);
+        return m;
+    }
+
+    public static <K, V> @NotNull MutableFlatHashMap<K, V> from(@NotNull Iterable<? extends java.util.Map.Entry<? extends K, ? extends V>> values) {
+        MutableFlatHashMap<K, V> m = new MutableFlatHashMap<>();
+        for (java.util.Map.Entry<? extends K, ? extends V> value : values) {
+            m.set(value.getKey(), value.getValue());
+        }
+        return m;
+    }
+
+    //endregion
+
+    public MutableFlatHashMap() {
+        this(defaultHasher(), DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public MutableFlatHashMap(int initialCapacity) {
+        this(defaultHasher(), initialCapacity);
+    }
+
+    public MutableFlatHashMap(@NotNull Hasher<? super K> hasher) {
+        this(hasher, DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public MutableFlatHashMap(@NotNull Hasher<? super K> hasher, int initialCapacity) {
+        Objects.requireNonNull(hasher);
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+        }
+        this.hasher = hasher;
+        allocate(tableSizeFor(initialCapacity));
+        this.metrics = CollectionMetrics.track(this, ctrl.length);
+    }
+
+    /**
+     * @see #clone()
+     */
+    private MutableFlatHashMap(@NotNull MutableFlatHashMap<K, V> old) {
+        this.hasher = old.hasher;
+        this.ctrl = old.ctrl.clone();
+        this.keys = old.keys.clone();
+        this.values = old.values.clone();
+        this.size = old.size;
+        this.growthLeft = old.growthLeft;
+        this.metrics = CollectionMetrics.track(this, ctrl.length);
+    }
+
+    //region Hash Table Helpers
+
+    /// Returns the smallest table size that can hold `expectedSize` entries without rehashing.
+    private static int tableSizeFor(int expectedSize) {
+        final long n = Math.max(GROUP_WIDTH, ((long) expectedSize * GROUP_WIDTH + GROUP_WIDTH - 2) / (GROUP_WIDTH - 1));
+        return n >= MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY : Integer.highestOneBit((int) n - 1) << 1;
+    }
+
+    /// The maximum load factor is 7/8.
+    private static int maxLoad(int capacity) {
+        return capacity - (capacity >>> 3);
+    }
+
+    private static long group(byte[] ctrl, int pos) {
+        return (long) GROUP.get(ctrl, pos);
+    }
+
+    /// Returns a mask with the high bit set in every byte of `group` that equals `h2`.
+    ///
+    /// The mask may have false positives in full slots next to a matching slot,
+    /// but never in empty or deleted slots, whose high bit is set.
+    private static long matchH2(long group, int h2) {
+        final long x = group ^ (LSBS * h2);
+        return (x - LSBS) & ~x & MSBS;
+    }
+
+    private static long matchEmpty(long group) {
+        return group & ~(group << 6) & MSBS;
+    }
+
+    private static long matchEmptyOrDeleted(long group) {
+        return group & MSBS;
+    }
+
+    private static long matchFull(long group) {
+        return ~group & MSBS;
+    }
+
+    private static int lowestByte(long mask) {
+        return Long.numberOfTrailingZeros(mask) >>> 3;
+    }
+
+    private int hash(Object key) {
+        final int h = hasher.hash((K) key) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /// Returns the first slot of the probe sequence of `hash`. The low 7 bits of the hash are kept for the control byte.
+    private static int probeStart(int hash, int mask) {
+        return (hash >>> 7 << 3) & mask;
+    }
+
+    private void allocate(int capacity) {
+        final byte[] ctrl = new byte[capacity];
+        Arrays.fill(ctrl, EMPTY);
+        this.ctrl = ctrl;
+        this.keys = new Object[capacity];
+        this.values = new Object[capacity];
+        this.growthLeft = maxLoad(capacity) - size;
+    }
+
+    /// Returns the slot of the key, or `-1` if the key is not present.
+    private int find(Object key, int hash) {
+        final byte[] ctrl = this.ctrl;
+        final Object[] keys = this.keys;
+        final int mask = ctrl.length - 1;
+        final int h2 = hash & 0x7f;
+
+        int pos = probeStart(hash, mask);
+        int step = 0;
+        while (true) {
+            final long group = group(ctrl, pos);
+            for (long m = matchH2(group, h2); m != 0; m &= m - 1) {
+                final int idx = pos + lowestByte(m);
+                if (hasher.equals((K) key, (K) keys[idx])) {
+                    return idx;
+                }
+            }
+            if (matchEmpty(group) != 0) {
+                return -1;
+            }
+            step += GROUP_WIDTH;
+            pos = (pos + step) & mask;
+        }
+    }
+
+    private int find(Object key) {
+        return find(key, hash(key));
+    }
+
+    /// Returns the first empty or deleted slot of the probe sequence of `hash`.
+    private int findInsertSlot(int hash) {
+        final byte[] ctrl = this.ctrl;
+        final int mask = ctrl.length - 1;
+
+        int pos = probeStart(hash, mask);
+        int step = 0;
+        while (true) {
+            final long m = matchEmptyOrDeleted(group(ctrl, pos));
+            if (m != 0) {
+                return pos + lowestByte(m);
+            }
+            step += GROUP_WIDTH;
+            pos = (pos + step) & mask;
+        }
+    }
+
+    /// Inserts a key that is known to be absent.
+    private void insert(K key, V value, int hash) {
+        int slot = findInsertSlot(hash);
+        if (growthLeft == 0 && ctrl[slot] == EMPTY) {
+            rehashForInsert();
+            slot = findInsertSlot(hash);
+        }
+        if (ctrl[slot] == EMPTY) {
+            growthLeft--;
+        }
+        ctrl[slot] = (byte) (hash & 0x7f);
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+    }
+
+    private void rehashForInsert() {
+        final int capacity = ctrl.length;
+        if (size < maxLoad(capacity) / 2) {
+            // Mostly deleted slots, reclaim them without growing
+            rehash(capacity);
+        } else if (capacity < MAXIMUM_CAPACITY) {
+            rehash(capacity << 1);
+        } else {
+            throw new IllegalStateException("The new HashMap table size exceeds maximum");
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        final byte[] oldCtrl = this.ctrl;
+        final Object[] oldKeys = this.keys;
+        final Object[] oldValues = this.values;
+
+        allocate(newCapacity);
+        CollectionMetrics.onResize(metrics, newCapacity, size);
+
+        final byte[] ctrl = this.ctrl;
+        final Object[] keys = this.keys;
+        final Object[] values = this.values;
+        for (int pos = 0; pos < oldCtrl.length; pos += GROUP_WIDTH) {
+            for (long m = matchFull(group(oldCtrl, pos)); m != 0; m &= m - 1) {
+                final int i = pos + lowestByte(m);
+                final Object key = oldKeys[i];
+                final int hash = hash(key);
+                final int slot = findInsertSlot(hash);
+                ctrl[slot] = (byte) (hash & 0x7f);
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void removeAt(int idx) {
+        // A lookup stops at the first group that contains an empty slot.
+        // If the group of this slot already has one, no probe sequence continues past it,
+        // so the slot can be freed; otherwise a tombstone keeps later entries reachable.
+        if (matchEmpty(group(ctrl, idx & -GROUP_WIDTH)) != 0) {
+            ctrl[idx] = EMPTY;
+            growthLeft++;
+        } else {
+            ctrl[idx] = DELETED;
+        }
+        keys[idx] = null;
+        values[idx] = null;
+        size--;
+    }
+
+    //endregion
+
+    /// Returns the hasher used by this map to hash and compare keys.
+    public @NotNull Hasher<? super K> hasher() {
+        return hasher;
+    }
+
+    /// Grows the table so that at least `size` entries fit without rehashing.
+    public void sizeHint(int size) {
+        final int target = tableSizeFor(size);
+        if (target > ctrl.length) {
+            rehash(target);
+        }
+    }
+
+    @Override
+    public @NotNull String className() {
+        return "MutableFlatHashMap";
+    }
+
+    @Override
+    public @NotNull <NK, NV> MapFactory<NK, NV, ?, MutableFlatHashMap<NK, NV>> mapFactory() {
+        return MutableFlatHashMap.factory();
+    }
+
+    @Override
+    public @NotNull MapIterator<K, V> iterator() {
+        return new Itr<>(ctrl, keys, values);
+    }
+
+    @Override
+    public @NotNull MutableMapEditor<K, V, MutableFlatHashMap<K, V>> edit() {
+        return new MutableMapEditor<>(this);
+    }
+
+    @Override
+    @SuppressWarnings("MethodDoesntCallSuperMethod")
+    public @NotNull MutableFlatHashMap<K, V> clone() {
+        return new MutableFlatHashMap<>(this);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int knownSize() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    //region Map Operations
+
+    @Override
+    public V get(K key) {
+        final int idx = find(key);
+        if (idx < 0) {
+            throw new NoSuchElementException();
+        }
+        return (V) values[idx];
+    }
+
+    @Override
+    public @Nullable V getOrNull(K key) {
+        final int idx = find(key);
+        return idx < 0 ? null : (V) values[idx];
+    }
+
+    @Override
+    public @NotNull Option<V> getOption(K key) {
+        final int idx = find(key);
+        return idx < 0 ? Option.none() : Option.some((V) values[idx]);
+    }
+
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        final int idx = find(key);
+        return idx < 0 ? defaultValue : (V) values[idx];
+    }
+
+    @Override
+    public V getOrElse(K key, @NotNull Supplier<? extends V> supplier) {
+        final int idx = find(key);
+        return idx < 0 ? supplier.get() : (V) values[idx];
+    }
+
+    @Override
+    public V getOrPut(K key, @NotNull Supplier<? extends V> supplier) {
+        final int idx = find(key);
+        if (idx < 0) {
+            // The supplier may modify this map, so look up the slot again
+            V value = supplier.get();
+            set(key, value);
+            return value;
+        }
+        return (V) values[idx];
+    }
+
+    @Override
+    public void set(K key, V value) {
+        final int hash = hash(key);
+        final int idx = find(key, hash);
+        if (idx >= 0) {
+            values[idx] = value;
+        } else {
+            insert(key, value, hash);
+        }
+    }
+
+    @Override
+    public @NotNull Option<V> put(K key, V value) {
+        final int hash = hash(key);
+        final int idx = find(key, hash);
+        if (idx >= 0) {
+            final V oldValue = (V) values[idx];
+            values[idx] = value;
+            return Option.some(oldValue);
+        } else {
+            insert(key, value, hash);
+            return Option.none();
+        }
+    }
+
+    @Override
+    public @NotNull Option<V> putIfAbsent(K key, V value) {
+        final int hash = hash(key);
+        final int idx = find(key, hash);
+        if (idx >= 0) {
+            return Option.some((V) values[idx]);
+        } else {
+            insert(key, value, hash);
+            return Option.none();
+        }
+    }
+
+    @Override
+    public void putAll(@NotNull MapLike<? extends K, ? extends V> m) {
+        Objects.requireNonNull(m);
+
+        if (m == this) {
+            return;
+        }
+        final int ks = m.knownSize();
+        if (ks > 0) {
+            sizeHint(size + ks);
+        }
+        m.forEach(this::set);
+    }
+
+    @Override
+    public @NotNull Option<V> remove(K key) {
+        final int idx = find(key);
+        if (idx < 0) {
+            return Option.none();
+        }
+        final V oldValue = (V) values[idx];
+        removeAt(idx);
+        return Option.some(oldValue);
+    }
+
+    @Override
+    public @NotNull Option<V> replace(K key, V value) {
+        final int idx = find(key);
+        if (idx < 0) {
+            return Option.none();
+        }
+        final V oldValue = (V) values[idx];
+        values[idx] = value;
+        return Option.some(oldValue);
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        final int idx = find(key);
+        if (idx < 0 || !Objects.equals(values[idx], oldValue)) {
+            return false;
+        }
+        values[idx] = newValue;
+        return true;
+    }
+
+    @Override
+    public void replaceAll(@NotNull BiFunction<? super K, ? super V, ? extends V> function) {
+        final byte[] ctrl = this.ctrl;
+        final Object[] keys = this.keys;
+        final Object[] values = this.values;
+        for (int pos = 0; pos < ctrl.length; pos += GROUP_WIDTH) {
+            for (long m = matchFull(group(ctrl, pos)); m != 0; m &= m - 1) {
+                final int i = pos + lowestByte(m);
+                values[i] = function.apply((K) keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(ctrl, EMPTY);
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+        size = 0;
+        growthLeft = maxLoad(ctrl.length);
+    }
+
+    //endregion
+
+    @Override
+    public boolean contains(K key, Object value) {
+        final int idx = find(key);
+        return idx >= 0 && Objects.equals(values[idx], value);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return find(key) >= 0;
+    }
+
+    @Override
+    public void forEach(@NotNull BiConsumer<? super K, ? super V> consumer) {
+        final byte[] ctrl = this.ctrl;
+        final Object[] keys = this.keys;
+        final Object[] values = this.values;
+        for (int pos = 0; pos < ctrl.length; pos += GROUP_WIDTH) {
+            for (long m = matchFull(group(ctrl, pos)); m != 0; m &= m - 1) {
+                final int i = pos + lowestByte(m);
+                consumer.accept((K) keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    @Serial
+    private void readObject(java.io.ObjectInputStream in) throws IOException, ClassNotFoundException {
+        final int size = in.readInt();
+        final Hasher<K> hasher = (Hasher<K>) in.readObject();
+
+        if (size < 0) {
+            throw new InvalidObjectException("Illegal size: " + size);
+        }
+
+        Objects.requireNonNull(hasher);
+
+        this.hasher = hasher;
+        this.size = 0;
+        allocate(tableSizeFor(size));
+
+        for (int i = 0; i < size; i++) {
+            Object key = in.readObject();
+            Object value = in.readObject();
+
+            this.set((K) key, (V) value);
+        }
+    }
+
+    @Serial
+    private void writeObject(java.io.ObjectOutputStream out) throws IOException {
+        out.writeInt(size);
+        out.writeObject(hasher);
+        this.forEachUnchecked((k, v) -> {
+            out.writeObject(k);
+            out.writeObject(v);
+        });
+    }
+
+    private static final class Itr<K, V> extends AbstractMapIterator<K, V> {
+        private final byte[] ctrl;
+        private final Object[] keys;
+        private final Object[] values;
+
+        private int i = 0;
+        private V value;
+
+        Itr(byte[] ctrl, Object[] keys, Object[] values) {
+            this.ctrl = ctrl;
+            this.keys = keys;
+            this.values = values;
+        }
+
+        @Override
+        public boolean hasNext() {
+            final byte[] ctrl = this.ctrl;
+            while (i < ctrl.length) {
+                if (ctrl[i] >= 0) {
+                    return true;
+                }
+                i++;
+            }
+            return false;
+        }
+
+        @Override
+        public K nextKey() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final K key = (K) keys[i];
+            this.value = (V) values[i];
+            i++;
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+    }
+
+    private static final class Factory<K, V> extends AbstractMutableMapFactory<K, V, MutableFlatHashMap<K, V>> {
+        private final @NotNull Hasher<? super K> hasher;
+
+        Factory(@NotNull Hasher<? super K> hasher) {
+            this.hasher = hasher;
+        }
+
+        @Override
+        public MutableFlatHashMap<K, V> newBuilder() {
+            return new MutableFlatHashMap<>(hasher);
+        }
+
+        @Override
+        public void sizeHint(@NotNull MutableFlatHashMap<K, V> m, int size) {
+            m.sizeHint(size);
+        }
+    }
+}
@@ -307,6 +307,7 @@ public final class MutableHashMap<K, V> extends HashBase<K, MutableHashMap.Node<
         final Node<K, V>[] oldTable = this.table;
         int oldLen = oldTable.length;
         this.threshold = newThreshold(newLen);
+        CollectionMetrics.onResize(metrics, newLen, isEmpty() ? 0 : oldLen);
         if (contentSize == 0) {
             this.table = createNodeArray(newLen);
         } else {
@@ -356,6 +357,7 @@ public final class MutableHashMap<K, V> extends HashBase<K, MutableHashMap.Node<
                 oldLen *= 2;
             }
         }
+        rebuildTreeBins();
     }
 
     //region Internal put helper
@@ -373,6 +375,13 @@ public final class MutableHashMap<K, V> extends HashBase<K, MutableHashMap.Node<
         final Node<K, V> old = table[idx];
         if (old == null) {
             table[idx] = new Node<>(key, hash, value);
+        } else if (isTreeBin(idx)) {
+            final Node<K, V> n = findTreeNode(idx, key, hash);
+            if (n != null) {
+                n.value = value;
+                return;
+            }
+            insertTreeNode(idx, new Node<>(key, hash, value));
         } else {
             Node<K, V> prev = null;
             Node<K, V> n = old;
@@ -390,6 +399,9 @@ public final class MutableHashMap<K, V> extends HashBase<K, MutableHashMap.Node<
             } else {
                 prev.next = new Node<>(key, hash, value, prev.next);
             }
+            contentSize += 1;
+            treeifyIfNeeded(idx);
+            return;
         }
         contentSize += 1;
     }
@@ -399,6 +411,14 @@ public final class MutableHashMap<K, V> extends HashBase<K, MutableHashMap.Node<
         final Node<K, V> old = table[idx];
         if (old == null) {
             table[idx] = new Node<>(key, hash, value);
+        } else if (isTreeBin(idx)) {
+            final Node<K, V> n = findTreeNode(idx, key, hash);
+            if (n != null) {
+                V oldValue = n.value;
+                n.value = value;
+                return Option.some(oldValue);
+            }
+            insertTreeNode(idx, new Node<>(key, hash, value));
         } else {
             Node<K, V> prev = null;
             Node<K, V> n = old;
@@ -417,6 +437,9 @@ public final class MutableHashMap<K, V> extends HashBase<K, MutableHashMap.Node<
             } else {
                 prev.next = new Node<>(key, hash, value, prev.next);
             }
+            contentSize += 1;
+            treeifyIfNeeded(idx);
+            return Option.none();
         }
         contentSize += 1;
         return Option.none();
@@ -879,6 +902,11 @@ public final class MutableHashMap<K, V> extends HashBase<K, MutableHashMap.Node<
             public @NotNull Iterator<java.util.Map.Entry<K, V>> iterator() {
                 return (Iterator) source.nodeIterator();
             }
+
+            @Override
+            public @NotNull Spliterator<java.util.Map.Entry<K, V>> spliterator() {
+                return source.nodeSpliterator(node -> node, Spliterator.DISTINCT);
+            }
         }
     }
 }
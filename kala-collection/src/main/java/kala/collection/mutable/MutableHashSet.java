@@ -32,6 +32,7 @@ import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
 import java.util.stream.Stream;
 
 @SuppressWarnings("unchecked")
@@ -187,6 +188,7 @@ public final class MutableHashSet<E> extends HashBase<E, MutableHashSet.Node<E>>
     protected void growTable(int newLen) {
         int oldLen = table.length;
         threshold = newThreshold(newLen);
+        CollectionMetrics.onResize(metrics, newLen, isEmpty() ? 0 : oldLen);
         if (isEmpty()) {
             table = createNodeArray(newLen);
         } else {
@@ -229,6 +231,7 @@ public final class MutableHashSet<E> extends HashBase<E, MutableHashSet.Node<E>>
                 oldLen *= 2;
             }
         }
+        rebuildTreeBins();
     }
 
     //endregion
@@ -240,6 +243,11 @@ public final class MutableHashSet<E> extends HashBase<E, MutableHashSet.Node<E>>
         Node<E> n = table[idx];
         if (n == null) {
             table[idx] = new Node<>(value, hash);
+        } else if (isTreeBin(idx)) {
+            if (findTreeNode(idx, value, hash) != null) {
+                return false;
+            }
+            insertTreeNode(idx, new Node<>(value, hash));
         } else {
             final Node<E> old = n;
             Node<E> prev = null;
@@ -255,6 +263,9 @@ public final class MutableHashSet<E> extends HashBase<E, MutableHashSet.Node<E>>
             } else {
                 prev.next = new Node<>(value, hash, prev.next);
             }
+            contentSize++;
+            treeifyIfNeeded(idx);
+            return true;
         }
         contentSize++;
         return true;
@@ -273,6 +284,11 @@ public final class MutableHashSet<E> extends HashBase<E, MutableHashSet.Node<E>>
         return removeNode((E) value, hasher.hash((E) value)) != null;
     }
 
+    @Override
+    public boolean contains(Object value) {
+        return findNode((E) value) != null;
+    }
+
     //endregion
 
     //region MutableCollection members
@@ -292,6 +308,11 @@ public final class MutableHashSet<E> extends HashBase<E, MutableHashSet.Node<E>>
         return new Itr();
     }
 
+    @Override
+    public @NotNull Spliterator<E> spliterator() {
+        return nodeSpliterator(node -> node.key, Spliterator.DISTINCT);
+    }
+
     @Override
     @SuppressWarnings("MethodDoesntCallSuperMethod")
     public @NotNull MutableHashSet<E> clone() {
@@ -50,12 +50,16 @@ public final class MutableSmartArrayList<E> extends AbstractMutableList<E> imple
 
     private int size = 0;
 
+    private transient CollectionMetrics.Tracker metrics;
+
     private MutableSmartArrayList(int size, Object[] elements) {
         this.size = size;
         this.elem = elements;
+        this.metrics = CollectionMetrics.track(this, elements.length);
     }
 
     public MutableSmartArrayList() {
+        this.metrics = CollectionMetrics.track(this, 0);
     }
 
     //region Static Factories
@@ -315,6 +319,7 @@ public final class MutableSmartArrayList<E> extends AbstractMutableList<E> imple
             this.size = 1;
         } else if (oldSize == 1) {
             Object[] arr = new Object[DEFAULT_CAPACITY];
+            CollectionMetrics.onResize(metrics, DEFAULT_CAPACITY, 1);
             if (index == 0) {
                 arr[0] = value;
                 arr[1] = this.elem;
@@ -328,6 +333,7 @@ public final class MutableSmartArrayList<E> extends AbstractMutableList<E> imple
             Object[] arr = (Object[]) this.elem;
             if (arr.length == oldSize) {
                 Object[] newArr = new Object[growSize(oldSize)];
+                CollectionMetrics.onResize(metrics, newArr.length, oldSize);
                 System.arraycopy(arr, 0, newArr, 0, index);
                 System.arraycopy(arr, index, newArr, index + 1, oldSize - index);
                 newArr[index] = value;
@@ -353,10 +359,12 @@ public final class MutableSmartArrayList<E> extends AbstractMutableList<E> imple
         } else {
             Object[] arr = (Object[]) elem;
             res = (E) arr[index];
-            if (oldSize == 2)
+            if (oldSize == 2) {
                 this.elem = arr[index == 0 ? 1 : 0];
-            else
+                CollectionMetrics.onResize(metrics, 0, 0);
+            } else {
                 System.arraycopy(arr, index + 1, arr, index, size - index);
+            }
             this.size = oldSize - 1;
         }
         return res;
@@ -366,6 +374,7 @@ public final class MutableSmartArrayList<E> extends AbstractMutableList<E> imple
     public void clear() {
         size = 0;
         elem = null;
+        CollectionMetrics.onResize(metrics, 0, 0);
     }
 
     //endregion
@@ -380,6 +389,7 @@ public final class MutableSmartArrayList<E> extends AbstractMutableList<E> imple
             this.size = 1;
         } else if (oldSize == 1) {
             final Object[] arr = new Object[DEFAULT_CAPACITY];
+            CollectionMetrics.onResize(metrics, DEFAULT_CAPACITY, 1);
             arr[0] = value;
             arr[1] = elem;
             this.elem = arr;
@@ -388,6 +398,7 @@ public final class MutableSmartArrayList<E> extends AbstractMutableList<E> imple
             Object[] arr = (Object[]) this.elem;
             if (arr.length == oldSize) {
                 Object[] newArr = growArray(oldSize);
+                CollectionMetrics.onResize(metrics, newArr.length, oldSize);
                 System.arraycopy(arr, 0, newArr, 1, oldSize);
                 arr = newArr;
             } else {
@@ -408,6 +419,7 @@ public final class MutableSmartArrayList<E> extends AbstractMutableList<E> imple
             this.size = 1;
         } else if (oldSize == 1) {
             final Object[] arr = new Object[DEFAULT_CAPACITY];
+            CollectionMetrics.onResize(metrics, DEFAULT_CAPACITY, 1);
             arr[0] = elem;
             arr[1] = value;
             this.elem = arr;
@@ -416,6 +428,7 @@ public final class MutableSmartArrayList<E> extends AbstractMutableList<E> imple
             Object[] arr = (Object[]) this.elem;
             if (arr.length == oldSize) {
                 arr = Arrays.copyOf(arr, growSize(oldSize));
+                CollectionMetrics.onResize(metrics, arr.length, oldSize);
             }
             arr[oldSize] = value;
             elem = arr;
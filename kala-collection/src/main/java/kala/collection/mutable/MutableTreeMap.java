@@ -865,6 +865,11 @@ public final class MutableTreeMap<K, V> extends RedBlackTree<K, MutableTreeMap.N
             public @NotNull Iterator<Entry<K, V>> iterator() {
                 return source.root == null ? Iterators.empty() : (Iterator) new NodeItr<>(source.root);
             }
+
+            @Override
+            public @NotNull Spliterator<Entry<K, V>> spliterator() {
+                return source.nodeSpliterator(node -> node, Spliterator.ORDERED | Spliterator.DISTINCT);
+            }
         }
     }
 }
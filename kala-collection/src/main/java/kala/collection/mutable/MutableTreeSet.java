@@ -33,6 +33,7 @@ import java.io.Serial;
 import java.io.Serializable;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.Spliterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.function.Consumer;
@@ -299,6 +300,11 @@ public final class MutableTreeSet<E> extends RedBlackTree<E, MutableTreeSet.Node
         return firstNode == null ? Iterators.empty() : new MutableTreeSet.Itr<>(firstNode);
     }
 
+    @Override
+    public @NotNull Spliterator<E> spliterator() {
+        return nodeSpliterator(node -> node.key, Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT);
+    }
+
     @Override
     @SuppressWarnings("MethodDoesntCallSuperMethod")
     public @NotNull MutableTreeSet<E> clone() {
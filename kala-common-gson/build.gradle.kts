@@ -18,4 +18,5 @@ dependencies {
     api("com.google.code.gson:gson:2.13.1")
     compileOnly(project(":kala-base"))
     compileOnly(project(":kala-collection"))
+    compileOnly(project(":kala-collection-primitive"))
 }
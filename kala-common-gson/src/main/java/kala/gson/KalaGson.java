@@ -19,11 +19,25 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import kala.gson.base.*;
 import kala.gson.collection.CollectionTypeAdapter;
+import kala.gson.collection.MapTypeAdapter;
+import kala.gson.collection.PrimitiveCollectionTypeAdapter;
 
 public final class KalaGson {
     private KalaGson() {
     }
 
+    // kala.collection.primitive is an optional dependency
+    private static final boolean PRIMITIVE_COLLECTIONS_AVAILABLE = isClassPresent("kala.collection.primitive.PrimitiveCollection");
+
+    private static boolean isClassPresent(String className) {
+        try {
+            Class.forName(className, false, KalaGson.class.getClassLoader());
+            return true;
+        } catch (Throwable ignored) {
+            return false;
+        }
+    }
+
     public static GsonBuilder registerKalaTypeAdapters(GsonBuilder builder) {
         return registerKalaBaseTypeAdapters(registerKalaCollectionTypeAdapters(builder));
     }
@@ -38,7 +52,12 @@ public final class KalaGson {
     }
 
     public static GsonBuilder registerKalaCollectionTypeAdapters(GsonBuilder builder) {
-        return builder.registerTypeAdapterFactory(CollectionTypeAdapter.factory());
+        builder.registerTypeAdapterFactory(CollectionTypeAdapter.factory())
+                .registerTypeAdapterFactory(MapTypeAdapter.factory());
+        if (PRIMITIVE_COLLECTIONS_AVAILABLE) {
+            builder.registerTypeAdapterFactory(PrimitiveCollectionTypeAdapter.factory());
+        }
+        return builder;
     }
 
     public static Gson createKalaGson() {
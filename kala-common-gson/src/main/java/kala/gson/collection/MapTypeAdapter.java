@@ -0,0 +1,255 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kala.gson.collection;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import kala.collection.Map;
+import kala.collection.MapLike;
+import kala.collection.SortedMap;
+import kala.collection.base.MapIterator;
+import kala.collection.factory.MapFactory;
+import kala.collection.immutable.ImmutableMap;
+import kala.collection.immutable.ImmutableTreeMap;
+import kala.collection.mutable.MutableMap;
+import kala.collection.mutable.MutableTreeMap;
+import kala.gson.internal.TypeUtils;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Objects;
+
+/**
+ * Type adapter for kala maps.
+ * <p>
+ * Maps whose keys are strings, numbers, booleans, characters or enums are written as JSON objects,
+ * like {@code java.util.Map} in Gson. Other maps are written as arrays of {@code [key, value]} pairs.
+ * Both forms are accepted when reading, and the entries are added to the map builder as they are read.
+ */
+@SuppressWarnings("unchecked")
+public class MapTypeAdapter<K, V, M extends MapLike<K, V>> extends TypeAdapter<M> {
+
+    private static final TypeAdapterFactory FACTORY = new TypeAdapterFactory() {
+        @Override
+        @SuppressWarnings("rawtypes")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            if (MapLike.class.isAssignableFrom(type.getRawType())) {
+                MapFactory<?, ?, ?, ?> factory = findFactory(type.getRawType());
+                return factory != null ? new MapTypeAdapter(gson, type, factory) : null;
+            }
+            return null;
+        }
+    };
+
+    public static TypeAdapterFactory factory() {
+        return FACTORY;
+    }
+
+    private static MapFactory<?, ?, ?, ?> findFactory(Class<?> rawType) {
+        if (SortedMap.class.isAssignableFrom(rawType)) {
+            if (rawType.isAssignableFrom(ImmutableTreeMap.class))
+                return ImmutableTreeMap.factory(null);
+            else if (rawType.isAssignableFrom(MutableTreeMap.class))
+                return MutableTreeMap.factory(null);
+            else
+                return null;
+        }
+
+        try {
+            return (MapFactory<?, ?, ?, ?>) MethodHandles.publicLookup()
+                    .findStatic(rawType, "factory", MethodType.methodType(MapFactory.class))
+                    .invoke();
+        } catch (Throwable ignored) {
+        }
+
+        if (rawType.isAssignableFrom(ImmutableMap.class))
+            return ImmutableMap.factory();
+        else if (rawType.isAssignableFrom(MutableMap.class))
+            return MutableMap.factory();
+        else if (rawType.isAssignableFrom(Map.class))
+            return Map.factory();
+        else
+            return null;
+    }
+
+    private static boolean isScalarKeyType(Class<?> type) {
+        return type == String.class
+                || type.isPrimitive()
+                || Number.class.isAssignableFrom(type)
+                || type == Boolean.class
+                || type == Character.class
+                || type.isEnum();
+    }
+
+    private static boolean isScalarKey(Object key) {
+        return key instanceof String
+                || key instanceof Number
+                || key instanceof Boolean
+                || key instanceof Character
+                || key instanceof Enum<?>;
+    }
+
+    private final TypeAdapter<K> keyAdapter;
+    private final TypeAdapter<V> valueAdapter;
+    private final MapFactory<K, V, ?, M> factory;
+
+    private final boolean stringKeys;
+    private final boolean scalarKeys;
+
+    public MapTypeAdapter(Gson gson, TypeToken<M> type, MapFactory<K, V, ?, ? extends M> factory) {
+        Class<? super M> rawType = type.getRawType();
+        if (!MapLike.class.isAssignableFrom(rawType))
+            throw new IllegalArgumentException(type.toString());
+
+        Type mapLikeType = TypeUtils.getSupertype(type.getType(), rawType, MapLike.class);
+        Type keyType;
+        Type valueType;
+        if (mapLikeType instanceof ParameterizedType) {
+            Type[] typeArguments = ((ParameterizedType) mapLikeType).getActualTypeArguments();
+            keyType = typeArguments[0];
+            valueType = typeArguments[1];
+        } else {
+            keyType = Object.class;
+            valueType = Object.class;
+        }
+
+        Class<?> rawKeyType = TypeUtils.getRawType(keyType);
+
+        this.keyAdapter = (TypeAdapter<K>) gson.getAdapter(TypeToken.get(keyType));
+        this.valueAdapter = (TypeAdapter<V>) gson.getAdapter(TypeToken.get(valueType));
+        this.factory = (MapFactory<K, V, ?, M>) Objects.requireNonNull(factory);
+        this.stringKeys = rawKeyType == String.class;
+        this.scalarKeys = isScalarKeyType(rawKeyType);
+    }
+
+    public MapTypeAdapter(TypeAdapter<K> keyAdapter, TypeAdapter<V> valueAdapter, MapFactory<K, V, ?, ? extends M> factory) {
+        this.keyAdapter = Objects.requireNonNull(keyAdapter);
+        this.valueAdapter = Objects.requireNonNull(valueAdapter);
+        this.factory = (MapFactory<K, V, ?, M>) Objects.requireNonNull(factory);
+        this.stringKeys = false;
+        this.scalarKeys = false;
+    }
+
+    private boolean writeAsObject(M value) {
+        if (scalarKeys) {
+            return true;
+        }
+
+        MapIterator<K, V> it = value.iterator();
+        while (it.hasNext()) {
+            if (!isScalarKey(it.nextKey())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String keyToName(K key) {
+        if (stringKeys || key instanceof String) {
+            return (String) key;
+        }
+
+        JsonElement element = keyAdapter.toJsonTree(key);
+        if (!element.isJsonPrimitive()) {
+            throw new JsonSyntaxException("Expected a primitive key but was " + element);
+        }
+        return element.getAsString();
+    }
+
+    private K nameToKey(String name) {
+        if (stringKeys) {
+            return (K) name;
+        }
+        return keyAdapter.fromJsonTree(new JsonPrimitive(name));
+    }
+
+    @Override
+    public void write(JsonWriter out, M value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+
+        MapIterator<K, V> it = value.iterator();
+        if (writeAsObject(value)) {
+            out.beginObject();
+            while (it.hasNext()) {
+                K key = it.nextKey();
+                if (key == null) {
+                    throw new JsonSyntaxException("Null keys can only be written as [key, value] pairs");
+                }
+                out.name(keyToName(key));
+                valueAdapter.write(out, it.getValue());
+            }
+            out.endObject();
+        } else {
+            out.beginArray();
+            while (it.hasNext()) {
+                K key = it.nextKey();
+                out.beginArray();
+                keyAdapter.write(out, key);
+                valueAdapter.write(out, it.getValue());
+                out.endArray();
+            }
+            out.endArray();
+        }
+    }
+
+    @Override
+    public M read(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        return read(in, token, factory);
+    }
+
+    private <Builder> M read(JsonReader in, JsonToken token, MapFactory<K, V, Builder, M> factory) throws IOException {
+        Builder builder = factory.newBuilder();
+        if (token == JsonToken.BEGIN_OBJECT) {
+            in.beginObject();
+            while (in.hasNext()) {
+                K key = nameToKey(in.nextName());
+                factory.addToBuilder(builder, key, valueAdapter.read(in));
+            }
+            in.endObject();
+        } else {
+            in.beginArray();
+            while (in.hasNext()) {
+                in.beginArray();
+                K key = keyAdapter.read(in);
+                V value = valueAdapter.read(in);
+                in.endArray();
+                factory.addToBuilder(builder, key, value);
+            }
+            in.endArray();
+        }
+        return factory.build(builder);
+    }
+}
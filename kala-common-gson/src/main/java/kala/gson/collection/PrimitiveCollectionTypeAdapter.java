@@ -0,0 +1,372 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kala.gson.collection;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import kala.collection.base.primitive.BooleanIterator;
+import kala.collection.base.primitive.ByteIterator;
+import kala.collection.base.primitive.CharIterator;
+import kala.collection.base.primitive.DoubleIterator;
+import kala.collection.base.primitive.FloatIterator;
+import kala.collection.base.primitive.IntIterator;
+import kala.collection.base.primitive.LongIterator;
+import kala.collection.base.primitive.ShortIterator;
+import kala.collection.factory.primitive.BooleanCollectionFactory;
+import kala.collection.factory.primitive.ByteCollectionFactory;
+import kala.collection.factory.primitive.CharCollectionFactory;
+import kala.collection.factory.primitive.DoubleCollectionFactory;
+import kala.collection.factory.primitive.FloatCollectionFactory;
+import kala.collection.factory.primitive.IntCollectionFactory;
+import kala.collection.factory.primitive.LongCollectionFactory;
+import kala.collection.factory.primitive.PrimitiveCollectionFactory;
+import kala.collection.factory.primitive.ShortCollectionFactory;
+import kala.collection.primitive.BitArray;
+import kala.collection.primitive.BooleanCollectionLike;
+import kala.collection.primitive.ByteCollectionLike;
+import kala.collection.primitive.CharCollectionLike;
+import kala.collection.primitive.DoubleCollectionLike;
+import kala.collection.primitive.FloatCollectionLike;
+import kala.collection.primitive.IntCollectionLike;
+import kala.collection.primitive.LongCollectionLike;
+import kala.collection.primitive.ShortCollectionLike;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Type adapters for primitive collections and {@link BitArray}.
+ * <p>
+ * Primitive collections are written as JSON arrays.
+ * Elements are read straight from the {@link JsonReader} into the builder of the collection factory,
+ * so they are never boxed.
+ * The factory is found through the static {@code factory()} method of the requested type.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public final class PrimitiveCollectionTypeAdapter {
+    private static final TypeAdapterFactory FACTORY = new TypeAdapterFactory() {
+        @Override
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            TypeAdapter<?> adapter = createAdapter(type.getRawType());
+            return (TypeAdapter<T>) adapter;
+        }
+
+        private TypeAdapter<?> createAdapter(Class<?> rawType) {
+            if (rawType == BitArray.class) {
+                return ForBitArray.INSTANCE;
+            }
+            for (ElementCodec<?> codec : CODECS) {
+                if (codec.collectionType.isAssignableFrom(rawType)) {
+                    PrimitiveCollectionFactory<?, ?, ?> factory = findFactory(rawType, codec.factoryType);
+                    return factory != null ? new ForCollection(factory, codec) : null;
+                }
+            }
+            return null;
+        }
+    };
+
+    public static TypeAdapterFactory factory() {
+        return FACTORY;
+    }
+
+    private PrimitiveCollectionTypeAdapter() {
+    }
+
+    private static <F> F findFactory(Class<?> rawType, Class<F> factoryType) {
+        try {
+            return (F) MethodHandles.publicLookup()
+                    .findStatic(rawType, "factory", MethodType.methodType(factoryType))
+                    .invoke();
+        } catch (Throwable ignored) {
+            return null;
+        }
+    }
+
+    private static byte nextByte(JsonReader in) throws IOException {
+        int v = in.nextInt();
+        byte b = (byte) v;
+        if (v != b)
+            throw new NumberFormatException("Expected an byte but was " + v);
+        return b;
+    }
+
+    private static short nextShort(JsonReader in) throws IOException {
+        int v = in.nextInt();
+        short s = (short) v;
+        if (v != s)
+            throw new NumberFormatException("Expected an short but was " + v);
+        return s;
+    }
+
+    private static char nextChar(JsonReader in) throws IOException {
+        String str = in.nextString();
+        if (str.length() != 1)
+            throw new JsonSyntaxException("Expected a char but was " + str);
+        return str.charAt(0);
+    }
+
+    /**
+     * Writes and reads the elements of the collections of one primitive type.
+     * <p>
+     * Each codec iterates with the iterator of its own primitive type
+     * and adds elements through the primitive {@code addToBuilder} overload, so elements are never boxed.
+     */
+    private static abstract class ElementCodec<C> {
+        final Class<C> collectionType;
+        final Class<? extends PrimitiveCollectionFactory> factoryType;
+
+        ElementCodec(Class<C> collectionType, Class<? extends PrimitiveCollectionFactory> factoryType) {
+            this.collectionType = collectionType;
+            this.factoryType = factoryType;
+        }
+
+        abstract void writeElements(JsonWriter out, C value) throws IOException;
+
+        abstract void readElements(JsonReader in, PrimitiveCollectionFactory<?, Object, ?> factory, Object builder) throws IOException;
+    }
+
+    private static final List<ElementCodec<?>> CODECS = List.of(
+            new ElementCodec<>(BooleanCollectionLike.class, BooleanCollectionFactory.class) {
+                @Override
+                void writeElements(JsonWriter out, BooleanCollectionLike value) throws IOException {
+                    BooleanIterator it = value.iterator();
+                    while (it.hasNext()) {
+                        out.value(it.nextBoolean());
+                    }
+                }
+
+                @Override
+                void readElements(JsonReader in, PrimitiveCollectionFactory<?, Object, ?> factory, Object builder) throws IOException {
+                    BooleanCollectionFactory<Object, ?> f = (BooleanCollectionFactory<Object, ?>) factory;
+                    while (in.hasNext()) {
+                        f.addToBuilder(builder, in.nextBoolean());
+                    }
+                }
+            },
+            new ElementCodec<>(ByteCollectionLike.class, ByteCollectionFactory.class) {
+                @Override
+                void writeElements(JsonWriter out, ByteCollectionLike value) throws IOException {
+                    ByteIterator it = value.iterator();
+                    while (it.hasNext()) {
+                        out.value(it.nextByte());
+                    }
+                }
+
+                @Override
+                void readElements(JsonReader in, PrimitiveCollectionFactory<?, Object, ?> factory, Object builder) throws IOException {
+                    ByteCollectionFactory<Object, ?> f = (ByteCollectionFactory<Object, ?>) factory;
+                    while (in.hasNext()) {
+                        f.addToBuilder(builder, nextByte(in));
+                    }
+                }
+            },
+            new ElementCodec<>(ShortCollectionLike.class, ShortCollectionFactory.class) {
+                @Override
+                void writeElements(JsonWriter out, ShortCollectionLike value) throws IOException {
+                    ShortIterator it = value.iterator();
+                    while (it.hasNext()) {
+                        out.value(it.nextShort());
+                    }
+                }
+
+                @Override
+                void readElements(JsonReader in, PrimitiveCollectionFactory<?, Object, ?> factory, Object builder) throws IOException {
+                    ShortCollectionFactory<Object, ?> f = (ShortCollectionFactory<Object, ?>) factory;
+                    while (in.hasNext()) {
+                        f.addToBuilder(builder, nextShort(in));
+                    }
+                }
+            },
+            new ElementCodec<>(IntCollectionLike.class, IntCollectionFactory.class) {
+                @Override
+                void writeElements(JsonWriter out, IntCollectionLike value) throws IOException {
+                    IntIterator it = value.iterator();
+                    while (it.hasNext()) {
+                        out.value(it.nextInt());
+                    }
+                }
+
+                @Override
+                void readElements(JsonReader in, PrimitiveCollectionFactory<?, Object, ?> factory, Object builder) throws IOException {
+                    IntCollectionFactory<Object, ?> f = (IntCollectionFactory<Object, ?>) factory;
+                    while (in.hasNext()) {
+                        f.addToBuilder(builder, in.nextInt());
+                    }
+                }
+            },
+            new ElementCodec<>(LongCollectionLike.class, LongCollectionFactory.class) {
+                @Override
+                void writeElements(JsonWriter out, LongCollectionLike value) throws IOException {
+                    LongIterator it = value.iterator();
+                    while (it.hasNext()) {
+                        out.value(it.nextLong());
+                    }
+                }
+
+                @Override
+                void readElements(JsonReader in, PrimitiveCollectionFactory<?, Object, ?> factory, Object builder) throws IOException {
+                    LongCollectionFactory<Object, ?> f = (LongCollectionFactory<Object, ?>) factory;
+                    while (in.hasNext()) {
+                        f.addToBuilder(builder, in.nextLong());
+                    }
+                }
+            },
+            new ElementCodec<>(FloatCollectionLike.class, FloatCollectionFactory.class) {
+                @Override
+                void writeElements(JsonWriter out, FloatCollectionLike value) throws IOException {
+                    FloatIterator it = value.iterator();
+                    while (it.hasNext()) {
+                        out.value(it.nextFloat());
+                    }
+                }
+
+                @Override
+                void readElements(JsonReader in, PrimitiveCollectionFactory<?, Object, ?> factory, Object builder) throws IOException {
+                    FloatCollectionFactory<Object, ?> f = (FloatCollectionFactory<Object, ?>) factory;
+                    while (in.hasNext()) {
+                        f.addToBuilder(builder, (float) in.nextDouble());
+                    }
+                }
+            },
+            new ElementCodec<>(DoubleCollectionLike.class, DoubleCollectionFactory.class) {
+                @Override
+                void writeElements(JsonWriter out, DoubleCollectionLike value) throws IOException {
+                    DoubleIterator it = value.iterator();
+                    while (it.hasNext()) {
+                        out.value(it.nextDouble());
+                    }
+                }
+
+                @Override
+                void readElements(JsonReader in, PrimitiveCollectionFactory<?, Object, ?> factory, Object builder) throws IOException {
+                    DoubleCollectionFactory<Object, ?> f = (DoubleCollectionFactory<Object, ?>) factory;
+                    while (in.hasNext()) {
+                        f.addToBuilder(builder, in.nextDouble());
+                    }
+                }
+            },
+            new ElementCodec<>(CharCollectionLike.class, CharCollectionFactory.class) {
+                @Override
+                void writeElements(JsonWriter out, CharCollectionLike value) throws IOException {
+                    CharIterator it = value.iterator();
+                    while (it.hasNext()) {
+                        out.value(String.valueOf(it.nextChar()));
+                    }
+                }
+
+                @Override
+                void readElements(JsonReader in, PrimitiveCollectionFactory<?, Object, ?> factory, Object builder) throws IOException {
+                    CharCollectionFactory<Object, ?> f = (CharCollectionFactory<Object, ?>) factory;
+                    while (in.hasNext()) {
+                        f.addToBuilder(builder, nextChar(in));
+                    }
+                }
+            }
+    );
+
+    private static final class ForCollection<C> extends TypeAdapter<C> {
+        private final PrimitiveCollectionFactory<?, Object, ? extends C> factory;
+        private final ElementCodec<? super C> codec;
+
+        ForCollection(PrimitiveCollectionFactory<?, Object, ? extends C> factory, ElementCodec<? super C> codec) {
+            this.factory = Objects.requireNonNull(factory);
+            this.codec = Objects.requireNonNull(codec);
+        }
+
+        @Override
+        public void write(JsonWriter out, C value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginArray();
+            codec.writeElements(out, value);
+            out.endArray();
+        }
+
+        @Override
+        public C read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            Object builder = factory.newBuilder();
+            in.beginArray();
+            codec.readElements(in, factory, builder);
+            in.endArray();
+            return factory.build(builder);
+        }
+    }
+
+    public static final class ForBitArray extends TypeAdapter<BitArray> {
+        public static final ForBitArray INSTANCE = new ForBitArray();
+
+        private ForBitArray() {
+        }
+
+        @Override
+        public void write(JsonWriter out, BitArray value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginArray();
+            BooleanIterator it = value.iterator();
+            while (it.hasNext()) {
+                out.value(it.nextBoolean());
+            }
+            out.endArray();
+        }
+
+        @Override
+        public BitArray read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            long[] bits = new long[1];
+            int size = 0;
+
+            in.beginArray();
+            while (in.hasNext()) {
+                if (size == bits.length * Long.SIZE) {
+                    bits = Arrays.copyOf(bits, bits.length * 2);
+                }
+                if (in.nextBoolean()) {
+                    bits[size / Long.SIZE] |= 1L << (size % Long.SIZE);
+                }
+                size++;
+            }
+            in.endArray();
+
+            return BitArray.wrap(bits, size);
+        }
+    }
+}
@@ -18,6 +18,7 @@ module kala.common.gson {
     requires com.google.gson;
     requires static kala.base;
     requires static kala.collection;
+    requires static kala.collection.primitive;
 
     exports kala.gson;
     exports kala.gson.base;
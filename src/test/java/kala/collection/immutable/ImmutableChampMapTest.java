@@ -15,11 +15,191 @@
  */
 package kala.collection.immutable;
 
+import kala.CollidingKey;
+import kala.collection.factory.MapBuilder;
 import kala.collection.factory.MapFactory;
+import kala.collection.mutable.MutableArrayList;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 public final class ImmutableChampMapTest implements ImmutableMapTestTemplate {
     @Override
     public <K, V> MapFactory<K, V, ?, ImmutableChampMap<K, V>> factory() {
         return ImmutableChampMap.factory();
     }
+
+    private static <K, V> void assertMapEquals(Map<K, V> expected, ImmutableChampMap<K, V> actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected, actual.asJava());
+        expected.forEach((k, v) -> assertEquals(v, actual.get(k)));
+    }
+
+    @Test
+    void editTest() {
+        Random random = new Random(0);
+        Map<Object, Integer> expected = new HashMap<>();
+        ImmutableChampMap<Object, Integer> map = ImmutableChampMap.empty();
+
+        for (int round = 0; round < 20; round++) {
+            ImmutableChampMap<Object, Integer> before = map;
+            Map<Object, Integer> expectedBefore = new HashMap<>(expected);
+
+            ImmutableChampMap.Editor<Object, Integer> editor = map.edit();
+            for (int i = 0; i < 200; i++) {
+                Object key = random.nextBoolean() ? (Object) random.nextInt(500) : new CollidingKey(random.nextInt(40));
+                if (random.nextInt(3) == 0) {
+                    editor.remove(key);
+                    expected.remove(key);
+                } else {
+                    int value = random.nextInt();
+                    editor.set(key, value);
+                    expected.put(key, value);
+                }
+                assertEquals(expected.size(), editor.size());
+            }
+            map = editor.done();
+
+            assertMapEquals(expected, map);
+            assertMapEquals(expectedBefore, before);
+
+            // the editor may continue to be used without affecting the built map
+            editor.set("extra", round);
+            assertFalse(map.containsKey("extra"));
+            assertEquals(round, editor.done().get("extra"));
+            assertMapEquals(expected, map);
+        }
+    }
+
+    @Test
+    void bulkTest() {
+        ImmutableChampMap<Integer, String> map = ImmutableChampMap.from(Map.of(1, "a", 2, "b", 3, "c"));
+        Map<Integer, String> source = Map.copyOf(map.asJava());
+
+        assertMapEquals(Map.of(1, "a", 2, "B", 3, "c", 4, "d"), map.updatedAll(Map.of(2, "B", 4, "d")));
+        assertMapEquals(Map.of(1, "a", 2, "B", 3, "c", 4, "d"), map.updatedAll(ImmutableChampMap.from(Map.of(2, "B", 4, "d"))));
+        assertMapEquals(Map.of(2, "b"), map.removedAll(List.of(1, 3, 5)));
+        assertMapEquals(Map.of(1, "a", 2, "bB", 3, "c", 4, "d"),
+                map.merged(ImmutableChampMap.from(Map.of(2, "B", 4, "d")), String::concat));
+        assertMapEquals(source, map);
+
+        Map<Integer, Integer> expected = new HashMap<>();
+        ImmutableChampMap<Integer, Integer> left = ImmutableChampMap.empty();
+        ImmutableChampMap<Integer, Integer> right = ImmutableChampMap.empty();
+        for (int i = 0; i < 1000; i++) {
+            left = left.updated(i, i);
+            expected.put(i, i);
+        }
+        for (int i = 500; i < 2000; i++) {
+            right = right.updated(i, -i);
+            expected.put(i, -i);
+        }
+        assertMapEquals(expected, left.updatedAll(right));
+        assertEquals(1000, left.size());
+        assertEquals(1500, right.size());
+    }
+
+    @Test
+    void setAlgebraTest() {
+        Random random = new Random(0);
+        for (int round = 0; round < 30; round++) {
+            Map<Object, Integer> expected1 = new HashMap<>();
+            Map<Object, Integer> expected2 = new HashMap<>();
+            for (int i = 0; i < 300; i++) {
+                expected1.put(CollidingKey.randomKey(random, 400), i);
+                expected2.put(CollidingKey.randomKey(random, 400), -i);
+            }
+            ImmutableChampMap<Object, Integer> map1 = ImmutableChampMap.from(expected1);
+            ImmutableChampMap<Object, Integer> map2 = ImmutableChampMap.from(expected2);
+
+            Map<Object, Integer> intersection = new HashMap<>(expected1);
+            intersection.keySet().retainAll(expected2.keySet());
+            Map<Object, Integer> difference = new HashMap<>(expected1);
+            difference.keySet().removeAll(expected2.keySet());
+
+            assertMapEquals(intersection, map1.intersection(map2));
+            assertMapEquals(intersection, map1.intersection(ImmutableHashSet.from(expected2.keySet())));
+            assertMapEquals(intersection, map1.intersection(expected2.keySet()));
+            assertMapEquals(difference, map1.difference(map2));
+            assertMapEquals(difference, map1.removedAll(ImmutableHashSet.from(expected2.keySet())));
+            assertMapEquals(difference, map1.removedAll(expected2.keySet()));
+        }
+
+        ImmutableChampMap<Integer, Integer> map = ImmutableChampMap.empty();
+        for (int i = 0; i < 1000; i++) {
+            map = map.updated(i, i);
+        }
+        assertSame(map, map.intersection(map));
+        assertTrue(map.difference(map).isEmpty());
+    }
+
+    @Test
+    void intersectionKeepsOwnKeysTest() {
+        List<String> keys = new java.util.ArrayList<>();
+        ImmutableChampMap<String, Integer> map = ImmutableChampMap.empty();
+        for (int i = 0; i < 1000; i++) {
+            String key = "key" + i;
+            keys.add(key);
+            map = map.updated(key, i);
+        }
+
+        for (int i = 0; i < keys.size(); i += 7) {
+            String key = keys.get(i);
+            String copy = new String(key);
+            assertNotSame(key, copy);
+
+            ImmutableChampMap<String, Integer> result = map.intersection(ImmutableChampMap.<String, Integer>empty().updated(copy, -1));
+            assertEquals(1, result.size());
+            assertSame(key, result.iterator().next().getKey());
+            assertEquals(i, result.get(copy));
+
+            ImmutableChampMap<String, Integer> fromSet = map.intersection(ImmutableHashSet.of(copy));
+            assertSame(key, fromSet.iterator().next().getKey());
+        }
+    }
+
+    @Test
+    void mergeBuilderTest() {
+        mergeBuilderTest(ImmutableChampMap.factory());
+    }
+
+    private static <B> void mergeBuilderTest(MapFactory<Integer, Integer, B, ImmutableChampMap<Integer, Integer>> factory) {
+        B builder1 = factory.newBuilder();
+        B builder2 = factory.newBuilder();
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 300; i++) {
+            factory.addToBuilder(builder1, i, i);
+            factory.addToBuilder(builder2, i + 200, -i);
+            expected.put(i, i);
+        }
+        for (int i = 0; i < 300; i++) {
+            expected.put(i + 200, -i);
+        }
+
+        ImmutableChampMap<Integer, Integer> second = factory.build(builder2);
+        B merged = factory.mergeBuilder(builder1, builder2);
+        ImmutableChampMap<Integer, Integer> result = factory.build(merged);
+        assertMapEquals(expected, result);
+
+        // builder2 must not be able to change maps that share its nodes
+        factory.addToBuilder(builder2, 1000, 1000);
+        factory.addToBuilder(builder2, 250, 0);
+        assertMapEquals(expected, result);
+        assertEquals(300, second.size());
+
+        MapBuilder<Integer, Integer, ImmutableChampMap<Integer, Integer>> mapBuilder = ImmutableChampMap.newMapBuilder();
+        MutableArrayList<ImmutableChampMap<Integer, Integer>> snapshots = MutableArrayList.create();
+        for (int i = 0; i < 100; i++) {
+            mapBuilder.plusAssign(i, i);
+            snapshots.append(mapBuilder.build());
+        }
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i + 1, snapshots.get(i).size());
+        }
+    }
 }
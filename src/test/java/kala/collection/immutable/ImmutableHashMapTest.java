@@ -15,11 +15,73 @@
  */
 package kala.collection.immutable;
 
+import kala.CollidingKey;
+import kala.SerializationUtils;
 import kala.collection.factory.MapFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 public final class ImmutableHashMapTest implements ImmutableMapTestTemplate {
     @Override
     public <K, V> MapFactory<K, V, ?, ImmutableHashMap<K, V>> factory() {
         return ImmutableHashMap.factory();
     }
+
+    @Test
+    void readTest() {
+        ImmutableHashMap<String, Integer> map = ImmutableHashMap.of("A", 1, "B", null);
+
+        assertEquals(1, map.get("A"));
+        assertNull(map.get("B"));
+        assertThrows(java.util.NoSuchElementException.class, () -> map.get("C"));
+        assertNull(map.getOrNull("C"));
+        assertEquals(0, map.getOrDefault("C", 0));
+        assertNull(map.getOrDefault("B", 0));
+        assertTrue(map.getOption("B").isDefined());
+        assertTrue(map.getOption("C").isEmpty());
+        assertTrue(map.containsKey("B"));
+        assertTrue(map.contains("B", null));
+        assertFalse(map.contains("C", null));
+    }
+
+    @Test
+    void bulkTest() {
+        ImmutableHashMap<Integer, Integer> map1 = ImmutableHashMap.empty();
+        ImmutableHashMap<Integer, Integer> map2 = ImmutableHashMap.empty();
+        for (int i = 0; i < 1000; i++) {
+            map1 = map1.updated(i, i);
+            map2 = map2.updated(i + 500, -i);
+        }
+
+        Map<Integer, Integer> expected = new HashMap<>(map1.asJava());
+        expected.putAll(map2.asJava());
+        assertEquals(expected, map1.updatedAll(map2).asJava());
+        assertEquals(expected, map1.updatedAll(ImmutableChampMap.from(map2)).asJava());
+        assertSame(map1, map1.updatedAll(ImmutableHashMap.empty()));
+        assertSame(map1, ImmutableHashMap.from(map1));
+
+        expected = new HashMap<>(map1.asJava());
+        expected.keySet().removeAll(map2.asJava().keySet());
+        assertEquals(expected, map1.removedAll(map2.keysView()).asJava());
+        assertEquals(expected, map1.removedAll(ImmutableHashSet.from(map2.asJava().keySet())).asJava());
+        assertSame(map1, map1.removedAll(List.of()));
+    }
+
+    @Test
+    void serializationTest() throws Exception {
+        assertEquals(0, SerializationUtils.writeAndRead(ImmutableHashMap.empty()).size());
+
+        ImmutableHashMap<Object, Integer> map = ImmutableHashMap.empty();
+        for (int i = 0; i < 500; i++) {
+            map = map.updated(i % 7 == 0 ? new CollidingKey(i) : (Object) i, i);
+        }
+        ImmutableHashMap<Object, Integer> copy = SerializationUtils.writeAndRead(map);
+        assertNotSame(map, copy);
+        assertEquals(map, copy);
+    }
 }
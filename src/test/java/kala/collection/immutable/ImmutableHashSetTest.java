@@ -15,9 +15,17 @@
  */
 package kala.collection.immutable;
 
+import kala.CollidingKey;
 import kala.collection.SetLike;
 import kala.collection.SetLikeTestTemplate;
 import kala.collection.factory.CollectionFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 public final class ImmutableHashSetTest implements ImmutableSetTestTemplate {
     @Override
@@ -25,6 +33,65 @@ public final class ImmutableHashSetTest implements ImmutableSetTestTemplate {
         return ImmutableHashSet.factory();
     }
 
+    @Test
+    void setAlgebraTest() {
+        Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            int bound = 1 + random.nextInt(2000);
+            Set<Object> expected1 = new HashSet<>();
+            Set<Object> expected2 = new HashSet<>();
+            for (int i = 0, n = random.nextInt(bound); i < n; i++) {
+                expected1.add(CollidingKey.randomKey(random, bound));
+            }
+            for (int i = 0, n = random.nextInt(bound); i < n; i++) {
+                expected2.add(CollidingKey.randomKey(random, bound));
+            }
+
+            ImmutableHashSet<Object> set1 = ImmutableHashSet.from(expected1);
+            ImmutableHashSet<Object> set2 = ImmutableHashSet.from(expected2);
+
+            Set<Object> union = new HashSet<>(expected1);
+            union.addAll(expected2);
+            Set<Object> intersection = new HashSet<>(expected1);
+            intersection.retainAll(expected2);
+            Set<Object> difference = new HashSet<>(expected1);
+            difference.removeAll(expected2);
+
+            assertEquals(union, set1.union(set2).asJava());
+            assertEquals(union, set1.union(expected2).asJava());
+            assertEquals(intersection, set1.intersection(set2).asJava());
+            assertEquals(intersection, set1.intersection(expected2).asJava());
+            assertEquals(difference, set1.difference(set2).asJava());
+            assertEquals(difference, set1.difference(expected2).asJava());
+            assertEquals(union.size(), set1.union(set2).size());
+            assertEquals(intersection.size(), set1.intersection(set2).size());
+            assertEquals(difference.size(), set1.difference(set2).size());
+
+            assertEquals(expected1, set1.asJava());
+            assertEquals(expected2, set2.asJava());
+        }
+    }
+
+    @Test
+    void structuralSharingTest() {
+        ImmutableHashSet<Integer> set = ImmutableHashSet.empty();
+        for (int i = 0; i < 10000; i++) {
+            set = set.added(i);
+        }
+
+        assertSame(set, set.union(set));
+        assertSame(set, set.intersection(set));
+        assertTrue(set.difference(set).isEmpty());
+        assertSame(set, set.union(ImmutableHashSet.empty()));
+        assertSame(set, set.difference(ImmutableHashSet.of(-1)));
+
+        ImmutableHashSet<Integer> changed = set.removed(42).added(-42);
+        assertEquals(Set.of(-42), changed.difference(set).asJava());
+        assertEquals(Set.of(42), set.difference(changed).asJava());
+        assertEquals(9999, set.intersection(changed).size());
+        assertEquals(10001, set.union(changed).size());
+    }
+
     static final class ViewTest implements SetLikeTestTemplate {
 
         @Override
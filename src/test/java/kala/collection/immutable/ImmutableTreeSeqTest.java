@@ -18,8 +18,11 @@ package kala.collection.immutable;
 import kala.collection.SeqView;
 import kala.collection.SeqViewTestTemplate;
 import kala.collection.factory.CollectionFactory;
+import kala.collection.mutable.MutableArrayList;
 import org.junit.jupiter.api.Test;
 
+import java.util.stream.IntStream;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public final class ImmutableTreeSeqTest implements ImmutableSeqTestTemplate {
@@ -28,6 +31,69 @@ public final class ImmutableTreeSeqTest implements ImmutableSeqTestTemplate {
         return ImmutableTreeSeq.factory();
     }
 
+    @Test
+    void bulkBuildTest() {
+        for (int n : new int[]{0, 1, 2, 3, 7, 8, 100, 1025}) {
+            ImmutableArray<Integer> expected = ImmutableArray.fill(n, i -> i);
+            assertIterableEquals(expected, ImmutableTreeSeq.fill(n, i -> i));
+            assertIterableEquals(expected, ImmutableTreeSeq.from(expected.toArray()));
+            assertIterableEquals(expected, ImmutableTreeSeq.from(expected.iterator()));
+            assertIterableEquals(expected, ImmutableTreeSeq.from(MutableArrayList.from(expected).asJava()));
+            assertIterableEquals(expected, IntStream.range(0, n).boxed().parallel().collect(ImmutableTreeSeq.factory()));
+
+            ImmutableTreeSeq<Integer> seq = ImmutableTreeSeq.fill(n, i -> i);
+            for (int i = 0; i < n; i++) {
+                assertEquals(i, seq.get(i));
+            }
+            assertIterableEquals(expected.appended(n), seq.appended(n));
+            assertIterableEquals(expected.prepended(-1), seq.prepended(-1));
+            if (n > 0) {
+                assertIterableEquals(expected.removedAt(n / 2), seq.removedAt(n / 2));
+            }
+        }
+    }
+
+    @Test
+    void treeConcatTest() {
+        for (int n = 0; n < 40; n++) {
+            for (int m = 0; m < 40; m++) {
+                assertConcat(n, m);
+            }
+        }
+        assertConcat(1, 10000);
+        assertConcat(10000, 1);
+        assertConcat(3000, 5000);
+
+        ImmutableTreeSeq<Integer> seq = ImmutableTreeSeq.empty();
+        ImmutableSeq<Integer> expected = ImmutableArray.empty();
+        for (int i = 0; i < 100; i++) {
+            ImmutableTreeSeq<Integer> part = ImmutableTreeSeq.fill(i % 7, i);
+            seq = (i % 2 == 0) ? seq.appendedAll(part) : seq.prependedAll(part);
+            expected = (i % 2 == 0) ? expected.appendedAll(part) : expected.prependedAll(part);
+            assertIterableEquals(expected, seq);
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), seq.get(i));
+        }
+    }
+
+    private static void assertConcat(int n, int m) {
+        ImmutableTreeSeq<Integer> left = ImmutableTreeSeq.fill(n, i -> i);
+        ImmutableTreeSeq<Integer> right = ImmutableTreeSeq.fill(m, i -> n + i);
+        ImmutableArray<Integer> expected = ImmutableArray.fill(n + m, i -> i);
+
+        ImmutableTreeSeq<Integer> result = left.appendedAll(right);
+        assertIterableEquals(expected, result);
+        for (int i = 0; i < n + m; i++) {
+            assertEquals(i, result.get(i));
+        }
+        assertIterableEquals(expected, right.prependedAll(left));
+        assertIterableEquals(expected, left.appendedAll(ImmutableArray.fill(m, i -> n + i)));
+        assertIterableEquals(expected, right.prependedAll(ImmutableArray.fill(n, i -> i)));
+        assertIterableEquals(expected.appended(-1), result.appended(-1));
+        assertIterableEquals(expected.inserted((n + m) / 2, -1), result.inserted((n + m) / 2, -1));
+    }
+
     static final class ViewTest implements SeqViewTestTemplate {
         @Override
         public <E> SeqView<E> of(E... elements) {
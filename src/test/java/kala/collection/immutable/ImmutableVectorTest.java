@@ -15,13 +15,18 @@
  */
 package kala.collection.immutable;
 
+import kala.SerializationUtils;
 import kala.collection.SeqView;
 import kala.collection.SeqViewTestTemplate;
 import kala.collection.factory.CollectionFactory;
+import kala.concurrent.Granularity;
 import org.junit.jupiter.api.Test;
 
-import java.util.Arrays;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -84,6 +89,256 @@ public final class ImmutableVectorTest implements ImmutableSeqTestTemplate {
         assertSame(ImmutableVectors.Vector2.class, v.getClass());
     }
 
+    private static final int[] CONCAT_SIZES = {
+            0, 1, 5, 31, 32, 33, 100,
+            ImmutableVectors.WIDTH2 - 1, ImmutableVectors.WIDTH2, ImmutableVectors.WIDTH2 + 7,
+            ImmutableVectors.WIDTH3 + 100,
+            ImmutableVectors.WIDTH4 + 5
+    };
+
+    private static ImmutableVector<Integer> range(int from, int size) {
+        ImmutableVectors.VectorBuilder<Integer> builder = new ImmutableVectors.VectorBuilder<>();
+        for (int i = 0; i < size; i++) {
+            builder.add(from + i);
+        }
+        return builder.build();
+    }
+
+    private static Set<Object[]> leaves(ImmutableVector<?> vector) {
+        Set<Object[]> res = Collections.newSetFromMap(new IdentityHashMap<>());
+        int count = vector.vectorSliceCount();
+        for (int i = 0; i < count; i++) {
+            int dim = ImmutableVectors.vectorSliceDim(count, i);
+            if (dim == 1) {
+                res.add(vector.vectorSlice(i));
+            } else {
+                ImmutableVectors.forEachRec(dim - 2, vector.vectorSlice(i), (Consumer<Object[]>) res::add);
+            }
+        }
+        return res;
+    }
+
+    @Test
+    public void concatTest() {
+        for (int size1 : CONCAT_SIZES) {
+            for (int size2 : CONCAT_SIZES) {
+                if (size1 > ImmutableVectors.WIDTH3 && size2 > ImmutableVectors.WIDTH3) {
+                    continue;
+                }
+
+                ImmutableVector<Integer> v1 = range(0, size1);
+                ImmutableVector<Integer> v2 = range(size1, size2);
+                List<Integer> expected = IntStream.range(0, size1 + size2).boxed().collect(Collectors.toList());
+
+                assertIterableEquals(expected, v1.appendedAll(v2), () -> size1 + " + " + size2);
+                assertIterableEquals(expected, v2.prependedAll(v1), () -> size1 + " + " + size2);
+
+                ImmutableVector<Integer> concat = v1.appendedAll(v2);
+                assertEquals(size1 + size2, concat.size());
+                if (size1 + size2 > 0) {
+                    assertEquals(size1 + size2 - 1, concat.get(size1 + size2 - 1));
+                    assertEquals(size1 / 2, concat.get(size1 / 2));
+                }
+                assertEquals(expected.subList(0, size1 + size2), concat.appended(-1).dropLast(1).asJava());
+            }
+        }
+    }
+
+    @Test
+    public void prependedTest() {
+        for (int size : CONCAT_SIZES) {
+            if (size > ImmutableVectors.WIDTH3) {
+                continue;
+            }
+            ImmutableVector<Integer> v = range(1, size);
+            ImmutableVector<Integer> res = v.prepended(0);
+            assertIterableEquals(IntStream.rangeClosed(0, size).boxed().collect(Collectors.toList()), res);
+            res = v.prependedAll(-2, -1, 0);
+            assertIterableEquals(IntStream.rangeClosed(-2, size).boxed().collect(Collectors.toList()), res);
+        }
+    }
+
+    @Test
+    public void concatSharingTest() {
+        ImmutableVector<Integer> large = range(5, ImmutableVectors.WIDTH3 + 100);
+        Set<Object[]> largeLeaves = leaves(large);
+
+        for (ImmutableVector<Integer> res : List.of(
+                range(0, 5).appendedAll(large),
+                large.prependedAll(range(0, 5)),
+                large.prependedAll(0, 1, 2, 3, 4),
+                large.appendedAll(range(0, 5)))) {
+            Set<Object[]> resLeaves = leaves(res);
+            long shared = resLeaves.stream().filter(largeLeaves::contains).count();
+            assertTrue(shared >= largeLeaves.size() - 3, () -> shared + " / " + largeLeaves.size());
+        }
+    }
+
+    private static void checkConcatTree(ImmutableVector<?> vector) {
+        if (vector instanceof ImmutableVectors.ConcatVector<?> concat) {
+            checkConcatTree(concat.left);
+            checkConcatTree(concat.right);
+            int leftHeight = ImmutableVectors.ConcatVector.height(concat.left);
+            int rightHeight = ImmutableVectors.ConcatVector.height(concat.right);
+            assertTrue(Math.abs(leftHeight - rightHeight) <= 1, () -> leftHeight + " / " + rightHeight);
+            assertEquals(Math.max(leftHeight, rightHeight) + 1, concat.height);
+            assertEquals(concat.left.size(), concat.leftLength);
+            assertEquals(concat.left.size() + concat.right.size(), concat.size());
+        } else {
+            assertTrue(vector.size() > ImmutableVectors.CONCAT_COPY_LIMIT, () -> "leaf of size " + vector.size());
+        }
+    }
+
+    private static void assertVectorEquals(List<Integer> expected, ImmutableVector<Integer> actual) {
+        checkConcatTree(actual);
+        assertEquals(expected.size(), actual.size());
+        assertIterableEquals(expected, actual);
+        Random random = new Random(expected.size());
+        for (int i = 0; i < 100; i++) {
+            int idx = random.nextInt(expected.size());
+            assertEquals(expected.get(idx), actual.get(idx));
+        }
+    }
+
+    @Test
+    public void logConcatTest() throws Exception {
+        ImmutableVector<Integer> v1 = range(0, ImmutableVectors.WIDTH3);
+        ImmutableVector<Integer> v2 = range(ImmutableVectors.WIDTH3, ImmutableVectors.WIDTH3 + 5000);
+        ImmutableVector<Integer> concat = v1.appendedAll(v2);
+        assertSame(ImmutableVectors.ConcatVector.class, concat.getClass());
+        assertSame(v1, ((ImmutableVectors.ConcatVector<Integer>) concat).left);
+        assertSame(v2, ((ImmutableVectors.ConcatVector<Integer>) concat).right);
+
+        Random random = new Random(0);
+        for (int mode = 0; mode < 3; mode++) {
+            ImmutableVector<Integer> res = ImmutableVector.empty();
+            ArrayList<Integer> expected = new ArrayList<>();
+            ArrayDeque<ImmutableVector<Integer>> parts = new ArrayDeque<>();
+            int next = 0;
+            for (int i = 0; i < 300; i++) {
+                int size = random.nextInt(4) == 0 ? random.nextInt(40) : random.nextInt(3 * ImmutableVectors.CONCAT_COPY_LIMIT);
+                parts.add(range(next, size));
+                next += size;
+            }
+            for (int i = 0; i < next; i++) {
+                expected.add(i);
+            }
+
+            switch (mode) {
+                case 0 -> {
+                    for (ImmutableVector<Integer> part : parts) {
+                        res = res.appendedAll(part);
+                    }
+                }
+                case 1 -> {
+                    while (!parts.isEmpty()) {
+                        res = res.prependedAll(parts.pollLast());
+                    }
+                }
+                default -> {
+                    while (parts.size() > 1) {
+                        parts.addLast(parts.pollFirst().appendedAll(parts.pollFirst()));
+                        if (random.nextBoolean()) {
+                            parts.addLast(parts.pollFirst());
+                        }
+                    }
+                    ImmutableVector<Integer> all = parts.poll();
+                    // The merge order above may rotate the parts, so recompute the expected contents
+                    expected.clear();
+                    all.forEach(expected::add);
+                    res = all;
+                }
+            }
+
+            final ImmutableVector<Integer> vector = res;
+            assertVectorEquals(expected, vector);
+            int height = ((ImmutableVectors.ConcatVector<Integer>) vector).height;
+            assertTrue(height <= 20, () -> "height " + height);
+
+            for (int i = 0; i < 20; i++) {
+                int from = random.nextInt(expected.size());
+                int to = from + random.nextInt(expected.size() - from + 1);
+                assertVectorEqualsOrEmpty(expected.subList(from, to), (ImmutableVector<Integer>) vector.slice(from, to));
+            }
+
+            int idx = random.nextInt(expected.size());
+            List<Integer> updated = new ArrayList<>(expected);
+            updated.set(idx, -1);
+            assertVectorEquals(updated, (ImmutableVector<Integer>) vector.updated(idx, -1));
+
+            List<Integer> appended = new ArrayList<>(expected);
+            appended.add(-1);
+            assertVectorEquals(appended, vector.appended(-1));
+            appended.addAll(List.of(-2, -3));
+            assertVectorEquals(appended, vector.appended(-1).appendedAll(-2, -3));
+
+            List<Integer> prepended = new ArrayList<>(expected);
+            prepended.addFirst(-1);
+            assertVectorEquals(prepended, vector.prepended(-1));
+
+            assertEquals(expected.getFirst(), vector.getFirst());
+            assertEquals(expected.getLast(), vector.getLast());
+            assertIterableEquals(expected.reversed(), vector.reversed());
+            assertIterableEquals(expected.stream().filter(i -> i % 3 == 0).toList(), vector.filter(i -> i % 3 == 0));
+            assertIterableEquals(expected, ImmutableVector.from(vector.stream().toList()));
+            assertIterableEquals(expected, SerializationUtils.writeAndRead(vector));
+
+            ArrayList<Integer> forEach = new ArrayList<>();
+            vector.forEach(forEach::add);
+            assertEquals(expected, forEach);
+
+            ImmutableVectors.VectorBuilder<Integer> builder = new ImmutableVectors.VectorBuilder<>();
+            builder.add(-1);
+            builder.addVector(vector);
+            assertEquals(expected.size() + 1, builder.size());
+            assertEquals(-1, builder.build().getFirst());
+        }
+    }
+
+    private static void assertVectorEqualsOrEmpty(List<Integer> expected, ImmutableVector<Integer> actual) {
+        if (expected.isEmpty()) {
+            assertTrue(actual.isEmpty());
+        } else {
+            assertVectorEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void parallelCollectTest() {
+        int size = ImmutableVectors.WIDTH3 + 12345;
+        List<Integer> expected = IntStream.range(0, size).boxed().collect(Collectors.toList());
+        ImmutableVector<Integer> source = range(0, size);
+        for (Granularity granularity : Granularity.values()) {
+            assertIterableEquals(expected, source.collectParallel(ImmutableVector.factory(), ForkJoinPool.commonPool(), granularity));
+            assertIterableEquals(expected, ImmutableSeq.from(expected).collectParallel(ImmutableSeq.factory(), ForkJoinPool.commonPool(), granularity));
+        }
+
+        ImmutableVectors.VectorBuilder<Integer> builder1 = new ImmutableVectors.VectorBuilder<>();
+        ImmutableVectors.VectorBuilder<Integer> builder2 = new ImmutableVectors.VectorBuilder<>();
+        for (int i = 0; i < 10; i++) {
+            builder1.add(i);
+        }
+        for (int i = 10; i < size; i++) {
+            builder2.add(i);
+        }
+        assertIterableEquals(expected, ImmutableVectors.VectorBuilder.merge(builder1, builder2).build());
+
+        ImmutableVectors.VectorBuilder<Integer> builder3 = new ImmutableVectors.VectorBuilder<>();
+        ImmutableVectors.VectorBuilder<Integer> builder4 = new ImmutableVectors.VectorBuilder<>();
+        for (int i = 0; i < size / 2; i++) {
+            builder3.add(i);
+        }
+        for (int i = size / 2; i < size - 1; i++) {
+            builder4.add(i);
+        }
+        ImmutableVectors.VectorBuilder<Integer> merged = ImmutableVectors.VectorBuilder.merge(builder3, builder4);
+        merged.add(size - 1);
+        assertEquals(size, merged.size());
+        ImmutableVector<Integer> mergedVector = merged.build();
+        assertSame(ImmutableVectors.ConcatVector.class, mergedVector.getClass());
+        assertIterableEquals(expected, mergedVector);
+    }
+
     static final class ViewTest implements SeqViewTestTemplate {
         @Override
         public <E> SeqView<E> of(E... elements) {
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kala.collection.mutable;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public final class CollectionMetricsTest {
+
+    private static CollectionMetrics.SiteMetrics find(Class<?> type, String method) {
+        CollectionMetrics.SiteMetrics res = null;
+        for (CollectionMetrics.SiteMetrics metrics : CollectionMetrics.snapshot()) {
+            if (metrics.type().equals(type.getSimpleName())
+                    && metrics.location().contains(CollectionMetricsTest.class.getName() + "." + method + "(")) {
+                assertNull(res, "Duplicate site");
+                res = metrics;
+            }
+        }
+        assertNotNull(res, () -> "Site not found: " + method);
+        assertEquals(res, CollectionMetrics.snapshot(type, res.location()));
+        return res;
+    }
+
+    private static MutableArrayList<Integer> newArrayList() {
+        return new MutableArrayList<>();
+    }
+
+    private static MutableArrayList<Integer> newPresizedArrayList() {
+        return new MutableArrayList<>(1000);
+    }
+
+    private static MutableHashMap<Integer, Integer> newHashMap() {
+        return MutableHashMap.create();
+    }
+
+    private static MutableHashSet<Integer> newHashSet() {
+        return MutableHashSet.of(1);
+    }
+
+    private static MutableArrayDeque<Integer> newArrayDeque() {
+        return new MutableArrayDeque<>();
+    }
+
+    private static MutableSmartArrayList<Integer> newSmartArrayList() {
+        return MutableSmartArrayList.create();
+    }
+
+    @Test
+    public void growthTest() {
+        assumeTrue(CollectionMetrics.isEnabled());
+
+        MutableArrayList<Integer> list = newArrayList();
+        for (int i = 0; i < 100; i++) {
+            list.append(i);
+        }
+        // 10 -> 15 -> 22 -> 33 -> 49 -> 73 -> 109
+        CollectionMetrics.SiteMetrics metrics = find(MutableArrayList.class, "newArrayList");
+        assertEquals(1, metrics.instances());
+        assertEquals(1, metrics.liveInstances());
+        assertEquals(7, metrics.growEvents());
+        assertTrue(metrics.bytesCopied() >= 4L * (10 + 15 + 22 + 33 + 49 + 73));
+        assertEquals(109, metrics.peakCapacity());
+        assertEquals(109, metrics.liveCapacity());
+        assertEquals(100, metrics.liveSize());
+        assertEquals(9, metrics.wastedCapacity());
+
+        list.trimToSize();
+        metrics = find(MutableArrayList.class, "newArrayList");
+        assertEquals(109, metrics.peakCapacity());
+        assertEquals(100, metrics.finalCapacity());
+        assertEquals(0, metrics.wastedCapacity());
+
+        MutableArrayList<Integer> presized = newPresizedArrayList();
+        for (int i = 0; i < 100; i++) {
+            presized.append(i);
+        }
+        metrics = find(MutableArrayList.class, "newPresizedArrayList");
+        assertEquals(0, metrics.growEvents());
+        assertEquals(0, metrics.bytesCopied());
+        assertEquals(900, metrics.wastedCapacity());
+
+        MutableArrayDeque<Integer> deque = newArrayDeque();
+        for (int i = 0; i < 100; i++) {
+            deque.prepend(i);
+        }
+        metrics = find(MutableArrayDeque.class, "newArrayDeque");
+        assertTrue(metrics.growEvents() > 0);
+        assertEquals(100, metrics.liveSize());
+
+        MutableSmartArrayList<Integer> smartList = newSmartArrayList();
+        for (int i = 0; i < 100; i++) {
+            smartList.append(i);
+        }
+        metrics = find(MutableSmartArrayList.class, "newSmartArrayList");
+        assertTrue(metrics.growEvents() > 0);
+        assertEquals(100, metrics.liveSize());
+        smartList.clear();
+        assertEquals(0, find(MutableSmartArrayList.class, "newSmartArrayList").liveCapacity());
+
+        assertFalse(CollectionMetrics.report().isEmpty());
+
+        assertEquals(100, list.size());
+        assertEquals(100, presized.size());
+        assertEquals(100, deque.size());
+    }
+
+    @Test
+    public void rehashTest() {
+        assumeTrue(CollectionMetrics.isEnabled());
+
+        MutableHashMap<Integer, Integer> map = newHashMap();
+        for (int i = 0; i < 1000; i++) {
+            map.set(i, i);
+        }
+        CollectionMetrics.SiteMetrics metrics = find(MutableHashMap.class, "newHashMap");
+        assertEquals(1, metrics.instances());
+        assertTrue(metrics.growEvents() > 0);
+        assertTrue(metrics.bytesCopied() > 0);
+        assertEquals(2048, metrics.peakCapacity());
+        assertEquals(1000, metrics.liveSize());
+
+        MutableHashSet<Integer> set = newHashSet();
+        for (int i = 0; i < 1000; i++) {
+            set.add(i);
+        }
+        metrics = find(MutableHashSet.class, "newHashSet");
+        assertTrue(metrics.growEvents() > 0);
+        assertEquals(1000, metrics.liveSize());
+
+        assertEquals(1000, map.size());
+        assertEquals(1000, set.size());
+    }
+}
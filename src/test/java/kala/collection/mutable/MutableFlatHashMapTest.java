@@ -0,0 +1,129 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kala.collection.mutable;
+
+import kala.SerializationUtils;
+import kala.collection.factory.MapFactory;
+import kala.function.Hasher;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class MutableFlatHashMapTest implements MutableMapTestTemplate {
+
+    @Override
+    public <K, V> MapFactory<K, V, ?, MutableFlatHashMap<K, V>> factory() {
+        return MutableFlatHashMap.factory();
+    }
+
+    @Test
+    public void putTest() {
+        MutableFlatHashMap<String, Integer> m = new MutableFlatHashMap<>();
+        m.put(null, 1234);
+
+        assertTrue(m.containsKey(null));
+        assertEquals(1234, m.get(null));
+        assertFalse(m.containsKey("null"));
+
+        assertEquals(1234, m.put(null, 0).get());
+        assertEquals(1, m.size());
+    }
+
+    @Test
+    public void randomOperationsTest() {
+        Random random = new Random(42);
+        MutableFlatHashMap<Integer, Integer> map = new MutableFlatHashMap<>();
+        HashMap<Integer, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 200000; i++) {
+            // a small key space makes the table fill up with tombstones
+            Integer key = random.nextInt(i < 100000 ? 2000 : 50);
+            if (random.nextBoolean()) {
+                assertEquals(expected.put(key, i), map.put(key, i).getOrNull());
+            } else {
+                assertEquals(expected.remove(key), map.remove(key).getOrNull());
+            }
+            assertEquals(expected.size(), map.size());
+        }
+
+        expected.forEach((k, v) -> assertEquals(v, map.get(k)));
+        assertEquals(expected.size(), map.keysView().count(k -> true));
+        for (int i = 0; i < 2000; i++) {
+            assertEquals(expected.containsKey(i), map.containsKey(i));
+        }
+    }
+
+    @Test
+    public void cloneTest() {
+        MutableFlatHashMap<String, Integer> map = new MutableFlatHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.set(String.valueOf(i), i);
+        }
+
+        MutableFlatHashMap<String, Integer> copy = map.clone();
+        copy.set("0", -1);
+        copy.remove("1");
+
+        assertEquals(0, map.get("0"));
+        assertEquals(1, map.get("1"));
+        assertEquals(-1, copy.get("0"));
+        assertFalse(copy.containsKey("1"));
+        assertEquals(99, copy.size());
+    }
+
+    @Test
+    public void customHasherTest() {
+        Hasher<String> caseInsensitive = new Hasher<>() {
+            @Override
+            public int hash(String key) {
+                return key.toLowerCase().hashCode();
+            }
+
+            @Override
+            public boolean equals(String x, String y) {
+                return x.equalsIgnoreCase(y);
+            }
+        };
+
+        MutableFlatHashMap<String, Integer> map = new MutableFlatHashMap<>(caseInsensitive);
+        for (int i = 0; i < 1000; i++) {
+            map.set("key" + i, i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            map.set("KEY" + i, -i);
+        }
+        assertEquals(1000, map.size());
+        assertEquals(-10, map.get("Key10"));
+        assertSame(caseInsensitive, map.hasher());
+    }
+
+    @Test
+    public void serializationTest() throws Exception {
+        final var map1 = new MutableFlatHashMap<Integer, String>();
+        for (int i = 0; i < 100; i++) {
+            map1.set(i, String.valueOf(i));
+        }
+        map1.set(null, null);
+
+        final var map2 = SerializationUtils.writeAndRead(map1);
+        assertNotSame(map1, map2);
+        assertEquals(map1, map2);
+        assertTrue(map2.containsKey(null));
+    }
+}
@@ -15,12 +15,15 @@
  */
 package kala.collection.mutable;
 
+import kala.CollidingKey;
 import kala.SerializationUtils;
 import kala.collection.factory.MapFactory;
 import kala.function.Hasher;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Objects;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -73,6 +76,173 @@ public final class MutableHashMapTest implements MutableMapTestTemplate {
         }
     }
 
+    static List<String> collidingStrings(int n) {
+        // "Aa" and "BB" have the same hash code, so do all strings of the same length composed of them
+        ArrayList<String> res = new ArrayList<>(n);
+        int bits = 32 - Integer.numberOfLeadingZeros(n);
+        for (int i = 0; i < n; i++) {
+            StringBuilder builder = new StringBuilder();
+            for (int j = 0; j < bits; j++) {
+                builder.append(((i >>> j) & 1) == 0 ? "Aa" : "BB");
+            }
+            res.add(builder.toString());
+        }
+        return res;
+    }
+
+    record CollidingComparableKey(int value) implements Comparable<CollidingComparableKey> {
+        @Override
+        public int hashCode() {
+            return value & 3;
+        }
+
+        @Override
+        public int compareTo(CollidingComparableKey o) {
+            return Integer.compare(value, o.value);
+        }
+    }
+
+    private static <K> void checkCollisions(MutableHashMap<K, Integer> map, List<K> keys) {
+        HashMap<K, Integer> expected = new HashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            assertTrue(map.put(keys.get(i), i).isEmpty());
+            expected.put(keys.get(i), i);
+        }
+        assertEquals(expected.size(), map.size());
+        for (int i = 0; i < keys.size(); i++) {
+            assertTrue(map.containsKey(keys.get(i)));
+            assertEquals(i, map.get(keys.get(i)));
+        }
+
+        for (int i = 0; i < keys.size(); i += 2) {
+            assertEquals(i, map.remove(keys.get(i)).get());
+            expected.remove(keys.get(i));
+        }
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected.size(), map.keysView().count(k -> true));
+        for (int i = 0; i < keys.size(); i++) {
+            assertEquals(expected.get(keys.get(i)), map.getOrNull(keys.get(i)));
+        }
+
+        MutableHashMap<K, Integer> copy = map.clone();
+        assertEquals(expected.size(), copy.size());
+        expected.forEach((k, v) -> assertEquals(v, copy.get(k)));
+
+        // shrink back below the untreeify threshold
+        for (int i = 1; i < keys.size() - 2; i += 2) {
+            map.remove(keys.get(i));
+        }
+        assertEquals(1, map.size());
+        for (K key : keys) {
+            map.set(key, 0);
+        }
+        assertEquals(keys.size(), map.size());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        for (K key : keys) {
+            assertFalse(map.containsKey(key));
+        }
+    }
+
+    @Test
+    public void collisionTest() {
+        final int n = 1000;
+
+        checkCollisions(new MutableHashMap<>(), collidingStrings(n));
+
+        ArrayList<CollidingKey> keys = new ArrayList<>();
+        ArrayList<CollidingComparableKey> comparableKeys = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            keys.add(new CollidingKey(i));
+            comparableKeys.add(new CollidingComparableKey(i));
+        }
+        checkCollisions(new MutableHashMap<>(), keys);
+        checkCollisions(new MutableHashMap<>(), comparableKeys);
+
+        ArrayList<Object> mixed = new ArrayList<>();
+        mixed.add(null);
+        for (int i = 0; i < 100; i++) {
+            mixed.add(new CollidingKey(i));
+            mixed.add(new CollidingComparableKey(i));
+        }
+        checkCollisions(new MutableHashMap<>(), mixed);
+
+        // The custom hasher must not be bypassed by the comparison order of tree bins
+        Hasher<String> caseInsensitive = new Hasher<>() {
+            @Override
+            public int hash(String key) {
+                return 0;
+            }
+
+            @Override
+            public boolean equals(String x, String y) {
+                return x.equalsIgnoreCase(y);
+            }
+        };
+        MutableHashMap<String, Integer> map = MutableHashMap.<String, Integer>newMapBuilder(caseInsensitive).build();
+        for (int i = 0; i < n; i++) {
+            map.set("key" + i, i);
+        }
+        assertEquals(n, map.size());
+        for (int i = 0; i < n; i++) {
+            assertEquals(i, map.get("KEY" + i));
+        }
+        map.set("KEY0", -1);
+        assertEquals(n, map.size());
+        assertEquals(-1, map.get("key0"));
+    }
+
+    @Test
+    public void collisionOfEqualKeysOfDifferentClassesTest() {
+        final List<String> strings = collidingStrings(20);
+
+        // List.of(..) and ArrayList are equal to each other, so tree bins must not tell them apart by class
+        MutableHashMap<List<String>, Integer> map = new MutableHashMap<>();
+        for (int i = 0; i < strings.size(); i++) {
+            map.set(new ArrayList<>(List.of(strings.get(i))), i);
+        }
+        map.set(new java.util.LinkedList<>(List.of("other")), -1);
+        for (int i = 0; i < strings.size(); i++) {
+            assertEquals(i, map.get(List.of(strings.get(i))));
+            assertTrue(map.containsKey(new java.util.LinkedList<>(List.of(strings.get(i)))));
+        }
+        assertNull(map.getOrNull(List.of("missing")));
+        for (int i = 0; i < strings.size(); i++) {
+            map.set(List.of(strings.get(i)), -i);
+        }
+        assertEquals(strings.size() + 1, map.size());
+        for (int i = 0; i < strings.size(); i++) {
+            assertEquals(-i, map.get(new ArrayList<>(List.of(strings.get(i)))));
+        }
+        for (int i = 0; i < strings.size(); i += 2) {
+            assertEquals(-i, map.remove(List.of(strings.get(i))).get());
+        }
+        assertEquals(strings.size() / 2 + 1, map.size());
+
+        // A custom hasher can make keys of different classes equal
+        Hasher<CharSequence> contentHasher = new Hasher<>() {
+            @Override
+            public int hash(CharSequence key) {
+                return 0;
+            }
+
+            @Override
+            public boolean equals(CharSequence x, CharSequence y) {
+                return x.toString().contentEquals(y);
+            }
+        };
+        MutableHashMap<CharSequence, Integer> custom = MutableHashMap.<CharSequence, Integer>newMapBuilder(contentHasher).build();
+        for (int i = 0; i < 20; i++) {
+            custom.set(i % 2 == 0 ? "key" + i : new StringBuilder("key" + i), i);
+        }
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, custom.get(i % 2 == 0 ? new StringBuilder("key" + i) : "key" + i));
+            custom.set(i % 2 == 0 ? new StringBuilder("key" + i) : "key" + i, -i);
+        }
+        assertEquals(20, custom.size());
+    }
+
     @Test
     public void putTest() {
         // put null
@@ -16,10 +16,73 @@
 package kala.collection.mutable;
 
 import kala.collection.factory.CollectionFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 public final class MutableHashSetTest implements MutableSetTestTemplate {
     @Override
     public <E> CollectionFactory<E, ?, MutableHashSet<E>> factory() {
         return MutableHashSet.factory();
     }
+
+    @Test
+    public void collisionOfEqualValuesOfDifferentClassesTest() {
+        final List<String> strings = MutableHashMapTest.collidingStrings(20);
+
+        MutableHashSet<List<String>> set = new MutableHashSet<>();
+        for (String string : strings) {
+            assertTrue(set.add(new java.util.ArrayList<>(List.of(string))));
+        }
+        for (String string : strings) {
+            assertTrue(set.contains(List.of(string)));
+            assertFalse(set.add(List.of(string)));
+        }
+        assertEquals(strings.size(), set.size());
+        for (String string : strings) {
+            assertTrue(set.remove(new java.util.LinkedList<>(List.of(string))));
+        }
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    public void collisionTest() {
+        final List<String> values = MutableHashMapTest.collidingStrings(1000);
+        final HashSet<String> expected = new HashSet<>(values);
+
+        MutableHashSet<String> set = new MutableHashSet<>();
+        for (String value : values) {
+            assertTrue(set.add(value));
+            assertFalse(set.add(value));
+        }
+        assertEquals(expected.size(), set.size());
+        for (String value : values) {
+            assertTrue(set.contains(value));
+        }
+
+        for (int i = 0; i < values.size(); i += 2) {
+            assertTrue(set.remove(values.get(i)));
+            expected.remove(values.get(i));
+        }
+        assertEquals(expected.size(), set.size());
+        assertEquals(expected.size(), set.count(v -> true));
+        for (String value : values) {
+            assertEquals(expected.contains(value), set.contains(value));
+        }
+
+        MutableHashSet<String> copy = set.clone();
+        assertEquals(expected.size(), copy.size());
+        for (String value : expected) {
+            assertTrue(copy.contains(value));
+        }
+
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(values.get(1)));
+        set.addAll(values);
+        assertEquals(values.size(), set.size());
+    }
 }
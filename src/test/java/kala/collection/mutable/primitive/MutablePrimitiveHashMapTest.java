@@ -0,0 +1,176 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kala.collection.mutable.primitive;
+
+import kala.SerializationUtils;
+import kala.collection.base.primitive.IntIntMapIterator;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class MutablePrimitiveHashMapTest {
+
+    private static void assertSameContent(HashMap<Integer, Integer> expected, MutableIntIntHashMap actual) {
+        assertEquals(expected.size(), actual.size());
+        expected.forEach((k, v) -> {
+            assertTrue(actual.containsKey(k));
+            assertEquals(v, actual.get(k));
+        });
+
+        HashMap<Integer, Integer> iterated = new HashMap<>();
+        IntIntMapIterator it = actual.iterator();
+        while (it.hasNext()) {
+            int k = it.nextIntKey();
+            assertNull(iterated.put(k, it.getIntValue()));
+        }
+        assertEquals(expected, iterated);
+    }
+
+    @Test
+    public void intIntRandomOperationsTest() {
+        Random random = new Random(42);
+        HashMap<Integer, Integer> expected = new HashMap<>();
+        MutableIntIntHashMap actual = MutableIntIntHashMap.create();
+
+        for (int i = 0; i < 20000; i++) {
+            // Small key range to force collisions, removals and reinsertions
+            int key = random.nextInt(512) - 16;
+            int value = random.nextInt();
+            switch (random.nextInt(4)) {
+                case 0, 1 -> {
+                    expected.put(key, value);
+                    actual.set(key, value);
+                }
+                case 2 -> assertEquals(expected.remove(key) != null, actual.remove(key));
+                case 3 -> assertEquals(expected.putIfAbsent(key, value) == null, actual.putIfAbsent(key, value));
+            }
+        }
+        assertSameContent(expected, actual);
+
+        for (int key = -16; key < 496; key++) {
+            assertEquals(expected.remove(key) != null, actual.remove(key));
+        }
+        assertTrue(actual.isEmpty());
+        assertFalse(actual.iterator().hasNext());
+    }
+
+    @Test
+    public void sizeHintTest() throws Exception {
+        java.lang.reflect.Field keysField = MutableIntIntHashMap.class.getDeclaredField("keys");
+        keysField.setAccessible(true);
+
+        for (int expectedSize : new int[]{1, 2, 3, 6, 12, 13, 24, 100, 768, 1000}) {
+            MutableIntIntHashMap m = MutableIntIntHashMap.create();
+            m.sizeHint(expectedSize);
+            Object keys = keysField.get(m);
+            for (int i = 1; i <= expectedSize; i++) {
+                m.set(i, i);
+            }
+            assertSame(keys, keysField.get(m), "rehashed after sizeHint(" + expectedSize + ")");
+            assertEquals(expectedSize, m.size());
+        }
+    }
+
+    @Test
+    public void getTest() {
+        MutableIntIntHashMap m = MutableIntIntHashMap.of(0, 10, 1, 11, -1, 12);
+        assertEquals(3, m.size());
+        assertEquals(10, m.get(0));
+        assertEquals(11, m.get(1));
+        assertEquals(12, m.get(-1));
+        assertEquals(-1, m.getOrDefault(2, -1));
+        assertThrows(NoSuchElementException.class, () -> m.get(2));
+        assertTrue(m.containsValue(10));
+        assertFalse(m.containsValue(13));
+    }
+
+    @Test
+    public void computeTest() {
+        MutableIntIntHashMap m = MutableIntIntHashMap.create();
+        for (int i = 0; i < 100; i++) {
+            m.compute(i % 10, 0, v -> v + 1);
+        }
+        assertEquals(10, m.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(10, m.get(i));
+        }
+
+        MutableObjectIntHashMap<String> counter = MutableObjectIntHashMap.create();
+        counter.compute("a", 0, v -> v + 1);
+        counter.compute("a", 0, v -> v + 1);
+        counter.compute(null, 5, v -> v * 2);
+        assertEquals(2, counter.get("a"));
+        assertEquals(10, counter.get(null));
+    }
+
+    @Test
+    public void floatingKeyTest() {
+        MutableDoubleIntHashMap m = MutableDoubleIntHashMap.create();
+        m.set(0.0, 1);
+        m.set(-0.0, 2);
+        m.set(Double.NaN, 3);
+        assertEquals(3, m.size());
+        assertEquals(1, m.get(0.0));
+        assertEquals(2, m.get(-0.0));
+        assertEquals(3, m.get(Double.longBitsToDouble(0x7ff8000000000001L)));
+        assertTrue(m.remove(0.0));
+        assertFalse(m.containsKey(0.0));
+        assertTrue(m.containsKey(-0.0));
+    }
+
+    @Test
+    public void objectValueTest() {
+        MutableLongObjectHashMap<String> m = MutableLongObjectHashMap.create();
+        for (long i = 0; i < 1000; i++) {
+            m.set(i * 31, String.valueOf(i));
+        }
+        assertEquals(1000, m.size());
+        for (long i = 0; i < 1000; i++) {
+            assertEquals(String.valueOf(i), m.get(i * 31));
+        }
+        assertNull(m.getOrDefault(1, null));
+        for (long i = 0; i < 1000; i += 2) {
+            assertTrue(m.remove(i * 31));
+        }
+        assertEquals(500, m.size());
+        for (long i = 1; i < 1000; i += 2) {
+            assertEquals(String.valueOf(i), m.get(i * 31));
+        }
+    }
+
+    @Test
+    public void equalsAndCloneTest() throws Exception {
+        MutableIntIntHashMap m = MutableIntIntHashMap.create();
+        for (int i = 0; i < 100; i++) {
+            m.set(i, i * i);
+        }
+
+        MutableIntIntHashMap clone = m.clone();
+        assertEquals(m, clone);
+        assertEquals(m.hashCode(), clone.hashCode());
+
+        clone.set(0, -1);
+        assertNotEquals(m, clone);
+        assertEquals(0, m.get(0));
+
+        assertEquals(m, SerializationUtils.writeAndRead(m));
+        assertEquals(MutableIntIntHashMap.of(1, 2).toString(), "MutableIntIntHashMap{1=2}");
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kala.collection.mutable.primitive;
+
+import kala.SerializationUtils;
+import kala.collection.immutable.primitive.ImmutableLongHashSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class MutablePrimitiveHashSetTest {
+
+    private static void assertSameElements(HashSet<Long> expected, MutableLongHashSet actual) {
+        assertEquals(expected.size(), actual.size());
+        for (Long value : expected) {
+            assertTrue(actual.contains(value));
+        }
+
+        HashSet<Long> iterated = new HashSet<>();
+        actual.forEach(value -> assertTrue(iterated.add(value)));
+        assertEquals(expected, iterated);
+
+        HashSet<Long> fromArray = new HashSet<>();
+        for (long value : actual.toArray()) {
+            assertTrue(fromArray.add(value));
+        }
+        assertEquals(expected, fromArray);
+    }
+
+    @Test
+    public void randomOperationsTest() {
+        Random random = new Random(42);
+        HashSet<Long> expected = new HashSet<>();
+        MutableLongHashSet actual = MutableLongHashSet.create();
+
+        for (int i = 0; i < 20000; i++) {
+            long value = random.nextInt(1024) - 16;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(value), actual.remove(value));
+            } else {
+                assertEquals(expected.add(value), actual.add(value));
+            }
+        }
+        assertSameElements(expected, actual);
+    }
+
+    @Test
+    public void addAllTest() {
+        MutableIntHashSet set = MutableIntHashSet.create();
+        assertTrue(set.addAll(new int[]{0, 1, 2, 1, 0, 3}));
+        assertFalse(set.addAll(new int[]{0, 3}));
+        assertEquals(4, set.size());
+
+        MutableIntHashSet other = MutableIntHashSet.of(3, 4, 5);
+        assertTrue(set.addAll(other));
+        assertEquals(MutableIntHashSet.of(0, 1, 2, 3, 4, 5), set);
+    }
+
+    @Test
+    public void sizeHintTest() throws Exception {
+        java.lang.reflect.Field tableField = MutableIntHashSet.class.getDeclaredField("table");
+        tableField.setAccessible(true);
+
+        for (int expectedSize : new int[]{1, 2, 3, 6, 12, 13, 24, 100, 768, 1000}) {
+            MutableIntHashSet set = MutableIntHashSet.create();
+            set.sizeHint(expectedSize);
+            Object table = tableField.get(set);
+            for (int i = 1; i <= expectedSize; i++) {
+                set.add(i);
+            }
+            assertSame(table, tableField.get(set), "rehashed after sizeHint(" + expectedSize + ")");
+            assertEquals(expectedSize, set.size());
+        }
+    }
+
+    @Test
+    public void retainAllTest() {
+        MutableLongHashSet set = MutableLongHashSet.create();
+        HashSet<Long> expected = new HashSet<>();
+        for (long i = 0; i < 1000; i++) {
+            set.add(i);
+            expected.add(i);
+        }
+
+        MutableLongHashSet other = MutableLongHashSet.create();
+        for (long i = 0; i < 2000; i += 3) {
+            other.add(i);
+        }
+        expected.removeIf(value -> value % 3 != 0);
+
+        assertTrue(set.retainAll(other));
+        assertSameElements(expected, set);
+        assertFalse(set.retainAll(other));
+
+        assertTrue(set.retainAll(new long[]{0, 3, 6, 7}));
+        assertEquals(MutableLongHashSet.of(0, 3, 6), set);
+
+        assertTrue(set.removeIf(value -> value == 0));
+        assertEquals(MutableLongHashSet.of(3, 6), set);
+    }
+
+    @Test
+    public void removeIfThrowingTest() {
+        MutableIntHashSet set = MutableIntHashSet.of(0, 1, 2, 3);
+        assertThrows(IllegalStateException.class, () -> set.removeIf(value -> {
+            if (value == 2) {
+                throw new IllegalStateException();
+            }
+            return true;
+        }));
+        assertEquals(MutableIntHashSet.of(0, 1, 2, 3), set);
+        assertTrue(set.contains(0));
+        assertEquals(4, set.size());
+    }
+
+    @Test
+    public void floatingValueTest() {
+        MutableDoubleHashSet set = MutableDoubleHashSet.of(0.0, -0.0, Double.NaN);
+        assertEquals(3, set.size());
+        assertTrue(set.contains(0.0));
+        assertTrue(set.contains(-0.0));
+        assertTrue(set.contains(Double.longBitsToDouble(0x7ff8000000000001L)));
+        assertTrue(set.remove(0.0));
+        assertFalse(set.contains(0.0));
+        assertTrue(set.contains(-0.0));
+    }
+
+    @Test
+    public void immutableTest() throws Exception {
+        ImmutableLongHashSet empty = ImmutableLongHashSet.empty();
+        ImmutableLongHashSet set1 = empty.added(1L);
+        ImmutableLongHashSet set2 = set1.addedAll(new long[]{2L, 3L});
+
+        assertTrue(empty.isEmpty());
+        assertEquals(ImmutableLongHashSet.of(1L), set1);
+        assertEquals(ImmutableLongHashSet.of(1L, 2L, 3L), set2);
+        assertSame(set2, set2.added(2L));
+        assertEquals(ImmutableLongHashSet.of(2L), set2.filter(value -> value == 2L));
+        assertEquals(set2, SerializationUtils.writeAndRead(set2));
+        assertEquals(set2, MutableLongHashSet.of(1L, 2L, 3L));
+    }
+
+    @Test
+    public void cloneAndSerializationTest() throws Exception {
+        MutableIntHashSet set = MutableIntHashSet.create();
+        for (int i = -50; i < 50; i++) {
+            set.add(i * 7);
+        }
+        MutableIntHashSet clone = set.clone();
+        assertEquals(set, clone);
+        clone.remove(0);
+        assertNotEquals(set, clone);
+        assertEquals(set, SerializationUtils.writeAndRead(set));
+
+        set.clear();
+        set.trimToSize();
+        assertTrue(set.isEmpty());
+        assertFalse(set.iterator().hasNext());
+    }
+}
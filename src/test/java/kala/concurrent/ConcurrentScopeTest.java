@@ -15,11 +15,18 @@
  */
 package kala.concurrent;
 
+import kala.collection.immutable.ImmutableSeq;
 import org.junit.jupiter.api.*;
 
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -51,4 +58,99 @@ public final class ConcurrentScopeTest {
         });
 
     }
+
+    @Test
+    void virtualThreadsTest() {
+        ImmutableSeq<Integer> values = ImmutableSeq.fill(100, i -> i);
+
+        try (ConcurrentScope scope = ConcurrentScope.withVirtualThreads()) {
+            Executor executor = ConcurrentScope.currentExecutor();
+            assertSame(scope, ConcurrentScope.current());
+
+            LongAdder adder = new LongAdder();
+            values.forEachParallel(value -> {
+                assertTrue(Thread.currentThread().isVirtual());
+                assertSame(scope, ConcurrentScope.current());
+                assertSame(executor, ConcurrentScope.currentExecutor());
+
+                values.forEachParallel(v -> adder.increment(), Granularity.FINE);
+            }, Granularity.ATOM);
+            assertEquals(100L * 100L, adder.sum());
+
+            assertIterableEquals(values.map(i -> i * 2), values.mapParallel(ImmutableSeq.factory(), i -> i * 2));
+            assertFalse(scope.isCancelled());
+        }
+        assertNull(ConcurrentScope.current());
+        assertSame(ForkJoinPool.commonPool(), ConcurrentScope.currentExecutor());
+    }
+
+    @Test
+    void virtualThreadsCancelOnFailureTest() {
+        ImmutableSeq<Integer> values = ImmutableSeq.fill(100, i -> i);
+
+        long start = System.nanoTime();
+        try (ConcurrentScope scope = ConcurrentScope.withVirtualThreads()) {
+            IllegalStateException ex = assertThrows(IllegalStateException.class, () -> values.forEachParallel(value -> {
+                if (value == 0) {
+                    throw new IllegalStateException();
+                }
+                sleep(Duration.ofSeconds(30));
+            }, Granularity.ATOM));
+            assertNotNull(ex);
+
+            assertTrue(scope.isCancelled());
+            assertThrows(CancellationException.class, () -> values.forEachParallel(value -> {
+            }));
+        }
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(10)) < 0);
+    }
+
+    @Test
+    void virtualThreadsReportFailureOnceTest() {
+        IllegalStateException failure = new IllegalStateException();
+        AtomicInteger uncaught = new AtomicInteger();
+
+        Thread.UncaughtExceptionHandler oldHandler = Thread.getDefaultUncaughtExceptionHandler();
+        Thread.setDefaultUncaughtExceptionHandler((thread, ex) -> uncaught.incrementAndGet());
+        try {
+            ConcurrentScope scope = ConcurrentScope.withVirtualThreads();
+            try (scope) {
+                ConcurrentScope.currentExecutor().execute(() -> {
+                    assertSame(scope, ConcurrentScope.current());
+                    throw failure;
+                });
+            }
+            assertNull(ConcurrentScope.current());
+
+            assertTrue(scope.isCancelled());
+            CancellationException ex = assertThrows(CancellationException.class, scope::checkCancelled);
+            assertSame(failure, ex.getCause());
+            assertEquals(0, uncaught.get());
+        } finally {
+            Thread.setDefaultUncaughtExceptionHandler(oldHandler);
+        }
+    }
+
+    @Test
+    void virtualThreadsDeadlineTest() {
+        ImmutableSeq<Integer> values = ImmutableSeq.fill(10, i -> i);
+
+        long start = System.nanoTime();
+        try (ConcurrentScope scope = ConcurrentScope.withVirtualThreads(Duration.ofMillis(100))) {
+            assertThrows(RuntimeException.class, () -> values.forEachParallel(value -> sleep(Duration.ofSeconds(30)), Granularity.ATOM));
+            assertTrue(scope.isCancelled());
+
+            CancellationException ex = assertThrows(CancellationException.class, scope::checkCancelled);
+            assertInstanceOf(TimeoutException.class, ex.getCause());
+        }
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(10)) < 0);
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
 }
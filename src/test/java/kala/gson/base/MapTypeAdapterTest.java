@@ -0,0 +1,83 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kala.gson.base;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import kala.collection.Map;
+import kala.collection.Seq;
+import kala.collection.immutable.ImmutableMap;
+import kala.collection.immutable.ImmutableTreeMap;
+import kala.collection.mutable.MutableHashMap;
+import kala.collection.mutable.MutableMap;
+import kala.collection.mutable.MutableTreeMap;
+import kala.gson.KalaGson;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class MapTypeAdapterTest {
+    private final Gson gson = KalaGson.createKalaGson();
+
+    enum Color {
+        RED, GREEN
+    }
+
+    @Test
+    public void serializeTest() {
+        assertEquals("{}", gson.toJson(Map.empty()));
+        assertEquals("{\"a\":1}", gson.toJson(Map.of("a", 1)));
+        assertEquals("{\"1\":\"a\"}", gson.toJson(MutableHashMap.of(1, "a")));
+        assertEquals("{\"0\":[1,2]}", gson.toJson(MutableTreeMap.of(0, Seq.of(1, 2))));
+        assertEquals("[[[0],1]]", gson.toJson(Map.of(Seq.of(0), 1)));
+        assertEquals("[[null,1]]", gson.toJson(MutableHashMap.of(null, 1), MutableHashMap.class));
+    }
+
+    @Test
+    public void deserializeTest() {
+        TypeToken<?> type = TypeToken.getParameterized(Map.class, String.class, Integer.class);
+        assertEquals(Map.empty(), gson.fromJson("{}", type));
+        assertEquals(Map.of("a", 1, "b", 2), gson.fromJson("{\"a\":1,\"b\":2}", type));
+        assertEquals(Map.of("a", 1, "b", 2), gson.fromJson("[[\"a\",1],[\"b\",2]]", type));
+
+        TypeToken<?> intKeys = TypeToken.getParameterized(MutableMap.class, Integer.class, String.class);
+        assertEquals(MutableHashMap.of(1, "a", 2, "b"), gson.fromJson("{\"1\":\"a\",\"2\":\"b\"}", intKeys));
+
+        TypeToken<?> enumKeys = TypeToken.getParameterized(ImmutableMap.class, Color.class, Boolean.class);
+        assertEquals(ImmutableMap.of(Color.RED, true, Color.GREEN, false), gson.fromJson("{\"RED\":true,\"GREEN\":false}", enumKeys));
+
+        TypeToken<?> seqKeys = TypeToken.getParameterized(Map.class,
+                TypeToken.getParameterized(Seq.class, Integer.class).getType(), Integer.class);
+        assertEquals(Map.of(Seq.of(0, 1), 2), gson.fromJson("[[[0,1],2]]", seqKeys));
+
+        assertInstanceOf(MutableHashMap.class, gson.fromJson("{}", MutableHashMap.class));
+        assertInstanceOf(MutableTreeMap.class, gson.fromJson("{}", kala.collection.mutable.MutableSortedMap.class));
+        assertInstanceOf(ImmutableTreeMap.class, gson.fromJson("{}", kala.collection.SortedMap.class));
+        assertNull(gson.fromJson("null", type));
+    }
+
+    @Test
+    public void roundTripTest() {
+        MutableTreeMap<Integer, String> map = new MutableTreeMap<>();
+        for (int i = 0; i < 1000; i++) {
+            map.set(i, String.valueOf(i));
+        }
+
+        TypeToken<?> type = TypeToken.getParameterized(MutableTreeMap.class, Integer.class, String.class);
+        MutableTreeMap<Integer, String> result = (MutableTreeMap<Integer, String>) gson.fromJson(gson.toJson(map), type);
+        assertTrue(Map.equals(map, result));
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kala.gson.base;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import kala.collection.immutable.primitive.ImmutableCharArray;
+import kala.collection.immutable.primitive.ImmutableIntArray;
+import kala.collection.immutable.primitive.ImmutableIntSeq;
+import kala.collection.mutable.primitive.MutableByteArrayList;
+import kala.collection.mutable.primitive.MutableDoubleArrayList;
+import kala.collection.mutable.primitive.MutableLongHashSet;
+import kala.collection.primitive.BitArray;
+import kala.collection.primitive.BooleanSeq;
+import kala.collection.primitive.IntSeq;
+import kala.collection.primitive.IntSet;
+import kala.gson.KalaGson;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class PrimitiveCollectionTypeAdapterTest {
+    private final Gson gson = KalaGson.createKalaGson();
+
+    @Test
+    public void serializeTest() {
+        assertEquals("[]", gson.toJson(IntSeq.empty()));
+        assertEquals("[0,1,2]", gson.toJson(IntSeq.of(0, 1, 2)));
+        assertEquals("[1.5,2.0]", gson.toJson(MutableDoubleArrayList.of(1.5, 2.0)));
+        assertEquals("[\"a\",\"b\"]", gson.toJson(ImmutableCharArray.of('a', 'b')));
+        assertEquals("[true,false,true]", gson.toJson(BooleanSeq.of(true, false, true)));
+        assertEquals("[true,false,true]", gson.toJson(BitArray.wrap(0b101L, 3)));
+    }
+
+    @Test
+    public void deserializeTest() {
+        assertEquals(IntSeq.of(0, 1, 2), gson.fromJson("[0,1,2]", IntSeq.class));
+        assertInstanceOf(ImmutableIntSeq.class, gson.fromJson("[0,1,2]", ImmutableIntSeq.class));
+        assertInstanceOf(ImmutableIntArray.class, gson.fromJson("[0,1,2]", ImmutableIntArray.class));
+        assertEquals(IntSet.of(1, 2), gson.fromJson("[1,2,1]", IntSet.class));
+        assertEquals(MutableLongHashSet.of(1L << 40), gson.fromJson("[1099511627776]", MutableLongHashSet.class));
+        assertEquals(MutableByteArrayList.of((byte) -1, (byte) 127), gson.fromJson("[-1,127]", MutableByteArrayList.class));
+        assertEquals(ImmutableCharArray.of('a', 'b'), gson.fromJson("[\"a\",\"b\"]", ImmutableCharArray.class));
+        assertNull(gson.fromJson("null", IntSeq.class));
+
+        assertThrows(NumberFormatException.class, () -> gson.fromJson("[128]", MutableByteArrayList.class));
+        assertThrows(JsonSyntaxException.class, () -> gson.fromJson("[\"ab\"]", ImmutableCharArray.class));
+
+        int[] values = new int[100000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i * 31;
+        }
+        assertEquals(ImmutableIntArray.from(values), gson.fromJson(gson.toJson(ImmutableIntArray.from(values)), ImmutableIntArray.class));
+    }
+
+    @Test
+    public void bitArrayTest() {
+        boolean[] values = new boolean[200];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i % 3 == 0;
+        }
+
+        BitArray bitArray = gson.fromJson(gson.toJson(BooleanSeq.of(values)), BitArray.class);
+        assertEquals(values.length, bitArray.size());
+        assertArrayEquals(values, bitArray.toArray());
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kala.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class BufferedPrinterTest {
+
+    private static void assertPrints(String expected, java.util.function.Consumer<BufferedPrinter> action) {
+        for (int bufferSize : new int[]{64, 100, BufferedPrinter.DEFAULT_BUFFER_SIZE}) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            BufferedPrinter printer = new BufferedPrinter(Channels.newChannel(out), bufferSize);
+            action.accept(printer);
+            printer.flush();
+            assertEquals(expected, out.toString(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String viaPrintStream(java.util.function.Consumer<PrintStream> action) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrintStream stream = new PrintStream(out, false, StandardCharsets.UTF_8);
+        action.accept(stream);
+        stream.flush();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void primitiveTest() {
+        int[] ints = {0, 1, -1, 9, 10, -10, 99, 100, 123456789, 1000000000, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        long[] longs = {0L, -1L, 1234567890123L, 999999999999999999L, 1000000000000000000L, Long.MAX_VALUE, Long.MIN_VALUE};
+        double[] doubles = {0.0, -0.0, 1.5, 0.1, 1e-300, 1e300, Double.NaN, Double.NEGATIVE_INFINITY, Double.MIN_VALUE};
+        float[] floats = {0.0f, 0.1f, -3.25f, Float.MAX_VALUE};
+
+        String expected = viaPrintStream(stream -> {
+            for (int x : ints) stream.println(x);
+            for (long x : longs) stream.println(x);
+            for (double x : doubles) stream.println(x);
+            for (float x : floats) stream.println(x);
+            stream.print(true);
+            stream.print(false);
+            stream.print((byte) -128);
+            stream.print((short) 32767);
+            stream.print('c');
+            stream.println();
+        });
+
+        assertPrints(expected, printer -> {
+            for (int x : ints) printer.println(x);
+            for (long x : longs) printer.println(x);
+            for (double x : doubles) printer.println(x);
+            for (float x : floats) printer.println(x);
+            printer.print(true).print(false).print((byte) -128).print((short) 32767).print('c').println();
+        });
+    }
+
+    @Test
+    void stringTest() {
+        String str = "ascii é中😀 \uD800 end";
+        String encoded = new String(str.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+        assertPrints(encoded + System.lineSeparator() + "null" + "[1]", printer -> printer.println(str).print((String) null).print((Object) new int[]{1}));
+
+        String longString = "0123456789中".repeat(100);
+        assertPrints(longString, printer -> printer.print(longString));
+    }
+
+    @Test
+    void arrayTest() {
+        int[] ints = new int[1000];
+        long[] longs = new long[1000];
+        double[] doubles = new double[1000];
+        for (int i = 0; i < ints.length; i++) {
+            ints[i] = i * 7919 - 3000000;
+            longs[i] = i * 7919L * 1000000007L;
+            doubles[i] = i / 7.0;
+        }
+        char[] chars = {'a', '中'};
+        boolean[] booleans = {true, false};
+        Object[] objects = {"str", null, new int[]{1, 2}};
+
+        assertPrints(Arrays.toString(ints) + System.lineSeparator()
+                        + Arrays.toString(longs)
+                        + Arrays.toString(doubles)
+                        + Arrays.toString(chars)
+                        + Arrays.toString(booleans)
+                        + "[str, null, [1, 2]]"
+                        + "[]null",
+                printer -> printer.println(ints)
+                        .print(longs)
+                        .print(doubles)
+                        .print(chars)
+                        .print(booleans)
+                        .print(objects)
+                        .print(new byte[0])
+                        .print((int[]) null));
+    }
+}
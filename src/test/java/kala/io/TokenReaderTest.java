@@ -0,0 +1,134 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kala.io;
+
+import kala.collection.mutable.primitive.MutableIntArrayList;
+import kala.collection.mutable.primitive.MutableLongArrayList;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class TokenReaderTest {
+
+    private static TokenReader reader(String input, int bufferSize) {
+        return new TokenReader(Channels.newChannel(new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII))), bufferSize);
+    }
+
+    @Test
+    void nextIntTest() throws IOException {
+        for (int bufferSize : new int[]{1, 3, 16, TokenReader.DEFAULT_BUFFER_SIZE}) {
+            TokenReader reader = reader("  0 1\n-1\t+42\r\n2147483647 -2147483648 007  ", bufferSize);
+            assertEquals(0, reader.nextInt());
+            assertEquals(1, reader.nextInt());
+            assertEquals(-1, reader.nextInt());
+            assertEquals(42, reader.nextInt());
+            assertEquals(Integer.MAX_VALUE, reader.nextInt());
+            assertEquals(Integer.MIN_VALUE, reader.nextInt());
+            assertEquals(7, reader.nextInt());
+            assertFalse(reader.hasNext());
+            assertThrows(NoSuchElementException.class, reader::nextInt);
+        }
+
+        TokenReader reader = reader("2147483648 -2147483649 12a - 10", 4);
+        assertThrows(InputMismatchException.class, reader::nextInt);
+        assertThrows(InputMismatchException.class, reader::nextInt);
+        assertThrows(InputMismatchException.class, reader::nextInt);
+        assertThrows(InputMismatchException.class, reader::nextInt);
+        assertEquals(10, reader.nextInt());
+    }
+
+    @Test
+    void nextLongTest() throws IOException {
+        TokenReader reader = reader("9223372036854775807 -9223372036854775808 9223372036854775808 123456789012", 5);
+        assertEquals(Long.MAX_VALUE, reader.nextLong());
+        assertEquals(Long.MIN_VALUE, reader.nextLong());
+        assertThrows(InputMismatchException.class, reader::nextLong);
+        assertEquals(123456789012L, reader.nextLong());
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    void nextDoubleTest() throws IOException {
+        String[] inputs = {
+                "0", "-0", "1", "-1.5", "3.141592653589793", "0.1", "1e10", "1E-10", "+2.5e+3", ".5", "5.",
+                "123456789012345678901234567890", "0.000000000000000000000000000001", "4.9e-324", "1.7976931348623157e308",
+                "1e400", "NaN", "-Infinity", "0x1p3", "9007199254740993", "2.2250738585072011e-308"
+        };
+
+        TokenReader reader = reader(String.join(" \n", inputs), 7);
+        for (String input : inputs) {
+            double expected = Double.parseDouble(input);
+            assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(reader.nextDouble()), input);
+        }
+        assertFalse(reader.hasNext());
+
+        TokenReader invalid = reader("1.2.3 - e5 1e 4", 7);
+        assertThrows(InputMismatchException.class, invalid::nextDouble);
+        assertThrows(InputMismatchException.class, invalid::nextDouble);
+        assertThrows(InputMismatchException.class, invalid::nextDouble);
+        assertThrows(InputMismatchException.class, invalid::nextDouble);
+        assertEquals(4.0, invalid.nextDouble());
+    }
+
+    @Test
+    void nextTest() throws IOException {
+        TokenReader reader = reader("hello  world\n42", 3);
+        assertTrue(reader.hasNext());
+        assertEquals("hello", reader.next());
+        assertEquals("world", reader.next());
+        assertEquals(42, reader.nextInt());
+        assertFalse(reader.hasNext());
+        assertThrows(NoSuchElementException.class, reader::next);
+    }
+
+    @Test
+    void bulkTest() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            builder.append(i * 31 - 5000).append(i % 10 == 0 ? '\n' : ' ');
+        }
+        String input = builder.toString();
+
+        TokenReader reader = reader(input, 64);
+        int[] ints = new int[1000];
+        reader.readInts(ints, 0, 400);
+        assertArrayEquals(reader(input, 64).readInts(400), java.util.Arrays.copyOf(ints, 400));
+        MutableIntArrayList intList = new MutableIntArrayList();
+        reader.readInts(intList, 100);
+        assertEquals(500, reader.readAllInts(intList));
+        assertEquals(600, intList.size());
+        for (int i = 0; i < 600; i++) {
+            assertEquals((i + 400) * 31 - 5000, intList.get(i));
+        }
+        assertThrows(NoSuchElementException.class, () -> reader.readInts(1));
+
+        TokenReader longReader = reader(input, 64);
+        long[] longs = longReader.readLongs(10);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i * 31L - 5000, longs[i]);
+        }
+        MutableLongArrayList longList = new MutableLongArrayList();
+        assertEquals(990, longReader.readAllLongs(longList));
+        assertEquals(999 * 31L - 5000, longList.get(989));
+    }
+}
@@ -18,7 +18,13 @@ package kala.text;
 import kala.SerializationUtils;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 public final class StringAppenderTest {
 
@@ -27,4 +33,99 @@ public final class StringAppenderTest {
         assertEquals("", SerializationUtils.writeAndRead(new StringAppender()).toString());
         assertEquals("str", SerializationUtils.writeAndRead(new StringAppender("str")).toString());
     }
+
+    private static void appendContent(StringAppender appender) {
+        for (int i = 0; i < 100; i++) {
+            appender.append("line ").append(i).append(": ")
+                    .append(new int[]{i, i + 1})
+                    .append('\uD83D').append('\uDE00')
+                    .append("中文\uD83D\uDE00".repeat(i % 7))
+                    .append(StringSlice.of("xx-slice-xx", 3, 8))
+                    .append("[0123456789]", 1, 11)
+                    .append(i % 2 == 0)
+                    .append(1.5)
+                    .append('\n');
+            appender.write("abcdefghijklmnopqrstuvwxyz".repeat(i % 5), 0, 5 * (i % 5));
+        }
+        StringFormatFactory.getDefault().format(appender, "{} and {}", "formatted", 42);
+    }
+
+    @Test
+    public void chunkedTest() throws Exception {
+        StringAppender expected = new StringAppender();
+        appendContent(expected);
+        String str = expected.toString();
+
+        for (int chunkSize : new int[]{16, 17, 100, StringAppender.DEFAULT_CHUNK_SIZE}) {
+            StringAppender appender = StringAppender.chunked(chunkSize);
+            assertTrue(appender.isChunked());
+            appendContent(appender);
+
+            assertEquals(str, appender.toString());
+            assertEquals(str.length(), appender.length());
+
+            StringBuilder builder = new StringBuilder();
+            appender.appendTo(builder);
+            assertEquals(str, builder.toString());
+
+            StringWriter writer = new StringWriter();
+            appender.writeTo(writer);
+            assertEquals(str, writer.toString());
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            appender.writeTo(out, StandardCharsets.UTF_8);
+            assertEquals(str, out.toString(StandardCharsets.UTF_8));
+
+            out.reset();
+            appender.writeTo(Channels.newChannel(out), StandardCharsets.UTF_8);
+            assertEquals(str, out.toString(StandardCharsets.UTF_8));
+
+            if (chunkSize < str.length()) {
+                assertTrue(appender.getBuilder().length() < str.length());
+            }
+
+            StringAppender deserialized = SerializationUtils.writeAndRead(appender);
+            assertTrue(deserialized.isChunked());
+            assertEquals(str, deserialized.toString());
+        }
+
+        assertFalse(expected.isChunked());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        expected.writeTo(out, StandardCharsets.UTF_8);
+        assertEquals(str, out.toString(StandardCharsets.UTF_8));
+
+        assertThrows(IllegalArgumentException.class, () -> StringAppender.chunked(0));
+    }
+
+    @Test
+    public void chunkedArrayTest() {
+        int[] ints = new int[1000];
+        double[] doubles = new double[1000];
+        Object[] objects = new Object[1000];
+        for (int i = 0; i < ints.length; i++) {
+            ints[i] = i * 31;
+            doubles[i] = i / 7.0;
+            objects[i] = i % 3 == 0 ? null : new int[]{i, -i};
+        }
+
+        StringAppender appender = StringAppender.chunked(16);
+        appender.appendArray(ints);
+        // Chunks are sealed after every element, not only at the end of the array
+        assertTrue(appender.getBuilder().length() < 32);
+        appender.appendArray(doubles);
+        assertTrue(appender.getBuilder().length() < 48);
+        appender.appendArray(objects);
+        assertTrue(appender.getBuilder().length() < 32);
+        appender.append((Object) ints);
+
+        assertEquals(Arrays.toString(ints) + Arrays.toString(doubles) + Arrays.deepToString(objects) + Arrays.toString(ints),
+                appender.toString());
+    }
+
+    @Test
+    public void appendRangeTest() {
+        assertEquals("bc", new StringAppender().append(new StringBuilder("abcd"), 1, 3).toString());
+        assertEquals("bc", new StringAppender().append(StringSlice.of("abcd"), 1, 3).toString());
+        assertEquals("ul", new StringAppender().append((CharSequence) null, 1, 3).toString());
+    }
 }
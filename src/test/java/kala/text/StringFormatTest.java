@@ -100,4 +100,30 @@ public final class StringFormatTest {
         assertThrows(StringFormatException.class, () -> StringFormat.format("{:substring:5}", "str0"));
         assertThrows(StringFormatException.class, () -> StringFormat.format("{:substring:1,0}", "str0"));
     }
+
+    @Test
+    void parseTest() {
+        StringFormatFactory factory = StringFormatFactory.getDefault();
+
+        StringFormat format = factory.parse("{1} : {} : {:upper} : {0}");
+        assertSame(format, factory.parse("{1} : {} : {:upper} : {0}"));
+        // format("str0", "str1") would resolve to the static method StringFormat.format(String, Object...)
+        assertEquals("str1 : str0 : STR1 : str0", format.format(new Object[]{"str0", "str1"}));
+
+        assertEquals("prefix str1 : str0 : STR1 : str0", format.format(new StringBuilder("prefix "), "str0", "str1").toString());
+        assertEquals("prefix str1 : str0 : STR1 : str0", format.format(new StringAppender("prefix "), "str0", "str1").toString());
+
+        // Errors in the format string are reported by parse, errors in the arguments by format
+        assertThrows(StringFormatException.class, () -> factory.parse("{foo}"));
+        assertThrows(StringFormatException.class, () -> factory.parse("{:unknown}"));
+        assertThrows(StringFormatException.class, () -> format.format(new Object[]{"str0"}));
+
+        StringFormatFactory uncached = StringFormatFactory.builder(factory).cacheSize(0).build();
+        assertNotSame(uncached.parse("{}"), uncached.parse("{}"));
+
+        StringFormatFactory small = StringFormatFactory.builder(factory).cacheSize(4).build();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i + " " + i, small.format(i + " {}", i));
+        }
+    }
 }
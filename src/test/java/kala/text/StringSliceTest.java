@@ -21,6 +21,8 @@ import org.junit.jupiter.api.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Random;
+import java.util.Spliterator;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -148,6 +150,11 @@ public final class StringSliceTest {
         assertFalse(slice.contains("bc"));
         assertFalse(slice.contains("abc"));
         assertFalse(slice.contains("ac"));
+
+        slice = StringSlice.of("xabcabc", 1, 4);
+        assertTrue(slice.contains("abc"));
+        assertFalse(slice.contains("ca"));
+        assertFalse(slice.contains("x"));
     }
 
     @Test
@@ -273,6 +280,9 @@ public final class StringSliceTest {
     @Test
     void linesTest() {
         assertSlicesEquals(List.of("123", "456", "", "789", "", "101112"), StringSlice.of("123\r\n456\n\n789\r\n\n101112\n").lines());
+        assertSlicesEquals(List.of("a", "b", "", "c"), StringSlice.of("a\rb\r\rc").lines());
+        assertSlicesEquals(List.of("a", "b", "c", "", "d"), StringSlice.of("a\rb\nc\r\r\nd\r").lines());
+        assertSlicesEquals(List.of("b", "c"), StringSlice.of("a\nb\r\nc\nd", 2, 7).lines());
     }
 
     @Test
@@ -297,6 +307,58 @@ public final class StringSliceTest {
         assertSlicesEquals(List.of("", "a", "::b::"), StringSlice.of("::a::::b::").split("::", 3));
     }
 
+    private static void collectSplit(Spliterator<StringSlice> spliterator, List<String> out) {
+        Spliterator<StringSlice> prefix = spliterator.trySplit();
+        if (prefix != null) {
+            collectSplit(prefix, out);
+        }
+        Spliterator<StringSlice> prefix2 = spliterator.trySplit();
+        if (prefix2 != null) {
+            collectSplit(prefix2, out);
+            collectSplit(spliterator, out);
+        } else {
+            spliterator.forEachRemaining(it -> out.add(it.toString()));
+        }
+    }
+
+    private static void assertSplitsConsistently(Traversable<StringSlice> traversable) {
+        List<String> expected = new ArrayList<>();
+        traversable.forEach(it -> expected.add(it.toString()));
+
+        List<String> actual = new ArrayList<>();
+        collectSplit(traversable.spliterator(), actual);
+        assertIterableEquals(expected, actual);
+        assertIterableEquals(expected, traversable.parallelStream().map(StringSlice::toString).toList());
+    }
+
+    @Test
+    void parallelSplitTest() {
+        Random random = new Random(0);
+        String[] pieces = {"a", "bc", ":", "::", "\n", "\r", "\r\n", "\uD83D\uDE00", "abc:def"};
+        for (int round = 0; round < 20; round++) {
+            StringBuilder builder = new StringBuilder();
+            int n = random.nextInt(20000);
+            while (builder.length() < n) {
+                builder.append(pieces[random.nextInt(pieces.length)]);
+            }
+            String str = builder.toString();
+            StringSlice slice = StringSlice.of("::\n" + str + "\n::", 3, 3 + str.length());
+
+            assertSplitsConsistently(slice.lines());
+            assertSplitsConsistently(slice.split(':'));
+            assertSplitsConsistently(slice.split("::"));
+            assertSplitsConsistently(slice.split(":\n"));
+            assertSplitsConsistently(slice.split("::", 5));
+            assertSplitsConsistently(slice.split(Character.toCodePoint('\uD83D', '\uDE00')));
+        }
+
+        StringSlice overlapping = StringSlice.of("a".repeat(5001));
+        assertSplitsConsistently(overlapping.split("aa"));
+        assertSplitsConsistently(StringSlice.of("x".repeat(5000)).lines());
+        assertSplitsConsistently(StringSlice.of("\n".repeat(5000)).lines());
+        assertSplitsConsistently(StringSlice.of(":".repeat(5000)).split(':'));
+    }
+
     @Test
     void contextEqualsTest() {
         StringSlice slice1 = StringSlice.of("abc");
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kala.text;
+
+import kala.collection.base.Traversable;
+import org.junit.jupiter.api.Test;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class Utf8SliceTest {
+
+    private static final List<Function<String, Utf8Slice>> FACTORIES = List.of(
+            Utf8Slice::of,
+            str -> {
+                byte[] bytes = ("xx" + str + "yy").getBytes(StandardCharsets.UTF_8);
+                return Utf8Slice.of(bytes, 2, bytes.length - 2);
+            },
+            str -> {
+                byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+                ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length + 4);
+                buffer.position(2);
+                buffer.put(bytes);
+                buffer.flip().position(2);
+                return Utf8Slice.of(buffer);
+            },
+            str -> {
+                byte[] bytes = ("xx" + str).getBytes(StandardCharsets.UTF_8);
+                return Utf8Slice.of(ByteBuffer.wrap(bytes).position(2).slice().asReadOnlyBuffer());
+            },
+            str -> {
+                byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+                MemorySegment segment = Arena.ofAuto().allocate(bytes.length + 4);
+                MemorySegment.copy(bytes, 0, segment, ValueLayout.JAVA_BYTE, 2, bytes.length);
+                return Utf8Slice.of(segment, 2, 2 + bytes.length);
+            }
+    );
+
+    private static void assertSlicesEquals(List<String> expected, Traversable<Utf8Slice> actual) {
+        assertIterableEquals(expected, actual.stream().map(Utf8Slice::toString).toList());
+    }
+
+    @Test
+    void basicTest() {
+        for (Function<String, Utf8Slice> factory : FACTORIES) {
+            Utf8Slice slice = factory.apply("héllo 中");
+            assertEquals(10, slice.length());
+            assertEquals("héllo 中", slice.toString());
+            assertFalse(slice.isAscii());
+            assertTrue(factory.apply("hello").isAscii());
+            assertEquals('h', slice.byteAt(0));
+            assertEquals("llo 中", slice.slice(3).toString());
+            assertEquals("héllo", slice.slice(0, 6).toString());
+            assertEquals("中", slice.slice(~3).toString());
+            assertTrue(factory.apply("").isEmpty());
+            assertThrows(IndexOutOfBoundsException.class, () -> slice.slice(11));
+
+            assertEquals(Utf8Slice.of("héllo 中"), slice);
+            assertEquals(Utf8Slice.of("héllo 中").hashCode(), slice.hashCode());
+            assertArrayEquals("héllo 中".getBytes(StandardCharsets.UTF_8), slice.getBytes());
+            assertEquals(StringSlice.of("héllo 中"), slice.toStringSlice());
+        }
+    }
+
+    @Test
+    void searchTest() {
+        for (Function<String, Utf8Slice> factory : FACTORIES) {
+            Utf8Slice slice = factory.apply("key=value; 中文=ok; key=again");
+            assertEquals(3, slice.indexOf('='));
+            assertEquals(3, slice.indexOf((byte) '='));
+            assertEquals(17, slice.indexOf((byte) '=', 4));
+            assertEquals(11, slice.indexOf('中'));
+            assertEquals(0, slice.indexOf("key"));
+            assertEquals(22, slice.indexOf("key", 1));
+            assertEquals(-1, slice.indexOf("keys"));
+            assertEquals(11, slice.indexOf("中文"));
+            assertTrue(slice.contains("again"));
+            assertFalse(slice.contains("yy"));
+            assertFalse(slice.contains('x'));
+
+            assertTrue(slice.startsWith("key="));
+            assertFalse(slice.startsWith("xx"));
+            assertTrue(slice.endsWith("again"));
+            assertFalse(slice.endsWith("yy"));
+            assertEquals("value; 中文=ok; key=again", slice.removePrefix(Utf8Slice.of("key=")).toString());
+            assertEquals("key=value; 中文=ok; key=", slice.removeSuffix(Utf8Slice.of("again")).toString());
+
+            assertTrue(slice.contentEquals("key=value; 中文=ok; key=again"));
+            assertTrue(slice.contentEquals(new StringBuilder("key=value; 中文=ok; key=again")));
+            assertFalse(slice.contentEquals("key=value; 中文=ok; key=agai"));
+            assertFalse(slice.contentEquals("key=value; 中文=ok; key=againn"));
+            assertFalse(slice.contentEquals("key=value; 中中=ok; key=again"));
+        }
+    }
+
+    @Test
+    void trimTest() {
+        for (Function<String, Utf8Slice> factory : FACTORIES) {
+            assertEquals("a b", factory.apply(" \ta b\r\n").trim().toString());
+            assertEquals("", factory.apply(" \t ").trim().toString());
+            assertTrue(factory.apply(" \t ").isBlank());
+            assertFalse(factory.apply(" 中 ").isBlank());
+            assertEquals("中", factory.apply(" 中 ").trim().toString());
+        }
+    }
+
+    @Test
+    void splitTest() {
+        for (Function<String, Utf8Slice> factory : FACTORIES) {
+            assertSlicesEquals(List.of(""), factory.apply("").split(':'));
+            assertSlicesEquals(List.of("a", "b", "", "c", ""), factory.apply("a:b::c:").split(':'));
+            assertSlicesEquals(List.of("a", "b", "c"), factory.apply("a中b中c").split('中'));
+            assertSlicesEquals(List.of("a", "b", "c="), factory.apply("a::b::c=").split("::"));
+            assertSlicesEquals(List.of("123", "456", "", "789", "", "101112"), factory.apply("123\r\n456\n\n789\r\n\n101112\n").lines());
+            assertSlicesEquals(List.of("a", "b", "", "c"), factory.apply("a\rb\r\rc").lines());
+        }
+    }
+
+    @Test
+    void numberTest() {
+        for (Function<String, Utf8Slice> factory : FACTORIES) {
+            assertEquals(0, factory.apply("0").toInt());
+            assertEquals(-42, factory.apply("-42").toInt());
+            assertEquals(Integer.MIN_VALUE, factory.apply("-2147483648").toInt());
+            assertEquals(Long.MAX_VALUE, factory.apply("9223372036854775807").toLong());
+            assertEquals(1.5, factory.apply("1.5").toDouble());
+            assertThrows(NumberFormatException.class, () -> factory.apply("2147483648").toInt());
+            assertThrows(NumberFormatException.class, () -> factory.apply("").toInt());
+            assertThrows(NumberFormatException.class, () -> factory.apply("-").toInt());
+            assertThrows(NumberFormatException.class, () -> factory.apply("1a").toLong());
+        }
+    }
+
+    @Test
+    void compareToTest() {
+        assertTrue(Utf8Slice.of("a").compareTo(Utf8Slice.of("b")) < 0);
+        assertTrue(Utf8Slice.of("ab").compareTo(Utf8Slice.of("a")) > 0);
+        assertTrue(Utf8Slice.of("z").compareTo(Utf8Slice.of("中")) < 0);
+        assertEquals(0, Utf8Slice.of("中").compareTo(Utf8Slice.of("中")));
+    }
+
+    @Test
+    void memorySegmentTest() {
+        byte[] bytes = "key=välue".getBytes(StandardCharsets.UTF_8);
+        Arena arena = Arena.ofConfined();
+        MemorySegment segment = arena.allocate(bytes.length);
+        MemorySegment.copy(bytes, 0, segment, ValueLayout.JAVA_BYTE, 0, bytes.length);
+
+        Utf8Slice slice = Utf8Slice.of(segment);
+        assertEquals("key=välue", slice.toString());
+        assertEquals(Utf8Slice.of(bytes), slice);
+        assertEquals(Utf8Slice.of(bytes).hashCode(), slice.hashCode());
+        assertEquals(0, slice.compareTo(Utf8Slice.of("key=välue")));
+
+        Utf8Slice value = slice.slice(slice.indexOf((byte) '=') + 1);
+        assertEquals("välue", value.toString());
+        assertArrayEquals("välue".getBytes(StandardCharsets.UTF_8), value.getBytes());
+        assertEquals(value.length(), value.asMemorySegment().byteSize());
+        assertTrue(value.asMemorySegment().isReadOnly());
+        assertEquals('v', value.asMemorySegment().get(ValueLayout.JAVA_BYTE, 0));
+        assertEquals('v', value.asByteBuffer().get(0));
+        assertTrue(value.asByteBuffer().isReadOnly());
+
+        assertEquals("key", Utf8Slice.of(segment, 0, 3).toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> Utf8Slice.of(segment, 0, bytes.length + 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> Utf8Slice.of(segment, 4, 3));
+
+        Utf8Slice cached = Utf8Slice.of(segment);
+        cached.toString();
+        arena.close();
+        // The decoded string is cached, but the bytes can no longer be accessed
+        assertEquals("key=välue", cached.toString());
+        assertThrows(IllegalStateException.class, () -> Utf8Slice.of(segment).byteAt(0));
+    }
+
+    @Test
+    void segmentSplitTest() {
+        List<String> inputs = List.of("", "a", "\n", "a\nb", "a\r\nb\rc\n", "\n\nx\r\r\n", "a::b::::c::", "::中::文");
+        for (String input : inputs) {
+            byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+            MemorySegment segment = Arena.ofAuto().allocate(bytes.length);
+            MemorySegment.copy(bytes, 0, segment, ValueLayout.JAVA_BYTE, 0, bytes.length);
+
+            Utf8Slice slice = Utf8Slice.of(input);
+            assertIterableEquals(slice.lines(), Utf8Slice.lines(segment));
+            assertIterableEquals(slice.split((byte) '\n'), Utf8Slice.split(segment, (byte) '\n'));
+            assertIterableEquals(slice.split("::"), Utf8Slice.split(segment, Utf8Slice.of("::")));
+        }
+
+        assertSlicesEquals(List.of("a", "b", "c"), Utf8Slice.lines(MemorySegment.ofArray("a\nb\r\nc".getBytes(StandardCharsets.UTF_8))));
+        assertSlicesEquals(List.of("x", "", "y", ""), Utf8Slice.split(MemorySegment.ofArray("x,,y,".getBytes(StandardCharsets.UTF_8)), (byte) ','));
+        assertThrows(IllegalArgumentException.class, () -> Utf8Slice.split(MemorySegment.ofArray(new byte[1]), Utf8Slice.empty()));
+    }
+}
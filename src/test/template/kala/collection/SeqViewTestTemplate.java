@@ -18,7 +18,10 @@ package kala.collection;
 import kala.tuple.Tuple;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -52,6 +55,52 @@ public interface SeqViewTestTemplate extends SeqLikeTestTemplate, SequentialColl
         assertIterableEquals(List.of(0, 1, 2), of(0, 1, 2).take(3).take(3));
     }
 
+    @Test
+    default void fusedPipelineTest() {
+        Random random = new Random(0);
+        for (int round = 0; round < 200; round++) {
+            int size = random.nextInt(50);
+            Integer[] values = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = random.nextInt(100);
+            }
+
+            SeqView<Integer> view = from(values);
+            Stream<Integer> stream = Stream.of(values);
+            for (int stage = 0, stages = 1 + random.nextInt(6); stage < stages; stage++) {
+                int n = random.nextInt(10);
+                switch (random.nextInt(4)) {
+                    case 0 -> {
+                        view = view.map(x -> x * 3 + n);
+                        stream = stream.map(x -> x * 3 + n);
+                    }
+                    case 1 -> {
+                        view = view.filter(x -> x % (n + 2) != 0);
+                        stream = stream.filter(x -> x % (n + 2) != 0);
+                    }
+                    case 2 -> {
+                        view = view.take(n);
+                        stream = stream.limit(n);
+                    }
+                    default -> {
+                        view = view.drop(n);
+                        stream = stream.skip(n);
+                    }
+                }
+            }
+
+            List<Integer> expected = stream.toList();
+            assertIterableEquals(expected, view.toSeq());
+            assertIterableEquals(expected, view.collect(ArraySeq.factory()));
+            assertEquals(expected.stream().reduce(0, Integer::sum), view.foldLeft(0, Integer::sum));
+            assertEquals(expected.stream().filter(x -> x % 2 == 0).count(), view.count(x -> x % 2 == 0));
+
+            ArrayList<Integer> visited = new ArrayList<>();
+            view.forEach(visited::add);
+            assertEquals(expected, visited);
+        }
+    }
+
     @Test
     @Override
     default void zipTest() {
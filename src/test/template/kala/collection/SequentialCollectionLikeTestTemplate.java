@@ -16,8 +16,10 @@
 package kala.collection;
 
 import kala.collection.base.GenericArrays;
+import kala.collection.immutable.ImmutableSeq;
 import kala.collection.mutable.MutableArray;
 import kala.concurrent.ConcurrentScope;
+import kala.concurrent.Granularity;
 import kala.tuple.Tuple;
 import kala.tuple.Tuple2;
 import org.junit.jupiter.api.Test;
@@ -26,6 +28,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -309,6 +312,68 @@ public interface SequentialCollectionLikeTestTemplate extends CollectionLikeTest
                 var values = java.util.Set.of("value0", "value1", "value2", "value3", "value4", "value5");
                 from(values).forEachParallel(set::add);
                 assertEquals(values, set);
+
+                List<Integer> large = java.util.stream.IntStream.range(0, 10000).boxed().toList();
+                for (Granularity granularity : Granularity.values()) {
+                    from(large).forEachParallel(value -> adder.add(value), granularity);
+                    assertEquals(49995000L, adder.sumThenReset());
+
+                    IllegalStateException ex = assertThrows(IllegalStateException.class, () -> from(large).forEachParallel(value -> {
+                        if (value % 1000 == 0) {
+                            throw new IllegalStateException(String.valueOf(value));
+                        }
+                    }, granularity));
+                    if (pool != ForkJoinPool.commonPool() && granularity == Granularity.ATOM) {
+                        assertEquals(10, 1 + ex.getSuppressed().length);
+                    }
+                }
+            }
+
+            if (pool != ForkJoinPool.commonPool()) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Test
+    default void parallelOperationsTest() {
+        var pools = List.of(
+                ForkJoinPool.commonPool(),
+                Executors.newSingleThreadExecutor(),
+                Executors.newFixedThreadPool(4)
+        );
+
+        List<Integer> values = java.util.stream.IntStream.range(0, 1000).boxed().toList();
+        for (ExecutorService pool : pools) {
+            for (Granularity granularity : Granularity.values()) {
+                CollectionLike<Integer> empty = of();
+                assertIterableEquals(List.of(), empty.collectParallel(ImmutableSeq.factory(), pool, granularity));
+                assertIterableEquals(List.of(), empty.mapParallel(ImmutableSeq.factory(), i -> i * 2, pool, granularity));
+                assertEquals(0, empty.foldParallel(0, Integer::sum, pool, granularity));
+                assertThrows(NoSuchElementException.class, () -> empty.reduceParallel(Integer::sum, pool, granularity));
+
+                CollectionLike<Integer> c = from(values);
+                assertIterableEquals(values, c.collectParallel(ImmutableSeq.factory(), pool, granularity));
+                assertIterableEquals(
+                        values.stream().map(i -> i * 2).toList(),
+                        c.mapParallel(ImmutableSeq.factory(), i -> i * 2, pool, granularity));
+                assertIterableEquals(
+                        values.stream().filter(i -> i % 3 == 0).toList(),
+                        c.filterParallel(ImmutableSeq.factory(), i -> i % 3 == 0, pool, granularity));
+                assertEquals(499500, c.reduceParallel(Integer::sum, pool, granularity));
+                assertEquals(499500, c.foldParallel(0, Integer::sum, pool, granularity));
+
+                IllegalStateException ex = assertThrows(IllegalStateException.class, () -> c.mapParallel(ImmutableSeq.factory(), i -> {
+                    if (i == 500) {
+                        throw new IllegalStateException();
+                    }
+                    return i;
+                }, pool, granularity));
+                assertNotNull(ex);
+            }
+
+            try (var scope = ConcurrentScope.withExecutor(pool)) {
+                assertIterableEquals(values, from(values).collectParallel(ImmutableSeq.factory()));
             }
 
             if (pool != ForkJoinPool.commonPool()) {
@@ -27,6 +27,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -63,6 +64,69 @@ public interface TraversableTestTemplate {
         assertIterableEquals(List.of("foo"), of("foo").parallelStream().collect(Collectors.toList()));
     }
 
+    @Test
+    default void spliteratorTest() {
+        List<Integer> large = java.util.stream.IntStream.range(0, 1000).boxed().toList();
+
+        List<Traversable<Integer>> traversables = new ArrayList<>();
+        traversables.add(of());
+        traversables.add(from(large));
+        for (Integer[] data : data1()) {
+            traversables.add(from(data));
+        }
+
+        for (Traversable<Integer> traversable : traversables) {
+            List<Integer> expected = new ArrayList<>();
+            traversable.iterator().forEachRemaining(expected::add);
+
+            Spliterator<Integer> spliterator = traversable.spliterator();
+            List<Integer> actual = new ArrayList<>();
+            collectSplitting(spliterator, actual, 0);
+
+            if (spliterator.hasCharacteristics(Spliterator.ORDERED)) {
+                assertIterableEquals(expected, actual);
+            } else {
+                expected.sort(null);
+                actual.sort(null);
+                assertIterableEquals(expected, actual);
+            }
+
+            assertEquals(expected.size(), traversable.parallelStream().count());
+        }
+    }
+
+    private static void collectSplitting(Spliterator<Integer> spliterator, List<Integer> out, int depth) {
+        final boolean sized = spliterator.hasCharacteristics(Spliterator.SIZED);
+        final boolean subSized = spliterator.hasCharacteristics(Spliterator.SUBSIZED);
+        final long size = spliterator.estimateSize();
+        final int start = out.size();
+
+        if (depth < 12) {
+            Spliterator<Integer> prefix = spliterator.trySplit();
+            if (prefix != null) {
+                if (subSized) {
+                    assertTrue(prefix.hasCharacteristics(Spliterator.SIZED));
+                    assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+                    assertEquals(size, prefix.estimateSize() + spliterator.estimateSize());
+                }
+                collectSplitting(prefix, out, depth + 1);
+                collectSplitting(spliterator, out, depth + 1);
+                if (sized) {
+                    assertEquals(size, out.size() - start);
+                }
+                return;
+            }
+        }
+
+        if (spliterator.tryAdvance(out::add)) {
+            spliterator.forEachRemaining(out::add);
+        }
+        assertFalse(spliterator.tryAdvance(out::add));
+        if (sized) {
+            assertEquals(size, out.size() - start);
+        }
+    }
+
     @Test
     default void isEmptyTest() {
         assertTrue(of().isEmpty());
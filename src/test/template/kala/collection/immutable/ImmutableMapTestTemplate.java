@@ -15,10 +15,20 @@
  */
 package kala.collection.immutable;
 
+import kala.CollidingKey;
 import kala.collection.MapLike;
 import kala.collection.MapTestTemplate;
 import kala.collection.factory.MapFactory;
 import kala.tuple.Tuple2;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 public interface ImmutableMapTestTemplate extends MapTestTemplate {
     @Override
@@ -34,4 +44,42 @@ public interface ImmutableMapTestTemplate extends MapTestTemplate {
     default <K, V> ImmutableMap<K, V> from(Iterable<Tuple2<K, V>> entries) {
         return this.<K, V>factory().from(entries);
     }
+
+    default Object randomKey(Random random) {
+        return CollidingKey.randomKey(random, 300);
+    }
+
+    @Test
+    default void persistenceTest() {
+        Random random = new Random(0);
+        ImmutableMap<Object, Integer> map = this.<Object, Integer>factory().empty();
+        Map<Object, Integer> current = new HashMap<>();
+        List<ImmutableMap<Object, Integer>> versions = new ArrayList<>();
+        List<Map<Object, Integer>> expected = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++) {
+            versions.add(map);
+            expected.add(new HashMap<>(current));
+            Object key = randomKey(random);
+            if (random.nextInt(3) == 0) {
+                map = map.removed(key);
+                current.remove(key);
+            } else {
+                map = map.updated(key, i);
+                current.put(key, i);
+            }
+        }
+
+        for (int i = 0; i < versions.size(); i++) {
+            ImmutableMap<Object, Integer> version = versions.get(i);
+            Map<Object, Integer> expectedVersion = expected.get(i);
+            assertEquals(expectedVersion, version.asJava());
+            assertEquals(expectedVersion.size(), version.size());
+            expectedVersion.forEach((key, value) -> {
+                assertEquals(value, version.get(key));
+                assertEquals(value, version.getOrNull(key));
+                assertTrue(version.contains(key, value));
+            });
+        }
+    }
 }
@@ -15,12 +15,19 @@
  */
 package kala.collection.immutable;
 
+import kala.CollidingKey;
 import kala.ExtendedAssertions;
 import kala.collection.SetTestTemplate;
 import kala.collection.factory.CollectionFactory;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 @SuppressWarnings("unchecked")
 public interface ImmutableSetTestTemplate extends ImmutableCollectionTestTemplate, SetTestTemplate {
@@ -51,4 +58,38 @@ public interface ImmutableSetTestTemplate extends ImmutableCollectionTestTemplat
 
         ExtendedAssertions.assertSetElements(List.of("value0", "value1"), set2.added("value0"));
     }
+
+    default Object randomElement(Random random) {
+        return CollidingKey.randomKey(random, 500);
+    }
+
+    @Test
+    default void persistenceTest() {
+        Random random = new Random(0);
+        ImmutableSet<Object> set = of();
+        Set<Object> expected = new HashSet<>();
+        List<ImmutableSet<Object>> versions = new ArrayList<>();
+        List<Set<Object>> expectedVersions = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++) {
+            versions.add(set);
+            expectedVersions.add(new HashSet<>(expected));
+            Object value = randomElement(random);
+            if (random.nextInt(3) == 0) {
+                set = set.removed(value);
+                expected.remove(value);
+            } else {
+                set = set.added(value);
+                expected.add(value);
+            }
+        }
+
+        for (int i = 0; i < versions.size(); i++) {
+            ImmutableSet<Object> version = versions.get(i);
+            Set<Object> expectedVersion = expectedVersions.get(i);
+            assertEquals(expectedVersion, version.asJava());
+            assertEquals(expectedVersion.size(), version.size());
+            expectedVersion.forEach(value -> assertTrue(version.contains(value)));
+        }
+    }
 }
@@ -22,6 +22,7 @@ import kala.tuple.Tuple2;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Comparator;
+import java.util.Random;
 
 @SuppressWarnings("unchecked")
 public interface ImmutableSortedMapTestTemplate extends ImmutableMapTestTemplate, SortedMapTestTemplate {
@@ -50,4 +51,9 @@ public interface ImmutableSortedMapTestTemplate extends ImmutableMapTestTemplate
     default <K, V> ImmutableSortedMap<K, V> from(Comparator<? super K> comparator, Iterable<Tuple2<K, V>> entries) {
         return this.<K, V>factory(comparator).from(entries);
     }
+
+    @Override
+    default Object randomKey(Random random) {
+        return random.nextInt(300);
+    }
 }
@@ -19,6 +19,7 @@ import kala.collection.SortedSetTestTemplate;
 import kala.collection.factory.CollectionFactory;
 
 import java.util.Comparator;
+import java.util.Random;
 
 public interface ImmutableSortedSetTestTemplate extends ImmutableSetTestTemplate, SortedSetTestTemplate {
     @Override
@@ -54,4 +55,9 @@ public interface ImmutableSortedSetTestTemplate extends ImmutableSetTestTemplate
     default <E> ImmutableSortedSet<E> from(Comparator<? super E> comparator, Iterable<? extends E> elements) {
         return ImmutableSortedSet.narrow(this.<E>factory(comparator).from(elements));
     }
+
+    @Override
+    default Object randomElement(Random random) {
+        return random.nextInt(300);
+    }
 }
@@ -44,6 +44,21 @@ public interface MutableMapTestTemplate extends MapTestTemplate {
         return this.<K, V>factory().from(entries);
     }
 
+    @Test
+    default void asJavaEntrySetStreamTest() {
+        MutableMap<Integer, Integer> map = ofEntries();
+        for (int i = 0; i < 1000; i++) {
+            map.set(i, i * 2);
+        }
+
+        var entries = map.asJava().entrySet();
+        assertEquals(1000, entries.parallelStream().count());
+        assertEquals(999 * 1000, entries.parallelStream().mapToInt(java.util.Map.Entry::getValue).sum());
+        assertEquals(
+                entries.stream().map(java.util.Map.Entry::getKey).toList(),
+                entries.parallelStream().map(java.util.Map.Entry::getKey).toList());
+    }
+
     @TestFactory
     default DynamicNode getOrPutTestFactory() {
         return DynamicContainer.dynamicContainer("getOrPutTest", List.of(
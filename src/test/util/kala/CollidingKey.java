@@ -0,0 +1,31 @@
+/*
+ * Copyright 2025 Glavo
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package kala;
+
+import java.io.Serializable;
+import java.util.Random;
+
+public record CollidingKey(int value) implements Serializable {
+
+    public static Object randomKey(Random random, int bound) {
+        return random.nextInt(4) == 0 ? new CollidingKey(random.nextInt(bound / 8 + 1)) : (Object) random.nextInt(bound);
+    }
+
+    @Override
+    public int hashCode() {
+        return value & 3;
+    }
+}